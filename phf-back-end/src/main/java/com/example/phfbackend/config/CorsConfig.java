@@ -20,6 +20,7 @@ public class CorsConfig implements WebMvcConfigurer {
                 .allowedOrigins("http://localhost:3000", "http://localhost:5173", "http://localhost:5174", "http://127.0.0.1:5173", "http://127.0.0.1:5174")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH")
                 .allowedHeaders("*")
+                .exposedHeaders("X-Total-Count", "X-Page", "X-Page-Size", "X-Next-Cursor")
                 .allowCredentials(true)
                 .maxAge(3600);
     }
@@ -36,6 +37,7 @@ public class CorsConfig implements WebMvcConfigurer {
         ));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList("X-Total-Count", "X-Page", "X-Page-Size", "X-Next-Cursor"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
         
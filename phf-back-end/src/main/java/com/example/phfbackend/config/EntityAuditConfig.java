@@ -0,0 +1,24 @@
+package com.example.phfbackend.config;
+
+import com.example.phfbackend.service.impl.EntityChangeAuditListener;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the field-level change capture with Hibernate (post-commit insert, update and delete).
+ */
+@Configuration
+public class EntityAuditConfig {
+
+    public EntityAuditConfig(EntityManagerFactory entityManagerFactory, EntityChangeAuditListener listener) {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.phfbackend.config;
+
+import com.example.phfbackend.service.QueryStatsService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pool wrapper feeding {@link QueryStatsService}: every execute* call is timed with its SQL (and the parameters bound
+ * by index, so slow statements can be explained), every row returned by ResultSet.next() is counted.
+ * unwrap() still reaches the pool, so pool metrics and the Hikari MXBean keep working.
+ */
+public class ObservedDataSource extends DelegatingDataSource {
+
+    private final ObjectProvider<QueryStatsService> queryStatsProvider;
+    private final boolean captureParameters;
+    // Resolved on first use: the pool is already handing out connections (Flyway) while the context is starting
+    private volatile QueryStatsService queryStats;
+
+    public ObservedDataSource(DataSource target, ObjectProvider<QueryStatsService> queryStatsProvider, boolean captureParameters) {
+        super(target);
+        this.queryStatsProvider = queryStatsProvider;
+        this.captureParameters = captureParameters;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private QueryStatsService queryStats() {
+        QueryStatsService stats = queryStats;
+        if (stats == null) {
+            stats = queryStatsProvider.getObject();
+            queryStats = stats;
+        }
+        return stats;
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(ObservedDataSource.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement) {
+                        // prepareStatement / prepareCall carry the SQL, createStatement passes it to execute*
+                        String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                        return wrap(statement, sql);
+                    }
+                    return result;
+                });
+    }
+
+    private Statement wrap(Statement statement, String sql) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        return (Statement) Proxy.newProxyInstance(ObservedDataSource.class.getClassLoader(), new Class<?>[]{type},
+                new StatementHandler(statement, sql));
+    }
+
+    private ResultSet wrap(ResultSet resultSet) {
+        return (ResultSet) Proxy.newProxyInstance(ObservedDataSource.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(resultSet, method, args);
+                    if (Boolean.TRUE.equals(result) && "next".equals(method.getName())) {
+                        queryStats().recordRowsFetched(1);
+                    }
+                    return result;
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+        private final List<Object> parameters;
+        private String batchSql;
+
+        private StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.parameters = captureParameters && preparedSql != null ? new ArrayList<>() : null;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text
+                        : preparedSql != null ? preparedSql : batchSql;
+                long start = System.nanoTime();
+                Object result;
+                try {
+                    result = ObservedDataSource.invoke(target, method, args);
+                } finally {
+                    queryStats().recordStatement(sql, parameters, System.nanoTime() - start);
+                }
+                return result instanceof ResultSet resultSet ? wrap(resultSet) : result;
+            }
+            if (parameters != null && args != null && args.length >= 2 && args[0] instanceof Integer index && name.startsWith("set")) {
+                bind(index, "setNull".equals(name) ? null : args[1]);
+            } else if (parameters != null && "clearParameters".equals(name)) {
+                parameters.clear();
+            } else if ("addBatch".equals(name) && args != null && args.length == 1 && args[0] instanceof String text) {
+                batchSql = text;
+            }
+            Object result = ObservedDataSource.invoke(target, method, args);
+            return "getResultSet".equals(name) && result instanceof ResultSet resultSet ? wrap(resultSet) : result;
+        }
+
+        private void bind(int index, Object value) {
+            while (parameters.size() < index) {
+                parameters.add(null);
+            }
+            parameters.set(index - 1, value);
+        }
+    }
+}
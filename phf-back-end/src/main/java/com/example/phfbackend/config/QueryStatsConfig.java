@@ -0,0 +1,52 @@
+package com.example.phfbackend.config;
+
+import com.example.phfbackend.service.QueryStatsService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Per-request query statistics (observability.query-stats.enabled): wraps the DataSource in an
+ * {@link ObservedDataSource} and brackets every /api request with a {@link QueryStatsInterceptor}.
+ */
+@Configuration
+public class QueryStatsConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<QueryStatsService> queryStatsService;
+    private final boolean enabled;
+
+    public QueryStatsConfig(ObjectProvider<QueryStatsService> queryStatsService,
+                            @Value("${observability.query-stats.enabled:true}") boolean enabled) {
+        this.queryStatsService = queryStatsService;
+        this.enabled = enabled;
+    }
+
+    @Bean
+    public static BeanPostProcessor observedDataSourcePostProcessor(ObjectProvider<QueryStatsService> queryStatsService,
+                                                                    @Value("${observability.query-stats.enabled:true}") boolean enabled,
+                                                                    @Value("${observability.query-stats.explain:true}") boolean explain) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof DataSource dataSource && !(bean instanceof ObservedDataSource)) {
+                    return new ObservedDataSource(dataSource, queryStatsService, explain);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (enabled) {
+            registry.addInterceptor(new QueryStatsInterceptor(queryStatsService.getObject()))
+                    .addPathPatterns("/api/**");
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.phfbackend.config;
+
+import com.example.phfbackend.service.QueryStatsService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Brackets each request for {@link QueryStatsService}; endpoints are keyed by method and route pattern
+ * (GET /api/products/{id}), never by the raw path.
+ */
+public class QueryStatsInterceptor implements AsyncHandlerInterceptor {
+
+    private final QueryStatsService queryStatsService;
+
+    public QueryStatsInterceptor(QueryStatsService queryStatsService) {
+        this.queryStatsService = queryStatsService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        queryStatsService.beginRequest(request.getMethod() + " " + (pattern != null ? pattern : "UNMATCHED"));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // SSE streams and other async requests release the thread here; later work happens elsewhere
+        queryStatsService.endRequest();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        queryStatsService.endRequest();
+    }
+}
@@ -1,12 +1,28 @@
 package com.example.phfbackend.controller;
 
 import com.example.phfbackend.dto.request.InventoryBatchRequest;
+import com.example.phfbackend.dto.request.PurchaseOrderReceiptRequest;
+import com.example.phfbackend.dto.response.AlertDigestRunResponse;
 import com.example.phfbackend.dto.response.AlertResponse;
+import com.example.phfbackend.dto.response.ExpiredBatchSweepResponse;
+import com.example.phfbackend.dto.response.InventoryAsOfResponse;
 import com.example.phfbackend.dto.response.InventoryBatchResponse;
+import com.example.phfbackend.dto.response.PurchaseOrderLineReceivingResponse;
+import com.example.phfbackend.dto.response.PurchaseOrderReceiptResponse;
+import com.example.phfbackend.dto.response.WasteRiskResponse;
+import com.example.phfbackend.dto.response.WasteRiskRunResponse;
 import com.example.phfbackend.dto.InventoryFilterCriteria;
 import com.example.phfbackend.entities.inventory.InventoryBatch;
+import com.example.phfbackend.entities.inventory.InventorySnapshot;
+import com.example.phfbackend.entities.purchase.PurchaseOrder;
 import com.example.phfbackend.repository.ProductRepository;
+import com.example.phfbackend.service.AlertDigestService;
+import com.example.phfbackend.service.ExpiredBatchSweepService;
 import com.example.phfbackend.service.InventoryBatchService;
+import com.example.phfbackend.service.InventoryHistoryService;
+import com.example.phfbackend.service.PurchaseOrderReceiptResult;
+import com.example.phfbackend.service.PurchaseOrderReceivingService;
+import com.example.phfbackend.service.WasteRiskService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -14,7 +30,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +48,11 @@ public class InventoryController {
     
     private final InventoryBatchService inventoryBatchService;
     private final ProductRepository productRepository;
+    private final InventoryHistoryService inventoryHistoryService;
+    private final AlertDigestService alertDigestService;
+    private final ExpiredBatchSweepService expiredBatchSweepService;
+    private final WasteRiskService wasteRiskService;
+    private final PurchaseOrderReceivingService purchaseOrderReceivingService;
     
     @GetMapping
     @Transactional(readOnly = true)
@@ -83,7 +108,8 @@ public class InventoryController {
     
     @PutMapping("/{id}")
     @Transactional
-    public ResponseEntity<InventoryBatchResponse> updateInventoryBatch(@PathVariable UUID id, @Valid @RequestBody InventoryBatchRequest request) {
+    public ResponseEntity<InventoryBatchResponse> updateInventoryBatch(@PathVariable UUID id, @Valid @RequestBody InventoryBatchRequest request,
+                                                                       @RequestHeader(value = "X-User-Id", required = false) UUID userId) {
         InventoryBatch batch = inventoryBatchService.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Inventory batch not found: " + id));
         
@@ -104,7 +130,7 @@ public class InventoryController {
                 .active(batch.isActive())
                 .build();
         
-        inventoryBatchService.updateBatch(id, updatedBatch);
+        inventoryBatchService.updateBatch(id, updatedBatch, userId);
         // Fetch the updated batch with product loaded
         InventoryBatch updated = inventoryBatchService.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Inventory batch not found: " + id));
@@ -117,6 +143,35 @@ public class InventoryController {
         return ResponseEntity.noContent().build();
     }
     
+    /**
+     * Tồn kho tại một thời điểm trong quá khứ (theo sản phẩm và theo lô).
+     * date: yyyy-MM-dd (cuối ngày đó) hoặc ISO date-time có offset, ví dụ 2025-01-31T17:00:00+07:00
+     */
+    @GetMapping("/as-of")
+    public ResponseEntity<InventoryAsOfResponse> getInventoryAsOf(@RequestParam String date) {
+        return ResponseEntity.ok(inventoryHistoryService.getStockAsOf(parseAsOf(date)));
+    }
+    
+    /**
+     * Tạo checkpoint tồn kho ngay lập tức (ngoài lịch chạy hằng đêm)
+     */
+    @PostMapping("/snapshots")
+    public ResponseEntity<Map<String, Object>> createInventorySnapshot() {
+        InventorySnapshot snapshot = inventoryHistoryService.createSnapshot();
+        return ResponseEntity.status(HttpStatus.CREATED).body(Map.of(
+                "id", snapshot.getId(),
+                "takenAt", snapshot.getTakenAt(),
+                "batchCount", snapshot.getBatchCount()));
+    }
+    
+    /**
+     * Ghi giảm và hủy kích hoạt các lô đã hết hạn ngay (ngoài lịch chạy hằng đêm)
+     */
+    @PostMapping("/expired-sweep")
+    public ResponseEntity<ExpiredBatchSweepResponse> sweepExpiredBatches() {
+        return ResponseEntity.ok(expiredBatchSweepService.sweepExpiredBatches(LocalDate.now()));
+    }
+    
     /**
      * UC41 - Gửi cảnh báo hết hàng
      * UC42 - Gửi cảnh báo sắp hết hạn
@@ -319,21 +374,91 @@ public class InventoryController {
         return ResponseEntity.ok(responses);
     }
     
+    /**
+     * Dự báo hàng có nguy cơ hết hạn trước khi bán hết (tính sẵn hằng đêm)
+     * Sắp xếp theo giá trị dự kiến phải hủy; productId: xem tất cả các lô của một sản phẩm
+     */
+    @GetMapping("/waste-risk")
+    public ResponseEntity<WasteRiskResponse> getWasteRisk(
+            @RequestParam(required = false) UUID productId,
+            @RequestParam(required = false) BigDecimal minValue,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(productId != null
+                ? wasteRiskService.getForProduct(productId)
+                : wasteRiskService.getAtRisk(minValue, limit));
+    }
+    
+    @PostMapping("/waste-risk/recompute")
+    public ResponseEntity<WasteRiskRunResponse> recomputeWasteRisk() {
+        return ResponseEntity.ok(wasteRiskService.recompute(LocalDate.now()));
+    }
+    
+    /**
+     * UC41 / UC42 - Gửi email tổng hợp cảnh báo ngay (ngoài lịch chạy hằng ngày)
+     * Chỉ gửi các cảnh báo mới mà mỗi vai trò chưa nhận
+     */
+    @PostMapping("/alerts/digest")
+    public ResponseEntity<AlertDigestRunResponse> runAlertDigest() {
+        return ResponseEntity.ok(alertDigestService.runDigest());
+    }
+    
+    @GetMapping("/alerts/digest/last-run")
+    public ResponseEntity<AlertDigestRunResponse> getLastAlertDigestRun() {
+        return alertDigestService.getLastRun()
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
     /**
      * UC37 - Thêm kho hàng (từ đơn đặt hàng)
      * Chủ nhà thuốc thêm mặt hàng vào kho từ một đơn đặt hàng
      */
     @PostMapping("/from-purchase-order/{purchaseOrderId}")
-    public ResponseEntity<List<InventoryBatchResponse>> addInventoryFromPurchaseOrder(
-            @PathVariable UUID purchaseOrderId) {
-        // This would:
-        // 1. Get purchase order by ID
-        // 2. Check if status is RECEIVED
-        // 3. For each line item, create inventory batch
-        // 4. Return created batches
-        
-        // Placeholder implementation
-        return ResponseEntity.ok(List.of());
+    @Transactional
+    public ResponseEntity<PurchaseOrderReceiptResponse> addInventoryFromPurchaseOrder(
+            @PathVariable UUID purchaseOrderId,
+            @Valid @RequestBody PurchaseOrderReceiptRequest request,
+            @RequestHeader(value = "X-User-Id", required = false) UUID userId) {
+        // Nhận từng phần: mỗi lần giao hàng là một receipt, đơn chuyển RECEIVED khi nhận đủ
+        PurchaseOrderReceiptResult result = purchaseOrderReceivingService.receive(purchaseOrderId, request, userId);
+        return ResponseEntity.status(result.isReplayed() ? HttpStatus.OK : HttpStatus.CREATED)
+                .body(toReceiptResponse(result));
+    }
+    
+    private OffsetDateTime parseAsOf(String date) {
+        try {
+            if (date.length() == 10) {
+                return LocalDate.parse(date).plusDays(1).atStartOfDay(ZoneId.systemDefault()).toOffsetDateTime();
+            }
+            return OffsetDateTime.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date: " + date);
+        }
+    }
+    
+    private PurchaseOrderReceiptResponse toReceiptResponse(PurchaseOrderReceiptResult result) {
+        PurchaseOrder order = result.getOrder();
+        return PurchaseOrderReceiptResponse.builder()
+                .receiptId(result.getReceipt().getId())
+                .receiptKey(result.getReceipt().getReceiptKey())
+                .purchaseOrderId(order.getId())
+                .orderCode(order.getOrderCode())
+                .status(order.getStatus())
+                .receivedDate(result.getReceipt().getReceivedDate())
+                .replayed(result.isReplayed())
+                .batches(result.getBatches().stream().map(this::toResponse).collect(Collectors.toList()))
+                .lines(order.getLineItems().stream()
+                        .map(line -> PurchaseOrderLineReceivingResponse.builder()
+                                .purchaseOrderLineId(line.getId())
+                                .lineNumber(line.getLineNumber())
+                                .productId(line.getProduct().getId())
+                                .productName(line.getProduct().getName())
+                                .orderedQuantity(line.getQuantity())
+                                .receivedQuantity(line.getReceivedQuantity())
+                                .outstandingQuantity(line.getOutstandingQuantity())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
     }
     
     private InventoryBatchResponse toResponse(InventoryBatch batch) {
@@ -354,4 +479,3 @@ public class InventoryController {
                 .build();
     }
 }
-
@@ -0,0 +1,63 @@
+package com.example.phfbackend.controller;
+
+import com.example.phfbackend.dto.response.LiveEventStatsResponse;
+import com.example.phfbackend.service.LiveEventOverflow;
+import com.example.phfbackend.service.LiveEventService;
+import com.example.phfbackend.service.LiveEventType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/events")
+public class LiveEventController {
+    
+    private final LiveEventService liveEventService;
+    /** One timer for all connections; keeps proxies from closing idle streams */
+    private final Flux<ServerSentEvent<Object>> heartbeat;
+    
+    public LiveEventController(LiveEventService liveEventService,
+                               @Value("${live-events.heartbeat-seconds:15}") long heartbeatSeconds) {
+        this.liveEventService = liveEventService;
+        this.heartbeat = Flux.interval(Duration.ofSeconds(heartbeatSeconds))
+                .map(tick -> ServerSentEvent.builder().comment("heartbeat").build())
+                .share();
+    }
+    
+    /**
+     * Luồng sự kiện cho dashboard (thay cho việc polling /api/inventory/alerts và /api/sales):
+     * thay đổi tồn kho, hóa đơn mới, cảnh báo phát sinh / hết, thay đổi trạng thái đơn đặt hàng
+     * overflow: chính sách khi client xử lý chậm hơn tốc độ sự kiện (DROP_OLDEST, DROP_LATEST, LATEST)
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> stream(
+            @RequestParam(required = false) Set<LiveEventType> types,
+            @RequestParam(defaultValue = "DROP_OLDEST") LiveEventOverflow overflow,
+            @RequestParam(defaultValue = "256") int bufferSize) {
+        Set<LiveEventType> requested = types == null || types.isEmpty()
+                ? EnumSet.allOf(LiveEventType.class)
+                : EnumSet.copyOf(types);
+        
+        Flux<ServerSentEvent<Object>> events = liveEventService.subscribe(requested, overflow, bufferSize)
+                .map(event -> ServerSentEvent.builder(event.getData())
+                        .id(Long.toString(event.getSequence()))
+                        .event(event.getType().name())
+                        .build());
+        return Flux.merge(events, heartbeat.onBackpressureLatest());
+    }
+    
+    @GetMapping("/stats")
+    public ResponseEntity<LiveEventStatsResponse> getStats() {
+        return ResponseEntity.ok(liveEventService.getStats());
+    }
+}
@@ -1,20 +1,35 @@
 package com.example.phfbackend.controller;
 
+import com.example.phfbackend.dto.request.CartReservationRequest;
+import com.example.phfbackend.dto.response.CartReservationResponse;
 import com.example.phfbackend.dto.response.POSProductResponse;
 import com.example.phfbackend.entities.inventory.InventoryBatch;
 import com.example.phfbackend.entities.product.Product;
+import com.example.phfbackend.service.CartReservationService;
+import com.example.phfbackend.service.CatalogSnapshot;
+import com.example.phfbackend.service.CatalogSnapshotService;
 import com.example.phfbackend.service.InventoryBatchService;
 import com.example.phfbackend.service.ProductService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.file.Files;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 
 /**
  * POS (Point of Sale) specific endpoints
@@ -29,6 +44,8 @@ public class POSController {
     
     private final ProductService productService;
     private final InventoryBatchService inventoryBatchService;
+    private final CartReservationService cartReservationService;
+    private final CatalogSnapshotService catalogSnapshotService;
     
     /**
      * UC44 - Tìm kiếm sản phẩm (POS)
@@ -94,6 +111,73 @@ public class POSController {
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    /**
+     * Toàn bộ danh mục POS (sản phẩm đang bán, giá FEFO, tồn kho) trong một lần tải khi khởi động quầy
+     * Tệp JSON nén gzip dựng sẵn, có phiên bản (ETag); gửi bằng sendfile của Tomcat khi được hỗ trợ
+     */
+    @GetMapping("/catalog/snapshot")
+    public ResponseEntity<byte[]> getCatalogSnapshot(
+            HttpServletRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) throws IOException {
+        CatalogSnapshot snapshot = catalogSnapshotService.getCurrentSnapshot();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(snapshot.getETag());
+        headers.setCacheControl(CacheControl.noCache());
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        headers.set("X-Catalog-Version", snapshot.getVersion());
+        
+        if (ifNoneMatch != null && (ifNoneMatch.contains(snapshot.getETag()) || ifNoneMatch.trim().equals("*"))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+        
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (acceptEncoding == null || !acceptEncoding.contains("gzip")) {
+            try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(snapshot.getGzipBytes()))) {
+                return ResponseEntity.ok().headers(headers).body(gzip.readAllBytes());
+            }
+        }
+        
+        headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        headers.setContentLength(snapshot.getGzipBytes().length);
+        if (Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support"))
+                && Files.isReadable(snapshot.getFile())) {
+            // Zero-copy: Tomcat streams the (immutable) file with sendfile once the headers are written
+            request.setAttribute("org.apache.tomcat.sendfile.filename", snapshot.getFile().toAbsolutePath().toString());
+            request.setAttribute("org.apache.tomcat.sendfile.start", 0L);
+            request.setAttribute("org.apache.tomcat.sendfile.end", (long) snapshot.getGzipBytes().length);
+            return ResponseEntity.ok().headers(headers).build();
+        }
+        return ResponseEntity.ok().headers(headers).body(snapshot.getGzipBytes());
+    }
+    
+    /**
+     * Giữ hàng cho giỏ hàng: đặt số lượng của một lô trong giỏ (0 = bỏ giữ) và gia hạn TTL
+     * Số lượng đang được giữ bị trừ khỏi tồn kho khả dụng mà POS hiển thị cho các quầy khác
+     */
+    @PutMapping("/carts/{cartId}/reservations")
+    @Transactional(readOnly = true)
+    public ResponseEntity<CartReservationResponse> reserveForCart(@PathVariable String cartId,
+                                                                  @Valid @RequestBody CartReservationRequest request) {
+        InventoryBatch batch = inventoryBatchService.findById(request.getInventoryBatchId())
+                .orElseThrow(() -> new IllegalArgumentException("Inventory batch not found: " + request.getInventoryBatchId()));
+        if (request.getQuantity() > 0 && (!batch.isActive() || batch.isExpired(LocalDate.now()))) {
+            throw new IllegalArgumentException("Cannot reserve inactive or expired inventory batch: " + batch.getBatchNumber());
+        }
+        return ResponseEntity.ok(cartReservationService.reserve(cartId, batch.getId(), request.getQuantity(), batch.getQuantityOnHand()));
+    }
+    
+    @GetMapping("/carts/{cartId}/reservations")
+    public ResponseEntity<List<CartReservationResponse>> getCartReservations(@PathVariable String cartId) {
+        return ResponseEntity.ok(cartReservationService.findByCart(cartId));
+    }
+    
+    @DeleteMapping("/carts/{cartId}/reservations")
+    public ResponseEntity<Void> releaseCart(@PathVariable String cartId) {
+        cartReservationService.releaseCart(cartId);
+        return ResponseEntity.noContent().build();
+    }
+    
     /**
      * Convert Product to POSProductResponse with inventory information
      * Excludes expired batches from stock calculation (FEFO - First Expired First Out)
@@ -110,9 +194,9 @@ public class POSController {
                 .filter(b -> !b.isExpired(currentDate)) // Exclude expired batches
                 .collect(Collectors.toList());
         
-        // Calculate total stock quantity (excluding expired batches)
+        // Calculate total stock quantity (excluding expired batches and units held by open carts)
         int stockQuantity = availableBatches.stream()
-                .mapToInt(InventoryBatch::getQuantityOnHand)
+                .mapToInt(b -> Math.max(0, b.getQuantityOnHand() - cartReservationService.getReservedQuantity(b.getId(), null)))
                 .sum();
         
         // Get selling price (use the first available batch's price, or 0 if no stock)
@@ -1,19 +1,24 @@
 package com.example.phfbackend.controller;
 
 import com.example.phfbackend.dto.PurchaseOrderFilterCriteria;
-import com.example.phfbackend.dto.request.PurchaseOrderLineRequest;
+import com.example.phfbackend.dto.request.PurchaseOrderBulkStatusRequest;
+import com.example.phfbackend.dto.response.PurchaseOrderBulkStatusResponse;
 import com.example.phfbackend.dto.response.PurchaseOrderLineResponse;
 import com.example.phfbackend.dto.request.PurchaseOrderRequest;
 import com.example.phfbackend.dto.response.PurchaseOrderResponse;
+import com.example.phfbackend.dto.response.ReorderRunResponse;
 import com.example.phfbackend.entities.purchase.PurchaseOrder;
-import com.example.phfbackend.entities.purchase.PurchaseOrderLine;
 import com.example.phfbackend.entities.purchase.PurchaseOrderStatus;
 import com.example.phfbackend.pattern.facade.PurchaseOrderFacade;
-import com.example.phfbackend.repository.ProductRepository;
-import com.example.phfbackend.repository.SupplierRepository;
+import com.example.phfbackend.service.PurchaseOrderBulkService;
 import com.example.phfbackend.service.PurchaseOrderService;
+import com.example.phfbackend.service.ReorderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,8 +36,8 @@ public class PurchaseOrderController {
     
     private final PurchaseOrderService purchaseOrderService;
     private final PurchaseOrderFacade purchaseOrderFacade;
-    private final SupplierRepository supplierRepository;
-    private final ProductRepository productRepository;
+    private final ReorderService reorderService;
+    private final PurchaseOrderBulkService purchaseOrderBulkService;
     
     @GetMapping
     @Transactional(readOnly = true)
@@ -41,7 +46,10 @@ public class PurchaseOrderController {
             @RequestParam(required = false) String status,
             @RequestParam(required = false) UUID supplierId,
             @RequestParam(required = false) LocalDate startDate,
-            @RequestParam(required = false) LocalDate endDate) {
+            @RequestParam(required = false) LocalDate endDate,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @PageableDefault(size = 50, sort = "orderDate", direction = Sort.Direction.DESC) Pageable pageable) {
         PurchaseOrderStatus statusEnum = null;
         if (status != null && !status.trim().isEmpty()) {
             try {
@@ -60,18 +68,21 @@ public class PurchaseOrderController {
                 .endDate(endDate)
                 .build();
         
-        List<PurchaseOrder> orders = criteria.getSearchTerm() != null && !criteria.getSearchTerm().trim().isEmpty()
-                ? purchaseOrderService.search(criteria.getSearchTerm())
-                : (criteria.getStatus() != null || criteria.getSupplierId() != null || 
-                   criteria.getStartDate() != null || criteria.getEndDate() != null
-                        ? purchaseOrderService.filterPurchaseOrders(criteria)
-                        : purchaseOrderService.findAll());
+        // Search and filters are applied in SQL together with the page; the body stays a plain list
+        // and the paging information travels in headers
+        // Without page/size the whole filtered list is returned, as before paging (the UI reads the body only)
+        Pageable requested = page == null && size == null ? Pageable.unpaged(pageable.getSort()) : pageable;
+        Page<PurchaseOrder> orders = purchaseOrderService.findPage(criteria, requested);
         
-        List<PurchaseOrderResponse> responses = orders.stream()
+        List<PurchaseOrderResponse> responses = orders.getContent().stream()
                 .map(this::toResponse)
                 .collect(Collectors.toList());
         
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok()
+                .header("X-Total-Count", Long.toString(orders.getTotalElements()))
+                .header("X-Page", Integer.toString(orders.getNumber()))
+                .header("X-Page-Size", Integer.toString(orders.getSize()))
+                .body(responses);
     }
     
     @GetMapping("/{id}")
@@ -186,37 +197,50 @@ public class PurchaseOrderController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Chuyển trạng thái nhiều đơn cùng lúc (ví dụ nhận tất cả đơn giao trong ngày).
+     * Mỗi đơn có kết quả riêng: APPLIED, UNCHANGED, REJECTED (transition không hợp lệ), NOT_FOUND hoặc FAILED
+     */
+    @PostMapping("/bulk-status")
+    public ResponseEntity<PurchaseOrderBulkStatusResponse> bulkUpdateStatus(
+            @Valid @RequestBody PurchaseOrderBulkStatusRequest request,
+            @RequestHeader(value = "X-User-Id", required = false) UUID userId) {
+        return ResponseEntity.ok(purchaseOrderBulkService.transition(request, userId));
+    }
+    
+    /**
+     * Đề xuất đặt hàng: tốc độ bán, ngày dự kiến hết hàng và số lượng cần đặt, nhóm theo nhà cung cấp
+     * Chỉ tính toán, không tạo đơn
+     */
+    @GetMapping("/reorder-suggestions")
+    public ResponseEntity<ReorderRunResponse> getReorderSuggestions() {
+        return ResponseEntity.ok(reorderService.suggest());
+    }
+    
+    /**
+     * Tạo đơn đặt hàng nháp (DRAFT) cho từng nhà cung cấp từ các đề xuất
+     */
+    @PostMapping("/reorder-suggestions/drafts")
+    public ResponseEntity<ReorderRunResponse> createReorderDrafts(
+            @RequestHeader(value = "X-User-Id", required = false) UUID userId) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(reorderService.createDraftOrders(userId));
+    }
+    
+    @GetMapping("/reorder-suggestions/last-run")
+    public ResponseEntity<ReorderRunResponse> getLastReorderRun() {
+        return reorderService.getLastRun()
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
     @PutMapping("/{id}")
-    public ResponseEntity<PurchaseOrderResponse> updatePurchaseOrder(@PathVariable UUID id, @Valid @RequestBody PurchaseOrderRequest request) {
-        PurchaseOrder order = purchaseOrderService.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Purchase order not found: " + id));
-        
-        // State Pattern: Sử dụng state để kiểm tra có thể update không
-        com.example.phfbackend.pattern.state.PurchaseOrderState currentState = 
-            com.example.phfbackend.pattern.state.PurchaseOrderStateFactory.getState(order.getStatus());
-        if (!currentState.canUpdate()) {
-            throw new IllegalStateException("Cannot update order with status: " + order.getStatus());
-        }
-        
-        var supplier = supplierRepository.findById(request.getSupplierId())
-                .orElseThrow(() -> new IllegalArgumentException("Supplier not found: " + request.getSupplierId()));
-        
-        order.getLineItems().clear();
-        for (PurchaseOrderLineRequest lineRequest : request.getLineItems()) {
-            var product = productRepository.findById(lineRequest.getProductId())
-                    .orElseThrow(() -> new IllegalArgumentException("Product not found: " + lineRequest.getProductId()));
-            
-            PurchaseOrderLine line = PurchaseOrderLine.newBuilder()
-                    .product(product)
-                    .quantity(lineRequest.getQuantity())
-                    .unitCost(lineRequest.getUnitCost())
-                    .build();
-            
-            order.addLine(line);
-        }
+    public ResponseEntity<PurchaseOrderResponse> updatePurchaseOrder(
+            @PathVariable UUID id,
+            @Valid @RequestBody PurchaseOrderRequest request,
+            @RequestHeader(value = "X-User-Id", required = false) UUID userId) {
         
-        PurchaseOrder updated = purchaseOrderService.createPurchaseOrder(order);
-        return ResponseEntity.ok(toResponse(updated));
+        // Sử dụng Facade Pattern: validate products bằng một query, lines được insert theo batch
+        return ResponseEntity.ok(purchaseOrderFacade.updatePurchaseOrderWithValidation(id, request, userId));
     }
     
     @DeleteMapping("/{id}")
@@ -0,0 +1,36 @@
+package com.example.phfbackend.controller;
+
+import com.example.phfbackend.dto.response.QueryStatsResponse;
+import com.example.phfbackend.service.QueryStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/query-stats")
+@RequiredArgsConstructor
+public class QueryStatsController {
+    
+    private final QueryStatsService queryStatsService;
+    
+    /**
+     * Thống kê truy vấn: số câu lệnh, số dòng đọc và thời gian JDBC theo từng endpoint, thống kê Hibernate,
+     * các truy vấn chậm gần nhất kèm kế hoạch thực thi (EXPLAIN)
+     */
+    @GetMapping
+    public ResponseEntity<QueryStatsResponse> getStats() {
+        return ResponseEntity.ok(queryStatsService.getStats());
+    }
+    
+    /**
+     * Xóa thống kê, bắt đầu một khoảng đo mới
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> reset() {
+        queryStatsService.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.phfbackend.controller;
+
+import com.example.phfbackend.dto.response.InventoryValuationResponse;
+import com.example.phfbackend.dto.response.InventoryValuationRowResponse;
+import com.example.phfbackend.dto.response.ValuationBucketResponse;
+import com.example.phfbackend.service.InventoryReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+public class ReportController {
+    
+    private final InventoryReportService inventoryReportService;
+    
+    /**
+     * Định giá tồn kho (giá vốn x số lượng) và phân nhóm tuổi hàng / hạn dùng theo danh mục và nhà cung cấp
+     * parallel=true: mỗi danh mục được quét song song trên một kết nối riêng
+     */
+    @GetMapping("/inventory-valuation")
+    public ResponseEntity<InventoryValuationResponse> getInventoryValuation(
+            @RequestParam(required = false) LocalDate asOf,
+            @RequestParam(defaultValue = "false") boolean parallel) {
+        return ResponseEntity.ok(inventoryReportService.getInventoryValuation(asOf != null ? asOf : LocalDate.now(), parallel));
+    }
+    
+    @GetMapping(value = "/inventory-valuation", params = "format=csv")
+    public ResponseEntity<String> getInventoryValuationCsv(
+            @RequestParam(required = false) LocalDate asOf,
+            @RequestParam(defaultValue = "false") boolean parallel) {
+        InventoryValuationResponse report = inventoryReportService.getInventoryValuation(asOf != null ? asOf : LocalDate.now(), parallel);
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"inventory-valuation-" + report.getAsOf() + ".csv\"")
+                .body(toCsv(report));
+    }
+    
+    private String toCsv(InventoryValuationResponse report) {
+        StringBuilder csv = new StringBuilder("category,supplier_id,supplier_name,batch_count,quantity,value");
+        if (!report.getRows().isEmpty()) {
+            InventoryValuationRowResponse first = report.getRows().get(0);
+            first.getAging().forEach(bucket -> csv.append(",age_").append(bucket.getBucket()).append("_qty,age_").append(bucket.getBucket()).append("_value"));
+            first.getExpiry().forEach(bucket -> csv.append(",expiry_").append(bucket.getBucket()).append("_qty,expiry_").append(bucket.getBucket()).append("_value"));
+        }
+        csv.append('\n');
+        
+        for (InventoryValuationRowResponse row : report.getRows()) {
+            csv.append(row.getCategory()).append(',')
+                    .append(row.getSupplierId() != null ? row.getSupplierId() : "").append(',')
+                    .append(csvField(row.getSupplierName())).append(',')
+                    .append(row.getBatchCount()).append(',')
+                    .append(row.getQuantity()).append(',')
+                    .append(row.getValue().toPlainString());
+            for (ValuationBucketResponse bucket : row.getAging()) {
+                csv.append(',').append(bucket.getQuantity()).append(',').append(bucket.getValue().toPlainString());
+            }
+            for (ValuationBucketResponse bucket : row.getExpiry()) {
+                csv.append(',').append(bucket.getQuantity()).append(',').append(bucket.getValue().toPlainString());
+            }
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+    
+    private String csvField(String value) {
+        if (value == null) return "";
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
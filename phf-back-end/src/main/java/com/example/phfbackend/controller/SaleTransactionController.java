@@ -11,6 +11,7 @@ import com.example.phfbackend.entities.sale.SaleTransaction;
 import com.example.phfbackend.entities.sale.SaleTransactionLine;
 import com.example.phfbackend.repository.InventoryBatchRepository;
 import com.example.phfbackend.repository.PharmacyUserRepository;
+import com.example.phfbackend.service.CartReservationService;
 import com.example.phfbackend.service.InventoryBatchService;
 import com.example.phfbackend.service.SaleTransactionService;
 import jakarta.validation.Valid;
@@ -36,6 +37,7 @@ public class SaleTransactionController {
     private final PharmacyUserRepository userRepository;
     private final InventoryBatchRepository inventoryBatchRepository;
     private final InventoryBatchService inventoryBatchService;
+    private final CartReservationService cartReservationService;
     
     @GetMapping
     @Transactional(readOnly = true)
@@ -123,9 +125,10 @@ public class SaleTransactionController {
                 throw new IllegalArgumentException("Cannot sell inactive inventory batch: " + batch.getBatchNumber());
             }
             
-            // Validate sufficient quantity
-            if (batch.getQuantityOnHand() < lineRequest.getQuantity()) {
-                throw new IllegalArgumentException("Insufficient stock for batch " + batch.getBatchNumber() + ". Available: " + batch.getQuantityOnHand() + ", Requested: " + lineRequest.getQuantity());
+            // Validate sufficient quantity (units reserved by other carts are not available to this sale)
+            int available = batch.getQuantityOnHand() - cartReservationService.getReservedQuantity(batch.getId(), request.getCartId());
+            if (available < lineRequest.getQuantity()) {
+                throw new IllegalArgumentException("Insufficient stock for batch " + batch.getBatchNumber() + ". Available: " + Math.max(0, available) + ", Requested: " + lineRequest.getQuantity());
             }
             
             SaleTransactionLine line = SaleTransactionLine.newBuilder()
@@ -143,6 +146,9 @@ public class SaleTransactionController {
         
         SaleTransaction created = saleTransactionService.createSaleTransaction(transaction);
         
+        // The cart's holds become the sale itself once it commits
+        cartReservationService.consumeOnCommit(request.getCartId());
+        
         // A1: Email receipt (if requested)
         if (Boolean.TRUE.equals(request.getEmailReceipt()) && request.getCustomerEmail() != null) {
             // TODO: Implement email receipt functionality
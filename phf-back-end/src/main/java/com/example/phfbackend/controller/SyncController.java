@@ -0,0 +1,132 @@
+package com.example.phfbackend.controller;
+
+import com.example.phfbackend.dto.response.InventoryBatchResponse;
+import com.example.phfbackend.dto.response.PriceChangeResponse;
+import com.example.phfbackend.dto.response.ProductResponse;
+import com.example.phfbackend.dto.response.SupplierResponse;
+import com.example.phfbackend.dto.response.SyncChangesResponse;
+import com.example.phfbackend.dto.response.TombstoneResponse;
+import com.example.phfbackend.entities.inventory.InventoryBatch;
+import com.example.phfbackend.entities.product.Product;
+import com.example.phfbackend.entities.shared.ChangeEntityType;
+import com.example.phfbackend.entities.supplier.Supplier;
+import com.example.phfbackend.service.SyncChangeSet;
+import com.example.phfbackend.service.SyncCursor;
+import com.example.phfbackend.service.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+public class SyncController {
+    
+    private static final int MAX_LIMIT = 5000;
+    
+    private final SyncService syncService;
+    
+    /**
+     * Đồng bộ gia tăng: trả về các thay đổi sau con trỏ since (dạng "<txId>-<version>", xem SyncCursor)
+     * Client lưu nextSince và gọi lại cho đến khi hasMore = false; since=0 trả về toàn bộ dữ liệu
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<SyncChangesResponse> getChanges(
+            @RequestParam(defaultValue = "0") String since,
+            @RequestParam(defaultValue = "500") int limit,
+            @RequestParam(required = false) Set<ChangeEntityType> types) {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        Set<ChangeEntityType> requested = types == null || types.isEmpty()
+                ? EnumSet.allOf(ChangeEntityType.class)
+                : EnumSet.copyOf(types);
+        
+        SyncChangeSet changes = syncService.getChangesSince(SyncCursor.parse(since), requested, limit);
+        return ResponseEntity.ok(SyncChangesResponse.builder()
+                .since(changes.getSince().toString())
+                .nextSince(changes.getNextSince().toString())
+                .hasMore(changes.isHasMore())
+                .products(changes.getProducts().stream().map(this::toResponse).toList())
+                .batches(changes.getBatches().stream().map(this::toResponse).toList())
+                .suppliers(changes.getSuppliers().stream().map(this::toResponse).toList())
+                .prices(changes.getPrices().stream().map(this::toPriceResponse).toList())
+                .tombstones(toTombstoneResponses(changes.getTombstones()))
+                .build());
+    }
+    
+    private ProductResponse toResponse(Product product) {
+        return ProductResponse.builder()
+                .id(product.getId())
+                .sku(product.getSku())
+                .name(product.getName())
+                .activeIngredient(product.getActiveIngredient())
+                .dosageForm(product.getDosageForm())
+                .dosageStrength(product.getDosageStrength())
+                .category(product.getCategory())
+                .reorderLevel(product.getReorderLevel())
+                .expiryAlertDays(product.getExpiryAlertDays())
+                .dosage(product.getDosage())
+                .minStock(product.getMinStock())
+                .active(product.isActive())
+                .createdAt(product.getCreatedAt())
+                .updatedAt(product.getUpdatedAt())
+                .build();
+    }
+    
+    private InventoryBatchResponse toResponse(InventoryBatch batch) {
+        return InventoryBatchResponse.builder()
+                .id(batch.getId())
+                .productId(batch.getProduct().getId())
+                .productName(batch.getProduct().getName())
+                .productSku(batch.getProduct().getSku())
+                .batchNumber(batch.getBatchNumber())
+                .quantityOnHand(batch.getQuantityOnHand())
+                .costPrice(batch.getCostPrice())
+                .sellingPrice(batch.getSellingPrice())
+                .receivedDate(batch.getReceivedDate())
+                .expiryDate(batch.getExpiryDate())
+                .active(batch.isActive())
+                .createdAt(batch.getCreatedAt())
+                .updatedAt(batch.getUpdatedAt())
+                .build();
+    }
+    
+    private SupplierResponse toResponse(Supplier supplier) {
+        return SupplierResponse.builder()
+                .id(supplier.getId())
+                .name(supplier.getName())
+                .contact(supplier.getContact())
+                .notes(supplier.getNotes())
+                .active(supplier.isActive())
+                .createdAt(supplier.getCreatedAt())
+                .updatedAt(supplier.getUpdatedAt())
+                .build();
+    }
+    
+    private PriceChangeResponse toPriceResponse(InventoryBatch batch) {
+        return PriceChangeResponse.builder()
+                .inventoryBatchId(batch.getId())
+                .productId(batch.getProduct().getId())
+                .costPrice(batch.getCostPrice())
+                .sellingPrice(batch.getSellingPrice())
+                .build();
+    }
+    
+    private List<TombstoneResponse> toTombstoneResponses(List<SyncChangeSet.Tombstone> tombstones) {
+        return tombstones.stream()
+                .map(tombstone -> TombstoneResponse.builder()
+                        .entityType(tombstone.getEntityType())
+                        .entityId(tombstone.getEntityId())
+                        .version(tombstone.getVersion())
+                        .build())
+                .toList();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.phfbackend.controller;
 
+import com.example.phfbackend.dto.SystemLogFilterCriteria;
 import com.example.phfbackend.dto.response.SystemLogResponse;
 import com.example.phfbackend.entities.shared.SystemLog;
 import com.example.phfbackend.service.SystemLogService;
@@ -7,7 +8,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -17,35 +21,51 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class SystemLogController {
     
+    private static final int MAX_LIMIT = 1000;
+    
     private final SystemLogService systemLogService;
     
+    /**
+     * Liệt kê nhật ký mới nhất trước, kết hợp mọi bộ lọc; phân trang keyset theo (createdAt, id)
+     * Header X-Next-Cursor (nếu còn trang sau) được gửi lại qua tham số cursor
+     */
     @GetMapping
     public ResponseEntity<List<SystemLogResponse>> listSystemLogs(
             @RequestParam(required = false) String action,
             @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) UUID entityId,
             @RequestParam(required = false) UUID userId,
             @RequestParam(required = false) OffsetDateTime startDate,
-            @RequestParam(required = false) OffsetDateTime endDate) {
-        
-        List<SystemLog> logs;
-        
-        if (startDate != null && endDate != null) {
-            logs = systemLogService.findByDateRange(startDate, endDate);
-        } else if (action != null) {
-            logs = systemLogService.findByAction(action);
-        } else if (entityType != null) {
-            logs = systemLogService.findByEntityType(entityType);
-        } else if (userId != null) {
-            logs = systemLogService.findByUserId(userId);
-        } else {
-            logs = systemLogService.findAll();
+            @RequestParam(required = false) OffsetDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        SystemLogFilterCriteria criteria = SystemLogFilterCriteria.builder()
+                .action(action)
+                .entityType(entityType)
+                .entityId(entityId)
+                .userId(userId)
+                .startDate(startDate)
+                .endDate(endDate)
+                .build();
+        if (cursor != null) {
+            applyCursor(criteria, cursor);
         }
         
+        List<SystemLog> logs = systemLogService.findPage(criteria, limit);
+        
         List<SystemLogResponse> responses = logs.stream()
                 .map(this::toResponse)
                 .collect(Collectors.toList());
         
-        return ResponseEntity.ok(responses);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (logs.size() == limit) {
+            SystemLog last = logs.get(logs.size() - 1);
+            response.header("X-Next-Cursor", encodeCursor(last));
+        }
+        return response.body(responses);
     }
     
     @GetMapping("/{id}")
@@ -55,6 +75,22 @@ public class SystemLogController {
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    // Opaque to clients: base64url of "createdAt|id" of the last log of the page
+    private String encodeCursor(SystemLog log) {
+        String value = log.getCreatedAt() + "|" + log.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private void applyCursor(SystemLogFilterCriteria criteria, String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+            criteria.setBeforeCreatedAt(OffsetDateTime.parse(parts[0]));
+            criteria.setBeforeId(UUID.fromString(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+    
     private SystemLogResponse toResponse(SystemLog log) {
         return SystemLogResponse.builder()
                 .id(log.getId())
@@ -68,6 +104,3 @@ public class SystemLogController {
                 .build();
     }
 }
-
-
-
@@ -0,0 +1,21 @@
+package com.example.phfbackend.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+public class SystemLogFilterCriteria {
+    private String action;
+    private String entityType;
+    private UUID entityId;
+    private UUID userId;
+    private OffsetDateTime startDate;
+    private OffsetDateTime endDate;
+    /** Keyset cursor: only logs strictly older than (beforeCreatedAt, beforeId) */
+    private OffsetDateTime beforeCreatedAt;
+    private UUID beforeId;
+}
@@ -0,0 +1,18 @@
+package com.example.phfbackend.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+public class CartReservationRequest {
+    @NotNull(message = "Inventory batch ID is required")
+    private UUID inventoryBatchId;
+    
+    // Quantity of the cart line; 0 removes the line's reservation
+    @NotNull(message = "Quantity is required")
+    @PositiveOrZero(message = "Quantity must be zero or positive")
+    private Integer quantity;
+}
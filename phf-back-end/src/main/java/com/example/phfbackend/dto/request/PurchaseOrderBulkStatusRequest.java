@@ -0,0 +1,22 @@
+package com.example.phfbackend.dto.request;
+
+import com.example.phfbackend.entities.purchase.PurchaseOrderStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class PurchaseOrderBulkStatusRequest {
+    @NotEmpty(message = "At least one purchase order ID is required")
+    private List<UUID> purchaseOrderIds;
+    
+    @NotNull(message = "Target status is required")
+    private PurchaseOrderStatus status;
+    
+    // Only used when the target status is ORDERED; keeps the current expected date when null
+    private LocalDate expectedDate;
+}
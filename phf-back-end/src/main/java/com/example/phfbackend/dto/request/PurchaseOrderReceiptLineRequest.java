@@ -0,0 +1,31 @@
+package com.example.phfbackend.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+public class PurchaseOrderReceiptLineRequest {
+    @NotNull(message = "Purchase order line ID is required")
+    private UUID purchaseOrderLineId;
+    
+    @NotNull(message = "Quantity is required")
+    @Positive(message = "Quantity must be positive")
+    private Integer quantity;
+    
+    // Defaults to <orderCode>-L<lineNumber>-R<receiptNumber>
+    @Size(max = 64, message = "Batch number must be at most 64 characters")
+    private String batchNumber;
+    
+    // Defaults to received date + purchase-order.receiving.default-shelf-life-months
+    private LocalDate expiryDate;
+    
+    // Defaults to unit cost x purchase-order.receiving.default-markup
+    @Positive(message = "Selling price must be positive")
+    private BigDecimal sellingPrice;
+}
@@ -0,0 +1,25 @@
+package com.example.phfbackend.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class PurchaseOrderReceiptRequest {
+    // Generated by the client once per receiving form; a resubmit with the same key is not received twice
+    @NotBlank(message = "Receipt key is required")
+    @Size(max = 64, message = "Receipt key must be at most 64 characters")
+    private String receiptKey;
+    
+    // Defaults to today
+    private LocalDate receivedDate;
+    
+    @NotEmpty(message = "At least one received line is required")
+    @Valid
+    private List<PurchaseOrderReceiptLineRequest> lines;
+}
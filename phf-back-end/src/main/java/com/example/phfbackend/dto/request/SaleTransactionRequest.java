@@ -44,6 +44,9 @@ public class SaleTransactionRequest {
     
     // Whether to email receipt
     private Boolean emailReceipt;
+    
+    // POS cart whose reservations this sale consumes (optional)
+    private String cartId;
 }
 
 
@@ -0,0 +1,25 @@
+package com.example.phfbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+/**
+ * Statistics of one alert digest run
+ */
+@Data
+@Builder
+public class AlertDigestRunResponse {
+    private OffsetDateTime startedAt;
+    private long durationMs;
+    private int alertsEvaluated;
+    private double alertsEvaluatedPerSecond;
+    private int alertsSent; // (role, alert) pairs newly delivered
+    private int alertsSuppressed; // (role, alert) pairs already delivered in a previous run
+    private int digestsSent;
+    private int digestsFailed;
+    private int notificationsCleared; // conditions resolved since the previous run
+    private Map<String, Integer> alertsByRole;
+}
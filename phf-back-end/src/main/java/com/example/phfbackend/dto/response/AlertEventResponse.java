@@ -0,0 +1,15 @@
+package com.example.phfbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+@Builder
+public class AlertEventResponse {
+    private String alertType;
+    private String fingerprint;
+    private UUID productId;
+    private String productName;
+}
@@ -0,0 +1,14 @@
+package com.example.phfbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+@Builder
+public class BatchStockAsOfResponse {
+    private UUID inventoryBatchId;
+    private String batchNumber;
+    private Integer quantity;
+}
@@ -0,0 +1,19 @@
+package com.example.phfbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Quantity of a batch held by a POS cart until the sale is committed or the hold expires
+ */
+@Data
+@Builder
+public class CartReservationResponse {
+    private String cartId;
+    private UUID inventoryBatchId;
+    private int quantity;
+    private OffsetDateTime expiresAt;
+}
@@ -0,0 +1,19 @@
+package com.example.phfbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Full POS catalog (active products with FEFO price and sellable stock) for terminal bootstrap
+ */
+@Data
+@Builder
+public class CatalogSnapshotResponse {
+    private String version; // content hash of products, also used as ETag
+    private OffsetDateTime generatedAt;
+    private int productCount;
+    private List<POSProductResponse> products;
+}
@@ -0,0 +1,20 @@
+package com.example.phfbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class EndpointQueryStatsResponse {
+    private String endpoint;
+    private long requests;
+    private long statements;
+    private long rowsFetched;
+    private double jdbcTimeMs;
+    private double avgStatementsPerRequest;
+    private double avgRowsPerRequest;
+    private double avgJdbcTimeMs;
+    private long maxStatements;
+    private long maxRowsFetched;
+    private double maxJdbcTimeMs;
+}
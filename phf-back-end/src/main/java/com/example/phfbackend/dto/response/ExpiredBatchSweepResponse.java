@@ -0,0 +1,19 @@
+package com.example.phfbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Result of one expired batch sweep
+ */
+@Data
+@Builder
+public class ExpiredBatchSweepResponse {
+    private LocalDate expiredBefore;
+    private int chunks;
+    private int batchesWrittenOff;
+    private long unitsWrittenOff;
+    private long durationMs;
+}
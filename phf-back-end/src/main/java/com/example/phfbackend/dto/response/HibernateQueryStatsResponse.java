@@ -0,0 +1,15 @@
+package com.example.phfbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class HibernateQueryStatsResponse {
+    private String query;
+    private long executionCount;
+    private long executionRowCount;
+    private long executionTotalTimeMs;
+    private long executionAvgTimeMs;
+    private long executionMaxTimeMs;
+}
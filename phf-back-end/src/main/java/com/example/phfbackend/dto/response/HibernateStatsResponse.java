@@ -0,0 +1,24 @@
+package com.example.phfbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class HibernateStatsResponse {
+    private boolean enabled;
+    private long sessionOpenCount;
+    private long transactionCount;
+    private long prepareStatementCount;
+    private long queryExecutionCount;
+    private long queryExecutionMaxTimeMs;
+    private String queryExecutionMaxTimeQueryString;
+    private long entityLoadCount;
+    private long entityFetchCount;
+    private long collectionFetchCount;
+    private long secondLevelCacheHitCount;
+    private long secondLevelCacheMissCount;
+    private List<HibernateQueryStatsResponse> topQueries;
+}
@@ -0,0 +1,22 @@
+package com.example.phfbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO for point-in-time stock ("stock as of date")
+ * checkpointAt is the instant the quantities were rolled back from (null means live stock)
+ */
+@Data
+@Builder
+public class InventoryAsOfResponse {
+    private OffsetDateTime asOf;
+    private UUID checkpointId;
+    private OffsetDateTime checkpointAt;
+    private Integer totalQuantity;
+    private List<ProductStockAsOfResponse> products;
+}
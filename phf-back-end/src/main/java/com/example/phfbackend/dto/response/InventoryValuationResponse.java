@@ -0,0 +1,23 @@
+package com.example.phfbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Stock valuation and aging report
+ */
+@Data
+@Builder
+public class InventoryValuationResponse {
+    private LocalDate asOf;
+    private boolean parallel;
+    private long durationMs;
+    private long batchCount;
+    private long totalQuantity;
+    private BigDecimal totalValue;
+    private List<InventoryValuationRowResponse> rows;
+}
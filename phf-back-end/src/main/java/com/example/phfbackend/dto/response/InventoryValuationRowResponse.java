@@ -0,0 +1,24 @@
+package com.example.phfbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Valuation of one (category, supplier) group
+ */
+@Data
+@Builder
+public class InventoryValuationRowResponse {
+    private String category;
+    private UUID supplierId; // null for batches not received through a purchase order
+    private String supplierName;
+    private long batchCount;
+    private long quantity;
+    private BigDecimal value; // sum of costPrice x quantityOnHand
+    private List<ValuationBucketResponse> aging; // days since receivedDate
+    private List<ValuationBucketResponse> expiry; // months to expiryDate
+}
@@ -0,0 +1,12 @@
+package com.example.phfbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class LiveEventStatsResponse {
+    private int subscribers;
+    private long published;
+    private long dropped;
+}
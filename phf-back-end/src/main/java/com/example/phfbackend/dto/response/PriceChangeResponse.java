@@ -0,0 +1,16 @@
+package com.example.phfbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@Builder
+public class PriceChangeResponse {
+    private UUID inventoryBatchId;
+    private UUID productId;
+    private BigDecimal costPrice;
+    private BigDecimal sellingPrice;
+}
@@ -0,0 +1,18 @@
+package com.example.phfbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+public class ProductStockAsOfResponse {
+    private UUID productId;
+    private String productSku;
+    private String productName;
+    private Integer quantity; // Sum of batches[].quantity + adjustmentCorrection
+    private Integer adjustmentCorrection; // Product-level adjustments reversed (not attributable to a batch), not in any batch
+    private List<BatchStockAsOfResponse> batches;
+}
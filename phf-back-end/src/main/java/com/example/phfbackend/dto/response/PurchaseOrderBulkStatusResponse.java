@@ -0,0 +1,23 @@
+package com.example.phfbackend.dto.response;
+
+import com.example.phfbackend.entities.purchase.PurchaseOrderStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class PurchaseOrderBulkStatusResponse {
+    private PurchaseOrderStatus targetStatus;
+    private long durationMs;
+    private int requested;
+    private int chunks;
+    private int applied;
+    private int unchanged;
+    private int rejected;
+    private int notFound;
+    private int failed;
+    private int inventoryBatchesCreated;
+    private List<PurchaseOrderBulkStatusResultResponse> results;
+}
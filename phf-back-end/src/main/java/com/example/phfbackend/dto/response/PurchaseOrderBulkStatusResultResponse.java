@@ -0,0 +1,20 @@
+package com.example.phfbackend.dto.response;
+
+import com.example.phfbackend.entities.purchase.PurchaseOrderStatus;
+import com.example.phfbackend.service.BulkTransitionOutcome;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+@Builder
+public class PurchaseOrderBulkStatusResultResponse {
+    private UUID purchaseOrderId;
+    private String orderCode;
+    private BulkTransitionOutcome outcome;
+    private PurchaseOrderStatus previousStatus;
+    private PurchaseOrderStatus status;
+    private int inventoryBatchesCreated;
+    private String message;
+}
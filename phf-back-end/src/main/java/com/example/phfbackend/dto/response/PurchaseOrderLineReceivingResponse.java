@@ -0,0 +1,18 @@
+package com.example.phfbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+@Builder
+public class PurchaseOrderLineReceivingResponse {
+    private UUID purchaseOrderLineId;
+    private int lineNumber;
+    private UUID productId;
+    private String productName;
+    private int orderedQuantity;
+    private int receivedQuantity;
+    private int outstandingQuantity;
+}
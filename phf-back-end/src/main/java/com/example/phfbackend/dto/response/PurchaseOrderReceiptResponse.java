@@ -0,0 +1,23 @@
+package com.example.phfbackend.dto.response;
+
+import com.example.phfbackend.entities.purchase.PurchaseOrderStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+public class PurchaseOrderReceiptResponse {
+    private UUID receiptId;
+    private String receiptKey;
+    private UUID purchaseOrderId;
+    private String orderCode;
+    private PurchaseOrderStatus status;
+    private LocalDate receivedDate;
+    private boolean replayed;
+    private List<InventoryBatchResponse> batches;
+    private List<PurchaseOrderLineReceivingResponse> lines;
+}
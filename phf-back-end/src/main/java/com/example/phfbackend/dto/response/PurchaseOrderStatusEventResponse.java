@@ -0,0 +1,16 @@
+package com.example.phfbackend.dto.response;
+
+import com.example.phfbackend.entities.purchase.PurchaseOrderStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+@Builder
+public class PurchaseOrderStatusEventResponse {
+    private UUID purchaseOrderId;
+    private String orderCode;
+    private PurchaseOrderStatus previousStatus;
+    private PurchaseOrderStatus status;
+}
@@ -0,0 +1,17 @@
+package com.example.phfbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Data
+@Builder
+public class QueryStatsResponse {
+    private OffsetDateTime since;
+    private long slowQueryThresholdMs;
+    private HibernateStatsResponse hibernate;
+    private List<EndpointQueryStatsResponse> endpoints;
+    private List<SlowQueryResponse> slowQueries;
+}
@@ -0,0 +1,28 @@
+package com.example.phfbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@Builder
+public class ReorderProposalResponse {
+    private UUID productId;
+    private String productSku;
+    private String productName;
+    private int onHand;
+    private int onOrder;
+    private int unitsSold;
+    private double dailyVelocity;
+    /** Null when the product did not sell during the window */
+    private LocalDate projectedStockoutDate;
+    private int reorderPoint;
+    private int targetStock;
+    private int proposedQuantity;
+    private BigDecimal unitCost;
+    /** Set when the proposal could not be assigned to a supplier order (NO_SUPPLIER, NO_COST) */
+    private String skippedReason;
+}
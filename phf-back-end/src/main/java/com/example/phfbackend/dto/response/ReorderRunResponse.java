@@ -0,0 +1,25 @@
+package com.example.phfbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Data
+@Builder
+public class ReorderRunResponse {
+    private OffsetDateTime startedAt;
+    private boolean draftsCreated;
+    private long durationMs;
+    private int productsEvaluated;
+    private double productsPerSecond;
+    private int chunks;
+    private int parallelism;
+    private int proposals;
+    private int skipped;
+    private int purchaseOrdersCreated;
+    private int purchaseOrdersFailed;
+    private List<ReorderSupplierGroupResponse> suppliers;
+    private List<ReorderProposalResponse> unassigned;
+}
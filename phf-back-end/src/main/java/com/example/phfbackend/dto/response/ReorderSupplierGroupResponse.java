@@ -0,0 +1,21 @@
+package com.example.phfbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+public class ReorderSupplierGroupResponse {
+    private UUID supplierId;
+    private String supplierName;
+    private List<ReorderProposalResponse> lines;
+    private BigDecimal totalCost;
+    /** Draft created for this group (draft runs only) */
+    private UUID purchaseOrderId;
+    private String orderCode;
+    private String error;
+}
@@ -0,0 +1,20 @@
+package com.example.phfbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+public class SaleEventResponse {
+    private UUID saleTransactionId;
+    private String receiptNumber;
+    private OffsetDateTime soldAt;
+    private UUID cashierId;
+    private int lineCount;
+    private int unitCount;
+    private BigDecimal totalAmount;
+}
@@ -0,0 +1,19 @@
+package com.example.phfbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+
+@Data
+@Builder
+public class SlowQueryResponse {
+    private OffsetDateTime executedAt;
+    private String endpoint;
+    private String sql;
+    private double durationMs;
+    private int parameterCount;
+    /** PENDING, ANALYZED, EXPLAINED, COOLDOWN, SKIPPED, FAILED */
+    private String planStatus;
+    private String plan;
+}
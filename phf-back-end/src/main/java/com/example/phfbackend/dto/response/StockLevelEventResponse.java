@@ -0,0 +1,16 @@
+package com.example.phfbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+@Builder
+public class StockLevelEventResponse {
+    private UUID inventoryBatchId;
+    private String batchNumber;
+    private UUID productId;
+    private Integer quantityOnHand;
+    private boolean active;
+}
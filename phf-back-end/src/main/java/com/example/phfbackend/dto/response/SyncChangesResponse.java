@@ -0,0 +1,19 @@
+package com.example.phfbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class SyncChangesResponse {
+    private String since;
+    private String nextSince;
+    private boolean hasMore;
+    private List<ProductResponse> products;
+    private List<InventoryBatchResponse> batches;
+    private List<SupplierResponse> suppliers;
+    private List<PriceChangeResponse> prices;
+    private List<TombstoneResponse> tombstones;
+}
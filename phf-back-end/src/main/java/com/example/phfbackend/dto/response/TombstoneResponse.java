@@ -0,0 +1,15 @@
+package com.example.phfbackend.dto.response;
+
+import com.example.phfbackend.entities.shared.ChangeEntityType;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+@Builder
+public class TombstoneResponse {
+    private ChangeEntityType entityType;
+    private UUID entityId;
+    private long version;
+}
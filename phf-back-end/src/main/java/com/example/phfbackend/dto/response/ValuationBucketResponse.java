@@ -0,0 +1,14 @@
+package com.example.phfbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+public class ValuationBucketResponse {
+    private String bucket;
+    private long quantity;
+    private BigDecimal value;
+}
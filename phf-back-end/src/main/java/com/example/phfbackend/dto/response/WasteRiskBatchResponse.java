@@ -0,0 +1,25 @@
+package com.example.phfbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@Builder
+public class WasteRiskBatchResponse {
+    private UUID inventoryBatchId;
+    private String batchNumber;
+    private UUID productId;
+    private String productSku;
+    private String productName;
+    private LocalDate expiryDate;
+    private int daysToExpiry;
+    private int quantityOnHand;
+    private BigDecimal dailySellThrough;
+    private int projectedSold;
+    private int projectedWasteQuantity;
+    private BigDecimal projectedWasteValue;
+}
@@ -0,0 +1,19 @@
+package com.example.phfbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Data
+@Builder
+public class WasteRiskResponse {
+    /** When the forecast being served was computed (null before the first run) */
+    private OffsetDateTime computedAt;
+    private long batchesAtRisk;
+    private long projectedWasteQuantity;
+    private BigDecimal projectedWasteValue;
+    private List<WasteRiskBatchResponse> batches;
+}
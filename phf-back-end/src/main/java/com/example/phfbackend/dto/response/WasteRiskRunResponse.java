@@ -0,0 +1,20 @@
+package com.example.phfbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+@Data
+@Builder
+public class WasteRiskRunResponse {
+    private OffsetDateTime computedAt;
+    private long durationMs;
+    private int productsEvaluated;
+    private int batchesEvaluated;
+    private int batchesAtRisk;
+    private long projectedWasteQuantity;
+    private BigDecimal projectedWasteValue;
+    private int chunks;
+}
@@ -41,4 +41,12 @@ public abstract class Alert {
         this.alertDate = alertDate;
     }
 
+    public abstract String getAlertType();
+
+    /**
+     * Identity of the alert condition, stable across runs while the condition persists.
+     * Used by the alert digest to avoid emailing the same alert twice.
+     */
+    public abstract String fingerprint();
+
 }
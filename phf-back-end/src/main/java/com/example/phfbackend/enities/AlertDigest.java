@@ -0,0 +1,68 @@
+package com.example.phfbackend.enities;
+
+import com.example.phfbackend.entities.user.UserRole;
+
+import java.util.List;
+
+/**
+ * One digest email for a recipient role: the alerts not yet sent to that role, rendered into a single message.
+ */
+public class AlertDigest {
+
+    private UserRole recipientRole;
+    private List<String> recipients;
+    private String subject;
+    private String body;
+    private List<Alert> alerts;
+
+    public AlertDigest() {
+    }
+
+    public AlertDigest(UserRole recipientRole, List<String> recipients, String subject, String body, List<Alert> alerts) {
+        this.recipientRole = recipientRole;
+        this.recipients = recipients;
+        this.subject = subject;
+        this.body = body;
+        this.alerts = alerts;
+    }
+
+    public UserRole getRecipientRole() {
+        return recipientRole;
+    }
+
+    public void setRecipientRole(UserRole recipientRole) {
+        this.recipientRole = recipientRole;
+    }
+
+    public List<String> getRecipients() {
+        return recipients;
+    }
+
+    public void setRecipients(List<String> recipients) {
+        this.recipients = recipients;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public List<Alert> getAlerts() {
+        return alerts;
+    }
+
+    public void setAlerts(List<Alert> alerts) {
+        this.alerts = alerts;
+    }
+}
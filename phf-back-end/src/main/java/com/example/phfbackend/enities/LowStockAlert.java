@@ -32,4 +32,19 @@ public class LowStockAlert extends Alert{
     public void setThreshold(int threshold) {
         this.threshold = threshold;
     }
+
+    public boolean isOutOfStock() {
+        return currentStock <= 0;
+    }
+
+    @Override
+    public String getAlertType() {
+        return "low-stock";
+    }
+
+    // Het hang la muc nghiem trong hon sap het hang nen duoc gui lai
+    @Override
+    public String fingerprint() {
+        return getAlertType() + ":" + getProductId() + ":" + (isOutOfStock() ? "out" : "low");
+    }
 }
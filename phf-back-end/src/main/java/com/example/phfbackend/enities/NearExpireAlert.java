@@ -43,4 +43,14 @@ public class NearExpireAlert extends Alert{
     public void setExpiryWindow(int expiryWindow) {
         this.expiryWindow = expiryWindow;
     }
+
+    @Override
+    public String getAlertType() {
+        return "near-expiry";
+    }
+
+    @Override
+    public String fingerprint() {
+        return getAlertType() + ":" + stock.getInventoryBatchId() + ":" + expireDate;
+    }
 }
@@ -1,4 +1,43 @@
 package com.example.phfbackend.enities;
 
+import java.util.UUID;
+
 public class Stock {
+
+    private UUID inventoryBatchId;
+    private String batchNumber;
+    private int quantityOnHand;
+
+    public Stock() {
+    }
+
+    public Stock(UUID inventoryBatchId, String batchNumber, int quantityOnHand) {
+        this.inventoryBatchId = inventoryBatchId;
+        this.batchNumber = batchNumber;
+        this.quantityOnHand = quantityOnHand;
+    }
+
+    public UUID getInventoryBatchId() {
+        return inventoryBatchId;
+    }
+
+    public void setInventoryBatchId(UUID inventoryBatchId) {
+        this.inventoryBatchId = inventoryBatchId;
+    }
+
+    public String getBatchNumber() {
+        return batchNumber;
+    }
+
+    public void setBatchNumber(String batchNumber) {
+        this.batchNumber = batchNumber;
+    }
+
+    public int getQuantityOnHand() {
+        return quantityOnHand;
+    }
+
+    public void setQuantityOnHand(int quantityOnHand) {
+        this.quantityOnHand = quantityOnHand;
+    }
 }
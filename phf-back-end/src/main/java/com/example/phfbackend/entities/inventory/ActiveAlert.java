@@ -0,0 +1,44 @@
+package com.example.phfbackend.entities.inventory;
+
+import com.example.phfbackend.entities.shared.Validation;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Alert condition currently raised, whether or not its digest has been delivered to any role.
+ */
+@Entity
+@Table(name = "active_alerts")
+@Getter
+@ToString
+@EqualsAndHashCode(of = "fingerprint")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ActiveAlert {
+
+    @Id
+    @Column(length = 255)
+    private String fingerprint;
+
+    @Column(name = "alert_type", nullable = false, length = 32)
+    private String alertType;
+
+    @Column(name = "raised_at", nullable = false)
+    private OffsetDateTime raisedAt;
+
+    @Builder(builderMethodName = "newBuilder")
+    private ActiveAlert(String fingerprint, String alertType, OffsetDateTime raisedAt) {
+        this.fingerprint = Validation.requireNonBlank(fingerprint, "fingerprint");
+        this.alertType = Validation.requireNonBlank(alertType, "alertType");
+        this.raisedAt = Validation.requireNonNull(raisedAt, "raisedAt");
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.phfbackend.entities.inventory;
+
+import com.example.phfbackend.entities.shared.Validation;
+import com.example.phfbackend.entities.user.UserRole;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Record of an alert already delivered to a recipient role, used to keep the alert digest from repeating itself.
+ */
+@Entity
+@Table(name = "alert_notifications")
+@Getter
+@ToString
+@EqualsAndHashCode(of = "fingerprint")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class AlertNotification {
+
+    @Id
+    @Column(length = 255)
+    private String fingerprint;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "recipient_role", nullable = false, length = 32)
+    private UserRole recipientRole;
+
+    @Column(name = "alert_type", nullable = false, length = 32)
+    private String alertType;
+
+    @Column(name = "sent_at", nullable = false)
+    private OffsetDateTime sentAt;
+
+    @Builder(builderMethodName = "newBuilder")
+    private AlertNotification(String fingerprint, UserRole recipientRole, String alertType, OffsetDateTime sentAt) {
+        this.fingerprint = Validation.requireNonBlank(fingerprint, "fingerprint");
+        this.recipientRole = Validation.requireNonNull(recipientRole, "recipientRole");
+        this.alertType = Validation.requireNonBlank(alertType, "alertType");
+        this.sentAt = Validation.requireNonNull(sentAt, "sentAt");
+    }
+}
@@ -57,13 +57,18 @@ public class InventoryAdjustment extends AuditableEntity {
     @Column(length = 255)
     private String reason;
 
+    // Batch the change was made on; null for adjustments that only concern the product total
+    @Column(name = "inventory_batch_id")
+    private UUID inventoryBatchId;
+
     @Builder(builderMethodName = "newBuilder")
     private InventoryAdjustment(UUID id,
                                 Product product,
                                 PharmacyUser performedBy,
                                 InventoryAdjustmentType type,
                                 Integer quantityChange,
-                                String reason) {
+                                String reason,
+                                UUID inventoryBatchId) {
         this.id = id;
         this.product = Validation.requireNonNull(product, "product");
         this.performedBy = Validation.requireNonNull(performedBy, "performedBy");
@@ -73,5 +78,6 @@ public class InventoryAdjustment extends AuditableEntity {
             throw new IllegalArgumentException("quantityChange cannot be zero");
         }
         this.reason = reason;
+        this.inventoryBatchId = inventoryBatchId;
     }
 }
@@ -2,12 +2,12 @@ package com.example.phfbackend.entities.inventory;
 
 import com.example.phfbackend.entities.product.Product;
 import com.example.phfbackend.entities.shared.AuditableEntity;
+import com.example.phfbackend.entities.shared.UuidV7;
 import com.example.phfbackend.entities.shared.Validation;
+import com.example.phfbackend.entities.supplier.Supplier;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -34,13 +34,13 @@ import java.util.UUID;
         query = "SELECT b FROM InventoryBatch b WHERE b.product.id = :productId AND b.expiryDate <= :thresholdDate ORDER BY b.expiryDate"
 )
 @Getter
-@ToString(callSuper = true, exclude = "product")
+@ToString(callSuper = true, exclude = {"product", "supplier"})
 @EqualsAndHashCode(callSuper = false, of = "id")
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class InventoryBatch extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -68,6 +68,18 @@ public class InventoryBatch extends AuditableEntity {
     @Column(nullable = false)
     private boolean active;
 
+    // Supplier the batch was received from; null for batches entered manually
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "supplier_id")
+    private Supplier supplier;
+
+    // Receipt and purchase order line the batch was received from; null for batches entered manually
+    @Column(name = "purchase_order_receipt_id")
+    private UUID purchaseOrderReceiptId;
+
+    @Column(name = "purchase_order_line_id")
+    private UUID purchaseOrderLineId;
+
     @Builder(builderMethodName = "newBuilder")
     private InventoryBatch(UUID id,
                            Product product,
@@ -77,7 +89,10 @@ public class InventoryBatch extends AuditableEntity {
                            LocalDate receivedDate,
                            LocalDate expiryDate,
                            BigDecimal sellingPrice,
-                           Boolean active) {
+                           Boolean active,
+                           Supplier supplier,
+                           UUID purchaseOrderReceiptId,
+                           UUID purchaseOrderLineId) {
         this.id = id;
         this.product = Validation.requireNonNull(product, "product");
         this.batchNumber = Validation.requireNonBlank(batchNumber, "batchNumber");
@@ -87,6 +102,9 @@ public class InventoryBatch extends AuditableEntity {
         this.expiryDate = Validation.requireNonNull(expiryDate, "expiryDate");
         this.sellingPrice = Validation.requirePositive(sellingPrice, "sellingPrice");
         this.active = active != null ? active : true;
+        this.supplier = supplier;
+        this.purchaseOrderReceiptId = purchaseOrderReceiptId;
+        this.purchaseOrderLineId = purchaseOrderLineId;
         if (this.expiryDate.isBefore(this.receivedDate)) {
             throw new IllegalArgumentException("expiryDate must be on or after receivedDate");
         }
@@ -0,0 +1,51 @@
+package com.example.phfbackend.entities.inventory;
+
+import com.example.phfbackend.entities.shared.Validation;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Checkpoint of every batch quantity at a given instant, used to answer point-in-time stock queries.
+ * Lines are written set-based straight from inventory_batches and are not mapped as a collection.
+ */
+@Entity
+@Table(name = "inventory_snapshots")
+@Getter
+@ToString
+@EqualsAndHashCode(of = "id")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class InventorySnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "taken_at", nullable = false, updatable = false)
+    private OffsetDateTime takenAt;
+
+    @Column(name = "batch_count", nullable = false)
+    private int batchCount;
+
+    @Builder(builderMethodName = "newBuilder")
+    private InventorySnapshot(UUID id, OffsetDateTime takenAt) {
+        this.id = id;
+        this.takenAt = Validation.requireNonNull(takenAt, "takenAt");
+    }
+
+    public void recordBatchCount(int batchCount) {
+        this.batchCount = Validation.requirePositiveOrZero(batchCount, "batchCount");
+    }
+}
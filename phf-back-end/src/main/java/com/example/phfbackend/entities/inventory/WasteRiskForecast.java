@@ -0,0 +1,73 @@
+package com.example.phfbackend.entities.inventory;
+
+import com.example.phfbackend.entities.product.Product;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Precomputed expiry waste risk of one batch. Rows are rebuilt set-based by the forecaster and read-only here.
+ */
+@Entity
+@Immutable
+@Table(name = "waste_risk_forecasts")
+@Getter
+@ToString(exclude = {"inventoryBatch", "product"})
+@EqualsAndHashCode(of = "inventoryBatchId")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class WasteRiskForecast {
+    
+    @Id
+    @Column(name = "inventory_batch_id")
+    private UUID inventoryBatchId;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "inventory_batch_id", insertable = false, updatable = false)
+    private InventoryBatch inventoryBatch;
+    
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", insertable = false, updatable = false)
+    private Product product;
+    
+    @Column(name = "computed_at", nullable = false)
+    private OffsetDateTime computedAt;
+    
+    @Column(name = "expiry_date", nullable = false)
+    private LocalDate expiryDate;
+    
+    @Column(name = "days_to_expiry", nullable = false)
+    private int daysToExpiry;
+    
+    @Column(name = "quantity_on_hand", nullable = false)
+    private int quantityOnHand;
+    
+    @Column(name = "daily_sell_through", nullable = false, precision = 12, scale = 4)
+    private BigDecimal dailySellThrough;
+    
+    @Column(name = "projected_sold", nullable = false)
+    private int projectedSold;
+    
+    @Column(name = "projected_waste_quantity", nullable = false)
+    private int projectedWasteQuantity;
+    
+    @Column(name = "projected_waste_value", nullable = false, precision = 14, scale = 2)
+    private BigDecimal projectedWasteValue;
+}
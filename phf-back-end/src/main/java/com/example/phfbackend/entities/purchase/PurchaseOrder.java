@@ -85,6 +85,13 @@ public class PurchaseOrder extends AuditableEntity {
         }
     }
 
+    public void updateDetails(String orderCode, Supplier supplier, LocalDate orderDate, LocalDate expectedDate) {
+        this.orderCode = Validation.requireNonBlank(orderCode, "orderCode");
+        this.supplier = Validation.requireNonNull(supplier, "supplier");
+        this.orderDate = Validation.requireNonNull(orderDate, "orderDate");
+        this.expectedDate = expectedDate;
+    }
+
     public void addLine(PurchaseOrderLine line) {
         PurchaseOrderLine attached = Validation.requireNonNull(line, "line");
         attached.attachTo(this, lineItems.size() + 1);
@@ -95,6 +102,10 @@ public class PurchaseOrder extends AuditableEntity {
         this.lineItems.remove(line);
     }
 
+    public void clearLines() {
+        this.lineItems.clear();
+    }
+
     public List<PurchaseOrderLine> getLineItems() {
         return Collections.unmodifiableList(lineItems);
     }
@@ -108,6 +119,10 @@ public class PurchaseOrder extends AuditableEntity {
         this.status = PurchaseOrderStatus.RECEIVED;
     }
 
+    public boolean isFullyReceived() {
+        return lineItems.stream().allMatch(line -> line.getOutstandingQuantity() == 0);
+    }
+
     public void cancel() {
         this.status = PurchaseOrderStatus.CANCELLED;
     }
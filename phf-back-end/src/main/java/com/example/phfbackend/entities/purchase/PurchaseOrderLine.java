@@ -53,6 +53,10 @@ public class PurchaseOrderLine {
     @Column(name = "unit_cost", nullable = false, precision = 10, scale = 2)
     private BigDecimal unitCost;
 
+    // Quantity delivered so far over all receipts
+    @Column(name = "received_quantity", nullable = false)
+    private int receivedQuantity;
+
     @Builder(builderMethodName = "newBuilder")
     private PurchaseOrderLine(UUID id,
                               Product product,
@@ -64,6 +68,19 @@ public class PurchaseOrderLine {
         this.unitCost = Validation.requirePositive(unitCost, "unitCost");
     }
 
+    public int getOutstandingQuantity() {
+        return quantity - receivedQuantity;
+    }
+
+    public void receive(int quantity) {
+        Validation.requirePositive(quantity, "quantity");
+        if (quantity > getOutstandingQuantity()) {
+            throw new IllegalArgumentException("Received quantity " + quantity + " exceeds outstanding quantity "
+                    + getOutstandingQuantity() + " of line " + lineNumber);
+        }
+        this.receivedQuantity += quantity;
+    }
+
     void attachTo(PurchaseOrder purchaseOrder, int lineNumber) {
         this.purchaseOrder = Validation.requireNonNull(purchaseOrder, "purchaseOrder");
         this.lineNumber = lineNumber;
@@ -0,0 +1,69 @@
+package com.example.phfbackend.entities.purchase;
+
+import com.example.phfbackend.entities.shared.Validation;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * One delivery received against a purchase order; an order can be received over several receipts.
+ */
+@Entity
+@Table(name = "purchase_order_receipts")
+@Getter
+@ToString(exclude = "purchaseOrder")
+@EqualsAndHashCode(of = "id")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PurchaseOrderReceipt {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "purchase_order_id")
+    private PurchaseOrder purchaseOrder;
+
+    // Client-chosen idempotency key; null for receipts made by a status change
+    @Column(name = "receipt_key", length = 64)
+    private String receiptKey;
+
+    @Column(name = "received_by")
+    private UUID receivedBy;
+
+    @Column(name = "received_date", nullable = false)
+    private LocalDate receivedDate;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
+    @Builder(builderMethodName = "newBuilder")
+    private PurchaseOrderReceipt(UUID id,
+                                 PurchaseOrder purchaseOrder,
+                                 String receiptKey,
+                                 UUID receivedBy,
+                                 LocalDate receivedDate) {
+        this.id = id;
+        this.purchaseOrder = Validation.requireNonNull(purchaseOrder, "purchaseOrder");
+        this.receiptKey = receiptKey;
+        this.receivedBy = receivedBy;
+        this.receivedDate = Validation.requireNonNull(receivedDate, "receivedDate");
+        this.createdAt = OffsetDateTime.now();
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.phfbackend.entities.sale;
 
 import com.example.phfbackend.entities.shared.AuditableEntity;
+import com.example.phfbackend.entities.shared.UuidV7;
 import com.example.phfbackend.entities.shared.Validation;
 import com.example.phfbackend.entities.user.PharmacyUser;
 import jakarta.persistence.CascadeType;
@@ -9,8 +10,6 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -46,7 +45,7 @@ import java.util.UUID;
 public class SaleTransaction extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Column(name = "receipt_number", nullable = false, length = 64)
@@ -2,12 +2,11 @@ package com.example.phfbackend.entities.sale;
 
 import com.example.phfbackend.entities.inventory.InventoryBatch;
 import com.example.phfbackend.entities.product.Product;
+import com.example.phfbackend.entities.shared.UuidV7;
 import com.example.phfbackend.entities.shared.Validation;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -35,7 +34,7 @@ import java.util.UUID;
 public class SaleTransactionLine {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -0,0 +1,12 @@
+package com.example.phfbackend.entities.shared;
+
+/**
+ * Kinds of records published through the delta sync change log.
+ * PRICE entries point at an inventory batch whose cost or selling price changed.
+ */
+public enum ChangeEntityType {
+    PRODUCT,
+    BATCH,
+    SUPPLIER,
+    PRICE
+}
@@ -0,0 +1,47 @@
+package com.example.phfbackend.entities.shared;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * One row of the delta sync change log. Written only by database triggers (see V11), read-only here.
+ */
+@Entity
+@Immutable
+@Table(name = "change_log")
+@Getter
+@ToString
+@EqualsAndHashCode(of = "version")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ChangeLogEntry {
+
+    @Id
+    private Long version;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 16)
+    private ChangeEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private UUID entityId;
+
+    @Column(name = "changed_at", nullable = false)
+    private OffsetDateTime changedAt;
+
+    // Writing transaction (xid8, read as its numeric value)
+    @Column(name = "tx_id", nullable = false)
+    private Long txId;
+}
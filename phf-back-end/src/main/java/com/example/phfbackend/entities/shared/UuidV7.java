@@ -0,0 +1,18 @@
+package com.example.phfbackend.entities.shared;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates the annotated UUID id with {@link UuidV7Generator}: time-ordered, so inserts append to the right
+ * edge of the primary key index instead of splitting random pages. Used on the high-volume append tables.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface UuidV7 {
+}
@@ -0,0 +1,45 @@
+package com.example.phfbackend.entities.shared;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * UUID version 7 (RFC 9562): 48-bit Unix epoch milliseconds, then 74 random bits.
+ *
+ * Ids sort by creation time at millisecond granularity, which keeps B-tree inserts on the rightmost leaf pages.
+ * Generation is lock-free: the random bits come from {@link ThreadLocalRandom} (no shared SecureRandom as in
+ * {@link UUID#randomUUID()}), and there is no shared counter, so ids of the same millisecond are unordered
+ * among themselves. The timestamp makes ids guessable to the millisecond; they are keys, not secrets.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC_4122 = 0x8000_0000_0000_0000L;
+
+    public static UUID next() {
+        return next(System.currentTimeMillis());
+    }
+
+    static UUID next(long epochMillis) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (epochMillis & 0xFFFF_FFFF_FFFFL) << 16 | VERSION_7 | (random.nextInt() & 0x0FFF);
+        long leastSigBits = random.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL | VARIANT_RFC_4122;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
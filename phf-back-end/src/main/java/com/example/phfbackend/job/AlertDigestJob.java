@@ -0,0 +1,21 @@
+package com.example.phfbackend.job;
+
+import com.example.phfbackend.service.AlertDigestService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * UC41 / UC42 - daily low-stock and near-expiry digest email
+ */
+@Component
+@RequiredArgsConstructor
+public class AlertDigestJob {
+    
+    private final AlertDigestService alertDigestService;
+    
+    @Scheduled(cron = "${alert.digest.cron:0 0 7 * * *}")
+    public void sendDigest() {
+        alertDigestService.runDigest();
+    }
+}
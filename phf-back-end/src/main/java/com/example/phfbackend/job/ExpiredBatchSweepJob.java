@@ -0,0 +1,23 @@
+package com.example.phfbackend.job;
+
+import com.example.phfbackend.service.ExpiredBatchSweepService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Nightly write-off of expired batches, scheduled outside trading hours
+ */
+@Component
+@RequiredArgsConstructor
+public class ExpiredBatchSweepJob {
+    
+    private final ExpiredBatchSweepService expiredBatchSweepService;
+    
+    @Scheduled(cron = "${inventory.expiry-sweep.cron:0 30 0 * * *}")
+    public void sweep() {
+        expiredBatchSweepService.sweepExpiredBatches(LocalDate.now());
+    }
+}
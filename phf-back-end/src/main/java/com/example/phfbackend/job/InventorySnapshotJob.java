@@ -0,0 +1,33 @@
+package com.example.phfbackend.job;
+
+import com.example.phfbackend.entities.inventory.InventorySnapshot;
+import com.example.phfbackend.service.InventoryHistoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Nightly checkpoint of batch quantities for point-in-time stock queries (GET /api/inventory/as-of).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventorySnapshotJob {
+    
+    private final InventoryHistoryService inventoryHistoryService;
+    
+    @Value("${inventory.snapshot.retention-days:730}")
+    private int retentionDays;
+    
+    @Scheduled(cron = "${inventory.snapshot.cron:0 0 1 * * *}")
+    public void takeSnapshot() {
+        InventorySnapshot snapshot = inventoryHistoryService.createSnapshot();
+        int purged = inventoryHistoryService.purgeSnapshotsTakenBefore(OffsetDateTime.now().minusDays(retentionDays));
+        log.info("Inventory snapshot {} taken at {} ({} batches), {} expired snapshots purged",
+                snapshot.getId(), snapshot.getTakenAt(), snapshot.getBatchCount(), purged);
+    }
+}
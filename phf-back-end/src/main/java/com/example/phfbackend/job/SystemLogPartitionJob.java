@@ -0,0 +1,33 @@
+package com.example.phfbackend.job;
+
+import com.example.phfbackend.service.SystemLogPartitionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+/**
+ * Daily maintenance of the monthly system_logs partitions: create the coming months, drop the expired ones.
+ */
+@Component
+@RequiredArgsConstructor
+public class SystemLogPartitionJob {
+    
+    private final SystemLogPartitionService systemLogPartitionService;
+    
+    @Value("${system-log.partition.months-ahead:3}")
+    private int monthsAhead;
+    
+    @Value("${system-log.partition.retention-months:12}")
+    private int retentionMonths;
+    
+    @Scheduled(cron = "${system-log.partition.cron:0 15 0 * * *}")
+    public void maintainPartitions() {
+        YearMonth currentMonth = YearMonth.now(ZoneOffset.UTC);
+        systemLogPartitionService.createPartitions(currentMonth, monthsAhead);
+        systemLogPartitionService.dropExpiredPartitions(currentMonth, retentionMonths);
+    }
+}
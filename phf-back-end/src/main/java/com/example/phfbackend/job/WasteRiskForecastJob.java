@@ -0,0 +1,23 @@
+package com.example.phfbackend.job;
+
+import com.example.phfbackend.service.WasteRiskService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Nightly waste-risk forecast, after the expired batch sweep so written-off batches are not forecast
+ */
+@Component
+@RequiredArgsConstructor
+public class WasteRiskForecastJob {
+    
+    private final WasteRiskService wasteRiskService;
+    
+    @Scheduled(cron = "${inventory.waste-risk.cron:0 0 2 * * *}")
+    public void forecast() {
+        wasteRiskService.recompute(LocalDate.now());
+    }
+}
@@ -10,11 +10,13 @@ import com.example.phfbackend.entities.purchase.PurchaseOrderLine;
 import com.example.phfbackend.entities.purchase.PurchaseOrderStatus;
 import com.example.phfbackend.entities.shared.SystemLog;
 import com.example.phfbackend.entities.supplier.Supplier;
+import com.example.phfbackend.pattern.state.PurchaseOrderState;
+import com.example.phfbackend.pattern.state.PurchaseOrderStateFactory;
 import com.example.phfbackend.service.InventoryBatchService;
 import com.example.phfbackend.service.ProductService;
 import com.example.phfbackend.service.PurchaseOrderService;
 import com.example.phfbackend.service.SupplierService;
-import com.example.phfbackend.service.SystemLogService;
+import com.example.phfbackend.service.SystemLogWriter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,8 +24,12 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -35,7 +41,7 @@ import java.util.stream.Collectors;
  * - ProductService: Validate products
  * - PurchaseOrderService: Tạo và quản lý purchase orders
  * - InventoryBatchService: Tạo inventory khi nhận hàng
- * - SystemLogService: Log các hoạt động
+ * - SystemLogWriter: Log các hoạt động (ghi bất đồng bộ sau commit)
  * 
  * Client chỉ cần gọi một method đơn giản thay vì phải gọi nhiều services riêng lẻ.
  */
@@ -48,7 +54,7 @@ public class PurchaseOrderFacade {
     private final ProductService productService;
     private final PurchaseOrderService purchaseOrderService;
     private final InventoryBatchService inventoryBatchService;
-    private final SystemLogService systemLogService;
+    private final SystemLogWriter systemLogWriter;
     
     /**
      * Facade Method: Tạo Purchase Order với đầy đủ validation và logging
@@ -79,8 +85,8 @@ public class PurchaseOrderFacade {
                 "Cannot create purchase order with inactive supplier: " + supplier.getName());
         }
         
-        // Step 2: Validate all products in line items
-        List<Product> products = validateProducts(request.getLineItems());
+        // Step 2: Validate all products in line items (một query cho tất cả line items)
+        Map<UUID, Product> products = validateProducts(request.getLineItems());
         
         // Step 3: Create purchase order entity
         PurchaseOrder order = PurchaseOrder.newBuilder()
@@ -91,28 +97,8 @@ public class PurchaseOrderFacade {
                 .expectedDate(request.getExpectedDate())
                 .build();
         
-        // Step 4: Add line items with validation
-        for (PurchaseOrderLineRequest lineRequest : request.getLineItems()) {
-            Product product = products.stream()
-                    .filter(p -> p.getId().equals(lineRequest.getProductId()))
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalArgumentException(
-                        "Product not found: " + lineRequest.getProductId()));
-            
-            // Validate product is active
-            if (!product.isActive()) {
-                throw new IllegalStateException(
-                    "Cannot add inactive product to purchase order: " + product.getName());
-            }
-            
-            PurchaseOrderLine line = PurchaseOrderLine.newBuilder()
-                    .product(product)
-                    .quantity(lineRequest.getQuantity())
-                    .unitCost(lineRequest.getUnitCost())
-                    .build();
-            
-            order.addLine(line);
-        }
+        // Step 4: Add line items
+        addLines(order, request.getLineItems(), products);
         
         // Step 5: Save purchase order
         PurchaseOrder saved = purchaseOrderService.createPurchaseOrder(order);
@@ -129,6 +115,64 @@ public class PurchaseOrderFacade {
         return toPurchaseOrderResponse(saved);
     }
     
+    /**
+     * Facade Method: Cập nhật Purchase Order nháp (UC32)
+     * 
+     * 1. Kiểm tra order còn cho phép cập nhật (State Pattern)
+     * 2. Validate supplier và products
+     * 3. Cập nhật mã đơn, nhà cung cấp, ngày đặt / ngày dự kiến và thay toàn bộ line items
+     * 4. Lưu và log activity
+     * 
+     * @param orderId Purchase Order ID
+     * @param request PurchaseOrderRequest từ client
+     * @param userId ID của user cập nhật order
+     * @return PurchaseOrderResponse
+     */
+    public PurchaseOrderResponse updatePurchaseOrderWithValidation(
+            UUID orderId,
+            PurchaseOrderRequest request,
+            UUID userId) {
+        
+        // Step 1: Check state
+        PurchaseOrder order = purchaseOrderService.findById(orderId)
+                .orElseThrow(() -> new IllegalArgumentException(
+                    "Purchase order not found: " + orderId));
+        
+        PurchaseOrderState currentState = PurchaseOrderStateFactory.getState(order.getStatus());
+        if (!currentState.canUpdate()) {
+            throw new IllegalStateException("Cannot update order with status: " + order.getStatus());
+        }
+        
+        // Step 2: Validate supplier and products
+        Supplier supplier = supplierService.findById(request.getSupplierId())
+                .orElseThrow(() -> new IllegalArgumentException(
+                    "Supplier not found: " + request.getSupplierId()));
+        
+        if (!supplier.isActive() && !supplier.getId().equals(order.getSupplier().getId())) {
+            throw new IllegalStateException(
+                "Cannot move purchase order to inactive supplier: " + supplier.getName());
+        }
+        
+        Map<UUID, Product> products = validateProducts(request.getLineItems());
+        
+        // Step 3: Apply header fields and replace line items
+        order.updateDetails(request.getOrderCode(), supplier, request.getOrderDate(), request.getExpectedDate());
+        order.clearLines();
+        addLines(order, request.getLineItems(), products);
+        
+        // Step 4: Save and log activity
+        PurchaseOrder saved = purchaseOrderService.updatePurchaseOrder(order);
+        
+        logPurchaseOrderAction(
+            userId,
+            "PURCHASE_ORDER_UPDATED",
+            saved.getId(),
+            "Updated purchase order: " + saved.getOrderCode() + 
+            " with " + saved.getLineItems().size() + " line items");
+        
+        return toPurchaseOrderResponse(saved);
+    }
+    
     /**
      * Facade Method: Nhận hàng và tự động tạo inventory
      * 
@@ -230,22 +274,46 @@ public class PurchaseOrderFacade {
     
     /**
      * Helper: Validate tất cả products trong line items
+     * Load tất cả products bằng một findAllById và index theo id, thay vì một query cho mỗi line
      */
-    private List<Product> validateProducts(List<PurchaseOrderLineRequest> lineItems) {
-        return lineItems.stream()
-                .map(lineRequest -> {
-                    Product product = productService.findById(lineRequest.getProductId())
-                            .orElseThrow(() -> new IllegalArgumentException(
-                                "Product not found: " + lineRequest.getProductId()));
-                    
-                    if (!product.isActive()) {
-                        throw new IllegalStateException(
-                            "Product is not active: " + product.getName());
-                    }
-                    
-                    return product;
-                })
-                .collect(Collectors.toList());
+    private Map<UUID, Product> validateProducts(List<PurchaseOrderLineRequest> lineItems) {
+        Set<UUID> productIds = lineItems.stream()
+                .map(PurchaseOrderLineRequest::getProductId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        
+        Map<UUID, Product> products = productService.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        
+        for (UUID productId : productIds) {
+            Product product = products.get(productId);
+            if (product == null) {
+                throw new IllegalArgumentException("Product not found: " + productId);
+            }
+            if (!product.isActive()) {
+                throw new IllegalStateException(
+                    "Product is not active: " + product.getName());
+            }
+        }
+        
+        return products;
+    }
+    
+    /**
+     * Helper: Thêm line items theo thứ tự request, product lấy từ map đã validate
+     * Lines được insert theo JDBC batch (hibernate.jdbc.batch_size) khi flush
+     */
+    private void addLines(PurchaseOrder order,
+                          List<PurchaseOrderLineRequest> lineItems,
+                          Map<UUID, Product> products) {
+        for (PurchaseOrderLineRequest lineRequest : lineItems) {
+            PurchaseOrderLine line = PurchaseOrderLine.newBuilder()
+                    .product(products.get(lineRequest.getProductId()))
+                    .quantity(lineRequest.getQuantity())
+                    .unitCost(lineRequest.getUnitCost())
+                    .build();
+            
+            order.addLine(line);
+        }
     }
     
     /**
@@ -266,7 +334,7 @@ public class PurchaseOrderFacade {
                 .createdAt(OffsetDateTime.now())
                 .build();
         
-        systemLogService.createLog(log);
+        systemLogWriter.append(log);
     }
     
     /**
@@ -302,4 +370,3 @@ public class PurchaseOrderFacade {
                 .build();
     }
 }
-
@@ -0,0 +1,14 @@
+package com.example.phfbackend.repository;
+
+import com.example.phfbackend.entities.inventory.ActiveAlert;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Set;
+
+@Repository
+public interface ActiveAlertRepository extends JpaRepository<ActiveAlert, String> {
+    @Query("SELECT a.fingerprint FROM ActiveAlert a")
+    Set<String> findAllFingerprints();
+}
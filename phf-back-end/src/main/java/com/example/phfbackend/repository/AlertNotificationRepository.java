@@ -0,0 +1,14 @@
+package com.example.phfbackend.repository;
+
+import com.example.phfbackend.entities.inventory.AlertNotification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Set;
+
+@Repository
+public interface AlertNotificationRepository extends JpaRepository<AlertNotification, String> {
+    @Query("SELECT n.fingerprint FROM AlertNotification n")
+    Set<String> findAllFingerprints();
+}
@@ -0,0 +1,32 @@
+package com.example.phfbackend.repository;
+
+import com.example.phfbackend.entities.shared.ChangeLogEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+    /**
+     * Next page after a cursor, in (tx_id, version) order, limited to transactions older than the oldest one
+     * still running. Versions are taken at write time, not commit time, and a snapshot cannot see the rows of
+     * transactions still in flight, so paging on version alone (or computing a watermark from visible rows)
+     * lets a consumer move past a change that commits later. Every transaction below the snapshot xmin has
+     * finished: that part of the log can no longer change.
+     */
+    @Query(value = "SELECT c.version, c.entity_type, c.entity_id, c.changed_at, " +
+                   "CAST(CAST(c.tx_id AS text) AS bigint) AS tx_id FROM {h-schema}change_log c " +
+                   "WHERE (c.tx_id, c.version) > (CAST(CAST(:txId AS text) AS xid8), :version) " +
+                   "AND c.tx_id < pg_snapshot_xmin(pg_current_snapshot()) " +
+                   "AND c.entity_type IN (:types) " +
+                   "ORDER BY c.tx_id, c.version LIMIT :limit",
+           nativeQuery = true)
+    List<ChangeLogEntry> findCommittedAfter(@Param("txId") long txId,
+                                            @Param("version") long version,
+                                            @Param("types") Collection<String> types,
+                                            @Param("limit") int limit);
+}
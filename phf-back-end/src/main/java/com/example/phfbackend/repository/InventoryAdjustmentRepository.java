@@ -2,7 +2,9 @@ package com.example.phfbackend.repository;
 
 import com.example.phfbackend.entities.inventory.InventoryAdjustment;
 import com.example.phfbackend.entities.inventory.InventoryAdjustmentType;
+import com.example.phfbackend.repository.projection.QuantityByIdView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -21,6 +23,29 @@ public interface InventoryAdjustmentRepository extends JpaRepository<InventoryAd
     
     @Query("SELECT a FROM InventoryAdjustment a WHERE a.createdAt BETWEEN :startDate AND :endDate ORDER BY a.createdAt DESC")
     List<InventoryAdjustment> findByCreatedAtBetween(@Param("startDate") OffsetDateTime startDate, @Param("endDate") OffsetDateTime endDate);
+    
+    // Net quantity change per product for adjustments recorded in (from, to] that are not tied to a batch
+    @Query("SELECT a.product.id AS id, SUM(a.quantityChange) AS quantity FROM InventoryAdjustment a " +
+           "WHERE a.createdAt > :from AND a.createdAt <= :to AND a.inventoryBatchId IS NULL GROUP BY a.product.id")
+    List<QuantityByIdView> sumQuantityChangeByProductBetween(@Param("from") OffsetDateTime from, @Param("to") OffsetDateTime to);
+    
+    // Net quantity change per batch for adjustments recorded in (from, to]
+    @Query("SELECT a.inventoryBatchId AS id, SUM(a.quantityChange) AS quantity FROM InventoryAdjustment a " +
+           "WHERE a.createdAt > :from AND a.createdAt <= :to AND a.inventoryBatchId IS NOT NULL GROUP BY a.inventoryBatchId")
+    List<QuantityByIdView> sumQuantityChangeByBatchBetween(@Param("from") OffsetDateTime from, @Param("to") OffsetDateTime to);
+    
+    // One write-off adjustment per batch, removing its whole remaining quantity
+    @Modifying
+    @Query(value = "INSERT INTO {h-schema}inventory_adjustments (id, product_id, performed_by, type, quantity_change, reason, " +
+                   "inventory_batch_id, created_at, updated_at) " +
+                   "SELECT gen_random_uuid(), b.product_id, :performedBy, :type, -b.quantity_on_hand, " +
+                   "CONCAT('Expired batch ', b.batch_number, ' (expiry ', b.expiry_date, ')'), b.id, :now, :now " +
+                   "FROM {h-schema}inventory_batches b WHERE b.id IN (:batchIds) AND b.quantity_on_hand > 0",
+           nativeQuery = true)
+    int insertWriteOffsForBatches(@Param("batchIds") List<UUID> batchIds,
+                                  @Param("performedBy") UUID performedBy,
+                                  @Param("type") String type,
+                                  @Param("now") OffsetDateTime now);
 }
 
 
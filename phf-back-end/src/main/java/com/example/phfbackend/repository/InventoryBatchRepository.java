@@ -1,12 +1,17 @@
 package com.example.phfbackend.repository;
 
 import com.example.phfbackend.entities.inventory.InventoryBatch;
+import com.example.phfbackend.repository.projection.BatchQuantityView;
+import com.example.phfbackend.repository.projection.ExpiredBatchView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -34,8 +39,44 @@ public interface InventoryBatchRepository extends JpaRepository<InventoryBatch,
     @Query("SELECT b FROM InventoryBatch b JOIN FETCH b.product")
     List<InventoryBatch> findAllWithProduct();
     
+    @Query("SELECT b FROM InventoryBatch b JOIN FETCH b.product WHERE b.id IN :ids")
+    List<InventoryBatch> findAllWithProductByIdIn(@Param("ids") Collection<UUID> ids);
+    
     @Query("SELECT b FROM InventoryBatch b JOIN FETCH b.product WHERE b.id = :id")
     Optional<InventoryBatch> findByIdWithProduct(@Param("id") UUID id);
+    
+    @Query("SELECT b FROM InventoryBatch b JOIN FETCH b.product WHERE b.purchaseOrderReceiptId = :receiptId ORDER BY b.batchNumber")
+    List<InventoryBatch> findByPurchaseOrderReceiptIdWithProduct(@Param("receiptId") UUID receiptId);
+    
+    /**
+     * Alert candidates in one query: each active product with alerting configured, paired with its active in-stock batches
+     * (batch is null when the product has none). Rows of the same product are adjacent.
+     */
+    @Query("SELECT p, b FROM Product p LEFT JOIN InventoryBatch b ON b.product = p AND b.active = true AND b.quantityOnHand > 0 " +
+           "WHERE p.active = true AND (p.reorderLevel IS NOT NULL OR p.minStock IS NOT NULL OR p.expiryAlertDays > 0) " +
+           "ORDER BY p.id")
+    List<Object[]> findAlertCandidates();
+    
+    /**
+     * Next keyset chunk of expired, still active, non-empty batches, locked until the chunk transaction ends.
+     */
+    @Query(value = "SELECT b.id AS id, CAST(b.quantity_on_hand AS BIGINT) AS quantity, b.product_id AS productId, " +
+                   "b.batch_number AS batchNumber FROM {h-schema}inventory_batches b " +
+                   "WHERE b.active = true AND b.quantity_on_hand > 0 AND b.expiry_date < :today AND b.id > :after " +
+                   "ORDER BY b.id LIMIT :limit FOR UPDATE",
+           nativeQuery = true)
+    List<ExpiredBatchView> lockExpiredBatchesAfter(@Param("today") LocalDate today, @Param("after") UUID after, @Param("limit") int limit);
+    
+    @Modifying
+    @Query("UPDATE InventoryBatch b SET b.active = false, b.quantityOnHand = 0, b.updatedAt = :now WHERE b.id IN :ids")
+    int writeOffBatches(@Param("ids") List<UUID> ids, @Param("now") OffsetDateTime now);
+    
+    @Query("SELECT MAX(b.updatedAt) FROM InventoryBatch b")
+    OffsetDateTime findLastUpdatedAt();
+    
+    @Query("SELECT b.id AS batchId, b.batchNumber AS batchNumber, p.id AS productId, p.sku AS productSku, p.name AS productName, b.quantityOnHand AS quantity " +
+           "FROM InventoryBatch b JOIN b.product p WHERE b.createdAt <= :asOf")
+    List<BatchQuantityView> findQuantitiesForBatchesCreatedBy(@Param("asOf") OffsetDateTime asOf);
 }
 
 
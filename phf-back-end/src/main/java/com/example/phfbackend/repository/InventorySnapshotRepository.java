@@ -0,0 +1,45 @@
+package com.example.phfbackend.repository;
+
+import com.example.phfbackend.entities.inventory.InventorySnapshot;
+import com.example.phfbackend.repository.projection.BatchQuantityView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface InventorySnapshotRepository extends JpaRepository<InventorySnapshot, UUID> {
+    Optional<InventorySnapshot> findFirstByTakenAtGreaterThanEqualOrderByTakenAtAsc(OffsetDateTime instant);
+
+    Optional<InventorySnapshot> findFirstByOrderByTakenAtDesc();
+
+    // Database clock when the statement runs; as the first statement of a REPEATABLE READ transaction it also fixes its snapshot
+    @Query(value = "SELECT clock_timestamp()", nativeQuery = true)
+    Instant currentDatabaseTime();
+
+    @Modifying
+    @Query(value = "INSERT INTO {h-schema}inventory_snapshot_lines (snapshot_id, inventory_batch_id, product_id, quantity_on_hand) " +
+                   "SELECT :snapshotId, b.id, b.product_id, b.quantity_on_hand FROM {h-schema}inventory_batches b",
+           nativeQuery = true)
+    int copyCurrentBatchQuantities(@Param("snapshotId") UUID snapshotId);
+
+    @Query(value = "SELECT l.inventory_batch_id AS batchId, b.batch_number AS batchNumber, l.product_id AS productId, " +
+                   "p.sku AS productSku, p.name AS productName, l.quantity_on_hand AS quantity " +
+                   "FROM {h-schema}inventory_snapshot_lines l " +
+                   "JOIN {h-schema}inventory_batches b ON b.id = l.inventory_batch_id " +
+                   "JOIN {h-schema}products p ON p.id = l.product_id " +
+                   "WHERE l.snapshot_id = :snapshotId AND b.created_at <= :asOf",
+           nativeQuery = true)
+    List<BatchQuantityView> findLinesForBatchesCreatedBy(@Param("snapshotId") UUID snapshotId, @Param("asOf") OffsetDateTime asOf);
+
+    @Modifying
+    @Query("DELETE FROM InventorySnapshot s WHERE s.takenAt < :cutoff")
+    int deleteTakenBefore(@Param("cutoff") OffsetDateTime cutoff);
+}
@@ -7,6 +7,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -23,6 +25,18 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
     List<Product> searchBySkuOrNameOrIngredient(@Param("term") String term);
     
     List<Product> findByActiveTrue();
+    
+    /**
+     * Active products paired with their sellable batches (batch is null when out of stock),
+     * rows of a product adjacent and its batches in FEFO order.
+     */
+    @Query("SELECT p, b FROM Product p LEFT JOIN InventoryBatch b ON b.product = p AND b.active = true " +
+           "AND b.quantityOnHand > 0 AND b.expiryDate >= :currentDate " +
+           "WHERE p.active = true ORDER BY p.name, p.id, b.expiryDate")
+    List<Object[]> findActiveWithSellableBatches(@Param("currentDate") LocalDate currentDate);
+    
+    @Query("SELECT MAX(p.updatedAt) FROM Product p")
+    OffsetDateTime findLastUpdatedAt();
 }
 
 
@@ -0,0 +1,15 @@
+package com.example.phfbackend.repository;
+
+import com.example.phfbackend.entities.purchase.PurchaseOrderReceipt;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface PurchaseOrderReceiptRepository extends JpaRepository<PurchaseOrderReceipt, UUID> {
+    Optional<PurchaseOrderReceipt> findByPurchaseOrderIdAndReceiptKey(UUID purchaseOrderId, String receiptKey);
+    
+    long countByPurchaseOrderId(UUID purchaseOrderId);
+}
@@ -2,18 +2,21 @@ package com.example.phfbackend.repository;
 
 import com.example.phfbackend.entities.purchase.PurchaseOrder;
 import com.example.phfbackend.entities.purchase.PurchaseOrderStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, UUID> {
+public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, UUID>, PurchaseOrderRepositoryCustom {
     @Query("SELECT DISTINCT po FROM PurchaseOrder po JOIN FETCH po.supplier LEFT JOIN FETCH po.lineItems line LEFT JOIN FETCH line.product WHERE po.orderCode = :orderCode")
     Optional<PurchaseOrder> findByOrderCode(@Param("orderCode") String orderCode);
     
@@ -35,8 +38,22 @@ public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, UU
     @Query("SELECT DISTINCT po FROM PurchaseOrder po JOIN FETCH po.supplier LEFT JOIN FETCH po.lineItems line LEFT JOIN FETCH line.product")
     List<PurchaseOrder> findAllWithRelations();
     
+    /**
+     * Second phase of the paged listing: graphs of an already limited set of ids (no LIMIT on a collection fetch).
+     * Row order is not the page order; callers re-order by the id list.
+     */
+    @Query("SELECT DISTINCT po FROM PurchaseOrder po JOIN FETCH po.supplier LEFT JOIN FETCH po.lineItems line LEFT JOIN FETCH line.product WHERE po.id IN :ids")
+    List<PurchaseOrder> findAllWithRelationsByIdIn(@Param("ids") Collection<UUID> ids);
+    
     @Query("SELECT DISTINCT po FROM PurchaseOrder po JOIN FETCH po.supplier LEFT JOIN FETCH po.lineItems line LEFT JOIN FETCH line.product WHERE po.id = :id")
     Optional<PurchaseOrder> findByIdWithRelations(@Param("id") UUID id);
+    
+    /**
+     * Locks the order row until the transaction ends: receipts and status changes of one order are serialized.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT po FROM PurchaseOrder po WHERE po.id = :id")
+    Optional<PurchaseOrder> findByIdForUpdate(@Param("id") UUID id);
 }
 
 
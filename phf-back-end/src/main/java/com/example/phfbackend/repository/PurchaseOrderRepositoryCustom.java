@@ -0,0 +1,15 @@
+package com.example.phfbackend.repository;
+
+import com.example.phfbackend.dto.PurchaseOrderFilterCriteria;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.UUID;
+
+public interface PurchaseOrderRepositoryCustom {
+    /**
+     * First phase of the paged listing: ids of one page of orders, filtered, sorted and limited in SQL.
+     * The graphs are then loaded with {@link PurchaseOrderRepository#findAllWithRelationsByIdIn}.
+     */
+    Page<UUID> findPageIds(PurchaseOrderFilterCriteria criteria, Pageable pageable);
+}
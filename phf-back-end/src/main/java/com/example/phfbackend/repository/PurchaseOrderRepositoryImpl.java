@@ -0,0 +1,113 @@
+package com.example.phfbackend.repository;
+
+import com.example.phfbackend.dto.PurchaseOrderFilterCriteria;
+import com.example.phfbackend.entities.purchase.PurchaseOrder;
+import com.example.phfbackend.entities.supplier.Supplier;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Criteria queries behind {@link PurchaseOrderRepositoryCustom}. Only to-one joins are used, so LIMIT / OFFSET
+ * apply to orders (never to order x line rows) and no DISTINCT is needed.
+ */
+class PurchaseOrderRepositoryImpl implements PurchaseOrderRepositoryCustom {
+    
+    /** Sortable properties exposed to clients; anything else is rejected rather than passed into the query */
+    private static final List<String> SORTABLE = List.of("orderDate", "expectedDate", "createdAt", "updatedAt", "orderCode", "status", "supplierName");
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public Page<UUID> findPageIds(PurchaseOrderFilterCriteria criteria, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        
+        CriteriaQuery<UUID> query = cb.createQuery(UUID.class);
+        Root<PurchaseOrder> order = query.from(PurchaseOrder.class);
+        Join<PurchaseOrder, Supplier> supplier = order.join("supplier");
+        query.select(order.get("id"))
+                .where(predicates(cb, order, supplier, criteria))
+                .orderBy(orders(cb, order, supplier, pageable.getSortOr(Sort.by(Sort.Direction.DESC, "orderDate"))));
+        
+        TypedQuery<UUID> idQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            idQuery.setFirstResult((int) pageable.getOffset());
+            idQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<UUID> ids = idQuery.getResultList();
+        
+        return PageableExecutionUtils.getPage(ids, pageable, () -> count(criteria));
+    }
+    
+    private long count(PurchaseOrderFilterCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<PurchaseOrder> order = query.from(PurchaseOrder.class);
+        Join<PurchaseOrder, Supplier> supplier = order.join("supplier");
+        query.select(cb.count(order)).where(predicates(cb, order, supplier, criteria));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+    
+    private Predicate[] predicates(CriteriaBuilder cb, Root<PurchaseOrder> order, Join<PurchaseOrder, Supplier> supplier,
+                                   PurchaseOrderFilterCriteria criteria) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.getSearchTerm() != null && !criteria.getSearchTerm().trim().isEmpty()) {
+            String pattern = "%" + escapeLike(criteria.getSearchTerm().trim().toLowerCase(Locale.ROOT)) + "%";
+            predicates.add(cb.or(
+                    cb.like(cb.lower(order.get("orderCode")), pattern, '\\'),
+                    cb.like(cb.lower(supplier.get("name")), pattern, '\\')));
+        }
+        if (criteria.getStatus() != null) {
+            predicates.add(cb.equal(order.get("status"), criteria.getStatus()));
+        }
+        if (criteria.getSupplierId() != null) {
+            predicates.add(cb.equal(supplier.get("id"), criteria.getSupplierId()));
+        }
+        if (criteria.getStartDate() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(order.get("orderDate"), criteria.getStartDate()));
+        }
+        if (criteria.getEndDate() != null) {
+            predicates.add(cb.lessThanOrEqualTo(order.get("orderDate"), criteria.getEndDate()));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+    
+    private List<Order> orders(CriteriaBuilder cb, Root<PurchaseOrder> order, Join<PurchaseOrder, Supplier> supplier, Sort sort) {
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order sortOrder : sort) {
+            if (!SORTABLE.contains(sortOrder.getProperty())) {
+                throw new IllegalArgumentException("Cannot sort purchase orders by " + sortOrder.getProperty() + ". Sortable: " + SORTABLE);
+            }
+            Expression<?> expression = "supplierName".equals(sortOrder.getProperty())
+                    ? supplier.get("name")
+                    : order.get(sortOrder.getProperty());
+            orders.add(sortOrder.isAscending() ? cb.asc(expression) : cb.desc(expression));
+        }
+        // Unique tie-breaker: keeps page boundaries stable when the sort keys repeat
+        Path<UUID> id = order.get("id");
+        orders.add(cb.asc(id));
+        return orders;
+    }
+    
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
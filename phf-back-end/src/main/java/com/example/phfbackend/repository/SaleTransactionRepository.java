@@ -1,6 +1,7 @@
 package com.example.phfbackend.repository;
 
 import com.example.phfbackend.entities.sale.SaleTransaction;
+import com.example.phfbackend.repository.projection.QuantityByIdView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -86,5 +87,12 @@ public interface SaleTransactionRepository extends JpaRepository<SaleTransaction
            "LEFT JOIN FETCH line.inventoryBatch " +
            "ORDER BY s.soldAt DESC")
     List<SaleTransaction> findRecentSalesWithRelations();
+    
+    // Units sold per batch for transactions committed in (from, to]
+    @Query("SELECT line.inventoryBatch.id AS id, SUM(line.quantity) AS quantity FROM SaleTransactionLine line " +
+           "WHERE line.inventoryBatch IS NOT NULL " +
+           "AND line.saleTransaction.createdAt > :from AND line.saleTransaction.createdAt <= :to " +
+           "GROUP BY line.inventoryBatch.id")
+    List<QuantityByIdView> sumQuantitySoldByBatchBetween(@Param("from") OffsetDateTime from, @Param("to") OffsetDateTime to);
 }
 
@@ -0,0 +1,14 @@
+package com.example.phfbackend.repository;
+
+import com.example.phfbackend.dto.SystemLogFilterCriteria;
+import com.example.phfbackend.entities.shared.SystemLog;
+
+import java.util.List;
+
+public interface SystemLogRepositoryCustom {
+    /**
+     * Newest first (created_at DESC, id DESC), every filter of the criteria combined in SQL, at most {@code limit} logs
+     * after the keyset cursor. Date bounds also prune the monthly partitions.
+     */
+    List<SystemLog> findPage(SystemLogFilterCriteria criteria, int limit);
+}
@@ -0,0 +1,62 @@
+package com.example.phfbackend.repository;
+
+import com.example.phfbackend.dto.SystemLogFilterCriteria;
+import com.example.phfbackend.entities.shared.SystemLog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HQL behind {@link SystemLogRepositoryCustom}. Only the filters that are set become conditions (no
+ * "(:p IS NULL OR ...)" that would hide the composite indexes from the planner), and the cursor is a row value
+ * comparison, so each page is one index range scan whatever its depth.
+ */
+class SystemLogRepositoryImpl implements SystemLogRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<SystemLog> findPage(SystemLogFilterCriteria criteria, int limit) {
+        StringBuilder hql = new StringBuilder("SELECT l FROM SystemLog l WHERE 1 = 1");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (criteria.getAction() != null) {
+            hql.append(" AND l.action = :action");
+            parameters.put("action", criteria.getAction());
+        }
+        if (criteria.getEntityType() != null) {
+            hql.append(" AND l.entityType = :entityType");
+            parameters.put("entityType", criteria.getEntityType());
+        }
+        if (criteria.getEntityId() != null) {
+            hql.append(" AND l.entityId = :entityId");
+            parameters.put("entityId", criteria.getEntityId());
+        }
+        if (criteria.getUserId() != null) {
+            hql.append(" AND l.userId = :userId");
+            parameters.put("userId", criteria.getUserId());
+        }
+        if (criteria.getStartDate() != null) {
+            hql.append(" AND l.createdAt >= :startDate");
+            parameters.put("startDate", criteria.getStartDate());
+        }
+        if (criteria.getEndDate() != null) {
+            hql.append(" AND l.createdAt <= :endDate");
+            parameters.put("endDate", criteria.getEndDate());
+        }
+        if (criteria.getBeforeCreatedAt() != null && criteria.getBeforeId() != null) {
+            hql.append(" AND (l.createdAt, l.id) < (:beforeCreatedAt, :beforeId)");
+            parameters.put("beforeCreatedAt", criteria.getBeforeCreatedAt());
+            parameters.put("beforeId", criteria.getBeforeId());
+        }
+        hql.append(" ORDER BY l.createdAt DESC, l.id DESC");
+        
+        TypedQuery<SystemLog> query = entityManager.createQuery(hql.toString(), SystemLog.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.phfbackend.repository;
+
+import com.example.phfbackend.entities.inventory.WasteRiskForecast;
+import com.example.phfbackend.repository.projection.WasteRiskTotalsView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface WasteRiskForecastRepository extends JpaRepository<WasteRiskForecast, UUID> {
+    @Query("SELECT f FROM WasteRiskForecast f JOIN FETCH f.inventoryBatch JOIN FETCH f.product " +
+           "WHERE f.projectedWasteQuantity > 0 AND f.projectedWasteValue >= :minValue " +
+           "ORDER BY f.projectedWasteValue DESC, f.expiryDate")
+    List<WasteRiskForecast> findAtRisk(@Param("minValue") BigDecimal minValue, Pageable pageable);
+    
+    @Query("SELECT f FROM WasteRiskForecast f JOIN FETCH f.inventoryBatch JOIN FETCH f.product " +
+           "WHERE f.productId = :productId ORDER BY f.expiryDate")
+    List<WasteRiskForecast> findByProductIdWithRelations(@Param("productId") UUID productId);
+    
+    @Query("SELECT COUNT(f) AS batchCount, COALESCE(SUM(f.projectedWasteQuantity), 0) AS wasteQuantity, " +
+           "COALESCE(SUM(f.projectedWasteValue), 0) AS wasteValue, MAX(f.computedAt) AS computedAt " +
+           "FROM WasteRiskForecast f WHERE f.projectedWasteQuantity > 0")
+    WasteRiskTotalsView findTotals();
+}
@@ -0,0 +1,20 @@
+package com.example.phfbackend.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Quantity of one batch together with the product columns needed to report it.
+ */
+public interface BatchQuantityView {
+    UUID getBatchId();
+
+    String getBatchNumber();
+
+    UUID getProductId();
+
+    String getProductSku();
+
+    String getProductName();
+
+    Integer getQuantity();
+}
@@ -0,0 +1,12 @@
+package com.example.phfbackend.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Expired batch locked by the sweep, with the columns needed to report its write-off.
+ */
+public interface ExpiredBatchView extends QuantityByIdView {
+    UUID getProductId();
+
+    String getBatchNumber();
+}
@@ -0,0 +1,12 @@
+package com.example.phfbackend.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Aggregated quantity keyed by a single id (batch or product, depending on the query).
+ */
+public interface QuantityByIdView {
+    UUID getId();
+
+    Long getQuantity();
+}
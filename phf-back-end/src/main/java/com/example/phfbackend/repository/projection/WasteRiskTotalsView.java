@@ -0,0 +1,17 @@
+package com.example.phfbackend.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * Totals over the batches flagged by the last waste-risk forecast.
+ */
+public interface WasteRiskTotalsView {
+    Long getBatchCount();
+
+    Long getWasteQuantity();
+
+    BigDecimal getWasteValue();
+
+    OffsetDateTime getComputedAt();
+}
@@ -0,0 +1,11 @@
+package com.example.phfbackend.service;
+
+import com.example.phfbackend.dto.response.AlertDigestRunResponse;
+
+import java.util.Optional;
+
+public interface AlertDigestService {
+    AlertDigestRunResponse runDigest();
+    
+    Optional<AlertDigestRunResponse> getLastRun();
+}
@@ -1,13 +1,21 @@
 package com.example.phfbackend.service;
 
 import com.example.phfbackend.enities.Alert;
+import com.example.phfbackend.entities.user.UserRole;
 
-public interface AlertEmailService {
+import java.util.List;
+import java.util.Set;
 
-    String createAlertMail();
-    default void sendAlert(){
-        String Mail = createAlertMail();
-        //Code goi SendGrid
-    };
+/**
+ * Renders one alert type into its section of the alert digest email.
+ * Delivery is handled by {@link AlertMailSender}.
+ */
+public interface AlertEmailService<T extends Alert> {
+
+    Class<T> getAlertClass();
+
+    Set<UserRole> getRecipientRoles();
+
+    String createAlertMail(List<T> alerts);
 
 }
@@ -0,0 +1,12 @@
+package com.example.phfbackend.service;
+
+import com.example.phfbackend.enities.AlertDigest;
+
+import java.util.List;
+
+public interface AlertMailSender {
+    /**
+     * Sends the digests and returns the ones delivered; digests still failing after all retries are left out.
+     */
+    List<AlertDigest> sendAll(List<AlertDigest> digests);
+}
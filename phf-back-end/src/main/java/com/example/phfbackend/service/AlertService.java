@@ -0,0 +1,10 @@
+package com.example.phfbackend.service;
+
+import com.example.phfbackend.enities.Alert;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AlertService {
+    List<Alert> evaluateAlerts(LocalDate currentDate);
+}
@@ -0,0 +1,12 @@
+package com.example.phfbackend.service;
+
+/**
+ * Kết quả của từng đơn trong một lần chuyển trạng thái hàng loạt.
+ */
+public enum BulkTransitionOutcome {
+    APPLIED,
+    UNCHANGED,
+    REJECTED,
+    NOT_FOUND,
+    FAILED
+}
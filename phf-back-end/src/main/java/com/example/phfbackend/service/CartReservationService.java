@@ -0,0 +1,30 @@
+package com.example.phfbackend.service;
+
+import com.example.phfbackend.dto.response.CartReservationResponse;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface CartReservationService {
+    /**
+     * Sets the quantity a cart holds on a batch (0 releases it) and restarts its TTL.
+     * Fails when the batch cannot cover it after other carts' reservations.
+     */
+    CartReservationResponse reserve(String cartId, UUID inventoryBatchId, int quantity, int quantityOnHand);
+    
+    List<CartReservationResponse> findByCart(String cartId);
+    
+    void releaseCart(String cartId);
+    
+    /**
+     * Quantity of the batch held by live reservations, not counting the given cart (null counts all carts).
+     */
+    int getReservedQuantity(UUID inventoryBatchId, String excludingCartId);
+    
+    /**
+     * Releases the cart's reservations once the current transaction commits (immediately outside a transaction).
+     */
+    void consumeOnCommit(String cartId);
+    
+    int expireReservations();
+}
@@ -0,0 +1,25 @@
+package com.example.phfbackend.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+
+/**
+ * A built catalog artifact: gzip-compressed JSON, kept in memory and on disk under a version-specific file name
+ * (the file never changes once written, so it can be handed to the container for zero-copy transfer).
+ */
+@Getter
+@AllArgsConstructor
+public class CatalogSnapshot {
+    private final String version;
+    private final OffsetDateTime generatedAt;
+    private final int productCount;
+    private final byte[] gzipBytes;
+    private final Path file;
+    
+    public String getETag() {
+        return "\"" + version + "\"";
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.phfbackend.service;
+
+public interface CatalogSnapshotService {
+    /**
+     * Current snapshot, built synchronously if none exists yet.
+     */
+    CatalogSnapshot getCurrentSnapshot();
+    
+    /**
+     * Rebuilds the snapshot when products or batches changed since the last build.
+     */
+    CatalogSnapshot refreshIfChanged();
+}
@@ -0,0 +1,22 @@
+package com.example.phfbackend.service;
+
+import com.example.phfbackend.enities.Alert;
+import com.example.phfbackend.entities.inventory.InventoryAdjustmentType;
+import com.example.phfbackend.entities.sale.SaleTransaction;
+
+/**
+ * Business counters scraped at /actuator/prometheus (catalogue: METRICS.md). Like live events, counts are applied
+ * after the current transaction commits (immediately when there is none), so rolled back work is never counted.
+ * Tags only take enum-like values; ids, codes and names are never used as tags.
+ */
+public interface DomainMetrics {
+    void saleCompleted(SaleTransaction sale);
+    
+    void unitsSold(int units);
+    
+    void unitsWrittenOff(InventoryAdjustmentType reason, long units);
+    
+    void purchaseOrdersReceived(int orders);
+    
+    void alertRaised(Alert alert);
+}
@@ -0,0 +1,9 @@
+package com.example.phfbackend.service;
+
+import com.example.phfbackend.dto.response.ExpiredBatchSweepResponse;
+
+import java.time.LocalDate;
+
+public interface ExpiredBatchSweepService {
+    ExpiredBatchSweepResponse sweepExpiredBatches(LocalDate currentDate);
+}
@@ -11,6 +11,8 @@ import java.util.UUID;
 public interface InventoryBatchService {
     InventoryBatch createBatch(InventoryBatch batch);
     
+    List<InventoryBatch> createBatches(List<InventoryBatch> batches);
+    
     Optional<InventoryBatch> findById(UUID id);
     
     List<InventoryBatch> findByProductId(UUID productId);
@@ -31,7 +33,11 @@ public interface InventoryBatchService {
     
     InventoryBatch deductQuantity(UUID id, int quantity);
     
-    InventoryBatch updateBatch(UUID id, InventoryBatch updatedBatch);
+    /**
+     * A changed quantity is recorded as a COUNT_VARIANCE adjustment on the batch, performed by the given user
+     * (the first active owner when null), so point-in-time stock can reverse it.
+     */
+    InventoryBatch updateBatch(UUID id, InventoryBatch updatedBatch, UUID performedBy);
     
     void deactivateBatch(UUID id);
     
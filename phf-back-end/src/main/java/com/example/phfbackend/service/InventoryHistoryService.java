@@ -0,0 +1,14 @@
+package com.example.phfbackend.service;
+
+import com.example.phfbackend.dto.response.InventoryAsOfResponse;
+import com.example.phfbackend.entities.inventory.InventorySnapshot;
+
+import java.time.OffsetDateTime;
+
+public interface InventoryHistoryService {
+    InventorySnapshot createSnapshot();
+    
+    InventoryAsOfResponse getStockAsOf(OffsetDateTime asOf);
+    
+    int purgeSnapshotsTakenBefore(OffsetDateTime cutoff);
+}
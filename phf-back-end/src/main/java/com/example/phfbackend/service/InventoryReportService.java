@@ -0,0 +1,9 @@
+package com.example.phfbackend.service;
+
+import com.example.phfbackend.dto.response.InventoryValuationResponse;
+
+import java.time.LocalDate;
+
+public interface InventoryReportService {
+    InventoryValuationResponse getInventoryValuation(LocalDate asOf, boolean parallel);
+}
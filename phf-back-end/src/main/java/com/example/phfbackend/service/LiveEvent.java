@@ -0,0 +1,19 @@
+package com.example.phfbackend.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.OffsetDateTime;
+
+/**
+ * One committed change pushed to dashboard subscribers. The payload is a response DTO captured when the change
+ * was made, so nothing is loaded lazily once the transaction is gone.
+ */
+@Getter
+@AllArgsConstructor
+public class LiveEvent {
+    private final long sequence;
+    private final LiveEventType type;
+    private final OffsetDateTime occurredAt;
+    private final Object data;
+}
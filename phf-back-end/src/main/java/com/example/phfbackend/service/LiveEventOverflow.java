@@ -0,0 +1,13 @@
+package com.example.phfbackend.service;
+
+/**
+ * What to do when a subscriber falls behind by more than its buffer.
+ */
+public enum LiveEventOverflow {
+    /** Keep the newest events: the oldest buffered event is discarded. */
+    DROP_OLDEST,
+    /** Keep what is buffered: incoming events are discarded until the client catches up. */
+    DROP_LATEST,
+    /** Keep only the most recent event (suitable for "current value" widgets). */
+    LATEST
+}
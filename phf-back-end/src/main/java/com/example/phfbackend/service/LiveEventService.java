@@ -0,0 +1,18 @@
+package com.example.phfbackend.service;
+
+import com.example.phfbackend.dto.response.LiveEventStatsResponse;
+import reactor.core.publisher.Flux;
+
+import java.util.Set;
+
+public interface LiveEventService {
+    /**
+     * Publish after the current transaction commits (immediately when there is none); rolled back work never
+     * reaches subscribers.
+     */
+    void publish(LiveEventType type, Object data);
+    
+    Flux<LiveEvent> subscribe(Set<LiveEventType> types, LiveEventOverflow overflow, int bufferSize);
+    
+    LiveEventStatsResponse getStats();
+}
@@ -0,0 +1,12 @@
+package com.example.phfbackend.service;
+
+/**
+ * Event names on the dashboard stream (GET /api/events/stream); also used as the SSE "event:" field.
+ */
+public enum LiveEventType {
+    STOCK_CHANGED,
+    SALE_CREATED,
+    ALERT_RAISED,
+    ALERT_CLEARED,
+    PURCHASE_ORDER_STATUS_CHANGED
+}
@@ -4,6 +4,7 @@ import com.example.phfbackend.dto.ProductFilterCriteria;
 import com.example.phfbackend.entities.product.Product;
 import com.example.phfbackend.entities.product.ProductCategory;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,6 +14,8 @@ public interface ProductService {
     
     Optional<Product> findById(UUID id);
     
+    List<Product> findAllById(Collection<UUID> ids);
+    
     Optional<Product> findBySku(String sku);
     
     List<Product> findAll();
@@ -0,0 +1,18 @@
+package com.example.phfbackend.service;
+
+import com.example.phfbackend.dto.request.PurchaseOrderBulkStatusRequest;
+import com.example.phfbackend.dto.response.PurchaseOrderBulkStatusResponse;
+
+import java.util.UUID;
+
+/**
+ * Chuyển trạng thái nhiều đơn đặt hàng trong một lần gọi (UC34, UC37)
+ */
+public interface PurchaseOrderBulkService {
+    
+    /**
+     * Validate từng đơn qua PurchaseOrderStateFactory rồi ghi các chuyển trạng thái hợp lệ theo từng chunk.
+     * Khi chuyển sang RECEIVED, inventory batches được tạo cho mọi line item như khi nhận từng đơn.
+     */
+    PurchaseOrderBulkStatusResponse transition(PurchaseOrderBulkStatusRequest request, UUID userId);
+}
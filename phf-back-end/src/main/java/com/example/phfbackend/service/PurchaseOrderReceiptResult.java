@@ -0,0 +1,22 @@
+package com.example.phfbackend.service;
+
+import com.example.phfbackend.entities.inventory.InventoryBatch;
+import com.example.phfbackend.entities.purchase.PurchaseOrder;
+import com.example.phfbackend.entities.purchase.PurchaseOrderReceipt;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * A receipt with the batches it created. replayed is true when the receipt key had already been used
+ * and the earlier receipt is returned unchanged.
+ */
+@Getter
+@AllArgsConstructor
+public class PurchaseOrderReceiptResult {
+    private final PurchaseOrderReceipt receipt;
+    private final PurchaseOrder order;
+    private final List<InventoryBatch> batches;
+    private final boolean replayed;
+}
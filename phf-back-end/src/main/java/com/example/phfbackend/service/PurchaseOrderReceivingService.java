@@ -0,0 +1,26 @@
+package com.example.phfbackend.service;
+
+import com.example.phfbackend.dto.request.PurchaseOrderReceiptRequest;
+import com.example.phfbackend.entities.inventory.InventoryBatch;
+import com.example.phfbackend.entities.purchase.PurchaseOrder;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * UC37 - Nhận hàng theo đơn đặt hàng, có thể nhận nhiều lần (giao hàng từng phần)
+ */
+public interface PurchaseOrderReceivingService {
+    
+    /**
+     * Nhận một lần giao hàng: số lượng, batch number, hạn dùng và giá bán theo từng line.
+     * Đơn chuyển sang RECEIVED khi mọi line đã nhận đủ. Gửi lại cùng receiptKey trả về receipt đã tạo.
+     */
+    PurchaseOrderReceiptResult receive(UUID purchaseOrderId, PurchaseOrderReceiptRequest request, UUID userId);
+    
+    /**
+     * Nhận toàn bộ phần còn thiếu của một đơn đã khóa (chuyển trạng thái sang RECEIVED),
+     * với batch number, hạn dùng và giá bán mặc định.
+     */
+    List<InventoryBatch> receiveOutstanding(PurchaseOrder order, UUID userId);
+}
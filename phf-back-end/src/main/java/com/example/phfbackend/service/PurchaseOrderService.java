@@ -3,6 +3,8 @@ package com.example.phfbackend.service;
 import com.example.phfbackend.dto.PurchaseOrderFilterCriteria;
 import com.example.phfbackend.entities.purchase.PurchaseOrder;
 import com.example.phfbackend.entities.purchase.PurchaseOrderStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -12,6 +14,8 @@ import java.util.UUID;
 public interface PurchaseOrderService {
     PurchaseOrder createPurchaseOrder(PurchaseOrder order);
     
+    PurchaseOrder updatePurchaseOrder(PurchaseOrder order);
+    
     Optional<PurchaseOrder> findById(UUID id);
     
     Optional<PurchaseOrder> findByOrderCode(String orderCode);
@@ -26,6 +30,11 @@ public interface PurchaseOrderService {
     
     List<PurchaseOrder> filterPurchaseOrders(PurchaseOrderFilterCriteria criteria);
     
+    /**
+     * One page of orders with supplier, lines and products loaded; filters, sort and limit are applied in SQL.
+     */
+    Page<PurchaseOrder> findPage(PurchaseOrderFilterCriteria criteria, Pageable pageable);
+    
     PurchaseOrder markOrdered(UUID id, LocalDate expectedDate);
     
     PurchaseOrder markReceived(UUID id);
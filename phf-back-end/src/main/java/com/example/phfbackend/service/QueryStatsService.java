@@ -0,0 +1,30 @@
+package com.example.phfbackend.service;
+
+import com.example.phfbackend.dto.response.QueryStatsResponse;
+
+import java.util.List;
+
+public interface QueryStatsService {
+    /**
+     * Start attributing JDBC work of the current thread to an endpoint (method + route pattern); work done on other
+     * threads (parallel report cursors, the system log writer, scheduled jobs) is not attributed to any endpoint.
+     */
+    void beginRequest(String endpoint);
+    
+    /**
+     * Fold the work recorded since {@link #beginRequest(String)} into the summary of its endpoint.
+     */
+    void endRequest();
+    
+    /**
+     * One executed statement (a JDBC batch counts once); statements slower than the threshold are kept with
+     * their plan. parameters are the values bound by index, null when none were bound.
+     */
+    void recordStatement(String sql, List<Object> parameters, long elapsedNanos);
+    
+    void recordRowsFetched(long rows);
+    
+    QueryStatsResponse getStats();
+    
+    void reset();
+}
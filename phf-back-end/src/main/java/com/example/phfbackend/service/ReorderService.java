@@ -0,0 +1,20 @@
+package com.example.phfbackend.service;
+
+import com.example.phfbackend.dto.response.ReorderRunResponse;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ReorderService {
+    /**
+     * Evaluate the whole catalog and return the proposals grouped per supplier, without writing anything.
+     */
+    ReorderRunResponse suggest();
+    
+    /**
+     * Evaluate and create one DRAFT purchase order per supplier group.
+     */
+    ReorderRunResponse createDraftOrders(UUID userId);
+    
+    Optional<ReorderRunResponse> getLastRun();
+}
@@ -0,0 +1,36 @@
+package com.example.phfbackend.service;
+
+import com.example.phfbackend.entities.inventory.InventoryBatch;
+import com.example.phfbackend.entities.product.Product;
+import com.example.phfbackend.entities.shared.ChangeEntityType;
+import com.example.phfbackend.entities.supplier.Supplier;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One page of the change log resolved to current state. Each entity appears at most once per page;
+ * rows that no longer exist or were deactivated are reported as tombstones instead.
+ */
+@Getter
+@AllArgsConstructor
+public class SyncChangeSet {
+    private final SyncCursor since;
+    private final SyncCursor nextSince;
+    private final boolean hasMore;
+    private final List<Product> products;
+    private final List<InventoryBatch> batches;
+    private final List<Supplier> suppliers;
+    private final List<InventoryBatch> prices;
+    private final List<Tombstone> tombstones;
+    
+    @Getter
+    @AllArgsConstructor
+    public static class Tombstone {
+        private final ChangeEntityType entityType;
+        private final UUID entityId;
+        private final long version;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.phfbackend.service;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Position in the change log: the writing transaction id and the version, in that order. The log is read in
+ * (txId, version) order up to the oldest transaction still running, a prefix that can no longer change, so a
+ * client that resumes from a cursor never skips a change committed after its last page.
+ * <p>
+ * Serialized as {@code <txId>-<version>}; {@code 0} is the start of the log.
+ */
+@Getter
+@EqualsAndHashCode
+public final class SyncCursor {
+    
+    public static final SyncCursor START = new SyncCursor(0, 0);
+    
+    private final long txId;
+    private final long version;
+    
+    public SyncCursor(long txId, long version) {
+        if (txId < 0 || version < 0) {
+            throw new IllegalArgumentException("Sync cursor values must be >= 0");
+        }
+        this.txId = txId;
+        this.version = version;
+    }
+    
+    public static SyncCursor parse(String value) {
+        if (value == null || value.isBlank() || value.equals("0")) {
+            return START;
+        }
+        int separator = value.indexOf('-');
+        if (separator > 0) {
+            try {
+                return new SyncCursor(Long.parseLong(value.substring(0, separator)), Long.parseLong(value.substring(separator + 1)));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid sync cursor: " + value, e);
+            }
+        }
+        throw new IllegalArgumentException("Invalid sync cursor: " + value);
+    }
+    
+    @Override
+    public String toString() {
+        return equals(START) ? "0" : txId + "-" + version;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.phfbackend.service;
+
+import com.example.phfbackend.entities.shared.ChangeEntityType;
+
+import java.util.Set;
+
+public interface SyncService {
+    SyncChangeSet getChangesSince(SyncCursor since, Set<ChangeEntityType> types, int limit);
+}
@@ -0,0 +1,18 @@
+package com.example.phfbackend.service;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public interface SystemLogPartitionService {
+    /**
+     * Creates the monthly system_logs partitions from the current month to {@code monthsAhead} months ahead
+     * (UTC boundaries). Returns the partitions that did not exist yet.
+     */
+    List<String> createPartitions(YearMonth currentMonth, int monthsAhead);
+    
+    /**
+     * Drops the monthly partitions entirely older than {@code retentionMonths} before the current month.
+     * Returns the dropped partitions.
+     */
+    List<String> dropExpiredPartitions(YearMonth currentMonth, int retentionMonths);
+}
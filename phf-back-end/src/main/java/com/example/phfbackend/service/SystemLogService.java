@@ -1,8 +1,8 @@
 package com.example.phfbackend.service;
 
+import com.example.phfbackend.dto.SystemLogFilterCriteria;
 import com.example.phfbackend.entities.shared.SystemLog;
 
-import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,13 +12,8 @@ public interface SystemLogService {
     
     Optional<SystemLog> findById(UUID id);
     
-    List<SystemLog> findAll();
-    
-    List<SystemLog> findByAction(String action);
-    
-    List<SystemLog> findByEntityType(String entityType);
-    
-    List<SystemLog> findByUserId(UUID userId);
-    
-    List<SystemLog> findByDateRange(OffsetDateTime startDate, OffsetDateTime endDate);
+    /**
+     * One keyset page, newest first: continue with the (createdAt, id) of the last log as the cursor.
+     */
+    List<SystemLog> findPage(SystemLogFilterCriteria criteria, int limit);
 }
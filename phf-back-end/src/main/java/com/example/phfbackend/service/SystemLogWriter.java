@@ -0,0 +1,11 @@
+package com.example.phfbackend.service;
+
+import com.example.phfbackend.entities.shared.SystemLog;
+
+public interface SystemLogWriter {
+    /**
+     * Queue a log entry for a background batch insert once the current transaction commits (immediately when there
+     * is none); entries of rolled back work are never written.
+     */
+    void append(SystemLog log);
+}
@@ -0,0 +1,37 @@
+package com.example.phfbackend.service;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Business keys backed by a unique constraint. constraintNames lists the names the constraint may carry:
+ * the one declared on the entity and the one PostgreSQL generated for the inline UNIQUE of V1.
+ */
+@Getter
+public enum UniqueKeySpace {
+    PRODUCT_SKU("products", "sku", "Product with SKU %s already exists",
+            "uk_product_sku"),
+    SALE_RECEIPT_NUMBER("sale_transactions", "receipt_number", "Sale transaction with receipt number %s already exists",
+            "uk_sale_receipt", "sale_transactions_receipt_number_key"),
+    PURCHASE_ORDER_CODE("purchase_orders", "order_code", "Purchase order with code %s already exists",
+            "purchase_orders_order_code_key"),
+    USER_EMAIL("pharmacy_users", "email", "User with email %s already exists",
+            "uk_user_email");
+    
+    private final String table;
+    private final String column;
+    private final String duplicateMessage;
+    private final List<String> constraintNames;
+    
+    UniqueKeySpace(String table, String column, String duplicateMessage, String... constraintNames) {
+        this.table = table;
+        this.column = column;
+        this.duplicateMessage = duplicateMessage;
+        this.constraintNames = List.of(constraintNames);
+    }
+    
+    public String duplicateMessage(String key) {
+        return String.format(duplicateMessage, key);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.phfbackend.service;
+
+import java.util.function.Supplier;
+
+public interface UniquenessGuard {
+    /**
+     * Runs {@code insert} (which must flush, e.g. saveAndFlush) for a new {@code key} of {@code space}.
+     * A duplicate key, whether found by the pre-check or reported by the unique constraint,
+     * is thrown as IllegalArgumentException with the key space's message.
+     */
+    <T> T insertUnique(UniqueKeySpace space, String key, Supplier<T> insert);
+    
+    /**
+     * Rebuilds the per key space filters from the current table contents.
+     */
+    void rebuildFilters();
+}
@@ -0,0 +1,19 @@
+package com.example.phfbackend.service;
+
+import com.example.phfbackend.dto.response.WasteRiskResponse;
+import com.example.phfbackend.dto.response.WasteRiskRunResponse;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface WasteRiskService {
+    /**
+     * Rebuild the forecast table for every active batch as of the given date.
+     */
+    WasteRiskRunResponse recompute(LocalDate asOf);
+    
+    WasteRiskResponse getAtRisk(BigDecimal minValue, int limit);
+    
+    WasteRiskResponse getForProduct(UUID productId);
+}
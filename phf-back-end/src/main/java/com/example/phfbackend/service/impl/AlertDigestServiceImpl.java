@@ -0,0 +1,217 @@
+package com.example.phfbackend.service.impl;
+
+import com.example.phfbackend.dto.response.AlertDigestRunResponse;
+import com.example.phfbackend.dto.response.AlertEventResponse;
+import com.example.phfbackend.enities.Alert;
+import com.example.phfbackend.enities.AlertDigest;
+import com.example.phfbackend.entities.inventory.ActiveAlert;
+import com.example.phfbackend.entities.inventory.AlertNotification;
+import com.example.phfbackend.entities.user.PharmacyUser;
+import com.example.phfbackend.entities.user.UserRole;
+import com.example.phfbackend.repository.ActiveAlertRepository;
+import com.example.phfbackend.repository.AlertNotificationRepository;
+import com.example.phfbackend.repository.PharmacyUserRepository;
+import com.example.phfbackend.service.AlertDigestService;
+import com.example.phfbackend.service.AlertEmailService;
+import com.example.phfbackend.service.AlertMailSender;
+import com.example.phfbackend.service.AlertService;
+import com.example.phfbackend.service.DomainMetrics;
+import com.example.phfbackend.service.LiveEventService;
+import com.example.phfbackend.service.LiveEventType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * UC41 / UC42 - alert digest: evaluate, drop what each role has already received, send one email per role,
+ * then remember what was delivered.
+ * Not transactional as a whole on purpose: no database connection is held while talking to the SMTP server.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AlertDigestServiceImpl implements AlertDigestService {
+    
+    private final AlertService alertService;
+    private final List<AlertEmailService<? extends Alert>> alertEmailServices;
+    private final AlertMailSender alertMailSender;
+    private final AlertNotificationRepository alertNotificationRepository;
+    private final ActiveAlertRepository activeAlertRepository;
+    private final PharmacyUserRepository pharmacyUserRepository;
+    private final LiveEventService liveEventService;
+    private final DomainMetrics domainMetrics;
+    
+    private final ReentrantLock running = new ReentrantLock();
+    private volatile AlertDigestRunResponse lastRun;
+    
+    @Override
+    public AlertDigestRunResponse runDigest() {
+        if (!running.tryLock()) {
+            throw new IllegalStateException("Alert digest is already running");
+        }
+        try {
+            lastRun = doRun();
+            log.info("Alert digest: {} alerts evaluated in {} ms ({} alerts/s), {} sent, {} suppressed, {} digest(s) failed",
+                    lastRun.getAlertsEvaluated(), lastRun.getDurationMs(), String.format("%.1f", lastRun.getAlertsEvaluatedPerSecond()),
+                    lastRun.getAlertsSent(), lastRun.getAlertsSuppressed(), lastRun.getDigestsFailed());
+            return lastRun;
+        } finally {
+            running.unlock();
+        }
+    }
+    
+    @Override
+    public Optional<AlertDigestRunResponse> getLastRun() {
+        return Optional.ofNullable(lastRun);
+    }
+    
+    private AlertDigestRunResponse doRun() {
+        OffsetDateTime startedAt = OffsetDateTime.now();
+        long start = System.nanoTime();
+        
+        List<Alert> alerts = alertService.evaluateAlerts(startedAt.toLocalDate());
+        Set<String> alreadySent = alertNotificationRepository.findAllFingerprints();
+        Map<UserRole, List<String>> recipientsByRole = pharmacyUserRepository.findByActiveTrue().stream()
+                .collect(Collectors.groupingBy(PharmacyUser::getRole, () -> new EnumMap<>(UserRole.class),
+                        Collectors.mapping(PharmacyUser::getEmail, Collectors.toList())));
+        
+        // Group new alerts per recipient role
+        Set<String> current = new HashSet<>();
+        Map<UserRole, List<Alert>> pendingByRole = new EnumMap<>(UserRole.class);
+        int suppressed = 0;
+        for (AlertEmailService<? extends Alert> emailService : alertEmailServices) {
+            for (Alert alert : alerts) {
+                if (!emailService.getAlertClass().isInstance(alert)) continue;
+                for (UserRole role : emailService.getRecipientRoles()) {
+                    String fingerprint = fingerprint(role, alert);
+                    current.add(fingerprint);
+                    if (alreadySent.contains(fingerprint)) {
+                        suppressed++;
+                    } else if (recipientsByRole.containsKey(role)) {
+                        pendingByRole.computeIfAbsent(role, r -> new ArrayList<>()).add(alert);
+                    }
+                }
+            }
+        }
+        
+        List<AlertDigest> digests = new ArrayList<>();
+        pendingByRole.forEach((role, roleAlerts) ->
+                digests.add(createDigest(role, recipientsByRole.get(role), roleAlerts, startedAt.toLocalDate())));
+        List<AlertDigest> delivered = digests.isEmpty() ? List.of() : alertMailSender.sendAll(digests);
+        
+        OffsetDateTime sentAt = OffsetDateTime.now();
+        List<AlertNotification> notifications = new ArrayList<>();
+        Map<String, Integer> alertsByRole = new LinkedHashMap<>();
+        for (AlertDigest digest : delivered) {
+            alertsByRole.put(digest.getRecipientRole().name(), digest.getAlerts().size());
+            for (Alert alert : digest.getAlerts()) {
+                notifications.add(AlertNotification.newBuilder()
+                        .fingerprint(fingerprint(digest.getRecipientRole(), alert))
+                        .recipientRole(digest.getRecipientRole())
+                        .alertType(alert.getAlertType())
+                        .sentAt(sentAt)
+                        .build());
+            }
+        }
+        alertNotificationRepository.saveAll(notifications);
+        
+        // Conditions that cleared since they were notified: forget them so a recurrence is sent again
+        Set<String> cleared = new HashSet<>(alreadySent);
+        cleared.removeAll(current);
+        alertNotificationRepository.deleteAllByIdInBatch(cleared);
+        publishTransitions(alerts, startedAt);
+        
+        long durationNanos = System.nanoTime() - start;
+        return AlertDigestRunResponse.builder()
+                .startedAt(startedAt)
+                .durationMs(durationNanos / 1_000_000)
+                .alertsEvaluated(alerts.size())
+                .alertsEvaluatedPerSecond(durationNanos == 0 ? 0 : alerts.size() * 1_000_000_000.0 / durationNanos)
+                .alertsSent(notifications.size())
+                .alertsSuppressed(suppressed)
+                .digestsSent(delivered.size())
+                .digestsFailed(digests.size() - delivered.size())
+                .notificationsCleared(cleared.size())
+                .alertsByRole(alertsByRole)
+                .build();
+    }
+    
+    /**
+     * Dashboard view of the evaluation: conditions not raised before are raised, raised ones that no longer hold
+     * are cleared (per alert, regardless of how many roles received it). Raised state is kept in active_alerts,
+     * apart from delivery, so an alert whose digest could not be sent is not raised again on the next run.
+     */
+    private void publishTransitions(List<Alert> alerts, OffsetDateTime raisedAt) {
+        Map<String, ActiveAlert> previous = activeAlertRepository.findAll().stream()
+                .collect(Collectors.toMap(ActiveAlert::getFingerprint, a -> a));
+        Set<String> current = new HashSet<>();
+        List<ActiveAlert> raised = new ArrayList<>();
+        for (Alert alert : alerts) {
+            String fingerprint = alert.fingerprint();
+            if (current.add(fingerprint) && !previous.containsKey(fingerprint)) {
+                raised.add(ActiveAlert.newBuilder()
+                        .fingerprint(fingerprint)
+                        .alertType(alert.getAlertType())
+                        .raisedAt(raisedAt)
+                        .build());
+                liveEventService.publish(LiveEventType.ALERT_RAISED, AlertEventResponse.builder()
+                        .alertType(alert.getAlertType())
+                        .fingerprint(fingerprint)
+                        .productId(alert.getProductId())
+                        .productName(alert.getProductName())
+                        .build());
+                domainMetrics.alertRaised(alert);
+            }
+        }
+        activeAlertRepository.saveAll(raised);
+        
+        Set<String> cleared = new HashSet<>();
+        for (ActiveAlert active : previous.values()) {
+            if (!current.contains(active.getFingerprint())) {
+                cleared.add(active.getFingerprint());
+                liveEventService.publish(LiveEventType.ALERT_CLEARED, AlertEventResponse.builder()
+                        .alertType(active.getAlertType())
+                        .fingerprint(active.getFingerprint())
+                        .build());
+            }
+        }
+        activeAlertRepository.deleteAllByIdInBatch(cleared);
+    }
+    
+    private AlertDigest createDigest(UserRole role, List<String> recipients, List<Alert> alerts, LocalDate date) {
+        StringBuilder body = new StringBuilder();
+        for (AlertEmailService<? extends Alert> emailService : alertEmailServices) {
+            String section = renderSection(emailService, alerts);
+            if (!section.isEmpty()) {
+                body.append(section).append('\n');
+            }
+        }
+        String subject = String.format("[PHF] Canh bao kho %s - %d canh bao moi", date, alerts.size());
+        return new AlertDigest(role, recipients, subject, body.toString(), alerts);
+    }
+    
+    private <T extends Alert> String renderSection(AlertEmailService<T> emailService, List<Alert> alerts) {
+        List<T> typed = alerts.stream()
+                .filter(emailService.getAlertClass()::isInstance)
+                .map(emailService.getAlertClass()::cast)
+                .collect(Collectors.toList());
+        return typed.isEmpty() ? "" : emailService.createAlertMail(typed);
+    }
+    
+    private String fingerprint(UserRole role, Alert alert) {
+        return role.name() + "|" + alert.fingerprint();
+    }
+}
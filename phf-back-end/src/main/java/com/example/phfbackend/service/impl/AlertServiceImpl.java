@@ -0,0 +1,75 @@
+package com.example.phfbackend.service.impl;
+
+import com.example.phfbackend.enities.Alert;
+import com.example.phfbackend.enities.LowStockAlert;
+import com.example.phfbackend.enities.NearExpireAlert;
+import com.example.phfbackend.enities.Stock;
+import com.example.phfbackend.entities.inventory.InventoryBatch;
+import com.example.phfbackend.entities.product.Product;
+import com.example.phfbackend.repository.InventoryBatchRepository;
+import com.example.phfbackend.service.AlertService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * UC41 / UC42 - low-stock and near-expiry alerts computed in a single pass over active in-stock batches.
+ * Same rules as GET /api/inventory/alerts: threshold is reorderLevel (fallback minStock) against total stock,
+ * expiry window is the product's expiryAlertDays; products without any stock raise an out-of-stock alert.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AlertServiceImpl implements AlertService {
+    
+    private final InventoryBatchRepository inventoryBatchRepository;
+    
+    @Override
+    public List<Alert> evaluateAlerts(LocalDate currentDate) {
+        LocalDateTime alertDate = LocalDateTime.now();
+        List<Alert> alerts = new ArrayList<>();
+        
+        Product current = null;
+        int totalStock = 0;
+        for (Object[] row : inventoryBatchRepository.findAlertCandidates()) {
+            Product product = (Product) row[0];
+            InventoryBatch batch = (InventoryBatch) row[1];
+            
+            if (!product.equals(current)) {
+                addLowStockAlert(alerts, current, totalStock, alertDate);
+                current = product;
+                totalStock = 0;
+            }
+            if (batch == null) continue;
+            
+            totalStock += batch.getQuantityOnHand();
+            addNearExpireAlert(alerts, product, batch, currentDate, alertDate);
+        }
+        addLowStockAlert(alerts, current, totalStock, alertDate);
+        
+        return alerts;
+    }
+    
+    private void addLowStockAlert(List<Alert> alerts, Product product, int totalStock, LocalDateTime alertDate) {
+        if (product == null) return;
+        Integer threshold = product.getReorderLevel() != null ? product.getReorderLevel() : product.getMinStock();
+        if (threshold != null && totalStock <= threshold) {
+            alerts.add(new LowStockAlert(product.getId(), product.getName(), alertDate, totalStock, threshold));
+        }
+    }
+    
+    private void addNearExpireAlert(List<Alert> alerts, Product product, InventoryBatch batch,
+                                    LocalDate currentDate, LocalDateTime alertDate) {
+        Integer expiryAlertDays = product.getExpiryAlertDays();
+        if (expiryAlertDays != null && expiryAlertDays > 0 && batch.isNearExpiry(currentDate, expiryAlertDays)) {
+            Stock stock = new Stock(batch.getId(), batch.getBatchNumber(), batch.getQuantityOnHand());
+            alerts.add(new NearExpireAlert(product.getId(), product.getName(), alertDate, stock,
+                    batch.getExpiryDate(), expiryAlertDays));
+        }
+    }
+}
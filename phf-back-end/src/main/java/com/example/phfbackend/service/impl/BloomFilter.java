@@ -0,0 +1,69 @@
+package com.example.phfbackend.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over strings: no false negatives, false positives at about the configured rate
+ * while no more than expectedKeys keys are added (the rate degrades gradually beyond that).
+ * Bit positions use double hashing (h1 + i * h2) of one 64-bit hash of the UTF-8 bytes.
+ */
+final class BloomFilter {
+    
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    
+    BloomFilter(long expectedKeys, double falsePositiveRate) {
+        long keys = Math.max(1, expectedKeys);
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-keys * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.words = new AtomicLongArray((int) Math.max(1, (bits + 63) >>> 6));
+        this.bitCount = (long) words.length() << 6;
+        this.hashCount = (int) Math.max(1, Math.round((double) bitCount / keys * ln2));
+    }
+    
+    void put(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1 + 0x9E37_79B9_7F4A_7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            while (((current = words.get(word)) & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                // another thread changed the word; retry
+            }
+        }
+    }
+    
+    boolean mightContain(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1 + 0x9E37_79B9_7F4A_7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    // FNV-1a over the UTF-8 bytes, then a murmur3 finalizer to spread the bits
+    private static long hash(String key) {
+        long hash = 0xCBF2_9CE4_8422_2325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100_0000_01B3L;
+        }
+        return mix(hash);
+    }
+    
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51_AFD7_ED55_8CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CE_B9FE_1A85_EC53L;
+        return value ^ value >>> 33;
+    }
+}
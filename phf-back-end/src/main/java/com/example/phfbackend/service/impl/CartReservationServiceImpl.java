@@ -0,0 +1,234 @@
+package com.example.phfbackend.service.impl;
+
+import com.example.phfbackend.dto.response.CartReservationResponse;
+import com.example.phfbackend.service.CartReservationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory cart reservations, lock-striped by inventory batch.
+ *
+ * Tills contending for the same batch serialize on one stripe lock; tills selling different batches almost never
+ * share a lock. Holds expire after {@code pos.reservation.ttl-seconds} (checked lazily on every read and swept in
+ * the background), so an abandoned cart gives its stock back on its own.
+ * Reservations are per application instance and are lost on restart; the sale commit still re-validates on-hand stock.
+ */
+@Slf4j
+@Service
+public class CartReservationServiceImpl implements CartReservationService {
+    
+    private final Stripe[] stripes;
+    private final long ttlNanos;
+    // cartId -> batches it may hold; a hint for releaseCart / findByCart, the stripes are the source of truth
+    private final Map<String, Set<UUID>> batchesByCart = new ConcurrentHashMap<>();
+    
+    public CartReservationServiceImpl(@Value("${pos.reservation.ttl-seconds:600}") long ttlSeconds,
+                                      @Value("${pos.reservation.stripes:64}") int stripeCount) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new Stripe[stripeCount <= 1 ? 1 : size];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+    
+    @Override
+    public CartReservationResponse reserve(String cartId, UUID inventoryBatchId, int quantity, int quantityOnHand) {
+        if (cartId == null || cartId.isBlank()) {
+            throw new IllegalArgumentException("cartId is required");
+        }
+        if (quantity < 0) {
+            throw new IllegalArgumentException("quantity cannot be negative");
+        }
+        
+        long now = System.nanoTime();
+        Stripe stripe = stripeFor(inventoryBatchId);
+        stripe.lock.lock();
+        try {
+            Map<String, Hold> holds = stripe.holdsByBatch.computeIfAbsent(inventoryBatchId, id -> new HashMap<>(4));
+            int available = quantityOnHand - reservedBy(holds, cartId, now);
+            if (quantity > available) {
+                if (holds.isEmpty()) stripe.holdsByBatch.remove(inventoryBatchId);
+                throw new IllegalArgumentException("Insufficient stock for batch " + inventoryBatchId
+                        + ". Available: " + Math.max(0, available) + ", Requested: " + quantity);
+            }
+            if (quantity == 0) {
+                holds.remove(cartId);
+                if (holds.isEmpty()) stripe.holdsByBatch.remove(inventoryBatchId);
+                untrack(cartId, inventoryBatchId);
+            } else {
+                holds.put(cartId, new Hold(quantity, now + ttlNanos));
+                batchesByCart.computeIfAbsent(cartId, id -> ConcurrentHashMap.newKeySet()).add(inventoryBatchId);
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+        return toResponse(cartId, inventoryBatchId, quantity, now + ttlNanos, now);
+    }
+    
+    @Override
+    public List<CartReservationResponse> findByCart(String cartId) {
+        Set<UUID> batchIds = batchesByCart.get(cartId);
+        if (batchIds == null) return List.of();
+        
+        long now = System.nanoTime();
+        List<CartReservationResponse> reservations = new ArrayList<>();
+        for (UUID batchId : batchIds) {
+            Stripe stripe = stripeFor(batchId);
+            stripe.lock.lock();
+            try {
+                Map<String, Hold> holds = stripe.holdsByBatch.get(batchId);
+                Hold hold = holds != null ? holds.get(cartId) : null;
+                if (hold != null && hold.expiresAtNanos - now > 0) {
+                    reservations.add(toResponse(cartId, batchId, hold.quantity, hold.expiresAtNanos, now));
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return reservations;
+    }
+    
+    @Override
+    public void releaseCart(String cartId) {
+        if (cartId == null) return;
+        Set<UUID> batchIds = batchesByCart.remove(cartId);
+        if (batchIds == null) return;
+        
+        for (UUID batchId : batchIds) {
+            Stripe stripe = stripeFor(batchId);
+            stripe.lock.lock();
+            try {
+                Map<String, Hold> holds = stripe.holdsByBatch.get(batchId);
+                if (holds != null) {
+                    holds.remove(cartId);
+                    if (holds.isEmpty()) stripe.holdsByBatch.remove(batchId);
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+    
+    @Override
+    public int getReservedQuantity(UUID inventoryBatchId, String excludingCartId) {
+        long now = System.nanoTime();
+        Stripe stripe = stripeFor(inventoryBatchId);
+        stripe.lock.lock();
+        try {
+            Map<String, Hold> holds = stripe.holdsByBatch.get(inventoryBatchId);
+            return holds == null ? 0 : reservedBy(holds, excludingCartId, now);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+    
+    @Override
+    public void consumeOnCommit(String cartId) {
+        if (cartId == null) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    releaseCart(cartId);
+                }
+            });
+        } else {
+            releaseCart(cartId);
+        }
+    }
+    
+    @Override
+    @Scheduled(fixedDelayString = "${pos.reservation.expiry-sweep-ms:5000}")
+    public int expireReservations() {
+        long now = System.nanoTime();
+        int expired = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                Iterator<Map.Entry<UUID, Map<String, Hold>>> batches = stripe.holdsByBatch.entrySet().iterator();
+                while (batches.hasNext()) {
+                    Map.Entry<UUID, Map<String, Hold>> batch = batches.next();
+                    Iterator<Map.Entry<String, Hold>> holds = batch.getValue().entrySet().iterator();
+                    while (holds.hasNext()) {
+                        Map.Entry<String, Hold> hold = holds.next();
+                        if (hold.getValue().expiresAtNanos - now <= 0) {
+                            holds.remove();
+                            untrack(hold.getKey(), batch.getKey());
+                            expired++;
+                        }
+                    }
+                    if (batch.getValue().isEmpty()) batches.remove();
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        if (expired > 0) {
+            log.debug("Expired {} cart reservation(s)", expired);
+        }
+        return expired;
+    }
+    
+    private int reservedBy(Map<String, Hold> holds, String excludingCartId, long now) {
+        int reserved = 0;
+        for (Map.Entry<String, Hold> entry : holds.entrySet()) {
+            if (entry.getValue().expiresAtNanos - now > 0 && !entry.getKey().equals(excludingCartId)) {
+                reserved += entry.getValue().quantity;
+            }
+        }
+        return reserved;
+    }
+    
+    private void untrack(String cartId, UUID batchId) {
+        batchesByCart.computeIfPresent(cartId, (id, batchIds) -> {
+            batchIds.remove(batchId);
+            return batchIds.isEmpty() ? null : batchIds;
+        });
+    }
+    
+    private Stripe stripeFor(UUID inventoryBatchId) {
+        int hash = inventoryBatchId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+    
+    private CartReservationResponse toResponse(String cartId, UUID batchId, int quantity, long expiresAtNanos, long now) {
+        return CartReservationResponse.builder()
+                .cartId(cartId)
+                .inventoryBatchId(batchId)
+                .quantity(quantity)
+                .expiresAt(quantity == 0 ? null : OffsetDateTime.now().plusNanos(expiresAtNanos - now))
+                .build();
+    }
+    
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<UUID, Map<String, Hold>> holdsByBatch = new HashMap<>();
+    }
+    
+    private static final class Hold {
+        private final int quantity;
+        private final long expiresAtNanos;
+        
+        private Hold(int quantity, long expiresAtNanos) {
+            this.quantity = quantity;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.phfbackend.service.impl;
+
+import com.example.phfbackend.dto.response.CatalogSnapshotResponse;
+import com.example.phfbackend.dto.response.POSProductResponse;
+import com.example.phfbackend.entities.inventory.InventoryBatch;
+import com.example.phfbackend.entities.product.Product;
+import com.example.phfbackend.repository.InventoryBatchRepository;
+import com.example.phfbackend.repository.ProductRepository;
+import com.example.phfbackend.service.CatalogSnapshot;
+import com.example.phfbackend.service.CatalogSnapshotService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pre-built POS catalog for terminal bootstrap (GET /api/pos/catalog/snapshot).
+ *
+ * A background check every {@code pos.catalog.refresh-check-ms} compares MAX(updated_at) of products and batches
+ * (plus the date, since batches expire at midnight) with the last build and rebuilds only on change.
+ * The version is a hash of the product list, so a rebuild that yields the same catalog keeps its ETag.
+ * Stock is on-hand at build time; live availability (including cart reservations) stays on the POS endpoints.
+ */
+@Slf4j
+@Service
+public class CatalogSnapshotServiceImpl implements CatalogSnapshotService {
+    
+    private static final String FILE_PREFIX = "catalog-";
+    private static final String FILE_SUFFIX = ".json.gz";
+    
+    private final ProductRepository productRepository;
+    private final InventoryBatchRepository inventoryBatchRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Path snapshotDir;
+    private final ReentrantLock buildLock = new ReentrantLock();
+    
+    private volatile CatalogSnapshot current;
+    private String lastFingerprint;
+    
+    public CatalogSnapshotServiceImpl(ProductRepository productRepository,
+                                      InventoryBatchRepository inventoryBatchRepository,
+                                      ObjectMapper objectMapper,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${pos.catalog.snapshot-dir:${java.io.tmpdir}/phf-catalog}") String snapshotDir) {
+        this.productRepository = productRepository;
+        this.inventoryBatchRepository = inventoryBatchRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.snapshotDir = Path.of(snapshotDir);
+    }
+    
+    @Override
+    public CatalogSnapshot getCurrentSnapshot() {
+        CatalogSnapshot snapshot = current;
+        return snapshot != null ? snapshot : refreshIfChanged();
+    }
+    
+    @Override
+    @Scheduled(initialDelayString = "${pos.catalog.initial-delay-ms:5000}", fixedDelayString = "${pos.catalog.refresh-check-ms:10000}")
+    public CatalogSnapshot refreshIfChanged() {
+        buildLock.lock();
+        try {
+            LocalDate today = LocalDate.now();
+            String fingerprint = productRepository.findLastUpdatedAt() + "|" + inventoryBatchRepository.findLastUpdatedAt() + "|" + today;
+            if (current != null && fingerprint.equals(lastFingerprint)) {
+                return current;
+            }
+            
+            List<POSProductResponse> products = readOnlyTransaction.execute(status -> loadProducts(today));
+            String version = hash(objectMapper.writeValueAsBytes(products));
+            if (current == null || !version.equals(current.getVersion())) {
+                current = write(version, products);
+                log.info("POS catalog snapshot {} built: {} products, {} bytes gzip", version, products.size(), current.getGzipBytes().length);
+            }
+            lastFingerprint = fingerprint;
+            return current;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot build POS catalog snapshot", e);
+        } finally {
+            buildLock.unlock();
+        }
+    }
+    
+    // Same figures as POSController#toPOSResponse: FEFO selling price, stock of non-expired active batches
+    private List<POSProductResponse> loadProducts(LocalDate today) {
+        List<POSProductResponse> products = new ArrayList<>();
+        POSProductResponse entry = null;
+        Product currentProduct = null;
+        for (Object[] row : productRepository.findActiveWithSellableBatches(today)) {
+            Product product = (Product) row[0];
+            InventoryBatch batch = (InventoryBatch) row[1];
+            if (!product.equals(currentProduct)) {
+                currentProduct = product;
+                entry = POSProductResponse.builder()
+                        .id(product.getId())
+                        .sku(product.getSku())
+                        .name(product.getName())
+                        .activeIngredient(product.getActiveIngredient())
+                        .dosageForm(product.getDosageForm())
+                        .dosageStrength(product.getDosageStrength())
+                        .dosage(product.getDosage())
+                        .sellingPrice(batch != null ? batch.getSellingPrice() : BigDecimal.ZERO)
+                        .stockQuantity(0)
+                        .available(false)
+                        .build();
+                products.add(entry);
+            }
+            if (batch != null) {
+                entry.setStockQuantity(entry.getStockQuantity() + batch.getQuantityOnHand());
+                entry.setAvailable(true);
+            }
+        }
+        return products;
+    }
+    
+    private CatalogSnapshot write(String version, List<POSProductResponse> products) throws IOException {
+        OffsetDateTime generatedAt = OffsetDateTime.now();
+        CatalogSnapshotResponse payload = CatalogSnapshotResponse.builder()
+                .version(version)
+                .generatedAt(generatedAt)
+                .productCount(products.size())
+                .products(products)
+                .build();
+        
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            objectMapper.writeValue(gzip, payload);
+        }
+        byte[] gzipBytes = buffer.toByteArray();
+        
+        // Write under a temporary name then move, so a file being sent is never partially written
+        Files.createDirectories(snapshotDir);
+        Path file = snapshotDir.resolve(FILE_PREFIX + version + FILE_SUFFIX);
+        Path temp = Files.createTempFile(snapshotDir, FILE_PREFIX, ".tmp");
+        Files.write(temp, gzipBytes);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        
+        CatalogSnapshot previous = current;
+        deleteOldFiles(file, previous != null ? previous.getFile() : null);
+        return new CatalogSnapshot(version, generatedAt, products.size(), gzipBytes, file);
+    }
+    
+    // Keep the previous version too: a transfer of it may still be in flight
+    private void deleteOldFiles(Path keep, Path previous) {
+        try (Stream<Path> files = Files.list(snapshotDir)) {
+            files.filter(path -> path.getFileName().toString().startsWith(FILE_PREFIX))
+                    .filter(path -> !path.equals(keep) && !path.equals(previous))
+                    .forEach(path -> {
+                        try {
+                            Files.deleteIfExists(path);
+                        } catch (IOException e) {
+                            log.warn("Cannot delete old catalog snapshot {}: {}", path, e.getMessage());
+                        }
+                    });
+        } catch (IOException e) {
+            log.warn("Cannot list catalog snapshot directory {}: {}", snapshotDir, e.getMessage());
+        }
+    }
+    
+    private String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
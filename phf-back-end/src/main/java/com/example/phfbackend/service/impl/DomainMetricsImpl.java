@@ -0,0 +1,104 @@
+package com.example.phfbackend.service.impl;
+
+import com.example.phfbackend.enities.Alert;
+import com.example.phfbackend.entities.inventory.InventoryAdjustmentType;
+import com.example.phfbackend.entities.sale.PaymentMethod;
+import com.example.phfbackend.entities.sale.SaleTransaction;
+import com.example.phfbackend.service.DomainMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Series that dashboards rate() over are registered up front, so they exist (at zero) from startup; other write-off
+ * reasons and the alert types of the {@link Alert} subclasses are registered on first use.
+ */
+@Service
+public class DomainMetricsImpl implements DomainMetrics {
+    
+    private static final String UNKNOWN = "UNKNOWN";
+    
+    private final MeterRegistry registry;
+    private final Map<PaymentMethod, Counter> salesByPaymentMethod = new EnumMap<>(PaymentMethod.class);
+    private final Counter salesWithoutPaymentMethod;
+    private final Counter unitsSold;
+    private final Counter purchaseOrdersReceived;
+    
+    public DomainMetricsImpl(MeterRegistry registry) {
+        this.registry = registry;
+        for (PaymentMethod method : PaymentMethod.values()) {
+            salesByPaymentMethod.put(method, salesCounter(method.name()));
+        }
+        this.salesWithoutPaymentMethod = salesCounter(UNKNOWN);
+        this.unitsSold = deductedCounter("SALE");
+        deductedCounter(InventoryAdjustmentType.EXPIRED_REMOVAL.name());
+        this.purchaseOrdersReceived = Counter.builder("phf.purchase_orders.received")
+                .description("Purchase orders that reached RECEIVED (receipt, status change or bulk)")
+                .register(registry);
+    }
+    
+    private Counter salesCounter(String paymentMethod) {
+        return Counter.builder("phf.sales.completed")
+                .description("Committed sale transactions")
+                .tag("payment_method", paymentMethod)
+                .register(registry);
+    }
+    
+    private Counter deductedCounter(String reason) {
+        return Counter.builder("phf.inventory.units.deducted")
+                .description("Units removed from inventory batches")
+                .tag("reason", reason)
+                .register(registry);
+    }
+    
+    @Override
+    public void saleCompleted(SaleTransaction sale) {
+        Counter counter = sale.getPaymentMethod() == null
+                ? salesWithoutPaymentMethod
+                : salesByPaymentMethod.get(sale.getPaymentMethod());
+        afterCommit(counter::increment);
+    }
+    
+    @Override
+    public void unitsSold(int units) {
+        afterCommit(() -> unitsSold.increment(units));
+    }
+    
+    @Override
+    public void unitsWrittenOff(InventoryAdjustmentType reason, long units) {
+        afterCommit(() -> deductedCounter(reason.name()).increment(units));
+    }
+    
+    @Override
+    public void purchaseOrdersReceived(int orders) {
+        afterCommit(() -> purchaseOrdersReceived.increment(orders));
+    }
+    
+    @Override
+    public void alertRaised(Alert alert) {
+        String type = alert.getAlertType() == null ? UNKNOWN : alert.getAlertType();
+        afterCommit(() -> Counter.builder("phf.alerts.raised")
+                .description("Alert conditions newly raised by the digest evaluation")
+                .tag("type", type)
+                .register(registry)
+                .increment());
+    }
+    
+    private void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+}
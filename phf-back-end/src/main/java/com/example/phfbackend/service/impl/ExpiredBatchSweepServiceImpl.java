@@ -0,0 +1,183 @@
+package com.example.phfbackend.service.impl;
+
+import com.example.phfbackend.dto.response.ExpiredBatchSweepResponse;
+import com.example.phfbackend.dto.response.StockLevelEventResponse;
+import com.example.phfbackend.entities.inventory.InventoryAdjustmentType;
+import com.example.phfbackend.entities.shared.SystemLog;
+import com.example.phfbackend.entities.user.PharmacyUser;
+import com.example.phfbackend.entities.user.UserRole;
+import com.example.phfbackend.repository.InventoryAdjustmentRepository;
+import com.example.phfbackend.repository.InventoryBatchRepository;
+import com.example.phfbackend.repository.PharmacyUserRepository;
+import com.example.phfbackend.repository.projection.ExpiredBatchView;
+import com.example.phfbackend.service.DomainMetrics;
+import com.example.phfbackend.service.ExpiredBatchSweepService;
+import com.example.phfbackend.service.LiveEventService;
+import com.example.phfbackend.service.LiveEventType;
+import com.example.phfbackend.service.SystemLogWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Deactivates expired, active, non-empty batches and writes off their remaining quantity
+ * with one EXPIRED_REMOVAL adjustment per batch.
+ *
+ * Batches are walked in id order (keyset, no OFFSET) in chunks of {@code inventory.expiry-sweep.chunk-size}.
+ * Each chunk is its own short transaction: lock the chunk, insert the adjustments and deactivate the batches
+ * set-based, commit, then pause {@code inventory.expiry-sweep.throttle-ms} so POS sales are never blocked for long.
+ * The bulk update fires no Hibernate events, so the INVENTORY_BATCH_UPDATED audit entries and STOCK_CHANGED events
+ * that a JPA save would produce are written here from the locked rows, once the chunk commits.
+ */
+@Slf4j
+@Service
+public class ExpiredBatchSweepServiceImpl implements ExpiredBatchSweepService {
+    
+    private static final UUID KEYSET_START = new UUID(0L, 0L);
+    
+    private final InventoryBatchRepository inventoryBatchRepository;
+    private final InventoryAdjustmentRepository adjustmentRepository;
+    private final PharmacyUserRepository pharmacyUserRepository;
+    private final SystemLogWriter systemLogWriter;
+    private final LiveEventService liveEventService;
+    private final DomainMetrics domainMetrics;
+    private final TransactionTemplate chunkTransaction;
+    private final ReentrantLock running = new ReentrantLock();
+    
+    @Value("${inventory.expiry-sweep.chunk-size:500}")
+    private int chunkSize;
+    
+    @Value("${inventory.expiry-sweep.throttle-ms:200}")
+    private long throttleMillis;
+    
+    @Value("${inventory.expiry-sweep.performed-by:}")
+    private String performedByEmail;
+    
+    public ExpiredBatchSweepServiceImpl(InventoryBatchRepository inventoryBatchRepository,
+                                        InventoryAdjustmentRepository adjustmentRepository,
+                                        PharmacyUserRepository pharmacyUserRepository,
+                                        SystemLogWriter systemLogWriter,
+                                        LiveEventService liveEventService,
+                                        DomainMetrics domainMetrics,
+                                        PlatformTransactionManager transactionManager) {
+        this.inventoryBatchRepository = inventoryBatchRepository;
+        this.adjustmentRepository = adjustmentRepository;
+        this.pharmacyUserRepository = pharmacyUserRepository;
+        this.systemLogWriter = systemLogWriter;
+        this.liveEventService = liveEventService;
+        this.domainMetrics = domainMetrics;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    @Override
+    public ExpiredBatchSweepResponse sweepExpiredBatches(LocalDate currentDate) {
+        if (!running.tryLock()) {
+            throw new IllegalStateException("Expired batch sweep is already running");
+        }
+        try {
+            return sweep(currentDate);
+        } finally {
+            running.unlock();
+        }
+    }
+    
+    private ExpiredBatchSweepResponse sweep(LocalDate currentDate) {
+        long start = System.nanoTime();
+        UUID performedBy = resolvePerformedBy();
+        int size = Math.max(1, chunkSize);
+        
+        UUID after = KEYSET_START;
+        int chunks = 0;
+        int batches = 0;
+        long units = 0;
+        while (true) {
+            UUID keyset = after;
+            List<ExpiredBatchView> chunk = chunkTransaction.execute(status -> writeOffChunk(currentDate, keyset, size, performedBy));
+            if (chunk == null || chunk.isEmpty()) break;
+            
+            chunks++;
+            batches += chunk.size();
+            units += chunk.stream().mapToLong(ExpiredBatchView::getQuantity).sum();
+            after = chunk.get(chunk.size() - 1).getId();
+            
+            if (chunk.size() < size || !pause()) break;
+        }
+        
+        ExpiredBatchSweepResponse result = ExpiredBatchSweepResponse.builder()
+                .expiredBefore(currentDate)
+                .chunks(chunks)
+                .batchesWrittenOff(batches)
+                .unitsWrittenOff(units)
+                .durationMs((System.nanoTime() - start) / 1_000_000)
+                .build();
+        log.info("Expired batch sweep: {} batches / {} units written off in {} chunks ({} ms)",
+                batches, units, chunks, result.getDurationMs());
+        return result;
+    }
+    
+    private List<ExpiredBatchView> writeOffChunk(LocalDate currentDate, UUID after, int size, UUID performedBy) {
+        List<ExpiredBatchView> chunk = inventoryBatchRepository.lockExpiredBatchesAfter(currentDate, after, size);
+        if (chunk.isEmpty()) {
+            return chunk;
+        }
+        List<UUID> ids = chunk.stream().map(ExpiredBatchView::getId).toList();
+        OffsetDateTime now = OffsetDateTime.now();
+        adjustmentRepository.insertWriteOffsForBatches(ids, performedBy, InventoryAdjustmentType.EXPIRED_REMOVAL.name(), now);
+        inventoryBatchRepository.writeOffBatches(ids, now);
+        for (ExpiredBatchView batch : chunk) {
+            // Same action and diff format as the entity change capture; no user, as for other jobs
+            systemLogWriter.append(SystemLog.newBuilder()
+                    .action("INVENTORY_BATCH_UPDATED")
+                    .entityType("InventoryBatch")
+                    .entityId(batch.getId())
+                    .details("active: true → false; quantityOnHand: " + batch.getQuantity() + " → 0")
+                    .createdAt(now)
+                    .build());
+            liveEventService.publish(LiveEventType.STOCK_CHANGED, StockLevelEventResponse.builder()
+                    .inventoryBatchId(batch.getId())
+                    .batchNumber(batch.getBatchNumber())
+                    .productId(batch.getProductId())
+                    .quantityOnHand(0)
+                    .active(false)
+                    .build());
+        }
+        domainMetrics.unitsWrittenOff(InventoryAdjustmentType.EXPIRED_REMOVAL,
+                chunk.stream().mapToLong(ExpiredBatchView::getQuantity).sum());
+        return chunk;
+    }
+    
+    // Adjustments require a user: the configured account, otherwise the first active owner
+    private UUID resolvePerformedBy() {
+        if (performedByEmail != null && !performedByEmail.isBlank()) {
+            return pharmacyUserRepository.findByEmail(performedByEmail)
+                    .map(PharmacyUser::getId)
+                    .orElseThrow(() -> new IllegalStateException("Sweep user not found: " + performedByEmail));
+        }
+        return pharmacyUserRepository.findByRole(UserRole.OWNER).stream()
+                .filter(PharmacyUser::isActive)
+                .map(PharmacyUser::getId)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No active OWNER account to record expired write-offs"));
+    }
+    
+    private boolean pause() {
+        if (throttleMillis <= 0) return true;
+        try {
+            Thread.sleep(throttleMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,9 +1,19 @@
 package com.example.phfbackend.service.impl;
 
 import com.example.phfbackend.dto.InventoryFilterCriteria;
+import com.example.phfbackend.dto.response.StockLevelEventResponse;
+import com.example.phfbackend.entities.inventory.InventoryAdjustment;
+import com.example.phfbackend.entities.inventory.InventoryAdjustmentType;
 import com.example.phfbackend.entities.inventory.InventoryBatch;
+import com.example.phfbackend.entities.user.PharmacyUser;
+import com.example.phfbackend.entities.user.UserRole;
+import com.example.phfbackend.repository.InventoryAdjustmentRepository;
 import com.example.phfbackend.repository.InventoryBatchRepository;
+import com.example.phfbackend.repository.PharmacyUserRepository;
+import com.example.phfbackend.service.DomainMetrics;
 import com.example.phfbackend.service.InventoryBatchService;
+import com.example.phfbackend.service.LiveEventService;
+import com.example.phfbackend.service.LiveEventType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,10 +30,22 @@ import java.util.stream.Stream;
 public class InventoryBatchServiceImpl implements InventoryBatchService {
     
     private final InventoryBatchRepository inventoryBatchRepository;
+    private final InventoryAdjustmentRepository adjustmentRepository;
+    private final PharmacyUserRepository pharmacyUserRepository;
+    private final LiveEventService liveEventService;
+    private final DomainMetrics domainMetrics;
     
     @Override
     public InventoryBatch createBatch(InventoryBatch batch) {
-        return inventoryBatchRepository.save(batch);
+        return publishStockChange(inventoryBatchRepository.save(batch));
+    }
+    
+    @Override
+    public List<InventoryBatch> createBatches(List<InventoryBatch> batches) {
+        // Inserted as JDBC batches on flush (hibernate.jdbc.batch_size)
+        List<InventoryBatch> saved = inventoryBatchRepository.saveAll(batches);
+        saved.forEach(this::publishStockChange);
+        return saved;
     }
     
     @Override
@@ -98,7 +120,7 @@ public class InventoryBatchServiceImpl implements InventoryBatchService {
         InventoryBatch batch = inventoryBatchRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Inventory batch not found: " + id));
         batch.receiveAdditionalQuantity(quantity);
-        return inventoryBatchRepository.save(batch);
+        return publishStockChange(inventoryBatchRepository.save(batch));
     }
     
     @Override
@@ -106,14 +128,29 @@ public class InventoryBatchServiceImpl implements InventoryBatchService {
         InventoryBatch batch = inventoryBatchRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Inventory batch not found: " + id));
         batch.deductQuantity(quantity);
-        return inventoryBatchRepository.save(batch);
+        domainMetrics.unitsSold(quantity);
+        return publishStockChange(inventoryBatchRepository.save(batch));
     }
     
     @Override
-    public InventoryBatch updateBatch(UUID id, InventoryBatch updatedBatch) {
+    public InventoryBatch updateBatch(UUID id, InventoryBatch updatedBatch, UUID performedBy) {
         InventoryBatch batch = inventoryBatchRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Inventory batch not found: " + id));
         
+        // A direct quantity edit is a stock movement: record it so stock as of an earlier date can be rebuilt
+        int quantityChange = updatedBatch.getQuantityOnHand() - batch.getQuantityOnHand();
+        if (quantityChange != 0) {
+            adjustmentRepository.save(InventoryAdjustment.newBuilder()
+                    .product(batch.getProduct())
+                    .performedBy(resolvePerformedBy(performedBy))
+                    .type(InventoryAdjustmentType.COUNT_VARIANCE)
+                    .quantityChange(quantityChange)
+                    .reason("Quantity of batch " + batch.getBatchNumber() + " edited from "
+                            + batch.getQuantityOnHand() + " to " + updatedBatch.getQuantityOnHand())
+                    .inventoryBatchId(batch.getId())
+                    .build());
+        }
+        
         // Update all fields
         batch.updateBatchNumber(updatedBatch.getBatchNumber());
         batch.updateQuantityOnHand(updatedBatch.getQuantityOnHand());
@@ -121,7 +158,7 @@ public class InventoryBatchServiceImpl implements InventoryBatchService {
         batch.updateDates(updatedBatch.getReceivedDate(), updatedBatch.getExpiryDate());
         batch.updateSellingPrice(updatedBatch.getSellingPrice());
         
-        return inventoryBatchRepository.save(batch);
+        return publishStockChange(inventoryBatchRepository.save(batch));
     }
     
     @Override
@@ -129,7 +166,7 @@ public class InventoryBatchServiceImpl implements InventoryBatchService {
         InventoryBatch batch = inventoryBatchRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Inventory batch not found: " + id));
         batch.deactivate();
-        inventoryBatchRepository.save(batch);
+        publishStockChange(inventoryBatchRepository.save(batch));
     }
     
     @Override
@@ -137,9 +174,29 @@ public class InventoryBatchServiceImpl implements InventoryBatchService {
         InventoryBatch batch = inventoryBatchRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Inventory batch not found: " + id));
         batch.activate();
-        inventoryBatchRepository.save(batch);
+        publishStockChange(inventoryBatchRepository.save(batch));
+    }
+    
+    // Adjustments require a user: the caller when known, otherwise the first active owner
+    private PharmacyUser resolvePerformedBy(UUID userId) {
+        if (userId != null) {
+            return pharmacyUserRepository.findById(userId)
+                    .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
+        }
+        return pharmacyUserRepository.findByRole(UserRole.OWNER).stream()
+                .filter(PharmacyUser::isActive)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No active OWNER account to record the quantity change"));
+    }
+    
+    private InventoryBatch publishStockChange(InventoryBatch batch) {
+        liveEventService.publish(LiveEventType.STOCK_CHANGED, StockLevelEventResponse.builder()
+                .inventoryBatchId(batch.getId())
+                .batchNumber(batch.getBatchNumber())
+                .productId(batch.getProduct().getId())
+                .quantityOnHand(batch.getQuantityOnHand())
+                .active(batch.isActive())
+                .build());
+        return batch;
     }
 }
-
-
-
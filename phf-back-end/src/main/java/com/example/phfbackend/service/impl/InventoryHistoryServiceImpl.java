@@ -0,0 +1,141 @@
+package com.example.phfbackend.service.impl;
+
+import com.example.phfbackend.dto.response.BatchStockAsOfResponse;
+import com.example.phfbackend.dto.response.InventoryAsOfResponse;
+import com.example.phfbackend.dto.response.ProductStockAsOfResponse;
+import com.example.phfbackend.entities.inventory.InventorySnapshot;
+import com.example.phfbackend.repository.InventoryAdjustmentRepository;
+import com.example.phfbackend.repository.InventoryBatchRepository;
+import com.example.phfbackend.repository.InventorySnapshotRepository;
+import com.example.phfbackend.repository.SaleTransactionRepository;
+import com.example.phfbackend.repository.projection.BatchQuantityView;
+import com.example.phfbackend.repository.projection.QuantityByIdView;
+import com.example.phfbackend.service.InventoryHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Point-in-time stock reconstruction.
+ *
+ * Quantity at T = quantity at the nearest checkpoint taken at or after T (or live stock when none exists)
+ * + units sold between T and that checkpoint - adjustments recorded between T and that checkpoint.
+ * Adjustments made on a batch (quantity edits, expired write-offs) are reversed on that batch; older adjustments
+ * that only reference the product are reversed on the product total and reported as adjustmentCorrection, so
+ * a product's quantity is the sum of its batches plus adjustmentCorrection.
+ * Batches created after T did not exist yet, which also removes purchase orders received after T
+ * (receiving is what creates batches). Work is bounded by the checkpoint interval, not by history length.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class InventoryHistoryServiceImpl implements InventoryHistoryService {
+    
+    private final InventorySnapshotRepository snapshotRepository;
+    private final InventoryBatchRepository inventoryBatchRepository;
+    private final SaleTransactionRepository saleTransactionRepository;
+    private final InventoryAdjustmentRepository adjustmentRepository;
+    
+    /**
+     * takenAt and the copied quantities come from one REPEATABLE READ snapshot: reading the database clock is the
+     * transaction's first statement, so every sale the copy reflects committed before takenAt and none after it.
+     * With the clock taken in the JVM and the copy under READ COMMITTED, a sale committing in between was either
+     * added back although the copy never deducted it, or deducted and never added back.
+     */
+    @Override
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public InventorySnapshot createSnapshot() {
+        OffsetDateTime takenAt = snapshotRepository.currentDatabaseTime().atOffset(ZoneOffset.UTC);
+        InventorySnapshot snapshot = snapshotRepository.saveAndFlush(InventorySnapshot.newBuilder()
+                .takenAt(takenAt)
+                .build());
+        snapshot.recordBatchCount(snapshotRepository.copyCurrentBatchQuantities(snapshot.getId()));
+        return snapshotRepository.save(snapshot);
+    }
+    
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public InventoryAsOfResponse getStockAsOf(OffsetDateTime asOf) {
+        OffsetDateTime now = OffsetDateTime.now();
+        if (asOf.isAfter(now)) {
+            throw new IllegalArgumentException("as-of instant cannot be in the future: " + asOf);
+        }
+        
+        Optional<InventorySnapshot> checkpoint = snapshotRepository.findFirstByTakenAtGreaterThanEqualOrderByTakenAtAsc(asOf);
+        OffsetDateTime upperBound = checkpoint.map(InventorySnapshot::getTakenAt).orElse(now);
+        
+        List<BatchQuantityView> baseQuantities = checkpoint
+                .map(snapshot -> snapshotRepository.findLinesForBatchesCreatedBy(snapshot.getId(), asOf))
+                .orElseGet(() -> inventoryBatchRepository.findQuantitiesForBatchesCreatedBy(asOf));
+        Map<UUID, Long> soldAfter = toMap(saleTransactionRepository.sumQuantitySoldByBatchBetween(asOf, upperBound));
+        Map<UUID, Long> adjustedAfter = toMap(adjustmentRepository.sumQuantityChangeByProductBetween(asOf, upperBound));
+        Map<UUID, Long> batchAdjustedAfter = toMap(adjustmentRepository.sumQuantityChangeByBatchBetween(asOf, upperBound));
+        
+        Map<UUID, ProductStockAsOfResponse> products = new LinkedHashMap<>();
+        for (BatchQuantityView row : baseQuantities) {
+            int quantity = row.getQuantity() + soldAfter.getOrDefault(row.getBatchId(), 0L).intValue()
+                    - batchAdjustedAfter.getOrDefault(row.getBatchId(), 0L).intValue();
+            
+            ProductStockAsOfResponse product = products.computeIfAbsent(row.getProductId(), id -> ProductStockAsOfResponse.builder()
+                    .productId(id)
+                    .productSku(row.getProductSku())
+                    .productName(row.getProductName())
+                    .quantity(0)
+                    .adjustmentCorrection(0)
+                    .batches(new ArrayList<>())
+                    .build());
+            product.setQuantity(product.getQuantity() + quantity);
+            product.getBatches().add(BatchStockAsOfResponse.builder()
+                    .inventoryBatchId(row.getBatchId())
+                    .batchNumber(row.getBatchNumber())
+                    .quantity(quantity)
+                    .build());
+        }
+        
+        // Adjustments without a batch are reversed at product level
+        int totalQuantity = 0;
+        for (ProductStockAsOfResponse product : products.values()) {
+            int correction = -adjustedAfter.getOrDefault(product.getProductId(), 0L).intValue();
+            product.setAdjustmentCorrection(correction);
+            product.setQuantity(product.getQuantity() + correction);
+            product.getBatches().sort(Comparator.comparing(BatchStockAsOfResponse::getBatchNumber));
+            totalQuantity += product.getQuantity();
+        }
+        
+        List<ProductStockAsOfResponse> sorted = new ArrayList<>(products.values());
+        sorted.sort(Comparator.comparing(ProductStockAsOfResponse::getProductName));
+        
+        return InventoryAsOfResponse.builder()
+                .asOf(asOf)
+                .checkpointId(checkpoint.map(InventorySnapshot::getId).orElse(null))
+                .checkpointAt(checkpoint.map(InventorySnapshot::getTakenAt).orElse(null))
+                .totalQuantity(totalQuantity)
+                .products(sorted)
+                .build();
+    }
+    
+    @Override
+    public int purgeSnapshotsTakenBefore(OffsetDateTime cutoff) {
+        return snapshotRepository.deleteTakenBefore(cutoff);
+    }
+    
+    private Map<UUID, Long> toMap(List<QuantityByIdView> rows) {
+        Map<UUID, Long> result = new HashMap<>(rows.size() * 2);
+        for (QuantityByIdView row : rows) {
+            result.put(row.getId(), row.getQuantity());
+        }
+        return result;
+    }
+}
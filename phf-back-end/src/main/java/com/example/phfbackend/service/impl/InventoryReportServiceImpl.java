@@ -0,0 +1,221 @@
+package com.example.phfbackend.service.impl;
+
+import com.example.phfbackend.dto.response.InventoryValuationResponse;
+import com.example.phfbackend.dto.response.InventoryValuationRowResponse;
+import com.example.phfbackend.dto.response.ValuationBucketResponse;
+import com.example.phfbackend.entities.product.ProductCategory;
+import com.example.phfbackend.entities.supplier.Supplier;
+import com.example.phfbackend.repository.SupplierRepository;
+import com.example.phfbackend.service.InventoryReportService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Inventory valuation and aging report.
+ *
+ * Batches are streamed through a server-side cursor (DECLARE / FETCH FORWARD, which also works with
+ * preferQueryMode=simple where driver fetch sizes are ignored) and folded into {@link ValuationAccumulator}s
+ * in a single pass. Memory is bounded by {@code report.inventory-valuation.fetch-size} rows plus one
+ * accumulator per (category, supplier), whatever the number of batches.
+ * In parallel mode each category is streamed by its own cursor on its own connection and the results are merged.
+ */
+@Service
+public class InventoryReportServiceImpl implements InventoryReportService {
+    
+    private static final String NO_SUPPLIER = "";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final SupplierRepository supplierRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService workers;
+    private final String schema;
+    private final int fetchSize;
+    
+    public InventoryReportServiceImpl(JdbcTemplate jdbcTemplate,
+                                      SupplierRepository supplierRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${spring.jpa.properties.hibernate.default_schema:phf}") String schema,
+                                      @Value("${report.inventory-valuation.fetch-size:2000}") int fetchSize,
+                                      @Value("${report.inventory-valuation.parallelism:2}") int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.supplierRepository = supplierRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.schema = schema;
+        this.fetchSize = Math.max(1, fetchSize);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "inventory-report-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @Override
+    public InventoryValuationResponse getInventoryValuation(LocalDate asOf, boolean parallel) {
+        long start = System.nanoTime();
+        
+        Map<String, ValuationAccumulator[]> groups;
+        if (parallel) {
+            List<CompletableFuture<Map<String, ValuationAccumulator[]>>> partials = new ArrayList<>();
+            for (ProductCategory category : ProductCategory.values()) {
+                partials.add(CompletableFuture.supplyAsync(() -> stream(asOf, category), workers));
+            }
+            groups = new HashMap<>();
+            for (CompletableFuture<Map<String, ValuationAccumulator[]>> partial : partials) {
+                merge(groups, partial.join());
+            }
+        } else {
+            groups = stream(asOf, null);
+        }
+        
+        return toResponse(asOf, parallel, groups, (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    /**
+     * One cursor over the active, non-empty batches (optionally of one category), grouped by supplier id
+     * then category ordinal.
+     */
+    private Map<String, ValuationAccumulator[]> stream(LocalDate asOf, ProductCategory category) {
+        int[] expiryBounds = {
+                (int) ChronoUnit.DAYS.between(asOf, asOf.plusMonths(3)),
+                (int) ChronoUnit.DAYS.between(asOf, asOf.plusMonths(6)),
+                (int) ChronoUnit.DAYS.between(asOf, asOf.plusMonths(12))
+        };
+        String cursor = "inventory_valuation_" + (category == null ? "all" : category.name().toLowerCase());
+        String sql = "DECLARE " + cursor + " NO SCROLL CURSOR FOR " +
+                "SELECT p.category, b.supplier_id, b.quantity_on_hand, " +
+                "CAST(ROUND(b.cost_price * 100) AS BIGINT) AS cost_cents, " +
+                "CAST(? AS DATE) - b.received_date AS age_days, " +
+                "b.expiry_date - CAST(? AS DATE) AS days_to_expiry " +
+                "FROM " + schema + ".inventory_batches b JOIN " + schema + ".products p ON p.id = b.product_id " +
+                "WHERE b.active = true AND b.quantity_on_hand > 0" +
+                (category == null ? "" : " AND p.category = ?");
+        Object[] params = category == null
+                ? new Object[]{Date.valueOf(asOf), Date.valueOf(asOf)}
+                : new Object[]{Date.valueOf(asOf), Date.valueOf(asOf), category.name()};
+        
+        return readOnlyTransaction.execute(status -> {
+            Map<String, ValuationAccumulator[]> groups = new HashMap<>();
+            jdbcTemplate.update(sql, params);
+            int[] fetched = new int[1];
+            do {
+                fetched[0] = 0;
+                jdbcTemplate.query("FETCH FORWARD " + fetchSize + " FROM " + cursor, rs -> {
+                    fetched[0]++;
+                    String supplierId = rs.getString(2);
+                    ValuationAccumulator[] byCategory = groups.computeIfAbsent(supplierId == null ? NO_SUPPLIER : supplierId,
+                            key -> new ValuationAccumulator[ProductCategory.values().length]);
+                    int ordinal = ProductCategory.valueOf(rs.getString(1)).ordinal();
+                    if (byCategory[ordinal] == null) {
+                        byCategory[ordinal] = new ValuationAccumulator();
+                    }
+                    byCategory[ordinal].add(rs.getInt(3), rs.getLong(4), rs.getInt(5), rs.getInt(6), expiryBounds);
+                });
+            } while (fetched[0] == fetchSize);
+            jdbcTemplate.execute("CLOSE " + cursor);
+            return groups;
+        });
+    }
+    
+    private void merge(Map<String, ValuationAccumulator[]> target, Map<String, ValuationAccumulator[]> source) {
+        source.forEach((supplierId, byCategory) -> {
+            ValuationAccumulator[] into = target.computeIfAbsent(supplierId, key -> new ValuationAccumulator[byCategory.length]);
+            for (int i = 0; i < byCategory.length; i++) {
+                if (byCategory[i] == null) continue;
+                if (into[i] == null) {
+                    into[i] = byCategory[i];
+                } else {
+                    into[i].merge(byCategory[i]);
+                }
+            }
+        });
+    }
+    
+    private InventoryValuationResponse toResponse(LocalDate asOf, boolean parallel,
+                                                  Map<String, ValuationAccumulator[]> groups, long durationMs) {
+        List<UUID> supplierIds = groups.keySet().stream()
+                .filter(id -> !NO_SUPPLIER.equals(id))
+                .map(UUID::fromString)
+                .toList();
+        Map<UUID, String> supplierNames = supplierRepository.findAllById(supplierIds).stream()
+                .collect(Collectors.toMap(Supplier::getId, Supplier::getName));
+        
+        ProductCategory[] categories = ProductCategory.values();
+        ValuationAccumulator total = new ValuationAccumulator();
+        List<InventoryValuationRowResponse> rows = new ArrayList<>();
+        groups.forEach((supplierKey, byCategory) -> {
+            UUID supplierId = NO_SUPPLIER.equals(supplierKey) ? null : UUID.fromString(supplierKey);
+            for (int i = 0; i < categories.length; i++) {
+                ValuationAccumulator acc = byCategory[i];
+                if (acc == null) continue;
+                total.merge(acc);
+                rows.add(InventoryValuationRowResponse.builder()
+                        .category(categories[i].name())
+                        .supplierId(supplierId)
+                        .supplierName(supplierId == null ? null : supplierNames.get(supplierId))
+                        .batchCount(acc.batchCount)
+                        .quantity(acc.quantity)
+                        .value(toMoney(acc.valueCents))
+                        .aging(toBuckets(ValuationAccumulator.AGE_BUCKETS, acc.ageQuantity, acc.ageValueCents))
+                        .expiry(toBuckets(ValuationAccumulator.EXPIRY_BUCKETS, acc.expiryQuantity, acc.expiryValueCents))
+                        .build());
+            }
+        });
+        rows.sort(Comparator.comparing(InventoryValuationRowResponse::getCategory)
+                .thenComparing(InventoryValuationRowResponse::getSupplierName, Comparator.nullsLast(Comparator.naturalOrder())));
+        
+        return InventoryValuationResponse.builder()
+                .asOf(asOf)
+                .parallel(parallel)
+                .durationMs(durationMs)
+                .batchCount(total.batchCount)
+                .totalQuantity(total.quantity)
+                .totalValue(toMoney(total.valueCents))
+                .rows(rows)
+                .build();
+    }
+    
+    private List<ValuationBucketResponse> toBuckets(String[] labels, long[] quantities, long[] valueCents) {
+        List<ValuationBucketResponse> buckets = new ArrayList<>(labels.length);
+        for (int i = 0; i < labels.length; i++) {
+            buckets.add(ValuationBucketResponse.builder()
+                    .bucket(labels[i])
+                    .quantity(quantities[i])
+                    .value(toMoney(valueCents[i]))
+                    .build());
+        }
+        return buckets;
+    }
+    
+    private BigDecimal toMoney(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
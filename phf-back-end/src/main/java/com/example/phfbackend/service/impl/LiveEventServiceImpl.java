@@ -0,0 +1,97 @@
+package com.example.phfbackend.service.impl;
+
+import com.example.phfbackend.dto.response.LiveEventStatsResponse;
+import com.example.phfbackend.service.LiveEvent;
+import com.example.phfbackend.service.LiveEventOverflow;
+import com.example.phfbackend.service.LiveEventService;
+import com.example.phfbackend.service.LiveEventType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.OffsetDateTime;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process fan-out of committed changes to dashboard SSE connections.
+ *
+ * One multicast sink (direct, best effort) feeds every subscriber; each subscriber gets its own bounded buffer
+ * and overflow policy, so a slow dashboard loses its own events instead of slowing the publisher or the other
+ * dashboards. Publishing only appends to those buffers; writes to the socket happen on the shared
+ * boundedElastic pool, and an idle connection holds no thread at all (async servlet request).
+ */
+@Slf4j
+@Service
+public class LiveEventServiceImpl implements LiveEventService {
+    
+    private final Sinks.Many<LiveEvent> sink = Sinks.many().multicast().directBestEffort();
+    private long sequence;
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final int maxBufferSize;
+    
+    public LiveEventServiceImpl(@Value("${live-events.max-buffer-size:1024}") int maxBufferSize) {
+        this.maxBufferSize = maxBufferSize;
+    }
+    
+    @Override
+    public void publish(LiveEventType type, Object data) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    emit(type, data);
+                }
+            });
+        } else {
+            emit(type, data);
+        }
+    }
+    
+    @Override
+    public Flux<LiveEvent> subscribe(Set<LiveEventType> types, LiveEventOverflow overflow, int bufferSize) {
+        if (bufferSize <= 0 || bufferSize > maxBufferSize) {
+            throw new IllegalArgumentException("bufferSize must be between 1 and " + maxBufferSize);
+        }
+        
+        Flux<LiveEvent> events = sink.asFlux().filter(event -> types.contains(event.getType()));
+        Flux<LiveEvent> bounded = switch (overflow) {
+            case DROP_OLDEST -> events.onBackpressureBuffer(bufferSize, event -> dropped.increment(), BufferOverflowStrategy.DROP_OLDEST);
+            case DROP_LATEST -> events.onBackpressureBuffer(bufferSize, event -> dropped.increment(), BufferOverflowStrategy.DROP_LATEST);
+            case LATEST -> events.onBackpressureLatest();
+        };
+        // Small prefetch so the backlog stays in the subscriber's own buffer, where the overflow policy applies
+        return bounded.publishOn(Schedulers.boundedElastic(), 1);
+    }
+    
+    @Override
+    public LiveEventStatsResponse getStats() {
+        return LiveEventStatsResponse.builder()
+                .subscribers(sink.currentSubscriberCount())
+                .published(published.sum())
+                .dropped(dropped.sum())
+                .build();
+    }
+    
+    private void emit(LiveEventType type, Object data) {
+        // Commits finish on many request threads at once and the sink requires serialized emission;
+        // the critical section only appends to subscriber buffers
+        LiveEvent event;
+        Sinks.EmitResult result;
+        synchronized (sink) {
+            event = new LiveEvent(++sequence, type, OffsetDateTime.now(), data);
+            result = sink.tryEmitNext(event);
+        }
+        published.increment();
+        if (result.isFailure() && result != Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER) {
+            log.warn("Live event {} ({}) not delivered: {}", event.getSequence(), type, result);
+        }
+    }
+}
@@ -1,12 +1,40 @@
 package com.example.phfbackend.service.impl;
 
-import com.example.phfbackend.enities.Alert;
 import com.example.phfbackend.enities.LowStockAlert;
+import com.example.phfbackend.entities.user.UserRole;
 import com.example.phfbackend.service.AlertEmailService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class LowStockAlertEmailService implements AlertEmailService<LowStockAlert> {
+
+    @Value("${alert.digest.recipients.low-stock:OWNER,PHARMACIST}")
+    private Set<UserRole> recipientRoles;
+
+    @Override
+    public Class<LowStockAlert> getAlertClass() {
+        return LowStockAlert.class;
+    }
+
+    @Override
+    public Set<UserRole> getRecipientRoles() {
+        return recipientRoles;
+    }
 
-public class LowStockAlertEmailService implements AlertEmailService {
     @Override
-    public String createAlertMail() {
-        return "Tra ve noi dung mail duoc tao tu lowStock";
+    public String createAlertMail(List<LowStockAlert> alerts) {
+        StringBuilder mail = new StringBuilder();
+        mail.append("Canh bao het hang / sap het hang (").append(alerts.size()).append(")\n");
+        alerts.stream()
+                .sorted(Comparator.comparingInt(LowStockAlert::getCurrentStock).thenComparing(LowStockAlert::getProductName))
+                .forEach(alert -> mail.append(String.format("  - [%s] %s: ton kho %d, nguong %d%n",
+                        alert.isOutOfStock() ? "HET HANG" : "SAP HET",
+                        alert.getProductName(), alert.getCurrentStock(), alert.getThreshold())));
+        return mail.toString();
     }
 }
@@ -1,12 +1,41 @@
 package com.example.phfbackend.service.impl;
 
-import com.example.phfbackend.enities.Alert;
 import com.example.phfbackend.enities.NearExpireAlert;
+import com.example.phfbackend.entities.user.UserRole;
 import com.example.phfbackend.service.AlertEmailService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class NearExpireAlertEmailService implements AlertEmailService<NearExpireAlert> {
+
+    @Value("${alert.digest.recipients.near-expiry:OWNER,PHARMACIST}")
+    private Set<UserRole> recipientRoles;
+
+    @Override
+    public Class<NearExpireAlert> getAlertClass() {
+        return NearExpireAlert.class;
+    }
+
+    @Override
+    public Set<UserRole> getRecipientRoles() {
+        return recipientRoles;
+    }
 
-public class NearExpireAlertEmailService implements AlertEmailService {
     @Override
-    public String createAlertMail() {
-        return "Tra ve noi dung mail duoc tao tu nearAlert";
+    public String createAlertMail(List<NearExpireAlert> alerts) {
+        StringBuilder mail = new StringBuilder();
+        mail.append("Canh bao lo hang sap het han (").append(alerts.size()).append(")\n");
+        alerts.stream()
+                .sorted(Comparator.comparing(NearExpireAlert::getExpireDate).thenComparing(NearExpireAlert::getProductName))
+                .forEach(alert -> mail.append(String.format("  - %s (lo %s, SL %d): het han %s, con %d ngay%n",
+                        alert.getProductName(), alert.getStock().getBatchNumber(), alert.getStock().getQuantityOnHand(),
+                        alert.getExpireDate(), ChronoUnit.DAYS.between(alert.getAlertDate().toLocalDate(), alert.getExpireDate()))));
+        return mail.toString();
     }
 }
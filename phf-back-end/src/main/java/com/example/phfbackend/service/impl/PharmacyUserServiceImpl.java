@@ -5,6 +5,8 @@ import com.example.phfbackend.entities.user.PharmacyUser;
 import com.example.phfbackend.entities.user.UserRole;
 import com.example.phfbackend.repository.PharmacyUserRepository;
 import com.example.phfbackend.service.PharmacyUserService;
+import com.example.phfbackend.service.UniqueKeySpace;
+import com.example.phfbackend.service.UniquenessGuard;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,13 +22,12 @@ import java.util.stream.Stream;
 public class PharmacyUserServiceImpl implements PharmacyUserService {
     
     private final PharmacyUserRepository userRepository;
+    private final UniquenessGuard uniquenessGuard;
     
     @Override
     public PharmacyUser createUser(PharmacyUser user) {
-        if (userRepository.existsByEmail(user.getEmail())) {
-            throw new IllegalArgumentException("User with email " + user.getEmail() + " already exists");
-        }
-        return userRepository.save(user);
+        return uniquenessGuard.insertUnique(UniqueKeySpace.USER_EMAIL, user.getEmail(),
+                () -> userRepository.saveAndFlush(user));
     }
     
     @Override
@@ -0,0 +1,143 @@
+package com.example.phfbackend.service.impl;
+
+import com.example.phfbackend.enities.AlertDigest;
+import com.example.phfbackend.service.AlertMailSender;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends digests in chunks over a small pool of SMTP workers.
+ * Each chunk goes through a single SMTP connection (JavaMailSender#send(MimeMessage...)); on failure only the
+ * messages the server rejected are retried, with exponential backoff. Works against any SMTP server, including
+ * the local Mailpit stand-in from docker-compose.yml.
+ */
+@Slf4j
+@Service
+public class PooledAlertMailSender implements AlertMailSender {
+    
+    private final JavaMailSender mailSender;
+    private final ExecutorService workers;
+    private final String from;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    
+    public PooledAlertMailSender(JavaMailSender mailSender,
+                                 @Value("${alert.mail.from:no-reply@phf.local}") String from,
+                                 @Value("${alert.mail.pool-size:2}") int poolSize,
+                                 @Value("${alert.mail.batch-size:20}") int batchSize,
+                                 @Value("${alert.mail.max-attempts:3}") int maxAttempts,
+                                 @Value("${alert.mail.backoff-ms:2000}") long backoffMillis) {
+        this.mailSender = mailSender;
+        this.from = from;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMillis = backoffMillis;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, poolSize), runnable -> {
+            Thread thread = new Thread(runnable, "alert-mail-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @Override
+    public List<AlertDigest> sendAll(List<AlertDigest> digests) {
+        Map<MimeMessage, AlertDigest> messages = new IdentityHashMap<>();
+        for (AlertDigest digest : digests) {
+            messages.put(toMimeMessage(digest), digest);
+        }
+        
+        List<MimeMessage> all = new ArrayList<>(messages.keySet());
+        List<CompletableFuture<List<MimeMessage>>> chunks = new ArrayList<>();
+        for (int start = 0; start < all.size(); start += batchSize) {
+            List<MimeMessage> chunk = all.subList(start, Math.min(start + batchSize, all.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> sendWithRetry(chunk), workers));
+        }
+        
+        List<AlertDigest> delivered = new ArrayList<>();
+        for (CompletableFuture<List<MimeMessage>> chunk : chunks) {
+            for (MimeMessage message : chunk.join()) {
+                delivered.add(messages.get(message));
+            }
+        }
+        return delivered;
+    }
+    
+    private List<MimeMessage> sendWithRetry(List<MimeMessage> chunk) {
+        List<MimeMessage> pending = new ArrayList<>(chunk);
+        for (int attempt = 1; attempt <= maxAttempts && !pending.isEmpty(); attempt++) {
+            if (attempt > 1 && !sleep(backoffMillis << (attempt - 2))) {
+                break;
+            }
+            try {
+                mailSender.send(pending.toArray(new MimeMessage[0]));
+                pending.clear();
+            } catch (MailSendException e) {
+                // Connection-level failures carry no per-message detail: retry the whole chunk
+                if (!e.getFailedMessages().isEmpty()) {
+                    pending.retainAll(e.getFailedMessages().keySet());
+                }
+                log.warn("Alert mail attempt {}/{}: {} message(s) failed: {}", attempt, maxAttempts, pending.size(), e.getMessage());
+            } catch (MailException e) {
+                log.warn("Alert mail attempt {}/{} failed: {}", attempt, maxAttempts, e.getMessage());
+            }
+        }
+        
+        List<MimeMessage> sent = new ArrayList<>(chunk);
+        sent.removeAll(pending);
+        if (!pending.isEmpty()) {
+            log.error("Giving up on {} alert mail(s) after {} attempts", pending.size(), maxAttempts);
+        }
+        return sent;
+    }
+    
+    private MimeMessage toMimeMessage(AlertDigest digest) {
+        try {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, StandardCharsets.UTF_8.name());
+            helper.setFrom(from);
+            helper.setTo(digest.getRecipients().toArray(new String[0]));
+            helper.setSubject(digest.getSubject());
+            helper.setText(digest.getBody());
+            return message;
+        } catch (MessagingException e) {
+            throw new IllegalStateException("Cannot build alert mail for " + digest.getRecipientRole(), e);
+        }
+    }
+    
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+    }
+}
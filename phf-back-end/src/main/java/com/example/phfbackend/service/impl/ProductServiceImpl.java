@@ -9,11 +9,14 @@ import com.example.phfbackend.pattern.strategy.FilterChain;
 import com.example.phfbackend.pattern.strategy.MultiFieldSearchFilterStrategy;
 import com.example.phfbackend.repository.ProductRepository;
 import com.example.phfbackend.service.ProductService;
+import com.example.phfbackend.service.UniqueKeySpace;
+import com.example.phfbackend.service.UniquenessGuard;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -25,13 +28,12 @@ import java.util.stream.Stream;
 public class ProductServiceImpl implements ProductService {
     
     private final ProductRepository productRepository;
+    private final UniquenessGuard uniquenessGuard;
     
     @Override
     public Product createProduct(Product product) {
-        if (productRepository.findBySku(product.getSku()).isPresent()) {
-            throw new IllegalArgumentException("Product with SKU " + product.getSku() + " already exists");
-        }
-        return productRepository.save(product);
+        return uniquenessGuard.insertUnique(UniqueKeySpace.PRODUCT_SKU, product.getSku(),
+                () -> productRepository.saveAndFlush(product));
     }
     
     @Override
@@ -40,6 +42,12 @@ public class ProductServiceImpl implements ProductService {
         return productRepository.findById(id);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> findAllById(Collection<UUID> ids) {
+        return productRepository.findAllById(ids);
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public Optional<Product> findBySku(String sku) {
@@ -0,0 +1,363 @@
+package com.example.phfbackend.service.impl;
+
+import com.example.phfbackend.dto.request.PurchaseOrderBulkStatusRequest;
+import com.example.phfbackend.dto.response.PurchaseOrderBulkStatusResponse;
+import com.example.phfbackend.dto.response.PurchaseOrderBulkStatusResultResponse;
+import com.example.phfbackend.dto.response.PurchaseOrderStatusEventResponse;
+import com.example.phfbackend.dto.response.StockLevelEventResponse;
+import com.example.phfbackend.entities.purchase.PurchaseOrder;
+import com.example.phfbackend.entities.purchase.PurchaseOrderStatus;
+import com.example.phfbackend.entities.shared.SystemLog;
+import com.example.phfbackend.entities.supplier.Supplier;
+import com.example.phfbackend.pattern.state.PurchaseOrderState;
+import com.example.phfbackend.pattern.state.PurchaseOrderStateFactory;
+import com.example.phfbackend.service.BulkTransitionOutcome;
+import com.example.phfbackend.service.DomainMetrics;
+import com.example.phfbackend.service.LiveEventService;
+import com.example.phfbackend.service.LiveEventType;
+import com.example.phfbackend.service.PurchaseOrderBulkService;
+import com.example.phfbackend.service.SystemLogWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Bulk purchase order status transitions.
+ *
+ * Orders are processed in chunks of {@code purchase-order.bulk-status.chunk-size}, one transaction per chunk:
+ * the chunk's orders are locked with a single SELECT ... FOR UPDATE, each one is validated by running its
+ * {@link PurchaseOrderState} transition on a transient copy, and the valid ones are written with one UPDATE.
+ * For RECEIVED, one statement creates a receipt per order and the inventory batches of every outstanding line
+ * quantity (same batch number, markup and shelf life as a receipt without details), then the lines are marked
+ * received. System logs, including one per created batch (the inserts bypass Hibernate and so the entity change
+ * capture), are queued on {@link SystemLogWriter} and written once the chunk commits.
+ * A chunk that fails is rolled back on its own and its orders are reported as FAILED.
+ */
+@Slf4j
+@Service
+public class PurchaseOrderBulkServiceImpl implements PurchaseOrderBulkService {
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final LiveEventService liveEventService;
+    private final SystemLogWriter systemLogWriter;
+    private final DomainMetrics domainMetrics;
+    private final TransactionTemplate chunkTransaction;
+    private final String schema;
+    private final int chunkSize;
+    private final int maxOrders;
+    private final BigDecimal defaultMarkup;
+    private final int defaultShelfLifeMonths;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    public PurchaseOrderBulkServiceImpl(NamedParameterJdbcTemplate jdbcTemplate,
+                                        LiveEventService liveEventService,
+                                        SystemLogWriter systemLogWriter,
+                                        DomainMetrics domainMetrics,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${spring.jpa.properties.hibernate.default_schema:phf}") String schema,
+                                        @Value("${purchase-order.bulk-status.chunk-size:200}") int chunkSize,
+                                        @Value("${purchase-order.bulk-status.max-orders:5000}") int maxOrders,
+                                        @Value("${purchase-order.receiving.default-markup:1.2}") BigDecimal defaultMarkup,
+                                        @Value("${purchase-order.receiving.default-shelf-life-months:24}") int defaultShelfLifeMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.liveEventService = liveEventService;
+        this.systemLogWriter = systemLogWriter;
+        this.domainMetrics = domainMetrics;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.schema = schema;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxOrders = Math.max(1, maxOrders);
+        this.defaultMarkup = defaultMarkup;
+        this.defaultShelfLifeMonths = Math.max(1, defaultShelfLifeMonths);
+    }
+    
+    @Override
+    public PurchaseOrderBulkStatusResponse transition(PurchaseOrderBulkStatusRequest request, UUID userId) {
+        PurchaseOrderStatus target = request.getStatus();
+        if (target == null) {
+            throw new IllegalArgumentException("Target status is required");
+        }
+        if (target == PurchaseOrderStatus.DRAFT) {
+            throw new IllegalArgumentException("Cannot change status to DRAFT");
+        }
+        List<UUID> ids = request.getPurchaseOrderIds() == null ? List.of() : request.getPurchaseOrderIds().stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one purchase order ID is required");
+        }
+        if (ids.size() > maxOrders) {
+            throw new IllegalArgumentException("At most " + maxOrders + " purchase orders can be transitioned at once");
+        }
+        
+        long start = System.nanoTime();
+        List<PurchaseOrderBulkStatusResultResponse> results = new ArrayList<>(ids.size());
+        int chunks = 0;
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            chunks++;
+            try {
+                results.addAll(chunkTransaction.execute(status -> applyChunk(chunk, target, request.getExpectedDate(), userId)));
+            } catch (RuntimeException e) {
+                log.warn("Bulk transition to {} failed for a chunk of {} purchase orders: {}", target, chunk.size(), e.getMessage());
+                for (UUID id : chunk) {
+                    results.add(PurchaseOrderBulkStatusResultResponse.builder()
+                            .purchaseOrderId(id)
+                            .outcome(BulkTransitionOutcome.FAILED)
+                            .message(e.getMessage())
+                            .build());
+                }
+            }
+        }
+        
+        Map<BulkTransitionOutcome, Integer> counts = new HashMap<>();
+        int batchesCreated = 0;
+        for (PurchaseOrderBulkStatusResultResponse result : results) {
+            counts.merge(result.getOutcome(), 1, Integer::sum);
+            batchesCreated += result.getInventoryBatchesCreated();
+        }
+        PurchaseOrderBulkStatusResponse response = PurchaseOrderBulkStatusResponse.builder()
+                .targetStatus(target)
+                .durationMs((System.nanoTime() - start) / 1_000_000)
+                .requested(ids.size())
+                .chunks(chunks)
+                .applied(counts.getOrDefault(BulkTransitionOutcome.APPLIED, 0))
+                .unchanged(counts.getOrDefault(BulkTransitionOutcome.UNCHANGED, 0))
+                .rejected(counts.getOrDefault(BulkTransitionOutcome.REJECTED, 0))
+                .notFound(counts.getOrDefault(BulkTransitionOutcome.NOT_FOUND, 0))
+                .failed(counts.getOrDefault(BulkTransitionOutcome.FAILED, 0))
+                .inventoryBatchesCreated(batchesCreated)
+                .results(results)
+                .build();
+        log.info("Bulk transition to {}: {} requested in {} ms, {} applied, {} unchanged, {} rejected, {} not found, {} failed, {} batches created",
+                target, response.getRequested(), response.getDurationMs(), response.getApplied(), response.getUnchanged(),
+                response.getRejected(), response.getNotFound(), response.getFailed(), batchesCreated);
+        return response;
+    }
+    
+    private List<PurchaseOrderBulkStatusResultResponse> applyChunk(List<UUID> ids, PurchaseOrderStatus target,
+                                                                   LocalDate expectedDate, UUID userId) {
+        String s = schema + ".";
+        Map<UUID, OrderRow> rows = new HashMap<>();
+        jdbcTemplate.query("SELECT po.id, po.order_code, po.supplier_id, po.status, po.order_date, po.expected_date, " +
+                        "(SELECT COUNT(*) FROM " + s + "purchase_order_lines l " +
+                        " WHERE l.purchase_order_id = po.id AND l.quantity > l.received_quantity) AS line_count " +
+                        "FROM " + s + "purchase_orders po WHERE po.id IN (:ids) FOR UPDATE OF po",
+                new MapSqlParameterSource("ids", ids),
+                rs -> {
+                    Date expected = rs.getDate("expected_date");
+                    OrderRow row = new OrderRow(rs.getObject("id", UUID.class), rs.getString("order_code"),
+                            rs.getObject("supplier_id", UUID.class), PurchaseOrderStatus.valueOf(rs.getString("status")),
+                            rs.getDate("order_date").toLocalDate(), expected == null ? null : expected.toLocalDate(),
+                            rs.getInt("line_count"));
+                    rows.put(row.id, row);
+                });
+        
+        List<PurchaseOrderBulkStatusResultResponse> results = new ArrayList<>(ids.size());
+        List<OrderRow> applied = new ArrayList<>();
+        for (UUID id : ids) {
+            OrderRow row = rows.get(id);
+            PurchaseOrderBulkStatusResultResponse.PurchaseOrderBulkStatusResultResponseBuilder result =
+                    PurchaseOrderBulkStatusResultResponse.builder().purchaseOrderId(id);
+            if (row == null) {
+                results.add(result.outcome(BulkTransitionOutcome.NOT_FOUND).message("Purchase order not found: " + id).build());
+                continue;
+            }
+            result.orderCode(row.orderCode).previousStatus(row.status).status(row.status);
+            if (row.status == target) {
+                results.add(result.outcome(BulkTransitionOutcome.UNCHANGED).build());
+                continue;
+            }
+            // State Pattern: transition trên bản sao transient để validate, kết quả được ghi hàng loạt bên dưới
+            try {
+                validate(row, target, expectedDate);
+            } catch (IllegalStateException e) {
+                results.add(result.outcome(BulkTransitionOutcome.REJECTED)
+                        .message("Invalid state transition from " + row.status + " to " + target + ": " + e.getMessage())
+                        .build());
+                continue;
+            }
+            applied.add(row);
+            results.add(result.outcome(BulkTransitionOutcome.APPLIED)
+                    .status(target)
+                    .inventoryBatchesCreated(target == PurchaseOrderStatus.RECEIVED ? row.lineCount : 0)
+                    .build());
+        }
+        if (applied.isEmpty()) {
+            return results;
+        }
+        
+        List<UUID> appliedIds = applied.stream().map(row -> row.id).toList();
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", appliedIds).addValue("status", target.name());
+        String expectedDateSet = "";
+        if (target == PurchaseOrderStatus.ORDERED && expectedDate != null) {
+            expectedDateSet = ", expected_date = :expectedDate";
+            params.addValue("expectedDate", Date.valueOf(expectedDate));
+        }
+        jdbcTemplate.update("UPDATE " + s + "purchase_orders SET status = :status" + expectedDateSet + " WHERE id IN (:ids)", params);
+        
+        if (target == PurchaseOrderStatus.RECEIVED) {
+            createInventoryBatches(appliedIds, userId);
+            domainMetrics.purchaseOrdersReceived(applied.size());
+        }
+        logStatusChanges(applied, target, userId);
+        for (OrderRow row : applied) {
+            liveEventService.publish(LiveEventType.PURCHASE_ORDER_STATUS_CHANGED, PurchaseOrderStatusEventResponse.builder()
+                    .purchaseOrderId(row.id)
+                    .orderCode(row.orderCode)
+                    .previousStatus(row.status)
+                    .status(target)
+                    .build());
+        }
+        return results;
+    }
+    
+    private void validate(OrderRow row, PurchaseOrderStatus target, LocalDate expectedDate) {
+        PurchaseOrder order = PurchaseOrder.newBuilder()
+                .id(row.id)
+                .orderCode(row.orderCode)
+                .supplier(entityManager.getReference(Supplier.class, row.supplierId))
+                .status(row.status)
+                .orderDate(row.orderDate)
+                .expectedDate(row.expectedDate)
+                .build();
+        PurchaseOrderState state = PurchaseOrderStateFactory.getState(row.status);
+        switch (target) {
+            case ORDERED -> state.markOrdered(order, expectedDate != null ? expectedDate : row.expectedDate);
+            case RECEIVED -> state.markReceived(order);
+            case CANCELLED -> state.cancel(order);
+            default -> throw new IllegalStateException("Cannot change status to " + target);
+        }
+    }
+    
+    /**
+     * UC37 - Một receipt cho mỗi đơn và một inventory batch cho phần còn thiếu của mỗi line, như
+     * PurchaseOrderReceivingService.receiveOutstanding (batch number {@code <orderCode>-L<lineNumber>-R<receiptNumber>},
+     * giá bán và hạn dùng mặc định theo purchase-order.receiving).
+     */
+    private void createInventoryBatches(List<UUID> orderIds, UUID userId) {
+        String s = schema + ".";
+        LocalDate receivedDate = LocalDate.now();
+        SqlParameterSource params = new MapSqlParameterSource("ids", orderIds)
+                .addValue("userId", userId)
+                .addValue("receivedDate", Date.valueOf(receivedDate))
+                .addValue("expiryDate", Date.valueOf(receivedDate.plusMonths(defaultShelfLifeMonths)))
+                .addValue("markup", defaultMarkup);
+        // The receipt count is read from the snapshot before this statement, so it does not include the new receipt
+        jdbcTemplate.query("WITH receipts AS (" +
+                        "  INSERT INTO " + s + "purchase_order_receipts (purchase_order_id, received_by, received_date) " +
+                        "  SELECT po.id, CAST(:userId AS UUID), :receivedDate FROM " + s + "purchase_orders po " +
+                        "  WHERE po.id IN (:ids) AND EXISTS (SELECT 1 FROM " + s + "purchase_order_lines l " +
+                        "    WHERE l.purchase_order_id = po.id AND l.quantity > l.received_quantity) " +
+                        "  RETURNING id, purchase_order_id), " +
+                        "receipt_numbers AS (" +
+                        "  SELECT r.id, r.purchase_order_id, (SELECT COUNT(*) FROM " + s + "purchase_order_receipts pr " +
+                        "    WHERE pr.purchase_order_id = r.purchase_order_id) + 1 AS receipt_number FROM receipts r) " +
+                        "INSERT INTO " + s + "inventory_batches (product_id, batch_number, quantity_on_hand, cost_price, " +
+                        "received_date, expiry_date, selling_price, active, supplier_id, purchase_order_receipt_id, purchase_order_line_id) " +
+                        "SELECT l.product_id, po.order_code || '-L' || l.line_number || '-R' || r.receipt_number, " +
+                        "l.quantity - l.received_quantity, l.unit_cost, " +
+                        ":receivedDate, :expiryDate, ROUND(l.unit_cost * :markup, 2), true, po.supplier_id, r.id, l.id " +
+                        "FROM receipt_numbers r JOIN " + s + "purchase_orders po ON po.id = r.purchase_order_id " +
+                        "JOIN " + s + "purchase_order_lines l ON l.purchase_order_id = po.id " +
+                        "WHERE l.quantity > l.received_quantity " +
+                        "RETURNING id, product_id, batch_number, quantity_on_hand, cost_price, received_date, expiry_date, " +
+                        "selling_price, supplier_id, purchase_order_receipt_id, purchase_order_line_id",
+                params,
+                rs -> {
+                    UUID batchId = rs.getObject("id", UUID.class);
+                    liveEventService.publish(LiveEventType.STOCK_CHANGED, StockLevelEventResponse.builder()
+                            .inventoryBatchId(batchId)
+                            .batchNumber(rs.getString("batch_number"))
+                            .productId(rs.getObject("product_id", UUID.class))
+                            .quantityOnHand(rs.getInt("quantity_on_hand"))
+                            .active(true)
+                            .build());
+                    // Same action and details format as the entity change capture of a batch saved through JPA
+                    systemLogWriter.append(SystemLog.newBuilder()
+                            .action("INVENTORY_BATCH_CREATED")
+                            .entityType("InventoryBatch")
+                            .entityId(batchId)
+                            .userId(userId)
+                            .details("active=true"
+                                    + "; batchNumber=" + rs.getString("batch_number")
+                                    + "; costPrice=" + rs.getBigDecimal("cost_price").stripTrailingZeros().toPlainString()
+                                    + "; expiryDate=" + rs.getDate("expiry_date").toLocalDate()
+                                    + "; product=" + rs.getObject("product_id", UUID.class)
+                                    + "; purchaseOrderLineId=" + rs.getObject("purchase_order_line_id", UUID.class)
+                                    + "; purchaseOrderReceiptId=" + rs.getObject("purchase_order_receipt_id", UUID.class)
+                                    + "; quantityOnHand=" + rs.getInt("quantity_on_hand")
+                                    + "; receivedDate=" + rs.getDate("received_date").toLocalDate()
+                                    + "; sellingPrice=" + rs.getBigDecimal("selling_price").stripTrailingZeros().toPlainString()
+                                    + (rs.getObject("supplier_id") != null ? "; supplier=" + rs.getObject("supplier_id", UUID.class) : ""))
+                            .build());
+                });
+        jdbcTemplate.update("UPDATE " + s + "purchase_order_lines SET received_quantity = quantity " +
+                "WHERE purchase_order_id IN (:ids) AND received_quantity < quantity", params);
+    }
+    
+    private void logStatusChanges(List<OrderRow> orders, PurchaseOrderStatus target, UUID userId) {
+        String action = switch (target) {
+            case ORDERED -> "PURCHASE_ORDER_SENT";
+            case RECEIVED -> "PURCHASE_ORDER_RECEIVED";
+            case CANCELLED -> "PURCHASE_ORDER_CANCELLED";
+            default -> "PURCHASE_ORDER_STATUS_CHANGED";
+        };
+        OffsetDateTime createdAt = OffsetDateTime.now();
+        for (OrderRow order : orders) {
+            systemLogWriter.append(SystemLog.newBuilder()
+                    .action(action)
+                    .entityType("PurchaseOrder")
+                    .entityId(order.id)
+                    .userId(userId)
+                    .details("Bulk " + order.status + " -> " + target + ": " + order.orderCode +
+                            (target == PurchaseOrderStatus.RECEIVED ? ". Created " + order.lineCount + " inventory batches" : ""))
+                    .createdAt(createdAt)
+                    .build());
+        }
+    }
+    
+    private static final class OrderRow {
+        private final UUID id;
+        private final String orderCode;
+        private final UUID supplierId;
+        private final PurchaseOrderStatus status;
+        private final LocalDate orderDate;
+        private final LocalDate expectedDate;
+        private final int lineCount;
+        
+        private OrderRow(UUID id, String orderCode, UUID supplierId, PurchaseOrderStatus status,
+                         LocalDate orderDate, LocalDate expectedDate, int lineCount) {
+            this.id = id;
+            this.orderCode = orderCode;
+            this.supplierId = supplierId;
+            this.status = status;
+            this.orderDate = orderDate;
+            this.expectedDate = expectedDate;
+            this.lineCount = lineCount;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.phfbackend.service.impl;
+
+import com.example.phfbackend.dto.request.PurchaseOrderReceiptLineRequest;
+import com.example.phfbackend.dto.request.PurchaseOrderReceiptRequest;
+import com.example.phfbackend.dto.response.PurchaseOrderStatusEventResponse;
+import com.example.phfbackend.entities.inventory.InventoryBatch;
+import com.example.phfbackend.entities.purchase.PurchaseOrder;
+import com.example.phfbackend.entities.purchase.PurchaseOrderLine;
+import com.example.phfbackend.entities.purchase.PurchaseOrderReceipt;
+import com.example.phfbackend.entities.purchase.PurchaseOrderStatus;
+import com.example.phfbackend.entities.shared.SystemLog;
+import com.example.phfbackend.pattern.state.PurchaseOrderState;
+import com.example.phfbackend.pattern.state.PurchaseOrderStateFactory;
+import com.example.phfbackend.repository.InventoryBatchRepository;
+import com.example.phfbackend.repository.PurchaseOrderReceiptRepository;
+import com.example.phfbackend.repository.PurchaseOrderRepository;
+import com.example.phfbackend.service.DomainMetrics;
+import com.example.phfbackend.service.InventoryBatchService;
+import com.example.phfbackend.service.LiveEventService;
+import com.example.phfbackend.service.LiveEventType;
+import com.example.phfbackend.service.PurchaseOrderReceiptResult;
+import com.example.phfbackend.service.PurchaseOrderReceivingService;
+import com.example.phfbackend.service.SystemLogWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Receiving workflow (UC37).
+ *
+ * Every receipt locks its purchase order row first, so receipts and status changes of one order run one after
+ * the other: the outstanding quantities checked are the committed ones, and a repeated receipt key is seen by the
+ * second of two concurrent submits, which then returns the first receipt. All batches of a receipt are inserted
+ * together with saveAll (JDBC batching).
+ */
+@Service
+@Transactional
+public class PurchaseOrderReceivingServiceImpl implements PurchaseOrderReceivingService {
+    
+    private final PurchaseOrderRepository purchaseOrderRepository;
+    private final PurchaseOrderReceiptRepository receiptRepository;
+    private final InventoryBatchRepository inventoryBatchRepository;
+    private final InventoryBatchService inventoryBatchService;
+    private final SystemLogWriter systemLogWriter;
+    private final LiveEventService liveEventService;
+    private final DomainMetrics domainMetrics;
+    private final BigDecimal defaultMarkup;
+    private final int defaultShelfLifeMonths;
+    
+    public PurchaseOrderReceivingServiceImpl(PurchaseOrderRepository purchaseOrderRepository,
+                                             PurchaseOrderReceiptRepository receiptRepository,
+                                             InventoryBatchRepository inventoryBatchRepository,
+                                             InventoryBatchService inventoryBatchService,
+                                             SystemLogWriter systemLogWriter,
+                                             LiveEventService liveEventService,
+                                             DomainMetrics domainMetrics,
+                                             @Value("${purchase-order.receiving.default-markup:1.2}") BigDecimal defaultMarkup,
+                                             @Value("${purchase-order.receiving.default-shelf-life-months:24}") int defaultShelfLifeMonths) {
+        this.purchaseOrderRepository = purchaseOrderRepository;
+        this.receiptRepository = receiptRepository;
+        this.inventoryBatchRepository = inventoryBatchRepository;
+        this.inventoryBatchService = inventoryBatchService;
+        this.systemLogWriter = systemLogWriter;
+        this.liveEventService = liveEventService;
+        this.domainMetrics = domainMetrics;
+        this.defaultMarkup = defaultMarkup;
+        this.defaultShelfLifeMonths = Math.max(1, defaultShelfLifeMonths);
+    }
+    
+    @Override
+    public PurchaseOrderReceiptResult receive(UUID purchaseOrderId, PurchaseOrderReceiptRequest request, UUID userId) {
+        PurchaseOrder order = purchaseOrderRepository.findByIdForUpdate(purchaseOrderId)
+                .orElseThrow(() -> new IllegalArgumentException("Purchase order not found: " + purchaseOrderId));
+        
+        // Cùng receiptKey (double click, retry): trả về receipt đã tạo, không nhận lần hai
+        Optional<PurchaseOrderReceipt> existing = receiptRepository.findByPurchaseOrderIdAndReceiptKey(purchaseOrderId, request.getReceiptKey());
+        if (existing.isPresent()) {
+            PurchaseOrderReceipt receipt = existing.get();
+            return new PurchaseOrderReceiptResult(receipt, order,
+                    inventoryBatchRepository.findByPurchaseOrderReceiptIdWithProduct(receipt.getId()), true);
+        }
+        
+        if (order.getStatus() != PurchaseOrderStatus.ORDERED) {
+            throw new IllegalStateException("Only ORDERED purchase orders can be received. Current status: " + order.getStatus());
+        }
+        
+        LocalDate receivedDate = request.getReceivedDate() != null ? request.getReceivedDate() : LocalDate.now();
+        long receiptNumber = receiptRepository.countByPurchaseOrderId(purchaseOrderId) + 1;
+        PurchaseOrderReceipt receipt = receiptRepository.save(PurchaseOrderReceipt.newBuilder()
+                .purchaseOrder(order)
+                .receiptKey(request.getReceiptKey())
+                .receivedBy(userId)
+                .receivedDate(receivedDate)
+                .build());
+        
+        Map<UUID, PurchaseOrderLine> lines = order.getLineItems().stream()
+                .collect(Collectors.toMap(PurchaseOrderLine::getId, Function.identity()));
+        List<InventoryBatch> batches = new ArrayList<>(request.getLines().size());
+        for (PurchaseOrderReceiptLineRequest lineRequest : request.getLines()) {
+            PurchaseOrderLine line = lines.get(lineRequest.getPurchaseOrderLineId());
+            if (line == null) {
+                throw new IllegalArgumentException("Line " + lineRequest.getPurchaseOrderLineId()
+                        + " does not belong to purchase order " + order.getOrderCode());
+            }
+            // Không cho nhận vượt số lượng còn thiếu (tính trên dữ liệu đã khóa)
+            line.receive(lineRequest.getQuantity());
+            batches.add(toBatch(order, receipt, receiptNumber, line, lineRequest.getQuantity(), receivedDate,
+                    lineRequest.getBatchNumber(), lineRequest.getExpiryDate(), lineRequest.getSellingPrice()));
+        }
+        
+        List<InventoryBatch> created = inventoryBatchService.createBatches(batches);
+        
+        // State Pattern: nhận đủ tất cả line thì đơn chuyển sang RECEIVED
+        if (order.isFullyReceived()) {
+            PurchaseOrderState currentState = PurchaseOrderStateFactory.getState(order.getStatus());
+            currentState.markReceived(order);
+            liveEventService.publish(LiveEventType.PURCHASE_ORDER_STATUS_CHANGED, PurchaseOrderStatusEventResponse.builder()
+                    .purchaseOrderId(order.getId())
+                    .orderCode(order.getOrderCode())
+                    .previousStatus(currentState.getStatus())
+                    .status(order.getStatus())
+                    .build());
+            domainMetrics.purchaseOrdersReceived(1);
+        }
+        purchaseOrderRepository.save(order);
+        
+        systemLogWriter.append(SystemLog.newBuilder()
+                .action("PURCHASE_ORDER_RECEIPT")
+                .entityType("PurchaseOrder")
+                .entityId(order.getId())
+                .userId(userId)
+                .details("Received " + created.size() + " line(s) of purchase order " + order.getOrderCode()
+                        + " (receipt " + request.getReceiptKey() + ")"
+                        + (order.getStatus() == PurchaseOrderStatus.RECEIVED ? ". Order fully received" : ""))
+                .build());
+        
+        return new PurchaseOrderReceiptResult(receipt, order, created, false);
+    }
+    
+    @Override
+    public List<InventoryBatch> receiveOutstanding(PurchaseOrder order, UUID userId) {
+        LocalDate receivedDate = LocalDate.now();
+        List<PurchaseOrderLine> outstanding = order.getLineItems().stream()
+                .filter(line -> line.getOutstandingQuantity() > 0)
+                .toList();
+        if (outstanding.isEmpty()) {
+            return List.of();
+        }
+        
+        long receiptNumber = receiptRepository.countByPurchaseOrderId(order.getId()) + 1;
+        PurchaseOrderReceipt receipt = receiptRepository.save(PurchaseOrderReceipt.newBuilder()
+                .purchaseOrder(order)
+                .receivedBy(userId)
+                .receivedDate(receivedDate)
+                .build());
+        List<InventoryBatch> batches = new ArrayList<>(outstanding.size());
+        for (PurchaseOrderLine line : outstanding) {
+            int quantity = line.getOutstandingQuantity();
+            line.receive(quantity);
+            batches.add(toBatch(order, receipt, receiptNumber, line, quantity, receivedDate, null, null, null));
+        }
+        return inventoryBatchService.createBatches(batches);
+    }
+    
+    /**
+     * Default batch number is {@code <orderCode>-L<lineNumber>-R<receiptNumber>}, so every delivery of a partly
+     * received line gets its own batch number.
+     */
+    private InventoryBatch toBatch(PurchaseOrder order, PurchaseOrderReceipt receipt, long receiptNumber,
+                                  PurchaseOrderLine line, int quantity, LocalDate receivedDate, String batchNumber, LocalDate expiryDate, BigDecimal sellingPrice) {
+        return InventoryBatch.newBuilder()
+                .product(line.getProduct())
+                .batchNumber(batchNumber != null && !batchNumber.isBlank()
+                        ? batchNumber.trim()
+                        : String.format("%s-L%d-R%d", order.getOrderCode(), line.getLineNumber(), receiptNumber))
+                .quantityOnHand(quantity)
+                .costPrice(line.getUnitCost())
+                .receivedDate(receivedDate)
+                .expiryDate(expiryDate != null ? expiryDate : receivedDate.plusMonths(defaultShelfLifeMonths))
+                .sellingPrice(sellingPrice != null
+                        ? sellingPrice
+                        : line.getUnitCost().multiply(defaultMarkup).setScale(2, RoundingMode.HALF_UP))
+                .active(true)
+                .supplier(order.getSupplier())
+                .purchaseOrderReceiptId(receipt.getId())
+                .purchaseOrderLineId(line.getId())
+                .build();
+    }
+}
@@ -1,39 +1,61 @@
 package com.example.phfbackend.service.impl;
 
 import com.example.phfbackend.dto.PurchaseOrderFilterCriteria;
-import com.example.phfbackend.entities.inventory.InventoryBatch;
+import com.example.phfbackend.dto.response.PurchaseOrderStatusEventResponse;
 import com.example.phfbackend.entities.purchase.PurchaseOrder;
-import com.example.phfbackend.entities.purchase.PurchaseOrderLine;
 import com.example.phfbackend.entities.purchase.PurchaseOrderStatus;
 import com.example.phfbackend.pattern.state.PurchaseOrderState;
 import com.example.phfbackend.pattern.state.PurchaseOrderStateFactory;
 import com.example.phfbackend.repository.PurchaseOrderRepository;
-import com.example.phfbackend.service.InventoryBatchService;
+import com.example.phfbackend.service.DomainMetrics;
+import com.example.phfbackend.service.LiveEventService;
+import com.example.phfbackend.service.LiveEventType;
+import com.example.phfbackend.service.PurchaseOrderReceivingService;
 import com.example.phfbackend.service.PurchaseOrderService;
+import com.example.phfbackend.service.UniqueKeySpace;
+import com.example.phfbackend.service.UniquenessGuard;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class PurchaseOrderServiceImpl implements PurchaseOrderService {
     
+    // Phase 2 loads the graphs this many ids at a time, so unpaged listings never send an unbounded IN list
+    private static final int GRAPH_BATCH_SIZE = 500;
+    
     private final PurchaseOrderRepository purchaseOrderRepository;
-    private final InventoryBatchService inventoryBatchService;
+    private final PurchaseOrderReceivingService purchaseOrderReceivingService;
+    private final LiveEventService liveEventService;
+    private final UniquenessGuard uniquenessGuard;
+    private final DomainMetrics domainMetrics;
     
     @Override
     public PurchaseOrder createPurchaseOrder(PurchaseOrder order) {
-        if (purchaseOrderRepository.findByOrderCode(order.getOrderCode()).isPresent()) {
-            throw new IllegalArgumentException("Purchase order with code " + order.getOrderCode() + " already exists");
-        }
+        return uniquenessGuard.insertUnique(UniqueKeySpace.PURCHASE_ORDER_CODE, order.getOrderCode(),
+                () -> purchaseOrderRepository.saveAndFlush(order));
+    }
+    
+    @Override
+    public PurchaseOrder updatePurchaseOrder(PurchaseOrder order) {
+        purchaseOrderRepository.findByOrderCode(order.getOrderCode())
+                .filter(existing -> !existing.getId().equals(order.getId()))
+                .ifPresent(existing -> {
+                    throw new IllegalArgumentException("Purchase order with code " + order.getOrderCode() + " already exists");
+                });
         return purchaseOrderRepository.save(order);
     }
     
@@ -76,33 +98,29 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
     @Override
     @Transactional(readOnly = true)
     public List<PurchaseOrder> filterPurchaseOrders(PurchaseOrderFilterCriteria criteria) {
-        Stream<PurchaseOrder> stream = purchaseOrderRepository.findAllWithRelations().stream();
-        
-        if (criteria.getSearchTerm() != null && !criteria.getSearchTerm().trim().isEmpty()) {
-            String term = criteria.getSearchTerm().trim().toLowerCase();
-            stream = stream.filter(order -> 
-                order.getOrderCode().toLowerCase().contains(term) ||
-                order.getSupplier().getName().toLowerCase().contains(term)
-            );
-        }
-        
-        if (criteria.getStatus() != null) {
-            stream = stream.filter(order -> order.getStatus() == criteria.getStatus());
-        }
-        
-        if (criteria.getSupplierId() != null) {
-            stream = stream.filter(order -> order.getSupplier().getId().equals(criteria.getSupplierId()));
-        }
-        
-        if (criteria.getStartDate() != null) {
-            stream = stream.filter(order -> !order.getOrderDate().isBefore(criteria.getStartDate()));
+        return findPage(criteria, Pageable.unpaged()).getContent();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Page<PurchaseOrder> findPage(PurchaseOrderFilterCriteria criteria, Pageable pageable) {
+        // Phase 1: ids of the page (filters, sort, LIMIT in SQL); phase 2: graphs of those ids only
+        Page<UUID> ids = purchaseOrderRepository.findPageIds(criteria, pageable);
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ids.getTotalElements());
         }
-        
-        if (criteria.getEndDate() != null) {
-            stream = stream.filter(order -> !order.getOrderDate().isAfter(criteria.getEndDate()));
+        Map<UUID, PurchaseOrder> orders = new HashMap<>();
+        List<UUID> pageIds = ids.getContent();
+        for (int from = 0; from < pageIds.size(); from += GRAPH_BATCH_SIZE) {
+            List<UUID> slice = pageIds.subList(from, Math.min(from + GRAPH_BATCH_SIZE, pageIds.size()));
+            purchaseOrderRepository.findAllWithRelationsByIdIn(slice).forEach(order -> orders.put(order.getId(), order));
         }
-        
-        return stream.toList();
+        // Keep the page order; an order deleted between the two queries is simply skipped
+        List<PurchaseOrder> content = ids.getContent().stream()
+                .map(orders::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(content, pageable, ids.getTotalElements());
     }
     
     @Override
@@ -113,59 +131,40 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
         // State Pattern: Lấy state hiện tại và thực hiện transition
         PurchaseOrderState currentState = PurchaseOrderStateFactory.getState(order.getStatus());
         PurchaseOrder updatedOrder = currentState.markOrdered(order, expectedDate);
-        return purchaseOrderRepository.save(updatedOrder);
+        return publishStatusChange(currentState.getStatus(), purchaseOrderRepository.save(updatedOrder));
     }
     
     @Override
     public PurchaseOrder markReceived(UUID id) {
-        PurchaseOrder order = purchaseOrderRepository.findById(id)
+        PurchaseOrder order = purchaseOrderRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new IllegalArgumentException("Purchase order not found: " + id));
         
         // State Pattern: Lấy state hiện tại và thực hiện transition
         PurchaseOrderState currentState = PurchaseOrderStateFactory.getState(order.getStatus());
         PurchaseOrder updatedOrder = currentState.markReceived(order);
-        PurchaseOrder savedOrder = purchaseOrderRepository.save(updatedOrder);
+        PurchaseOrder savedOrder = publishStatusChange(currentState.getStatus(), purchaseOrderRepository.save(updatedOrder));
         
-        // Tự động tạo inventory batches từ purchase order khi nhận hàng thành công
+        // Tự động tạo inventory batches cho phần chưa nhận (UC37)
         if (savedOrder.getStatus() == PurchaseOrderStatus.RECEIVED) {
-            createInventoryBatchesFromOrder(savedOrder);
+            purchaseOrderReceivingService.receiveOutstanding(savedOrder, null);
         }
         
         return savedOrder;
     }
     
-    /**
-     * Tạo inventory batches từ purchase order khi nhận hàng thành công
-     * UC37 - Thêm kho hàng từ đơn đặt hàng
-     */
-    private void createInventoryBatchesFromOrder(PurchaseOrder order) {
-        LocalDate receivedDate = LocalDate.now();
-        
-        for (PurchaseOrderLine line : order.getLineItems()) {
-            // Tạo batch number từ order code và line number
-            String batchNumber = String.format("%s-L%d", order.getOrderCode(), line.getLineNumber());
-            
-            // Tính selling price (có thể là cost price + markup, hoặc lấy từ product)
-            // Tạm thời sử dụng cost price * 1.2 (20% markup) hoặc lấy từ product nếu có
-            BigDecimal sellingPrice = line.getUnitCost().multiply(new BigDecimal("1.2"));
-            
-            // Tính expiry date (mặc định 2 năm từ ngày nhận, có thể điều chỉnh)
-            LocalDate expiryDate = receivedDate.plusYears(2);
-            
-            // Tạo inventory batch
-            InventoryBatch batch = InventoryBatch.newBuilder()
-                    .product(line.getProduct())
-                    .batchNumber(batchNumber)
-                    .quantityOnHand(line.getQuantity())
-                    .costPrice(line.getUnitCost())
-                    .receivedDate(receivedDate)
-                    .expiryDate(expiryDate)
-                    .sellingPrice(sellingPrice)
-                    .active(true)
-                    .build();
-            
-            inventoryBatchService.createBatch(batch);
+    private PurchaseOrder publishStatusChange(PurchaseOrderStatus previousStatus, PurchaseOrder order) {
+        if (order.getStatus() != previousStatus) {
+            liveEventService.publish(LiveEventType.PURCHASE_ORDER_STATUS_CHANGED, PurchaseOrderStatusEventResponse.builder()
+                    .purchaseOrderId(order.getId())
+                    .orderCode(order.getOrderCode())
+                    .previousStatus(previousStatus)
+                    .status(order.getStatus())
+                    .build());
+            if (order.getStatus() == PurchaseOrderStatus.RECEIVED) {
+                domainMetrics.purchaseOrdersReceived(1);
+            }
         }
+        return order;
     }
     
     @Override
@@ -176,12 +175,12 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
         // State Pattern: Lấy state hiện tại và thực hiện transition
         PurchaseOrderState currentState = PurchaseOrderStateFactory.getState(order.getStatus());
         PurchaseOrder updatedOrder = currentState.cancel(order);
-        return purchaseOrderRepository.save(updatedOrder);
+        return publishStatusChange(currentState.getStatus(), purchaseOrderRepository.save(updatedOrder));
     }
     
     @Override
     public PurchaseOrder updateStatus(UUID id, PurchaseOrderStatus status) {
-        PurchaseOrder order = purchaseOrderRepository.findById(id)
+        PurchaseOrder order = purchaseOrderRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new IllegalArgumentException("Purchase order not found: " + id));
         
         // Không cho phép thay đổi status từ RECEIVED hoặc CANCELLED
@@ -237,11 +236,11 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
                 "Invalid state transition from " + order.getStatus() + " to " + status + ": " + e.getMessage(), e);
         }
         
-        PurchaseOrder savedOrder = purchaseOrderRepository.save(updatedOrder);
+        PurchaseOrder savedOrder = publishStatusChange(currentState.getStatus(), purchaseOrderRepository.save(updatedOrder));
         
-        // Tự động tạo inventory batches khi chuyển sang RECEIVED
+        // Tự động tạo inventory batches cho phần chưa nhận khi chuyển sang RECEIVED
         if (savedOrder.getStatus() == PurchaseOrderStatus.RECEIVED) {
-            createInventoryBatchesFromOrder(savedOrder);
+            purchaseOrderReceivingService.receiveOutstanding(savedOrder, null);
         }
         
         return savedOrder;
@@ -261,6 +260,3 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
         purchaseOrderRepository.delete(order);
     }
 }
-
-
-
@@ -0,0 +1,411 @@
+package com.example.phfbackend.service.impl;
+
+import com.example.phfbackend.dto.response.EndpointQueryStatsResponse;
+import com.example.phfbackend.dto.response.HibernateQueryStatsResponse;
+import com.example.phfbackend.dto.response.HibernateStatsResponse;
+import com.example.phfbackend.dto.response.QueryStatsResponse;
+import com.example.phfbackend.dto.response.SlowQueryResponse;
+import com.example.phfbackend.service.QueryStatsService;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Query statistics for the admin endpoint.
+ *
+ * Per request (thread-bound between {@link #beginRequest(String)} and {@link #endRequest()}) the statements, fetched
+ * rows and JDBC time are counted and folded into a summary per endpoint. Statements slower than
+ * {@code observability.query-stats.slow-query-ms} go into a bounded ring, most recent last; their plan is captured
+ * by one background thread on its own pooled connection: {@code EXPLAIN (ANALYZE, BUFFERS)} for read-only queries,
+ * inside a transaction that is always rolled back and under a statement timeout, plain {@code EXPLAIN} for DML and
+ * locking reads. The same statement is explained at most once per cooldown. Hibernate's own statistics
+ * ({@code hibernate.generate_statistics}) are reported alongside.
+ */
+@Slf4j
+@Service
+public class QueryStatsServiceImpl implements QueryStatsService {
+    
+    private static final String OTHER_ENDPOINTS = "OTHER";
+    // Anything that writes, locks or advances a sequence is never executed by EXPLAIN ANALYZE
+    private static final Pattern NOT_READ_ONLY = Pattern.compile("\\b(insert|update|delete|merge|share|nextval|setval)\\b");
+    
+    private final ObjectProvider<DataSource> dataSource;
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    private final long slowQueryNanos;
+    private final int slowQueryCapacity;
+    private final boolean explain;
+    private final long explainCooldownMs;
+    private final long explainTimeoutMs;
+    private final int maxEndpoints;
+    private final int topQueries;
+    
+    private final ThreadLocal<RequestStats> currentRequest = new ThreadLocal<>();
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final ArrayDeque<SlowQuery> slowQueries = new ArrayDeque<>();
+    private final Map<String, Long> lastExplained = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor explainer;
+    /** Statements issued by the explainer itself are not recorded */
+    private volatile Thread explainThread;
+    private volatile OffsetDateTime since = OffsetDateTime.now(ZoneOffset.UTC);
+    
+    public QueryStatsServiceImpl(ObjectProvider<DataSource> dataSource,
+                                 ObjectProvider<EntityManagerFactory> entityManagerFactory,
+                                 @Value("${observability.query-stats.slow-query-ms:200}") long slowQueryMs,
+                                 @Value("${observability.query-stats.slow-query-capacity:50}") int slowQueryCapacity,
+                                 @Value("${observability.query-stats.explain:true}") boolean explain,
+                                 @Value("${observability.query-stats.explain-cooldown-seconds:300}") long explainCooldownSeconds,
+                                 @Value("${observability.query-stats.explain-timeout-ms:5000}") long explainTimeoutMs,
+                                 @Value("${observability.query-stats.max-endpoints:500}") int maxEndpoints,
+                                 @Value("${observability.query-stats.top-queries:20}") int topQueries) {
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+        this.slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, slowQueryMs));
+        this.slowQueryCapacity = Math.max(1, slowQueryCapacity);
+        this.explain = explain;
+        this.explainCooldownMs = TimeUnit.SECONDS.toMillis(Math.max(0, explainCooldownSeconds));
+        this.explainTimeoutMs = Math.max(1, explainTimeoutMs);
+        this.maxEndpoints = Math.max(1, maxEndpoints);
+        this.topQueries = Math.max(0, topQueries);
+        // One plan at a time: a burst of slow queries must not take the pool away from requests
+        this.explainer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16), runnable -> {
+            Thread thread = new Thread(runnable, "query-explain");
+            thread.setDaemon(true);
+            explainThread = thread;
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+    
+    @Override
+    public void beginRequest(String endpoint) {
+        currentRequest.set(new RequestStats(endpoint));
+    }
+    
+    @Override
+    public void endRequest() {
+        RequestStats request = currentRequest.get();
+        if (request == null) {
+            return;
+        }
+        currentRequest.remove();
+        EndpointStats stats = endpoints.get(request.endpoint);
+        if (stats == null) {
+            // Route patterns keep the key space small; the cap only guards against unmatched paths
+            String key = endpoints.size() < maxEndpoints ? request.endpoint : OTHER_ENDPOINTS;
+            stats = endpoints.computeIfAbsent(key, k -> new EndpointStats());
+        }
+        stats.add(request);
+    }
+    
+    @Override
+    public void recordStatement(String sql, List<Object> parameters, long elapsedNanos) {
+        if (Thread.currentThread() == explainThread) {
+            return;
+        }
+        RequestStats request = currentRequest.get();
+        if (request != null) {
+            request.statements++;
+            request.nanos += elapsedNanos;
+        }
+        if (elapsedNanos >= slowQueryNanos) {
+            captureSlowQuery(sql, parameters, elapsedNanos,
+                    request != null ? request.endpoint : "thread " + Thread.currentThread().getName());
+        }
+    }
+    
+    @Override
+    public void recordRowsFetched(long rows) {
+        RequestStats request = currentRequest.get();
+        if (request != null) {
+            request.rows += rows;
+        }
+    }
+    
+    private void captureSlowQuery(String sql, List<Object> parameters, long elapsedNanos, String endpoint) {
+        SlowQuery entry = new SlowQuery(OffsetDateTime.now(ZoneOffset.UTC), endpoint, sql, elapsedNanos,
+                parameters == null ? 0 : parameters.size());
+        synchronized (slowQueries) {
+            if (slowQueries.size() >= slowQueryCapacity) {
+                slowQueries.removeFirst();
+            }
+            slowQueries.addLast(entry);
+        }
+        
+        ExplainMode mode = explain ? explainMode(sql) : ExplainMode.NONE;
+        if (mode == ExplainMode.NONE) {
+            entry.planStatus = "SKIPPED";
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Long previous = lastExplained.get(sql);
+        if (previous != null && now - previous < explainCooldownMs) {
+            entry.planStatus = "COOLDOWN";
+            return;
+        }
+        if (lastExplained.size() >= 1024) {
+            lastExplained.clear();
+        }
+        lastExplained.put(sql, now);
+        
+        List<Object> bound = parameters == null ? List.of() : new ArrayList<>(parameters);
+        try {
+            explainer.execute(() -> explain(entry, mode, bound));
+        } catch (RejectedExecutionException e) {
+            entry.planStatus = "SKIPPED";
+            entry.plan = "Explain queue full";
+        }
+    }
+    
+    private ExplainMode explainMode(String sql) {
+        if (sql == null) {
+            return ExplainMode.NONE;
+        }
+        String normalized = sql.strip().toLowerCase(Locale.ROOT);
+        if (normalized.startsWith("select") || normalized.startsWith("with")) {
+            return NOT_READ_ONLY.matcher(normalized).find() ? ExplainMode.PLAN : ExplainMode.ANALYZE;
+        }
+        if (normalized.startsWith("insert") || normalized.startsWith("update") || normalized.startsWith("delete")) {
+            return ExplainMode.PLAN;
+        }
+        // FETCH / DECLARE / DDL / SET: nothing meaningful to explain
+        return ExplainMode.NONE;
+    }
+    
+    private void explain(SlowQuery entry, ExplainMode mode, List<Object> parameters) {
+        String prefix = mode == ExplainMode.ANALYZE ? "EXPLAIN (ANALYZE, BUFFERS) " : "EXPLAIN ";
+        try (Connection connection = dataSource.getObject().getConnection()) {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                entry.planStatus = "SKIPPED";
+                entry.plan = "Plans are only captured on PostgreSQL";
+                return;
+            }
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET LOCAL statement_timeout = " + explainTimeoutMs);
+                }
+                StringBuilder plan = new StringBuilder();
+                try (PreparedStatement statement = connection.prepareStatement(prefix + entry.sql)) {
+                    for (int i = 0; i < parameters.size(); i++) {
+                        Object value = parameters.get(i);
+                        if (value == null) {
+                            statement.setNull(i + 1, Types.NULL);
+                        } else {
+                            statement.setObject(i + 1, value);
+                        }
+                    }
+                    try (ResultSet rs = statement.executeQuery()) {
+                        while (rs.next()) {
+                            plan.append(rs.getString(1)).append('\n');
+                        }
+                    }
+                }
+                entry.plan = plan.toString();
+                entry.planStatus = mode == ExplainMode.ANALYZE ? "ANALYZED" : "EXPLAINED";
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Could not explain slow query: {}", entry.sql, e);
+            entry.plan = e.getMessage();
+            entry.planStatus = "FAILED";
+        }
+    }
+    
+    @Override
+    public QueryStatsResponse getStats() {
+        List<EndpointQueryStatsResponse> endpointStats = endpoints.entrySet().stream()
+                .map(entry -> entry.getValue().toResponse(entry.getKey()))
+                .sorted(Comparator.comparingDouble(EndpointQueryStatsResponse::getJdbcTimeMs).reversed())
+                .toList();
+        List<SlowQueryResponse> slow;
+        synchronized (slowQueries) {
+            slow = slowQueries.stream().map(SlowQuery::toResponse).toList();
+        }
+        return QueryStatsResponse.builder()
+                .since(since)
+                .slowQueryThresholdMs(TimeUnit.NANOSECONDS.toMillis(slowQueryNanos))
+                .hibernate(hibernateStats())
+                .endpoints(endpointStats)
+                .slowQueries(slow)
+                .build();
+    }
+    
+    private HibernateStatsResponse hibernateStats() {
+        Statistics statistics = statistics();
+        if (statistics == null) {
+            return HibernateStatsResponse.builder().enabled(false).topQueries(List.of()).build();
+        }
+        List<HibernateQueryStatsResponse> queries = Arrays.stream(statistics.getQueries())
+                .map(query -> toResponse(query, statistics.getQueryStatistics(query)))
+                .sorted(Comparator.comparingLong(HibernateQueryStatsResponse::getExecutionTotalTimeMs).reversed())
+                .limit(topQueries)
+                .toList();
+        return HibernateStatsResponse.builder()
+                .enabled(statistics.isStatisticsEnabled())
+                .sessionOpenCount(statistics.getSessionOpenCount())
+                .transactionCount(statistics.getTransactionCount())
+                .prepareStatementCount(statistics.getPrepareStatementCount())
+                .queryExecutionCount(statistics.getQueryExecutionCount())
+                .queryExecutionMaxTimeMs(statistics.getQueryExecutionMaxTime())
+                .queryExecutionMaxTimeQueryString(statistics.getQueryExecutionMaxTimeQueryString())
+                .entityLoadCount(statistics.getEntityLoadCount())
+                .entityFetchCount(statistics.getEntityFetchCount())
+                .collectionFetchCount(statistics.getCollectionFetchCount())
+                .secondLevelCacheHitCount(statistics.getSecondLevelCacheHitCount())
+                .secondLevelCacheMissCount(statistics.getSecondLevelCacheMissCount())
+                .topQueries(queries)
+                .build();
+    }
+    
+    private HibernateQueryStatsResponse toResponse(String query, QueryStatistics stats) {
+        return HibernateQueryStatsResponse.builder()
+                .query(query)
+                .executionCount(stats.getExecutionCount())
+                .executionRowCount(stats.getExecutionRowCount())
+                .executionTotalTimeMs(stats.getExecutionTotalTime())
+                .executionAvgTimeMs(stats.getExecutionAvgTime())
+                .executionMaxTimeMs(stats.getExecutionMaxTime())
+                .build();
+    }
+    
+    private Statistics statistics() {
+        EntityManagerFactory factory = entityManagerFactory.getIfAvailable();
+        return factory == null ? null : factory.unwrap(SessionFactory.class).getStatistics();
+    }
+    
+    @Override
+    public void reset() {
+        endpoints.clear();
+        synchronized (slowQueries) {
+            slowQueries.clear();
+        }
+        lastExplained.clear();
+        Statistics statistics = statistics();
+        if (statistics != null) {
+            statistics.clear();
+        }
+        since = OffsetDateTime.now(ZoneOffset.UTC);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        explainer.shutdownNow();
+    }
+    
+    private enum ExplainMode {
+        NONE, PLAN, ANALYZE
+    }
+    
+    /** Confined to the request thread */
+    private static final class RequestStats {
+        private final String endpoint;
+        private long statements;
+        private long rows;
+        private long nanos;
+        
+        private RequestStats(String endpoint) {
+            this.endpoint = endpoint;
+        }
+    }
+    
+    private static final class EndpointStats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final AtomicLong maxStatements = new AtomicLong();
+        private final AtomicLong maxRows = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+        
+        private void add(RequestStats request) {
+            requests.increment();
+            statements.add(request.statements);
+            rows.add(request.rows);
+            nanos.add(request.nanos);
+            maxStatements.accumulateAndGet(request.statements, Math::max);
+            maxRows.accumulateAndGet(request.rows, Math::max);
+            maxNanos.accumulateAndGet(request.nanos, Math::max);
+        }
+        
+        private EndpointQueryStatsResponse toResponse(String endpoint) {
+            long count = Math.max(1, requests.sum());
+            double jdbcTimeMs = nanos.sum() / 1_000_000.0;
+            return EndpointQueryStatsResponse.builder()
+                    .endpoint(endpoint)
+                    .requests(requests.sum())
+                    .statements(statements.sum())
+                    .rowsFetched(rows.sum())
+                    .jdbcTimeMs(jdbcTimeMs)
+                    .avgStatementsPerRequest((double) statements.sum() / count)
+                    .avgRowsPerRequest((double) rows.sum() / count)
+                    .avgJdbcTimeMs(jdbcTimeMs / count)
+                    .maxStatements(maxStatements.get())
+                    .maxRowsFetched(maxRows.get())
+                    .maxJdbcTimeMs(maxNanos.get() / 1_000_000.0)
+                    .build();
+        }
+    }
+    
+    private static final class SlowQuery {
+        private final OffsetDateTime executedAt;
+        private final String endpoint;
+        private final String sql;
+        private final long nanos;
+        private final int parameterCount;
+        private volatile String planStatus = "PENDING";
+        private volatile String plan;
+        
+        private SlowQuery(OffsetDateTime executedAt, String endpoint, String sql, long nanos, int parameterCount) {
+            this.executedAt = executedAt;
+            this.endpoint = endpoint;
+            this.sql = sql;
+            this.nanos = nanos;
+            this.parameterCount = parameterCount;
+        }
+        
+        private SlowQueryResponse toResponse() {
+            return SlowQueryResponse.builder()
+                    .executedAt(executedAt)
+                    .endpoint(endpoint)
+                    .sql(sql)
+                    .durationMs(nanos / 1_000_000.0)
+                    .parameterCount(parameterCount)
+                    .planStatus(planStatus)
+                    .plan(plan)
+                    .build();
+        }
+    }
+}
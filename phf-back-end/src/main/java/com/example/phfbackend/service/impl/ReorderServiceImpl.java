@@ -0,0 +1,391 @@
+package com.example.phfbackend.service.impl;
+
+import com.example.phfbackend.dto.request.PurchaseOrderLineRequest;
+import com.example.phfbackend.dto.request.PurchaseOrderRequest;
+import com.example.phfbackend.dto.response.PurchaseOrderResponse;
+import com.example.phfbackend.dto.response.ReorderProposalResponse;
+import com.example.phfbackend.dto.response.ReorderRunResponse;
+import com.example.phfbackend.dto.response.ReorderSupplierGroupResponse;
+import com.example.phfbackend.entities.supplier.Supplier;
+import com.example.phfbackend.pattern.facade.PurchaseOrderFacade;
+import com.example.phfbackend.repository.SupplierRepository;
+import com.example.phfbackend.service.ReorderService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reorder engine: turns sales velocity into purchase proposals and DRAFT purchase orders.
+ *
+ * Per product: velocity = units sold over the last {@code reorder.window-days} / window,
+ * reorder point = max(reorderLevel, minStock + velocity x lead time),
+ * target = reorder point + velocity x cover days. A product is proposed when on-hand (sellable batches) plus
+ * quantity already on DRAFT/ORDERED purchase orders is at or below its reorder point, so running the engine
+ * twice does not order the same units twice.
+ *
+ * The catalog is split into product-id ranges of {@code reorder.chunk-size}; each range is one set-based query
+ * (sales, stock, open orders and preferred supplier aggregated in SQL) run on its own connection.
+ * The preferred supplier is the active supplier linked in supplier_products that was ordered from most recently
+ * (its last unit cost is used), then by name; without purchase history the latest batch cost is used.
+ */
+@Slf4j
+@Service
+public class ReorderServiceImpl implements ReorderService {
+    
+    private static final DateTimeFormatter ORDER_CODE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final SupplierRepository supplierRepository;
+    private final PurchaseOrderFacade purchaseOrderFacade;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService workers;
+    private final String schema;
+    private final int windowDays;
+    private final int leadTimeDays;
+    private final int coverDays;
+    private final int chunkSize;
+    private final int parallelism;
+    
+    private final ReentrantLock running = new ReentrantLock();
+    private volatile ReorderRunResponse lastRun;
+    
+    public ReorderServiceImpl(NamedParameterJdbcTemplate jdbcTemplate,
+                              SupplierRepository supplierRepository,
+                              PurchaseOrderFacade purchaseOrderFacade,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${spring.jpa.properties.hibernate.default_schema:phf}") String schema,
+                              @Value("${reorder.window-days:28}") int windowDays,
+                              @Value("${reorder.lead-time-days:7}") int leadTimeDays,
+                              @Value("${reorder.cover-days:30}") int coverDays,
+                              @Value("${reorder.chunk-size:1000}") int chunkSize,
+                              @Value("${reorder.parallelism:2}") int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.supplierRepository = supplierRepository;
+        this.purchaseOrderFacade = purchaseOrderFacade;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.schema = schema;
+        this.windowDays = Math.max(1, windowDays);
+        this.leadTimeDays = Math.max(0, leadTimeDays);
+        this.coverDays = Math.max(0, coverDays);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.parallelism = Math.max(1, parallelism);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "reorder-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+    
+    @Override
+    public ReorderRunResponse suggest() {
+        return run(false, null);
+    }
+    
+    @Override
+    public ReorderRunResponse createDraftOrders(UUID userId) {
+        return run(true, userId);
+    }
+    
+    @Override
+    public Optional<ReorderRunResponse> getLastRun() {
+        return Optional.ofNullable(lastRun);
+    }
+    
+    private ReorderRunResponse run(boolean createDrafts, UUID userId) {
+        if (!running.tryLock()) {
+            throw new IllegalStateException("Reorder engine is already running");
+        }
+        try {
+            lastRun = doRun(createDrafts, userId);
+            log.info("Reorder run: {} products in {} ms ({} products/s, {} chunks), {} proposals, {} skipped, {} draft order(s) created, {} failed",
+                    lastRun.getProductsEvaluated(), lastRun.getDurationMs(), String.format("%.1f", lastRun.getProductsPerSecond()),
+                    lastRun.getChunks(), lastRun.getProposals(), lastRun.getSkipped(),
+                    lastRun.getPurchaseOrdersCreated(), lastRun.getPurchaseOrdersFailed());
+            return lastRun;
+        } finally {
+            running.unlock();
+        }
+    }
+    
+    private ReorderRunResponse doRun(boolean createDrafts, UUID userId) {
+        OffsetDateTime startedAt = OffsetDateTime.now();
+        long start = System.nanoTime();
+        LocalDate today = startedAt.toLocalDate();
+        
+        List<UUID[]> ranges = productRanges();
+        List<CompletableFuture<List<Candidate>>> chunks = new ArrayList<>(ranges.size());
+        for (UUID[] range : ranges) {
+            chunks.add(CompletableFuture.supplyAsync(() -> loadCandidates(range[0], range[1], today), workers));
+        }
+        List<Candidate> candidates = new ArrayList<>();
+        for (CompletableFuture<List<Candidate>> chunk : chunks) {
+            candidates.addAll(chunk.join());
+        }
+        
+        // Proposals per supplier, most urgent first
+        Map<UUID, List<ReorderProposalResponse>> bySupplier = new LinkedHashMap<>();
+        List<ReorderProposalResponse> unassigned = new ArrayList<>();
+        int proposals = 0;
+        for (Candidate candidate : candidates) {
+            ReorderProposalResponse proposal = propose(candidate, today);
+            if (proposal == null) continue;
+            proposals++;
+            if (proposal.getSkippedReason() != null) {
+                unassigned.add(proposal);
+            } else {
+                bySupplier.computeIfAbsent(candidate.supplierId, id -> new ArrayList<>()).add(proposal);
+            }
+        }
+        
+        Map<UUID, Supplier> suppliers = supplierRepository.findAllById(bySupplier.keySet()).stream()
+                .collect(Collectors.toMap(Supplier::getId, Function.identity()));
+        Comparator<ReorderProposalResponse> urgency = Comparator.comparing(ReorderProposalResponse::getProjectedStockoutDate,
+                Comparator.nullsLast(Comparator.naturalOrder()));
+        
+        List<ReorderSupplierGroupResponse> groups = new ArrayList<>();
+        int created = 0;
+        int failed = 0;
+        for (Map.Entry<UUID, List<ReorderProposalResponse>> entry : bySupplier.entrySet()) {
+            List<ReorderProposalResponse> lines = entry.getValue();
+            lines.sort(urgency);
+            Supplier supplier = suppliers.get(entry.getKey());
+            ReorderSupplierGroupResponse group = ReorderSupplierGroupResponse.builder()
+                    .supplierId(entry.getKey())
+                    .supplierName(supplier != null ? supplier.getName() : null)
+                    .lines(lines)
+                    .totalCost(lines.stream()
+                            .map(line -> line.getUnitCost().multiply(BigDecimal.valueOf(line.getProposedQuantity())))
+                            .reduce(BigDecimal.ZERO, BigDecimal::add))
+                    .build();
+            if (createDrafts) {
+                if (createDraft(group, startedAt, groups.size() + 1, userId)) {
+                    created++;
+                } else {
+                    failed++;
+                }
+            }
+            groups.add(group);
+        }
+        groups.sort(Comparator.comparing(ReorderSupplierGroupResponse::getTotalCost).reversed());
+        
+        long durationNanos = System.nanoTime() - start;
+        return ReorderRunResponse.builder()
+                .startedAt(startedAt)
+                .draftsCreated(createDrafts)
+                .durationMs(durationNanos / 1_000_000)
+                .productsEvaluated(candidates.size())
+                .productsPerSecond(durationNanos == 0 ? 0 : candidates.size() * 1_000_000_000.0 / durationNanos)
+                .chunks(ranges.size())
+                .parallelism(parallelism)
+                .proposals(proposals)
+                .skipped(unassigned.size())
+                .purchaseOrdersCreated(created)
+                .purchaseOrdersFailed(failed)
+                .suppliers(groups)
+                .unassigned(unassigned)
+                .build();
+    }
+    
+    /**
+     * Inclusive [first, last] id bounds of consecutive runs of {@code chunkSize} active products.
+     */
+    private List<UUID[]> productRanges() {
+        List<UUID> ids = readOnlyTransaction.execute(status -> jdbcTemplate.getJdbcTemplate().queryForList(
+                "SELECT id FROM " + schema + ".products WHERE active = true ORDER BY id", UUID.class));
+        List<UUID[]> ranges = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, ids.size()) - 1;
+            ranges.add(new UUID[]{ids.get(from), ids.get(to)});
+        }
+        return ranges;
+    }
+    
+    private List<Candidate> loadCandidates(UUID firstId, UUID lastId, LocalDate today) {
+        String s = schema + ".";
+        String sql = "WITH sold AS (" + SellThroughSql.unitsSoldByProduct(schema) + "), " +
+                "stock AS (" +
+                "  SELECT b.product_id, SUM(b.quantity_on_hand) AS on_hand FROM " + s + "inventory_batches b " +
+                "  WHERE b.active = true AND b.expiry_date >= :today AND b.product_id BETWEEN :firstId AND :lastId " +
+                "  GROUP BY b.product_id), " +
+                "on_order AS (" +
+                "  SELECT ol.product_id, SUM(ol.quantity - ol.received_quantity) AS quantity FROM " + s + "purchase_order_lines ol " +
+                "  JOIN " + s + "purchase_orders o ON o.id = ol.purchase_order_id " +
+                "  WHERE o.status IN ('DRAFT', 'ORDERED') AND ol.product_id BETWEEN :firstId AND :lastId " +
+                "  GROUP BY ol.product_id), " +
+                "last_po AS (" +
+                "  SELECT supplier_id, product_id, unit_cost, order_date FROM (" +
+                "    SELECT o.supplier_id, ol.product_id, ol.unit_cost, o.order_date, ROW_NUMBER() OVER (" +
+                "      PARTITION BY o.supplier_id, ol.product_id ORDER BY o.order_date DESC, o.created_at DESC) AS rn " +
+                "    FROM " + s + "purchase_order_lines ol JOIN " + s + "purchase_orders o ON o.id = ol.purchase_order_id " +
+                "    WHERE o.status <> 'CANCELLED' AND ol.product_id BETWEEN :firstId AND :lastId) x WHERE rn = 1), " +
+                "preferred AS (" +
+                "  SELECT product_id, supplier_id, unit_cost FROM (" +
+                "    SELECT sp.product_id, sp.supplier_id, lp.unit_cost, ROW_NUMBER() OVER (" +
+                "      PARTITION BY sp.product_id ORDER BY lp.order_date DESC NULLS LAST, sup.name) AS rn " +
+                "    FROM " + s + "supplier_products sp JOIN " + s + "suppliers sup ON sup.id = sp.supplier_id AND sup.active = true " +
+                "    LEFT JOIN last_po lp ON lp.supplier_id = sp.supplier_id AND lp.product_id = sp.product_id " +
+                "    WHERE sp.product_id BETWEEN :firstId AND :lastId) y WHERE rn = 1), " +
+                "latest_cost AS (" +
+                "  SELECT product_id, cost_price FROM (" +
+                "    SELECT b.product_id, b.cost_price, ROW_NUMBER() OVER (PARTITION BY b.product_id ORDER BY b.received_date DESC) AS rn " +
+                "    FROM " + s + "inventory_batches b WHERE b.product_id BETWEEN :firstId AND :lastId) z WHERE rn = 1) " +
+                "SELECT p.id, p.sku, p.name, p.reorder_level, p.min_stock, " +
+                "  COALESCE(sold.units, 0) AS units_sold, COALESCE(stock.on_hand, 0) AS on_hand, " +
+                "  COALESCE(on_order.quantity, 0) AS on_order, pr.supplier_id, " +
+                "  COALESCE(pr.unit_cost, lc.cost_price) AS unit_cost " +
+                "FROM " + s + "products p " +
+                "LEFT JOIN sold ON sold.product_id = p.id " +
+                "LEFT JOIN stock ON stock.product_id = p.id " +
+                "LEFT JOIN on_order ON on_order.product_id = p.id " +
+                "LEFT JOIN preferred pr ON pr.product_id = p.id " +
+                "LEFT JOIN latest_cost lc ON lc.product_id = p.id " +
+                "WHERE p.active = true AND p.id BETWEEN :firstId AND :lastId";
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("firstId", firstId)
+                .addValue("lastId", lastId)
+                .addValue("today", Date.valueOf(today))
+                .addValue("soldSince", Timestamp.valueOf(today.minusDays(windowDays).atStartOfDay()));
+        
+        return readOnlyTransaction.execute(status -> jdbcTemplate.query(sql, params, (rs, rowNum) -> new Candidate(
+                rs.getObject("id", UUID.class),
+                rs.getString("sku"),
+                rs.getString("name"),
+                rs.getInt("reorder_level"),
+                rs.getInt("min_stock"),
+                rs.getInt("units_sold"),
+                rs.getInt("on_hand"),
+                rs.getInt("on_order"),
+                rs.getObject("supplier_id", UUID.class),
+                rs.getBigDecimal("unit_cost"))));
+    }
+    
+    /**
+     * @return null when the product does not need reordering
+     */
+    private ReorderProposalResponse propose(Candidate candidate, LocalDate today) {
+        double velocity = (double) candidate.unitsSold / windowDays;
+        int reorderPoint = Math.max(candidate.reorderLevel, candidate.minStock + (int) Math.ceil(velocity * leadTimeDays));
+        int available = candidate.onHand + candidate.onOrder;
+        if (available > reorderPoint) {
+            return null;
+        }
+        int target = reorderPoint + (int) Math.ceil(velocity * coverDays);
+        int quantity = target - available;
+        if (quantity <= 0) {
+            return null;
+        }
+        
+        String skippedReason = null;
+        if (candidate.supplierId == null) {
+            skippedReason = "NO_SUPPLIER";
+        } else if (candidate.unitCost == null || candidate.unitCost.signum() <= 0) {
+            skippedReason = "NO_COST";
+        }
+        
+        return ReorderProposalResponse.builder()
+                .productId(candidate.productId)
+                .productSku(candidate.sku)
+                .productName(candidate.name)
+                .onHand(candidate.onHand)
+                .onOrder(candidate.onOrder)
+                .unitsSold(candidate.unitsSold)
+                .dailyVelocity(velocity)
+                .projectedStockoutDate(velocity > 0 ? today.plusDays((long) Math.floor(candidate.onHand / velocity)) : null)
+                .reorderPoint(reorderPoint)
+                .targetStock(target)
+                .proposedQuantity(quantity)
+                .unitCost(candidate.unitCost)
+                .skippedReason(skippedReason)
+                .build();
+    }
+    
+    /**
+     * One facade call (one transaction) per supplier, so a rejected order does not undo the others.
+     */
+    private boolean createDraft(ReorderSupplierGroupResponse group, OffsetDateTime startedAt, int sequence, UUID userId) {
+        PurchaseOrderRequest request = new PurchaseOrderRequest();
+        request.setOrderCode(String.format("RO-%s-%02d", startedAt.format(ORDER_CODE_TIME), sequence));
+        request.setSupplierId(group.getSupplierId());
+        request.setOrderDate(startedAt.toLocalDate());
+        request.setLineItems(group.getLines().stream().map(proposal -> {
+            PurchaseOrderLineRequest line = new PurchaseOrderLineRequest();
+            line.setProductId(proposal.getProductId());
+            line.setQuantity(proposal.getProposedQuantity());
+            line.setUnitCost(proposal.getUnitCost());
+            return line;
+        }).toList());
+        
+        try {
+            PurchaseOrderResponse order = purchaseOrderFacade.createPurchaseOrderWithValidation(request, userId);
+            group.setPurchaseOrderId(order.getId());
+            group.setOrderCode(order.getOrderCode());
+            return true;
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.warn("Reorder draft for supplier {} rejected: {}", group.getSupplierId(), e.getMessage());
+            group.setError(e.getMessage());
+            return false;
+        }
+    }
+    
+    private static final class Candidate {
+        private final UUID productId;
+        private final String sku;
+        private final String name;
+        private final int reorderLevel;
+        private final int minStock;
+        private final int unitsSold;
+        private final int onHand;
+        private final int onOrder;
+        private final UUID supplierId;
+        private final BigDecimal unitCost;
+        
+        private Candidate(UUID productId, String sku, String name, int reorderLevel, int minStock,
+                          int unitsSold, int onHand, int onOrder, UUID supplierId, BigDecimal unitCost) {
+            this.productId = productId;
+            this.sku = sku;
+            this.name = name;
+            this.reorderLevel = reorderLevel;
+            this.minStock = minStock;
+            this.unitsSold = unitsSold;
+            this.onHand = onHand;
+            this.onOrder = onOrder;
+            this.supplierId = supplierId;
+            this.unitCost = unitCost;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.phfbackend.service.impl;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer (sequence-numbered slots, after D. Vyukov).
+ * A producer claims a slot with one CAS on the tail and publishes it by advancing the slot sequence;
+ * {@link #offer} fails instead of blocking when the buffer is full.
+ */
+final class RingBuffer<E> {
+    
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+    
+    RingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+    
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+    
+    /**
+     * Moves up to {@code max} published elements to {@code target}, in order. Single consumer only.
+     */
+    int drainTo(List<E> target, int max) {
+        long position = head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            target.add(slots.get(index));
+            slots.set(index, null);
+            sequences.set(index, position + mask + 1);
+            position++;
+            drained++;
+        }
+        head = position;
+        return drained;
+    }
+    
+    /**
+     * Claimed slots not yet drained (including ones a producer is still publishing).
+     */
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+}
@@ -1,9 +1,16 @@
 package com.example.phfbackend.service.impl;
 
 import com.example.phfbackend.dto.SaleTransactionFilterCriteria;
+import com.example.phfbackend.dto.response.SaleEventResponse;
 import com.example.phfbackend.entities.sale.SaleTransaction;
+import com.example.phfbackend.entities.sale.SaleTransactionLine;
 import com.example.phfbackend.repository.SaleTransactionRepository;
+import com.example.phfbackend.service.DomainMetrics;
+import com.example.phfbackend.service.LiveEventService;
+import com.example.phfbackend.service.LiveEventType;
 import com.example.phfbackend.service.SaleTransactionService;
+import com.example.phfbackend.service.UniqueKeySpace;
+import com.example.phfbackend.service.UniquenessGuard;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,13 +27,25 @@ import java.util.stream.Stream;
 public class SaleTransactionServiceImpl implements SaleTransactionService {
     
     private final SaleTransactionRepository saleTransactionRepository;
+    private final LiveEventService liveEventService;
+    private final UniquenessGuard uniquenessGuard;
+    private final DomainMetrics domainMetrics;
     
     @Override
     public SaleTransaction createSaleTransaction(SaleTransaction transaction) {
-        if (saleTransactionRepository.findByReceiptNumber(transaction.getReceiptNumber()).isPresent()) {
-            throw new IllegalArgumentException("Sale transaction with receipt number " + transaction.getReceiptNumber() + " already exists");
-        }
-        return saleTransactionRepository.save(transaction);
+        SaleTransaction saved = uniquenessGuard.insertUnique(UniqueKeySpace.SALE_RECEIPT_NUMBER, transaction.getReceiptNumber(),
+                () -> saleTransactionRepository.saveAndFlush(transaction));
+        liveEventService.publish(LiveEventType.SALE_CREATED, SaleEventResponse.builder()
+                .saleTransactionId(saved.getId())
+                .receiptNumber(saved.getReceiptNumber())
+                .soldAt(saved.getSoldAt())
+                .cashierId(saved.getCashier().getId())
+                .lineCount(saved.getLineItems().size())
+                .unitCount(saved.getLineItems().stream().mapToInt(SaleTransactionLine::getQuantity).sum())
+                .totalAmount(saved.calculateTotalAmount())
+                .build());
+        domainMetrics.saleCompleted(saved);
+        return saved;
     }
     
     @Override
@@ -0,0 +1,24 @@
+package com.example.phfbackend.service.impl;
+
+/**
+ * Units sold per product since {@code :soldSince}, for the products in {@code [:firstId, :lastId]}: the demand
+ * side shared by the reorder suggestions and the waste-risk forecast, which both work in product-id ranges.
+ * The lines are read through idx_sale_transaction_lines_product, so a range chunk only touches its own products'
+ * sales instead of the whole sales window.
+ */
+final class SellThroughSql {
+    
+    private SellThroughSql() {
+    }
+    
+    /**
+     * Subquery with columns {@code product_id, units}; parameters {@code soldSince, firstId, lastId}.
+     */
+    static String unitsSoldByProduct(String schema) {
+        String s = schema + ".";
+        return "SELECT l.product_id, SUM(l.quantity) AS units FROM " + s + "sale_transaction_lines l " +
+                "JOIN " + s + "sale_transactions t ON t.id = l.sale_transaction_id " +
+                "WHERE l.product_id BETWEEN :firstId AND :lastId AND t.sold_at >= :soldSince " +
+                "GROUP BY l.product_id";
+    }
+}
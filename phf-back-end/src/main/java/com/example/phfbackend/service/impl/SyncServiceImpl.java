@@ -0,0 +1,112 @@
+package com.example.phfbackend.service.impl;
+
+import com.example.phfbackend.entities.inventory.InventoryBatch;
+import com.example.phfbackend.entities.product.Product;
+import com.example.phfbackend.entities.shared.ChangeEntityType;
+import com.example.phfbackend.entities.shared.ChangeLogEntry;
+import com.example.phfbackend.entities.supplier.Supplier;
+import com.example.phfbackend.repository.ChangeLogRepository;
+import com.example.phfbackend.repository.InventoryBatchRepository;
+import com.example.phfbackend.repository.ProductRepository;
+import com.example.phfbackend.repository.SupplierRepository;
+import com.example.phfbackend.service.SyncChangeSet;
+import com.example.phfbackend.service.SyncCursor;
+import com.example.phfbackend.service.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delta sync for offline clients (UC: đồng bộ danh mục cho POS / ứng dụng ngoại tuyến).
+ *
+ * The client keeps the last {@code nextSince} cursor it received and asks for everything after it. A page of the change
+ * log is compacted to the latest version per entity, then the current rows are loaded in one query per type:
+ * the log only says "this changed", so a client that was offline for a week gets one delta per entity, not its
+ * whole history.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SyncServiceImpl implements SyncService {
+    
+    private final ChangeLogRepository changeLogRepository;
+    private final ProductRepository productRepository;
+    private final InventoryBatchRepository inventoryBatchRepository;
+    private final SupplierRepository supplierRepository;
+    
+    @Override
+    public SyncChangeSet getChangesSince(SyncCursor since, Set<ChangeEntityType> types, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        if (types.isEmpty()) {
+            throw new IllegalArgumentException("At least one entity type is required");
+        }
+        
+        List<ChangeLogEntry> page = changeLogRepository.findCommittedAfter(
+                since.getTxId(), since.getVersion(), types.stream().map(Enum::name).toList(), limit);
+        if (page.isEmpty()) {
+            return new SyncChangeSet(since, since, false, List.of(), List.of(), List.of(), List.of(), List.of());
+        }
+        
+        // Latest version per entity, grouped by type; iteration order follows the log
+        Map<ChangeEntityType, Map<UUID, Long>> latest = new EnumMap<>(ChangeEntityType.class);
+        for (ChangeLogEntry entry : page) {
+            Map<UUID, Long> versions = latest.computeIfAbsent(entry.getEntityType(), type -> new LinkedHashMap<>());
+            versions.remove(entry.getEntityId());
+            versions.put(entry.getEntityId(), entry.getVersion());
+        }
+        
+        List<SyncChangeSet.Tombstone> tombstones = new ArrayList<>();
+        List<Product> products = resolve(ChangeEntityType.PRODUCT, latest,
+                productRepository::findAllById, Product::getId, Product::isActive, tombstones);
+        List<Supplier> suppliers = resolve(ChangeEntityType.SUPPLIER, latest,
+                supplierRepository::findAllById, Supplier::getId, Supplier::isActive, tombstones);
+        List<InventoryBatch> batches = resolve(ChangeEntityType.BATCH, latest,
+                inventoryBatchRepository::findAllWithProductByIdIn, InventoryBatch::getId, InventoryBatch::isActive, tombstones);
+        List<InventoryBatch> prices = resolve(ChangeEntityType.PRICE, latest,
+                inventoryBatchRepository::findAllWithProductByIdIn, InventoryBatch::getId, InventoryBatch::isActive, tombstones);
+        
+        ChangeLogEntry last = page.get(page.size() - 1);
+        SyncCursor nextSince = new SyncCursor(last.getTxId(), last.getVersion());
+        return new SyncChangeSet(since, nextSince, page.size() == limit,
+                products, batches, suppliers, prices, tombstones);
+    }
+    
+    private <T> List<T> resolve(ChangeEntityType type,
+                                Map<ChangeEntityType, Map<UUID, Long>> latest,
+                                Function<Collection<UUID>, List<T>> loader,
+                                Function<T, UUID> idOf,
+                                Function<T, Boolean> isActive,
+                                List<SyncChangeSet.Tombstone> tombstones) {
+        Map<UUID, Long> versions = latest.get(type);
+        if (versions == null) {
+            return List.of();
+        }
+        
+        Map<UUID, T> found = loader.apply(versions.keySet()).stream()
+                .collect(Collectors.toMap(idOf, Function.identity()));
+        
+        List<T> live = new ArrayList<>(found.size());
+        versions.forEach((id, version) -> {
+            T entity = found.get(id);
+            if (entity != null && isActive.apply(entity)) {
+                live.add(entity);
+            } else {
+                tombstones.add(new SyncChangeSet.Tombstone(type, id, version));
+            }
+        });
+        return live;
+    }
+}
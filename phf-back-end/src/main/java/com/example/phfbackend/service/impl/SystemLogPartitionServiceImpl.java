@@ -0,0 +1,91 @@
+package com.example.phfbackend.service.impl;
+
+import com.example.phfbackend.service.SystemLogPartitionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Monthly partitions of system_logs (see V15), named system_logs_yYYYYmMM. Only names of that form are ever
+ * dropped, so the default partition and anything created by hand are left alone. Dropping a partition is
+ * instant and leaves no dead tuples, unlike DELETE-based retention.
+ * Partitions are created ahead of time: rows that land in the default partition would block creating their month.
+ */
+@Slf4j
+@Service
+public class SystemLogPartitionServiceImpl implements SystemLogPartitionService {
+    
+    private static final Pattern PARTITION_NAME = Pattern.compile("system_logs_y(\\d{4})m(\\d{2})");
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final String schema;
+    
+    public SystemLogPartitionServiceImpl(JdbcTemplate jdbcTemplate,
+                                         @Value("${spring.jpa.properties.hibernate.default_schema:phf}") String schema) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.schema = schema;
+    }
+    
+    @Override
+    public List<String> createPartitions(YearMonth currentMonth, int monthsAhead) {
+        List<String> existing = listPartitions();
+        List<String> created = new ArrayList<>();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = currentMonth.plusMonths(i);
+            String name = partitionName(month);
+            if (existing.contains(name)) continue;
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + schema + "." + name +
+                    " PARTITION OF " + schema + ".system_logs FOR VALUES FROM ('" + start(month) + "') TO ('" + start(month.plusMonths(1)) + "')");
+            created.add(name);
+        }
+        if (!created.isEmpty()) {
+            log.info("System log partitions created: {}", created);
+        }
+        return created;
+    }
+    
+    @Override
+    public List<String> dropExpiredPartitions(YearMonth currentMonth, int retentionMonths) {
+        YearMonth oldestKept = currentMonth.minusMonths(retentionMonths);
+        List<String> dropped = new ArrayList<>();
+        for (String name : listPartitions()) {
+            Matcher matcher = PARTITION_NAME.matcher(name);
+            if (!matcher.matches()) continue;
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (month.isBefore(oldestKept)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + schema + "." + name);
+                dropped.add(name);
+            }
+        }
+        if (!dropped.isEmpty()) {
+            log.info("System log partitions dropped (retention {} months): {}", retentionMonths, dropped);
+        }
+        return dropped;
+    }
+    
+    private List<String> listPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT child.relname FROM pg_inherits i " +
+                "JOIN pg_class parent ON parent.oid = i.inhparent " +
+                "JOIN pg_class child ON child.oid = i.inhrelid " +
+                "JOIN pg_namespace n ON n.oid = parent.relnamespace " +
+                "WHERE parent.relname = 'system_logs' AND n.nspname = ?",
+                String.class, schema);
+    }
+    
+    private static String partitionName(YearMonth month) {
+        return String.format("system_logs_y%04dm%02d", month.getYear(), month.getMonthValue());
+    }
+    
+    private static String start(YearMonth month) {
+        return month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC).toString();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.phfbackend.service.impl;
 
+import com.example.phfbackend.dto.SystemLogFilterCriteria;
 import com.example.phfbackend.entities.shared.SystemLog;
 import com.example.phfbackend.repository.SystemLogRepository;
 import com.example.phfbackend.service.SystemLogService;
@@ -7,7 +8,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -32,32 +32,8 @@ public class SystemLogServiceImpl implements SystemLogService {
     
     @Override
     @Transactional(readOnly = true)
-    public List<SystemLog> findAll() {
-        return systemLogRepository.findAllOrderByCreatedAtDesc();
-    }
-    
-    @Override
-    @Transactional(readOnly = true)
-    public List<SystemLog> findByAction(String action) {
-        return systemLogRepository.findByAction(action);
-    }
-    
-    @Override
-    @Transactional(readOnly = true)
-    public List<SystemLog> findByEntityType(String entityType) {
-        return systemLogRepository.findByEntityType(entityType);
-    }
-    
-    @Override
-    @Transactional(readOnly = true)
-    public List<SystemLog> findByUserId(UUID userId) {
-        return systemLogRepository.findByUserId(userId);
-    }
-    
-    @Override
-    @Transactional(readOnly = true)
-    public List<SystemLog> findByDateRange(OffsetDateTime startDate, OffsetDateTime endDate) {
-        return systemLogRepository.findByCreatedAtBetween(startDate, endDate);
+    public List<SystemLog> findPage(SystemLogFilterCriteria criteria, int limit) {
+        return systemLogRepository.findPage(criteria, limit);
     }
 }
 
@@ -0,0 +1,305 @@
+package com.example.phfbackend.service.impl;
+
+import com.example.phfbackend.entities.shared.SystemLog;
+import com.example.phfbackend.entities.shared.UuidV7Generator;
+import com.example.phfbackend.service.SystemLogWriter;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind system log: audited actions no longer pay an insert inside their own transaction.
+ *
+ * After commit an entry goes into a bounded lock-free {@link RingBuffer}; one writer thread drains it and inserts
+ * up to {@code audit-log.batch-size} rows per JDBC batch, as soon as a full batch is waiting or at the latest every
+ * {@code audit-log.flush-interval-ms}. When the buffer is full the entry is inserted by the caller instead, so
+ * entries are never dropped under load. A failed batch is retried until shutdown; shutdown drains the buffer.
+ *
+ * With {@code audit-log.spill-file} set, every entry is also appended (and forced to disk) to a journal before it is
+ * queued. The journal is emptied whenever the buffer has been written out, and replayed at startup; ids are
+ * assigned before journaling and the insert ignores existing ids, so a replay never duplicates rows.
+ */
+@Slf4j
+@Service
+public class SystemLogWriterImpl implements SystemLogWriter {
+    
+    // NOT EXISTS rather than ON CONFLICT: system_logs has no migration-managed key to name, and it also runs on H2
+    private static final String INSERT_SQL = "INSERT INTO %1$s.system_logs (id, action, entity_type, entity_id, user_id, user_name, details, created_at) " +
+            "SELECT CAST(? AS UUID), ?, ?, CAST(? AS UUID), CAST(? AS UUID), ?, ?, CAST(? AS TIMESTAMP WITH TIME ZONE) " +
+            "WHERE NOT EXISTS (SELECT 1 FROM %1$s.system_logs WHERE id = CAST(? AS UUID))";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final String insertSql;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long retryBackoffNanos;
+    private final long shutdownTimeoutMs;
+    private final RingBuffer<SystemLog> buffer;
+    private final Thread writer;
+    private final ReentrantLock spillLock = new ReentrantLock();
+    private final FileChannel spill;
+    private final List<SystemLog> replay;
+    private volatile boolean running = true;
+    
+    public SystemLogWriterImpl(JdbcTemplate jdbcTemplate,
+                               ObjectMapper objectMapper,
+                               @Value("${spring.jpa.properties.hibernate.default_schema:phf}") String schema,
+                               @Value("${audit-log.buffer-size:8192}") int bufferSize,
+                               @Value("${audit-log.batch-size:200}") int batchSize,
+                               @Value("${audit-log.flush-interval-ms:500}") long flushIntervalMs,
+                               @Value("${audit-log.retry-backoff-ms:2000}") long retryBackoffMs,
+                               @Value("${audit-log.shutdown-timeout-ms:10000}") long shutdownTimeoutMs,
+                               @Value("${audit-log.spill-file:}") String spillFile) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.insertSql = String.format(INSERT_SQL, schema);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMs));
+        this.retryBackoffNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, retryBackoffMs));
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.buffer = new RingBuffer<>(bufferSize);
+        if (spillFile.isBlank()) {
+            this.spill = null;
+            this.replay = List.of();
+        } else {
+            Path path = Path.of(spillFile);
+            this.replay = readSpill(path);
+            this.spill = openSpill(path);
+            if (!replay.isEmpty()) {
+                log.info("Replaying {} system log entries from {}", replay.size(), path);
+            }
+        }
+        this.writer = new Thread(this::run, "system-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+    
+    @Override
+    public void append(SystemLog entry) {
+        SystemLog withId = entry.getId() != null ? entry : copyWithId(entry, UuidV7Generator.next());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(withId);
+                }
+            });
+        } else {
+            enqueue(withId);
+        }
+    }
+    
+    private void enqueue(SystemLog entry) {
+        boolean queued;
+        if (spill != null) {
+            // Journal and queue together, so an empty buffer under this lock means every journaled entry is written
+            spillLock.lock();
+            try {
+                journal(entry);
+                queued = buffer.offer(entry);
+            } finally {
+                spillLock.unlock();
+            }
+        } else {
+            queued = buffer.offer(entry);
+        }
+        
+        if (!queued) {
+            // Buffer full: write through rather than drop
+            try {
+                insert(List.of(entry));
+            } catch (DataAccessException e) {
+                log.error("System log {} {} {} lost: buffer full and insert failed: {}",
+                        entry.getAction(), entry.getEntityType(), entry.getEntityId(), e.getMessage());
+            }
+        } else if (buffer.size() >= batchSize) {
+            LockSupport.unpark(writer);
+        }
+    }
+    
+    private void run() {
+        List<SystemLog> batch = new ArrayList<>(batchSize);
+        List<SystemLog> pendingReplay = new ArrayList<>(replay);
+        while (running || buffer.size() > 0 || !batch.isEmpty() || !pendingReplay.isEmpty()) {
+            if (batch.isEmpty() && !pendingReplay.isEmpty()) {
+                List<SystemLog> chunk = pendingReplay.subList(0, Math.min(batchSize, pendingReplay.size()));
+                batch.addAll(chunk);
+                chunk.clear();
+            }
+            if (batch.isEmpty() && running && buffer.size() < batchSize) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            buffer.drainTo(batch, batchSize - batch.size());
+            if (batch.isEmpty()) {
+                continue;
+            }
+            
+            try {
+                insert(batch);
+                batch.clear();
+                if (pendingReplay.isEmpty()) {
+                    truncateSpillIfDrained();
+                }
+            } catch (DataAccessException e) {
+                if (!running) {
+                    log.error("Stopping with {} system log entries not written{}: {}", batch.size() + buffer.size() + pendingReplay.size(),
+                            spill != null ? " (kept in the spill file)" : "", e.getMessage());
+                    return;
+                }
+                log.warn("System log batch of {} failed, retrying: {}", batch.size(), e.getMessage());
+                LockSupport.parkNanos(this, retryBackoffNanos);
+            }
+        }
+    }
+    
+    private void insert(List<SystemLog> entries) {
+        jdbcTemplate.batchUpdate(insertSql, entries, entries.size(), (ps, entry) -> {
+            ps.setObject(1, entry.getId());
+            ps.setString(2, entry.getAction());
+            ps.setString(3, entry.getEntityType());
+            ps.setObject(4, entry.getEntityId());
+            ps.setObject(5, entry.getUserId());
+            ps.setString(6, entry.getUserName());
+            ps.setString(7, entry.getDetails());
+            ps.setObject(8, entry.getCreatedAt());
+            ps.setObject(9, entry.getId());
+        });
+    }
+    
+    private void journal(SystemLog entry) {
+        Map<String, String> line = new LinkedHashMap<>();
+        line.put("id", entry.getId().toString());
+        line.put("action", entry.getAction());
+        line.put("entityType", entry.getEntityType());
+        line.put("entityId", entry.getEntityId() != null ? entry.getEntityId().toString() : null);
+        line.put("userId", entry.getUserId() != null ? entry.getUserId().toString() : null);
+        line.put("userName", entry.getUserName());
+        line.put("details", entry.getDetails());
+        line.put("createdAt", entry.getCreatedAt().toString());
+        try {
+            ByteBuffer bytes = ByteBuffer.wrap((objectMapper.writeValueAsString(line) + "\n").getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                spill.write(bytes);
+            }
+            spill.force(false);
+        } catch (IOException e) {
+            // Still queued: only crash safety is lost for this entry
+            log.error("Cannot journal system log {} to the spill file: {}", entry.getId(), e.getMessage());
+        }
+    }
+    
+    private void truncateSpillIfDrained() {
+        if (spill == null) {
+            return;
+        }
+        spillLock.lock();
+        try {
+            if (buffer.size() == 0 && spill.size() > 0) {
+                spill.truncate(0);
+                spill.force(false);
+            }
+        } catch (IOException e) {
+            log.warn("Cannot truncate the system log spill file: {}", e.getMessage());
+        } finally {
+            spillLock.unlock();
+        }
+    }
+    
+    private List<SystemLog> readSpill(Path path) {
+        if (!Files.exists(path)) {
+            return List.of();
+        }
+        List<SystemLog> entries = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) continue;
+                try {
+                    Map<String, String> fields = objectMapper.readValue(line, new TypeReference<Map<String, String>>() {});
+                    entries.add(SystemLog.newBuilder()
+                            .id(UUID.fromString(fields.get("id")))
+                            .action(fields.get("action"))
+                            .entityType(fields.get("entityType"))
+                            .entityId(fields.get("entityId") != null ? UUID.fromString(fields.get("entityId")) : null)
+                            .userId(fields.get("userId") != null ? UUID.fromString(fields.get("userId")) : null)
+                            .userName(fields.get("userName"))
+                            .details(fields.get("details"))
+                            .createdAt(OffsetDateTime.parse(fields.get("createdAt")))
+                            .build());
+                } catch (IOException | RuntimeException e) {
+                    // A line torn by the crash itself
+                    log.warn("Skipping unreadable system log spill line: {}", e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read system log spill file " + path, e);
+        }
+        return entries;
+    }
+    
+    private FileChannel openSpill(Path path) {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open system log spill file " + path, e);
+        }
+    }
+    
+    private SystemLog copyWithId(SystemLog entry, UUID id) {
+        return SystemLog.newBuilder()
+                .id(id)
+                .action(entry.getAction())
+                .entityType(entry.getEntityType())
+                .entityId(entry.getEntityId())
+                .userId(entry.getUserId())
+                .userName(entry.getUserName())
+                .details(entry.getDetails())
+                .createdAt(entry.getCreatedAt())
+                .build();
+    }
+    
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(shutdownTimeoutMs);
+        if (writer.isAlive()) {
+            log.warn("System log writer still busy after {} ms; {} entries not written", shutdownTimeoutMs, buffer.size());
+        }
+        if (spill != null) {
+            try {
+                spill.close();
+            } catch (IOException e) {
+                log.warn("Cannot close the system log spill file: {}", e.getMessage());
+            }
+        }
+    }
+}
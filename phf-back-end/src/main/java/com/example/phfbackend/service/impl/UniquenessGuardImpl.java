@@ -0,0 +1,125 @@
+package com.example.phfbackend.service.impl;
+
+import com.example.phfbackend.service.UniqueKeySpace;
+import com.example.phfbackend.service.UniquenessGuard;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Uniqueness of SKUs, receipt numbers, order codes and emails is enforced by the database constraints;
+ * a violation raised by the insert is translated to the same IllegalArgumentException the services threw before.
+ *
+ * Each key space is fronted by a Bloom filter of its existing keys. A key the filter has never seen is
+ * definitely new and is inserted straight away; only possible duplicates pay the EXISTS pre-check (which gives
+ * the clean error without a failed insert). The filters are built from the tables after startup and rebuilt every
+ * {@code uniqueness.bloom.rebuild-ms}, which resizes them and picks up keys inserted by other instances.
+ * Until a key space is built, or when it is disabled, every insert is pre-checked.
+ */
+@Slf4j
+@Service
+public class UniquenessGuardImpl implements UniquenessGuard {
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final String schema;
+    private final boolean enabled;
+    private final long expectedKeys;
+    private final double falsePositiveRate;
+    private final Map<UniqueKeySpace, BloomFilter> filters = new ConcurrentHashMap<>();
+    
+    public UniquenessGuardImpl(JdbcTemplate jdbcTemplate,
+                               @Value("${spring.jpa.properties.hibernate.default_schema:phf}") String schema,
+                               @Value("${uniqueness.bloom.enabled:true}") boolean enabled,
+                               @Value("${uniqueness.bloom.expected-keys:100000}") long expectedKeys,
+                               @Value("${uniqueness.bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("uniqueness.bloom.false-positive-rate must be between 0 and 1");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.schema = schema;
+        this.enabled = enabled;
+        this.expectedKeys = Math.max(1, expectedKeys);
+        this.falsePositiveRate = falsePositiveRate;
+    }
+    
+    @Override
+    public <T> T insertUnique(UniqueKeySpace space, String key, Supplier<T> insert) {
+        if (key == null) {
+            return insert.get();
+        }
+        BloomFilter filter = filters.get(space);
+        if ((filter == null || filter.mightContain(key)) && exists(space, key)) {
+            throw new IllegalArgumentException(space.duplicateMessage(key));
+        }
+        
+        T saved;
+        try {
+            saved = insert.get();
+        } catch (DataIntegrityViolationException e) {
+            // Inserted concurrently, or by another instance since the last rebuild
+            if (violates(space, e)) {
+                throw new IllegalArgumentException(space.duplicateMessage(key), e);
+            }
+            throw e;
+        }
+        // Also registers keys whose transaction later rolls back: that only costs a pre-check
+        BloomFilter current = filters.get(space);
+        if (current != null) {
+            current.put(key);
+        }
+        return saved;
+    }
+    
+    @Override
+    @Scheduled(initialDelayString = "${uniqueness.bloom.initial-delay-ms:5000}", fixedDelayString = "${uniqueness.bloom.rebuild-ms:3600000}")
+    public void rebuildFilters() {
+        if (!enabled) {
+            return;
+        }
+        for (UniqueKeySpace space : UniqueKeySpace.values()) {
+            try {
+                String table = schema + "." + space.getTable();
+                Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+                // Room to double before the false positive rate degrades
+                BloomFilter filter = new BloomFilter(Math.max(expectedKeys, 2 * (count == null ? 0 : count)), falsePositiveRate);
+                jdbcTemplate.query("SELECT " + space.getColumn() + " FROM " + table, rs -> {
+                    String key = rs.getString(1);
+                    if (key != null) {
+                        filter.put(key);
+                    }
+                });
+                filters.put(space, filter);
+                log.debug("Uniqueness filter {} rebuilt from {} keys", space, count);
+            } catch (DataAccessException e) {
+                // Keep the previous filter (or none: pre-check every insert) until the next rebuild
+                log.warn("Cannot rebuild uniqueness filter {}: {}", space, e.getMessage());
+            }
+        }
+    }
+    
+    private boolean exists(UniqueKeySpace space, String key) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + schema + "." + space.getTable() + " WHERE " + space.getColumn() + " = ?)",
+                Boolean.class, key));
+    }
+    
+    private boolean violates(UniqueKeySpace space, DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                String constraint = violation.getConstraintName().toLowerCase(Locale.ROOT);
+                return space.getConstraintNames().stream().anyMatch(constraint::contains);
+            }
+        }
+        return false;
+    }
+}
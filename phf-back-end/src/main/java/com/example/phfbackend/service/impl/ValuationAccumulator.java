@@ -0,0 +1,54 @@
+package com.example.phfbackend.service.impl;
+
+/**
+ * Running totals for one (category, supplier) group of the inventory valuation report.
+ * Primitive counters only: money is kept in cents so a row costs no allocation.
+ */
+final class ValuationAccumulator {
+    
+    static final String[] AGE_BUCKETS = {"0-30", "31-90", "91-180", "180+"};
+    static final String[] EXPIRY_BUCKETS = {"expired", "0-3m", "3-6m", "6-12m", "12m+"};
+    
+    long batchCount;
+    long quantity;
+    long valueCents;
+    final long[] ageQuantity = new long[AGE_BUCKETS.length];
+    final long[] ageValueCents = new long[AGE_BUCKETS.length];
+    final long[] expiryQuantity = new long[EXPIRY_BUCKETS.length];
+    final long[] expiryValueCents = new long[EXPIRY_BUCKETS.length];
+    
+    /**
+     * @param expiryBounds days from the report date to +3, +6 and +12 calendar months
+     */
+    void add(int batchQuantity, long costCents, int ageDays, int daysToExpiry, int[] expiryBounds) {
+        long value = costCents * batchQuantity;
+        batchCount++;
+        quantity += batchQuantity;
+        valueCents += value;
+        
+        int age = ageDays <= 30 ? 0 : ageDays <= 90 ? 1 : ageDays <= 180 ? 2 : 3;
+        ageQuantity[age] += batchQuantity;
+        ageValueCents[age] += value;
+        
+        int expiry = daysToExpiry < 0 ? 0
+                : daysToExpiry < expiryBounds[0] ? 1
+                : daysToExpiry < expiryBounds[1] ? 2
+                : daysToExpiry < expiryBounds[2] ? 3 : 4;
+        expiryQuantity[expiry] += batchQuantity;
+        expiryValueCents[expiry] += value;
+    }
+    
+    void merge(ValuationAccumulator other) {
+        batchCount += other.batchCount;
+        quantity += other.quantity;
+        valueCents += other.valueCents;
+        for (int i = 0; i < ageQuantity.length; i++) {
+            ageQuantity[i] += other.ageQuantity[i];
+            ageValueCents[i] += other.ageValueCents[i];
+        }
+        for (int i = 0; i < expiryQuantity.length; i++) {
+            expiryQuantity[i] += other.expiryQuantity[i];
+            expiryValueCents[i] += other.expiryValueCents[i];
+        }
+    }
+}
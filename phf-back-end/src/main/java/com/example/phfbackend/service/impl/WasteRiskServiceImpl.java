@@ -0,0 +1,292 @@
+package com.example.phfbackend.service.impl;
+
+import com.example.phfbackend.dto.response.WasteRiskBatchResponse;
+import com.example.phfbackend.dto.response.WasteRiskResponse;
+import com.example.phfbackend.dto.response.WasteRiskRunResponse;
+import com.example.phfbackend.entities.inventory.WasteRiskForecast;
+import com.example.phfbackend.repository.WasteRiskForecastRepository;
+import com.example.phfbackend.repository.projection.WasteRiskTotalsView;
+import com.example.phfbackend.service.WasteRiskService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Expiry waste-risk forecaster.
+ *
+ * For each product the recent sell-through rate (units sold over {@code inventory.waste-risk.window-days} / window)
+ * is run forward across its active batches in FEFO order: by the time a batch expires, demand up to its expiry
+ * has first been served by the batches expiring before it, and whatever is left of the batch is projected waste,
+ * valued at cost.
+ *
+ * Products are split into id ranges; each range is read with one query and projected on its own worker
+ * (its own connection), then the whole table is replaced in a single transaction so readers always see one
+ * complete forecast.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class WasteRiskServiceImpl implements WasteRiskService {
+    
+    private static final int INSERT_BATCH_SIZE = 1000;
+    
+    private final WasteRiskForecastRepository wasteRiskForecastRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final ExecutorService workers;
+    private final ReentrantLock running = new ReentrantLock();
+    private final String schema;
+    private final int windowDays;
+    private final int chunkSize;
+    
+    public WasteRiskServiceImpl(WasteRiskForecastRepository wasteRiskForecastRepository,
+                                NamedParameterJdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${spring.jpa.properties.hibernate.default_schema:phf}") String schema,
+                                @Value("${inventory.waste-risk.window-days:56}") int windowDays,
+                                @Value("${inventory.waste-risk.chunk-size:1000}") int chunkSize,
+                                @Value("${inventory.waste-risk.parallelism:2}") int parallelism) {
+        this.wasteRiskForecastRepository = wasteRiskForecastRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.schema = schema;
+        this.windowDays = Math.max(1, windowDays);
+        this.chunkSize = Math.max(1, chunkSize);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "waste-risk-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public WasteRiskRunResponse recompute(LocalDate asOf) {
+        if (!running.tryLock()) {
+            throw new IllegalStateException("Waste-risk forecast is already running");
+        }
+        try {
+            WasteRiskRunResponse run = doRecompute(asOf);
+            log.info("Waste-risk forecast: {} batches of {} products in {} ms ({} chunks), {} at risk, {} units / {} projected waste",
+                    run.getBatchesEvaluated(), run.getProductsEvaluated(), run.getDurationMs(), run.getChunks(),
+                    run.getBatchesAtRisk(), run.getProjectedWasteQuantity(), run.getProjectedWasteValue());
+            return run;
+        } finally {
+            running.unlock();
+        }
+    }
+    
+    @Override
+    public WasteRiskResponse getAtRisk(BigDecimal minValue, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        List<WasteRiskForecast> rows = wasteRiskForecastRepository.findAtRisk(
+                minValue != null ? minValue : BigDecimal.ZERO, PageRequest.of(0, limit));
+        WasteRiskTotalsView totals = wasteRiskForecastRepository.findTotals();
+        return WasteRiskResponse.builder()
+                .computedAt(totals.getComputedAt())
+                .batchesAtRisk(totals.getBatchCount())
+                .projectedWasteQuantity(totals.getWasteQuantity())
+                .projectedWasteValue(totals.getWasteValue())
+                .batches(rows.stream().map(this::toResponse).toList())
+                .build();
+    }
+    
+    @Override
+    public WasteRiskResponse getForProduct(UUID productId) {
+        List<WasteRiskForecast> rows = wasteRiskForecastRepository.findByProductIdWithRelations(productId);
+        List<WasteRiskForecast> atRisk = rows.stream().filter(row -> row.getProjectedWasteQuantity() > 0).toList();
+        return WasteRiskResponse.builder()
+                .computedAt(rows.isEmpty() ? null : rows.get(0).getComputedAt())
+                .batchesAtRisk(atRisk.size())
+                .projectedWasteQuantity(atRisk.stream().mapToLong(WasteRiskForecast::getProjectedWasteQuantity).sum())
+                .projectedWasteValue(atRisk.stream().map(WasteRiskForecast::getProjectedWasteValue).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .batches(rows.stream().map(this::toResponse).toList())
+                .build();
+    }
+    
+    private WasteRiskRunResponse doRecompute(LocalDate asOf) {
+        OffsetDateTime computedAt = OffsetDateTime.now();
+        long start = System.nanoTime();
+        
+        List<UUID[]> ranges = productRanges(asOf);
+        List<CompletableFuture<ChunkResult>> chunks = new ArrayList<>(ranges.size());
+        for (UUID[] range : ranges) {
+            chunks.add(CompletableFuture.supplyAsync(() -> project(range[0], range[1], asOf), workers));
+        }
+        List<Object[]> rows = new ArrayList<>();
+        int products = 0;
+        for (CompletableFuture<ChunkResult> chunk : chunks) {
+            ChunkResult result = chunk.join();
+            rows.addAll(result.rows);
+            products += result.products;
+        }
+        
+        Timestamp computedAtValue = Timestamp.from(computedAt.toInstant());
+        int atRisk = 0;
+        long wasteQuantity = 0;
+        BigDecimal wasteValue = BigDecimal.ZERO;
+        for (Object[] row : rows) {
+            row[2] = computedAtValue;
+            int waste = (Integer) row[8];
+            if (waste > 0) {
+                atRisk++;
+                wasteQuantity += waste;
+                wasteValue = wasteValue.add((BigDecimal) row[9]);
+            }
+        }
+        
+        String insert = "INSERT INTO " + schema + ".waste_risk_forecasts (inventory_batch_id, product_id, computed_at, expiry_date, " +
+                "days_to_expiry, quantity_on_hand, daily_sell_through, projected_sold, projected_waste_quantity, projected_waste_value) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        writeTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.getJdbcTemplate().update("DELETE FROM " + schema + ".waste_risk_forecasts");
+            for (int from = 0; from < rows.size(); from += INSERT_BATCH_SIZE) {
+                jdbcTemplate.getJdbcTemplate().batchUpdate(insert, rows.subList(from, Math.min(from + INSERT_BATCH_SIZE, rows.size())));
+            }
+        });
+        
+        return WasteRiskRunResponse.builder()
+                .computedAt(computedAt)
+                .durationMs((System.nanoTime() - start) / 1_000_000)
+                .productsEvaluated(products)
+                .batchesEvaluated(rows.size())
+                .batchesAtRisk(atRisk)
+                .projectedWasteQuantity(wasteQuantity)
+                .projectedWasteValue(wasteValue)
+                .chunks(ranges.size())
+                .build();
+    }
+    
+    /**
+     * Inclusive [first, last] id bounds of consecutive runs of {@code chunkSize} products that have sellable stock.
+     */
+    private List<UUID[]> productRanges(LocalDate asOf) {
+        List<UUID> ids = readOnlyTransaction.execute(status -> jdbcTemplate.queryForList(
+                "SELECT DISTINCT b.product_id FROM " + schema + ".inventory_batches b " +
+                "WHERE b.active = true AND b.quantity_on_hand > 0 AND b.expiry_date >= :asOf ORDER BY b.product_id",
+                new MapSqlParameterSource("asOf", Date.valueOf(asOf)), UUID.class));
+        List<UUID[]> ranges = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, ids.size()) - 1;
+            ranges.add(new UUID[]{ids.get(from), ids.get(to)});
+        }
+        return ranges;
+    }
+    
+    /**
+     * Forecast rows for the batches of one product range, as insert parameters (computed_at filled in later).
+     */
+    private ChunkResult project(UUID firstId, UUID lastId, LocalDate asOf) {
+        String s = schema + ".";
+        String sql = "SELECT b.id, b.product_id, b.expiry_date, b.quantity_on_hand, b.cost_price, COALESCE(sold.units, 0) AS units_sold " +
+                "FROM " + s + "inventory_batches b " +
+                "LEFT JOIN (" + SellThroughSql.unitsSoldByProduct(schema) + ") sold ON sold.product_id = b.product_id " +
+                "WHERE b.active = true AND b.quantity_on_hand > 0 AND b.expiry_date >= :asOf " +
+                "AND b.product_id BETWEEN :firstId AND :lastId " +
+                "ORDER BY b.product_id, b.expiry_date, b.received_date";
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("firstId", firstId)
+                .addValue("lastId", lastId)
+                .addValue("asOf", Date.valueOf(asOf))
+                .addValue("soldSince", Timestamp.valueOf(asOf.minusDays(windowDays).atStartOfDay()));
+        
+        return readOnlyTransaction.execute(status -> {
+            ChunkResult result = new ChunkResult();
+            UUID[] currentProduct = new UUID[1];
+            double[] demandServed = new double[1];
+            jdbcTemplate.query(sql, params, rs -> {
+                UUID productId = rs.getObject("product_id", UUID.class);
+                if (!productId.equals(currentProduct[0])) {
+                    currentProduct[0] = productId;
+                    demandServed[0] = 0;
+                    result.products++;
+                }
+                LocalDate expiryDate = rs.getDate("expiry_date").toLocalDate();
+                int quantity = rs.getInt("quantity_on_hand");
+                BigDecimal costPrice = rs.getBigDecimal("cost_price");
+                double rate = (double) rs.getInt("units_sold") / windowDays;
+                
+                // Sellable through the expiry date itself; earlier-expiring batches of the product sell first
+                int daysToExpiry = (int) ChronoUnit.DAYS.between(asOf, expiryDate);
+                double demandUntilExpiry = rate * (daysToExpiry + 1);
+                int sold = (int) Math.min(quantity, Math.max(0, Math.floor(demandUntilExpiry - demandServed[0])));
+                demandServed[0] += sold;
+                int waste = quantity - sold;
+                
+                result.rows.add(new Object[]{
+                        rs.getObject("id", UUID.class),
+                        productId,
+                        null,
+                        Date.valueOf(expiryDate),
+                        daysToExpiry,
+                        quantity,
+                        BigDecimal.valueOf(rate).setScale(4, RoundingMode.HALF_UP),
+                        sold,
+                        waste,
+                        costPrice.multiply(BigDecimal.valueOf(waste)).setScale(2, RoundingMode.HALF_UP)
+                });
+            });
+            return result;
+        });
+    }
+    
+    private WasteRiskBatchResponse toResponse(WasteRiskForecast forecast) {
+        return WasteRiskBatchResponse.builder()
+                .inventoryBatchId(forecast.getInventoryBatchId())
+                .batchNumber(forecast.getInventoryBatch().getBatchNumber())
+                .productId(forecast.getProductId())
+                .productSku(forecast.getProduct().getSku())
+                .productName(forecast.getProduct().getName())
+                .expiryDate(forecast.getExpiryDate())
+                .daysToExpiry(forecast.getDaysToExpiry())
+                .quantityOnHand(forecast.getQuantityOnHand())
+                .dailySellThrough(forecast.getDailySellThrough())
+                .projectedSold(forecast.getProjectedSold())
+                .projectedWasteQuantity(forecast.getProjectedWasteQuantity())
+                .projectedWasteValue(forecast.getProjectedWasteValue())
+                .build();
+    }
+    
+    private static final class ChunkResult {
+        private final List<Object[]> rows = new ArrayList<>();
+        private int products;
+    }
+}
@@ -0,0 +1,3 @@
+-- POS catalog snapshot: cheap "has anything changed" check via MAX(updated_at)
+CREATE INDEX IF NOT EXISTS idx_products_updated_at ON products(updated_at);
+CREATE INDEX IF NOT EXISTS idx_inventory_batches_updated_at ON inventory_batches(updated_at);
@@ -0,0 +1,70 @@
+-- Delta sync: monotonically versioned change log for products, batches, suppliers and prices.
+-- Rows only identify what changed; readers load the current state (or emit a tombstone when the row
+-- is gone or deactivated), so repeated changes to one entity compact to a single delta.
+CREATE TABLE IF NOT EXISTS change_log (
+    version BIGSERIAL PRIMARY KEY,
+    entity_type VARCHAR(16) NOT NULL,
+    entity_id UUID NOT NULL,
+    -- Writing transaction: versions of still-running transactions are held back from readers
+    tx_id XID8 NOT NULL DEFAULT pg_current_xact_id(),
+    changed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Resumable pagination: version > :since [AND entity_type IN (...)] ORDER BY version LIMIT n
+CREATE INDEX IF NOT EXISTS idx_change_log_type_version ON change_log(entity_type, version);
+-- Watermark lookup: lowest version written by a transaction that may still be in flight
+CREATE INDEX IF NOT EXISTS idx_change_log_tx_id ON change_log(tx_id);
+
+CREATE OR REPLACE FUNCTION log_entity_change()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        INSERT INTO ${flyway:defaultSchema}.change_log (entity_type, entity_id) VALUES (TG_ARGV[0], OLD.id);
+        RETURN OLD;
+    END IF;
+    -- Ignore updates that only touched updated_at
+    IF TG_OP = 'UPDATE' AND (to_jsonb(NEW) - 'updated_at') = (to_jsonb(OLD) - 'updated_at') THEN
+        RETURN NEW;
+    END IF;
+    INSERT INTO ${flyway:defaultSchema}.change_log (entity_type, entity_id) VALUES (TG_ARGV[0], NEW.id);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION log_batch_price_change()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT'
+       OR NEW.selling_price IS DISTINCT FROM OLD.selling_price
+       OR NEW.cost_price IS DISTINCT FROM OLD.cost_price THEN
+        INSERT INTO ${flyway:defaultSchema}.change_log (entity_type, entity_id) VALUES ('PRICE', NEW.id);
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER log_products_change
+    AFTER INSERT OR UPDATE OR DELETE ON products
+    FOR EACH ROW
+    EXECUTE FUNCTION log_entity_change('PRODUCT');
+
+CREATE TRIGGER log_suppliers_change
+    AFTER INSERT OR UPDATE OR DELETE ON suppliers
+    FOR EACH ROW
+    EXECUTE FUNCTION log_entity_change('SUPPLIER');
+
+CREATE TRIGGER log_inventory_batches_change
+    AFTER INSERT OR UPDATE OR DELETE ON inventory_batches
+    FOR EACH ROW
+    EXECUTE FUNCTION log_entity_change('BATCH');
+
+CREATE TRIGGER log_inventory_batches_price_change
+    AFTER INSERT OR UPDATE ON inventory_batches
+    FOR EACH ROW
+    EXECUTE FUNCTION log_batch_price_change();
+
+-- Seed the log with the current rows so that since=0 returns the full data set
+INSERT INTO change_log (entity_type, entity_id) SELECT 'SUPPLIER', id FROM suppliers;
+INSERT INTO change_log (entity_type, entity_id) SELECT 'PRODUCT', id FROM products;
+INSERT INTO change_log (entity_type, entity_id) SELECT 'BATCH', id FROM inventory_batches;
+INSERT INTO change_log (entity_type, entity_id) SELECT 'PRICE', id FROM inventory_batches;
@@ -0,0 +1,19 @@
+-- Expiry waste-risk forecast: one row per active batch, rebuilt by the nightly forecaster
+-- projected_sold assumes the product keeps its recent sell-through rate and sells FEFO across its batches
+CREATE TABLE IF NOT EXISTS waste_risk_forecasts (
+    inventory_batch_id UUID PRIMARY KEY REFERENCES inventory_batches(id) ON DELETE CASCADE,
+    product_id UUID NOT NULL REFERENCES products(id) ON DELETE CASCADE,
+    computed_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    expiry_date DATE NOT NULL,
+    days_to_expiry INTEGER NOT NULL,
+    quantity_on_hand INTEGER NOT NULL,
+    daily_sell_through NUMERIC(12, 4) NOT NULL,
+    projected_sold INTEGER NOT NULL,
+    projected_waste_quantity INTEGER NOT NULL,
+    projected_waste_value NUMERIC(14, 2) NOT NULL
+);
+
+-- Served ordered by value at risk; batches without risk are kept for completeness but rarely read
+CREATE INDEX IF NOT EXISTS idx_waste_risk_forecasts_value ON waste_risk_forecasts(projected_waste_value DESC)
+    WHERE projected_waste_quantity > 0;
+CREATE INDEX IF NOT EXISTS idx_waste_risk_forecasts_product ON waste_risk_forecasts(product_id);
@@ -0,0 +1,30 @@
+-- Partial receiving: each delivery is a receipt; lines track how much of the ordered quantity has arrived
+ALTER TABLE purchase_order_lines ADD COLUMN IF NOT EXISTS received_quantity INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE purchase_order_lines ADD CONSTRAINT chk_purchase_order_lines_received
+    CHECK (received_quantity >= 0 AND received_quantity <= quantity);
+
+-- Orders already received in full before receipts existed
+UPDATE purchase_order_lines l
+SET received_quantity = l.quantity
+FROM purchase_orders po
+WHERE po.id = l.purchase_order_id
+  AND po.status = 'RECEIVED';
+
+-- receipt_key is chosen by the client when the receiving form is opened, so a repeated submit
+-- (double click, retry after timeout) returns the first receipt instead of receiving twice
+CREATE TABLE IF NOT EXISTS purchase_order_receipts (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    purchase_order_id UUID NOT NULL REFERENCES purchase_orders(id) ON DELETE CASCADE,
+    receipt_key VARCHAR(64),
+    received_by UUID,
+    received_date DATE NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE (purchase_order_id, receipt_key)
+);
+
+-- Batches created by a receipt point back to it and to the order line they came from
+ALTER TABLE inventory_batches ADD COLUMN IF NOT EXISTS purchase_order_receipt_id UUID REFERENCES purchase_order_receipts(id);
+ALTER TABLE inventory_batches ADD COLUMN IF NOT EXISTS purchase_order_line_id UUID REFERENCES purchase_order_lines(id);
+
+CREATE INDEX IF NOT EXISTS idx_inventory_batches_receipt ON inventory_batches(purchase_order_receipt_id)
+    WHERE purchase_order_receipt_id IS NOT NULL;
@@ -0,0 +1,19 @@
+-- Time-ordered UUIDv7 keys for the high-volume append tables (the application generates them with UuidV7Generator).
+-- The defaults only matter for rows inserted by SQL (bulk receiving, backfills); they follow the same layout:
+-- 48-bit epoch milliseconds, version 7, RFC 4122 variant, random remainder.
+CREATE OR REPLACE FUNCTION uuid_v7() RETURNS UUID AS $$
+    SELECT encode(
+        set_bit(
+            set_bit(
+                overlay(uuid_send(gen_random_uuid())
+                        PLACING substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::BIGINT) FROM 3)
+                        FROM 1 FOR 6),
+                52, 1),
+            53, 1),
+        'hex')::UUID;
+$$ LANGUAGE sql VOLATILE;
+
+ALTER TABLE inventory_batches ALTER COLUMN id SET DEFAULT uuid_v7();
+ALTER TABLE sale_transactions ALTER COLUMN id SET DEFAULT uuid_v7();
+ALTER TABLE sale_transaction_lines ALTER COLUMN id SET DEFAULT uuid_v7();
+ALTER TABLE IF EXISTS system_logs ALTER COLUMN id SET DEFAULT uuid_v7();
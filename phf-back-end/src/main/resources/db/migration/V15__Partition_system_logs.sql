@@ -0,0 +1,60 @@
+-- system_logs predates the migrations (older deployments created it from the entity); rebuild it range-partitioned
+-- by month of created_at. Monthly partitions are created ahead and dropped after the retention period by
+-- SystemLogPartitionJob; the default partition only catches rows outside every monthly range.
+DO $$
+BEGIN
+    IF to_regclass('system_logs') IS NOT NULL
+       AND NOT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('system_logs')) THEN
+        ALTER TABLE system_logs RENAME TO system_logs_legacy;
+    END IF;
+END $$;
+
+-- The partition key must be part of the primary key; ids stay unique (UUIDv7) and are indexed on their own
+CREATE TABLE IF NOT EXISTS system_logs (
+    id UUID NOT NULL DEFAULT uuid_v7(),
+    action VARCHAR(64) NOT NULL,
+    entity_type VARCHAR(64),
+    entity_id UUID,
+    user_id UUID,
+    user_name VARCHAR(128),
+    details VARCHAR(1000),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_system_logs PRIMARY KEY (created_at, id)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE IF NOT EXISTS system_logs_default PARTITION OF system_logs DEFAULT;
+
+-- Keyset listing: (created_at, id) < cursor ORDER BY created_at DESC, id DESC, after the equality filters
+CREATE INDEX IF NOT EXISTS idx_system_logs_id ON system_logs(id);
+CREATE INDEX IF NOT EXISTS idx_system_logs_action_created ON system_logs(action, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_system_logs_entity_type_created ON system_logs(entity_type, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_system_logs_entity_created ON system_logs(entity_type, entity_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_system_logs_user_created ON system_logs(user_id, created_at, id);
+
+-- Monthly partitions (UTC boundaries) from the oldest legacy row to three months ahead, then move the legacy rows
+DO $$
+DECLARE
+    partition_month DATE := date_trunc('month', CURRENT_DATE);
+    last_month DATE := date_trunc('month', CURRENT_DATE) + INTERVAL '3 months';
+BEGIN
+    IF to_regclass('system_logs_legacy') IS NOT NULL THEN
+        SELECT LEAST(partition_month, COALESCE(date_trunc('month', MIN(created_at) AT TIME ZONE 'UTC')::DATE, partition_month))
+        INTO partition_month
+        FROM system_logs_legacy;
+    END IF;
+    
+    WHILE partition_month <= last_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF system_logs FOR VALUES FROM (%L) TO (%L)',
+                       'system_logs_y' || to_char(partition_month, 'YYYY') || 'm' || to_char(partition_month, 'MM'),
+                       partition_month::TIMESTAMP AT TIME ZONE 'UTC',
+                       (partition_month + INTERVAL '1 month')::TIMESTAMP AT TIME ZONE 'UTC');
+        partition_month := partition_month + INTERVAL '1 month';
+    END LOOP;
+    
+    IF to_regclass('system_logs_legacy') IS NOT NULL THEN
+        INSERT INTO system_logs (id, action, entity_type, entity_id, user_id, user_name, details, created_at)
+        SELECT id, action, entity_type, entity_id, user_id, user_name, details, COALESCE(created_at, CURRENT_TIMESTAMP)
+        FROM system_logs_legacy;
+        DROP TABLE system_logs_legacy;
+    END IF;
+END $$;
@@ -0,0 +1,7 @@
+-- Batches inserted without a selling price (V3 sample data, rows written before the column existed) get the
+-- default 20% margin on cost, so the column can match the entity (nullable = false)
+UPDATE inventory_batches
+SET selling_price = ROUND(cost_price * 1.2, 2)
+WHERE selling_price IS NULL;
+
+ALTER TABLE inventory_batches ALTER COLUMN selling_price SET NOT NULL;
@@ -0,0 +1,4 @@
+-- Delta sync reads the change log in (tx_id, version) order, up to the oldest running transaction
+CREATE INDEX IF NOT EXISTS idx_change_log_tx_version ON change_log(tx_id, version);
+DROP INDEX IF EXISTS idx_change_log_tx_id;
+DROP INDEX IF EXISTS idx_change_log_type_version;
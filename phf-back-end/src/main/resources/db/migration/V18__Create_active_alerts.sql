@@ -0,0 +1,14 @@
+-- Alert conditions currently raised on the dashboard, one row per alert (not per recipient role)
+-- Kept apart from alert_notifications: a condition is raised once even while its digest cannot be delivered.
+CREATE TABLE IF NOT EXISTS active_alerts (
+    fingerprint VARCHAR(255) PRIMARY KEY,
+    alert_type VARCHAR(32) NOT NULL,
+    raised_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Conditions already notified were raised by earlier runs
+INSERT INTO active_alerts (fingerprint, alert_type, raised_at)
+SELECT substring(fingerprint FROM position('|' IN fingerprint) + 1), alert_type, MIN(sent_at)
+FROM alert_notifications
+GROUP BY 1, 2
+ON CONFLICT (fingerprint) DO NOTHING;
@@ -0,0 +1,6 @@
+-- Adjustments made to one batch (quantity edits, expired write-offs) point to it, so point-in-time stock can
+-- reverse them on the batch instead of only on the product total. Older rows stay product-level.
+ALTER TABLE inventory_adjustments ADD COLUMN IF NOT EXISTS inventory_batch_id UUID REFERENCES inventory_batches(id);
+
+CREATE INDEX IF NOT EXISTS idx_inventory_adjustments_batch ON inventory_adjustments(inventory_batch_id)
+    WHERE inventory_batch_id IS NOT NULL;
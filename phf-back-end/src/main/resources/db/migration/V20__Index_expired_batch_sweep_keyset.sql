@@ -0,0 +1,10 @@
+-- Expired batch sweep: the chunks walk candidates in id order (id > :after ORDER BY id LIMIT n FOR UPDATE).
+-- The V8 index was on expiry_date, so every chunk read all remaining expired rows and sorted them to take the
+-- first n. Indexing id lets each chunk read only its own rows in keyset order, so a run is linear in the
+-- number of candidates.
+CREATE INDEX IF NOT EXISTS idx_inventory_batches_active_id
+    ON inventory_batches(id)
+    WHERE active = true AND quantity_on_hand > 0;
+
+-- No other query filters on active AND quantity_on_hand > 0 by expiry date
+DROP INDEX IF EXISTS idx_inventory_batches_active_expiry;
@@ -0,0 +1,5 @@
+-- Reorder suggestions and the waste-risk forecast aggregate sales per product-id range; without this index each
+-- range re-read every line of the sales window through sale_transactions.sold_at. The transaction id makes the
+-- join to sale_transactions an index-only step on the lines side.
+CREATE INDEX IF NOT EXISTS idx_sale_transaction_lines_product
+    ON sale_transaction_lines(product_id, sale_transaction_id);
@@ -0,0 +1,12 @@
+-- Columns mapped by the entities (and used by V8 and the sample data) that V1 never created, so a new database could
+-- not migrate. Existing databases already have them: this runs out of order there and changes nothing.
+ALTER TABLE products ADD COLUMN IF NOT EXISTS dosage VARCHAR(128);
+ALTER TABLE products ADD COLUMN IF NOT EXISTS min_stock INTEGER;
+ALTER TABLE products ADD COLUMN IF NOT EXISTS active BOOLEAN NOT NULL DEFAULT true;
+
+ALTER TABLE suppliers ADD COLUMN IF NOT EXISTS notes VARCHAR(1000);
+ALTER TABLE suppliers ADD COLUMN IF NOT EXISTS active BOOLEAN NOT NULL DEFAULT true;
+
+-- NOT NULL is set by V16, after existing rows are backfilled
+ALTER TABLE inventory_batches ADD COLUMN IF NOT EXISTS selling_price NUMERIC(10, 2);
+ALTER TABLE inventory_batches ADD COLUMN IF NOT EXISTS active BOOLEAN NOT NULL DEFAULT true;
@@ -0,0 +1,24 @@
+-- Point-in-time inventory: periodic checkpoints of batch quantities
+-- "Stock as of date" is computed from the nearest checkpoint taken after the requested instant
+-- and rolled back with the movements in between, so the work is bounded by the checkpoint interval.
+CREATE TABLE IF NOT EXISTS inventory_snapshots (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    taken_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    batch_count INTEGER NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS inventory_snapshot_lines (
+    snapshot_id UUID NOT NULL REFERENCES inventory_snapshots(id) ON DELETE CASCADE,
+    inventory_batch_id UUID NOT NULL REFERENCES inventory_batches(id),
+    product_id UUID NOT NULL REFERENCES products(id),
+    quantity_on_hand INTEGER NOT NULL,
+    PRIMARY KEY (snapshot_id, inventory_batch_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_inventory_snapshots_taken_at ON inventory_snapshots(taken_at);
+
+-- Movement lookups between the requested instant and the checkpoint
+CREATE INDEX IF NOT EXISTS idx_sale_transactions_created_at ON sale_transactions(created_at);
+CREATE INDEX IF NOT EXISTS idx_sale_transaction_lines_transaction ON sale_transaction_lines(sale_transaction_id);
+CREATE INDEX IF NOT EXISTS idx_inventory_adjustments_created_at ON inventory_adjustments(created_at);
+CREATE INDEX IF NOT EXISTS idx_inventory_batches_created_at ON inventory_batches(created_at);
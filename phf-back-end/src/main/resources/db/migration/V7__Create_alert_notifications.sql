@@ -0,0 +1,10 @@
+-- Alert digest: fingerprints of alerts already emailed, one row per (recipient role, alert)
+-- Rows are removed once the alert condition clears so a recurrence is notified again.
+CREATE TABLE IF NOT EXISTS alert_notifications (
+    fingerprint VARCHAR(255) PRIMARY KEY,
+    recipient_role VARCHAR(32) NOT NULL,
+    alert_type VARCHAR(32) NOT NULL,
+    sent_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_alert_notifications_role ON alert_notifications(recipient_role);
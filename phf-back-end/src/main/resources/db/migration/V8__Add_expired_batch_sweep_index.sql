@@ -0,0 +1,4 @@
+-- Expired batch sweep: only active, non-empty batches are candidates, so keep the index small
+CREATE INDEX IF NOT EXISTS idx_inventory_batches_active_expiry
+    ON inventory_batches(expiry_date)
+    WHERE active = true AND quantity_on_hand > 0;
@@ -0,0 +1,11 @@
+-- Inventory valuation per supplier: remember which supplier a batch was received from
+ALTER TABLE inventory_batches ADD COLUMN IF NOT EXISTS supplier_id UUID REFERENCES suppliers(id);
+
+-- Backfill batches created from purchase orders (batch number = <order_code>-L<line_number>)
+UPDATE inventory_batches b
+SET supplier_id = po.supplier_id
+FROM purchase_orders po
+WHERE b.supplier_id IS NULL
+  AND b.batch_number LIKE po.order_code || '-L%';
+
+CREATE INDEX IF NOT EXISTS idx_inventory_batches_supplier ON inventory_batches(supplier_id);
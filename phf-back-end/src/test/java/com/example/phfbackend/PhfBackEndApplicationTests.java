@@ -2,8 +2,12 @@ package com.example.phfbackend;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static com.example.phfbackend.embedded.EmbeddedDatabaseEnvironmentPostProcessor.PROFILE;
 
 @SpringBootTest
+@ActiveProfiles(PROFILE)
 class PhfBackEndApplicationTests {
 
     @Test
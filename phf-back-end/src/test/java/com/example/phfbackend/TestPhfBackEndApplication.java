@@ -0,0 +1,24 @@
+package com.example.phfbackend;
+
+import com.example.phfbackend.embedded.EmbeddedDatabaseEnvironmentPostProcessor;
+import org.springframework.boot.SpringApplication;
+
+/**
+ * Runs the application on the embedded PostgreSQL, without network or Docker:
+ * ./mvnw spring-boot:test-run
+ *
+ * The database listens on localhost:15432 (user postgres, password postgres, database postgres) and keeps its
+ * data in target/embedded-db between runs, so a dataset loaded with -Pdatagen survives restarts.
+ * Override with -Dspring-boot.run.arguments=--embedded-db.port=... (or --embedded-db.data-dir=...); ./mvnw clean
+ * starts from an empty database.
+ */
+public class TestPhfBackEndApplication {
+    
+    public static void main(String[] args) {
+        System.getProperties().putIfAbsent("embedded-db.port", "15432");
+        System.getProperties().putIfAbsent("embedded-db.data-dir", "target/embedded-db");
+        SpringApplication.from(PhfBackEndApplication::main)
+                .withAdditionalProfiles(EmbeddedDatabaseEnvironmentPostProcessor.PROFILE)
+                .run(args);
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.phfbackend.benchmark;
+
+import com.example.phfbackend.entities.inventory.InventoryBatch;
+import com.example.phfbackend.entities.product.Product;
+import com.example.phfbackend.entities.product.ProductCategory;
+import com.example.phfbackend.entities.sale.PaymentMethod;
+import com.example.phfbackend.entities.sale.SaleTransaction;
+import com.example.phfbackend.entities.sale.SaleTransactionLine;
+import com.example.phfbackend.entities.user.PharmacyUser;
+import com.example.phfbackend.entities.user.UserRole;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Deterministic in-memory fixtures for the domain benchmarks (same seed, same data on every run, so results can be
+ * compared against the checked-in baseline), and interface stubs for services and repositories.
+ */
+final class BenchmarkData {
+    
+    static final long SEED = 42L;
+    // Dates are relative to today: the POS mapping filters expired batches against LocalDate.now()
+    static final LocalDate TODAY = LocalDate.now();
+    
+    private static final String[] INGREDIENTS = {
+            "Paracetamol", "Ibuprofen", "Amoxicillin", "Omeprazole", "Metformin", "Amlodipine", "Cetirizine",
+            "Loratadine", "Vitamin C", "Azithromycin", "Losartan", "Atorvastatin", "Salbutamol", "Diclofenac"
+    };
+    private static final String[] FORMS = {"Tablet", "Capsule", "Syrup", "Cream", "Injection"};
+    private static final String[] STRENGTHS = {"5mg", "10mg", "250mg", "500mg", "1g"};
+    
+    private BenchmarkData() {
+    }
+    
+    static List<Product> products(int count) {
+        Random random = new Random(SEED);
+        ProductCategory[] categories = ProductCategory.values();
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String ingredient = INGREDIENTS[random.nextInt(INGREDIENTS.length)];
+            String strength = STRENGTHS[random.nextInt(STRENGTHS.length)];
+            products.add(Product.newBuilder()
+                    .id(new UUID(SEED, i))
+                    .sku(String.format("SKU-%06d", i))
+                    .name(ingredient + " " + strength + " #" + i)
+                    .activeIngredient(ingredient)
+                    .dosageForm(FORMS[random.nextInt(FORMS.length)])
+                    .dosageStrength(strength)
+                    .category(categories[random.nextInt(categories.length)])
+                    .dosage("1 x 2 / day")
+                    // About one product in ten is deactivated
+                    .active(random.nextInt(10) != 0)
+                    .build());
+        }
+        return products;
+    }
+    
+    static List<InventoryBatch> batches(List<Product> products, int perProduct) {
+        Random random = new Random(SEED + 1);
+        List<InventoryBatch> batches = new ArrayList<>(products.size() * perProduct);
+        long sequence = 0;
+        for (Product product : products) {
+            for (int i = 0; i < perProduct; i++) {
+                BigDecimal cost = BigDecimal.valueOf(1_000 + random.nextInt(200_000), 2);
+                // Received at least 60 days ago, so even the expired batches expired after receipt
+                LocalDate received = TODAY.minusDays(60 + random.nextInt(305));
+                // Expiry spread from already expired to three years ahead
+                LocalDate expiry = TODAY.plusDays(random.nextInt(1_125) - 60);
+                batches.add(InventoryBatch.newBuilder()
+                        .id(new UUID(SEED + 1, sequence++))
+                        .product(product)
+                        .batchNumber("B" + sequence)
+                        .quantityOnHand(1 + random.nextInt(500))
+                        .costPrice(cost)
+                        .sellingPrice(cost.multiply(new BigDecimal("1.2")).setScale(2, RoundingMode.HALF_UP))
+                        .receivedDate(received)
+                        .expiryDate(expiry)
+                        .active(random.nextInt(20) != 0)
+                        .build());
+            }
+        }
+        return batches;
+    }
+    
+    static PharmacyUser cashier() {
+        return PharmacyUser.newBuilder()
+                .id(new UUID(SEED + 2, 0))
+                .fullName("Benchmark Cashier")
+                .email("cashier@example.com")
+                .passwordHash("x")
+                .role(UserRole.SALES_STAFF)
+                .build();
+    }
+    
+    static SaleTransaction sale(List<InventoryBatch> batches, int lines, boolean discount) {
+        Random random = new Random(SEED + 3);
+        SaleTransaction sale = SaleTransaction.newBuilder()
+                .id(new UUID(SEED + 3, lines))
+                .receiptNumber("REC-BENCH-" + lines)
+                .soldAt(OffsetDateTime.of(2025, 6, 1, 10, 0, 0, 0, ZoneOffset.UTC))
+                .cashier(cashier())
+                .totalDiscount(discount ? new BigDecimal("12500.00") : null)
+                .paymentMethod(PaymentMethod.CASH)
+                .build();
+        for (int i = 0; i < lines; i++) {
+            InventoryBatch batch = batches.get(random.nextInt(batches.size()));
+            sale.addLine(SaleTransactionLine.newBuilder()
+                    .id(new UUID(SEED + 4, i))
+                    .product(batch.getProduct())
+                    .inventoryBatch(batch)
+                    .quantity(1 + random.nextInt(5))
+                    .unitPrice(batch.getSellingPrice())
+                    .build());
+        }
+        return sale;
+    }
+    
+    /**
+     * The mapper Spring Boot configures for controllers (ISO dates, java.time support).
+     */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+    
+    /**
+     * Stub of an interface: listed methods answer from the map (by name), any other call fails.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + " stub";
+                };
+            }
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not stubbed");
+        });
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.phfbackend.benchmark;
+
+import com.example.phfbackend.service.impl.CartReservationServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reservation path under concurrent tills: 6 tills reserving while 2 threads read POS availability.
+ * hotBatches = 1: every till scans the same last units of one product (worst-case contention on one stripe).
+ * stripes = 1 behaves like a single global lock, as a baseline for the striped table.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CartReservationBenchmark {
+    
+    @Param({"1", "64"})
+    public int stripes;
+    
+    @Param({"1", "256"})
+    public int hotBatches;
+    
+    private CartReservationServiceImpl reservations;
+    private UUID[] batchIds;
+    
+    @Setup(Level.Iteration)
+    public void setUp() {
+        reservations = new CartReservationServiceImpl(600, stripes);
+        batchIds = new UUID[hotBatches];
+        for (int i = 0; i < hotBatches; i++) {
+            batchIds[i] = UUID.randomUUID();
+        }
+    }
+    
+    @State(Scope.Thread)
+    public static class Till {
+        private static final AtomicInteger TILLS = new AtomicInteger();
+        private final String cartId = "till-" + TILLS.incrementAndGet();
+    }
+    
+    /**
+     * Scan (reserve), adjust quantity, then abandon the line: the typical write path of one cart line.
+     */
+    @Benchmark
+    @Group("tills")
+    @GroupThreads(6)
+    public void reserveAndRelease(Till till, Blackhole blackhole) {
+        UUID batchId = batchIds[ThreadLocalRandom.current().nextInt(batchIds.length)];
+        blackhole.consume(reservations.reserve(till.cartId, batchId, 2, 1_000_000));
+        blackhole.consume(reservations.reserve(till.cartId, batchId, 0, 1_000_000));
+    }
+    
+    /**
+     * Availability as the POS search computes it while other tills are reserving.
+     */
+    @Benchmark
+    @Group("tills")
+    @GroupThreads(2)
+    public int availability() {
+        UUID batchId = batchIds[ThreadLocalRandom.current().nextInt(batchIds.length)];
+        return reservations.getReservedQuantity(batchId, null);
+    }
+}
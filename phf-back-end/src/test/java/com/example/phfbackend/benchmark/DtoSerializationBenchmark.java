@@ -0,0 +1,121 @@
+package com.example.phfbackend.benchmark;
+
+import com.example.phfbackend.controller.SaleTransactionController;
+import com.example.phfbackend.dto.response.InventoryBatchResponse;
+import com.example.phfbackend.dto.response.POSProductResponse;
+import com.example.phfbackend.dto.response.SaleTransactionResponse;
+import com.example.phfbackend.entities.inventory.InventoryBatch;
+import com.example.phfbackend.entities.product.Product;
+import com.example.phfbackend.entities.sale.SaleTransaction;
+import com.example.phfbackend.service.SaleTransactionService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON bodies of the large list endpoints, written with the ObjectMapper configuration Spring Boot gives the
+ * controllers: POS catalogue (UC44), inventory batches (UC31) and receipts (sale history, 1-20 lines each).
+ * Bytes are produced, not a String, as the message converter does.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoSerializationBenchmark {
+    
+    @Param({"1000", "10000"})
+    public int size;
+    
+    private ObjectWriter writer;
+    private List<POSProductResponse> posProducts;
+    private List<InventoryBatchResponse> batches;
+    private List<SaleTransactionResponse> receipts;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        writer = BenchmarkData.objectMapper().writer();
+        OffsetDateTime timestamp = OffsetDateTime.of(2025, 6, 1, 8, 0, 0, 0, ZoneOffset.UTC);
+        List<Product> products = BenchmarkData.products(size);
+        List<InventoryBatch> inventory = BenchmarkData.batches(products, 1);
+        
+        posProducts = new ArrayList<>(size);
+        batches = new ArrayList<>(size);
+        for (InventoryBatch batch : inventory) {
+            Product product = batch.getProduct();
+            posProducts.add(POSProductResponse.builder()
+                    .id(product.getId())
+                    .sku(product.getSku())
+                    .name(product.getName())
+                    .activeIngredient(product.getActiveIngredient())
+                    .dosageForm(product.getDosageForm())
+                    .dosageStrength(product.getDosageStrength())
+                    .dosage(product.getDosage())
+                    .sellingPrice(batch.getSellingPrice())
+                    .stockQuantity(batch.getQuantityOnHand())
+                    .available(true)
+                    .build());
+            batches.add(InventoryBatchResponse.builder()
+                    .id(batch.getId())
+                    .productId(product.getId())
+                    .productName(product.getName())
+                    .productSku(product.getSku())
+                    .batchNumber(batch.getBatchNumber())
+                    .quantityOnHand(batch.getQuantityOnHand())
+                    .costPrice(batch.getCostPrice())
+                    .sellingPrice(batch.getSellingPrice())
+                    .receivedDate(batch.getReceivedDate())
+                    .expiryDate(batch.getExpiryDate())
+                    .active(batch.isActive())
+                    .createdAt(timestamp)
+                    .updatedAt(timestamp)
+                    .build());
+        }
+        
+        // Receipts come from the controller mapping, so the graph is exactly what GET /api/sales returns
+        SaleTransaction[] current = new SaleTransaction[1];
+        SaleTransactionService saleTransactionService = BenchmarkData.stub(SaleTransactionService.class, Map.of(
+                "findById", args -> Optional.of(current[0])));
+        SaleTransactionController controller = new SaleTransactionController(saleTransactionService, null, null, null, null);
+        receipts = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            current[0] = BenchmarkData.sale(inventory, 1 + i % 20, i % 3 == 0);
+            receipts.add(controller.getSaleTransaction(current[0].getId()).getBody());
+        }
+    }
+    
+    @Benchmark
+    public byte[] posProducts() throws JsonProcessingException {
+        return writer.writeValueAsBytes(posProducts);
+    }
+    
+    @Benchmark
+    public byte[] inventoryBatches() throws JsonProcessingException {
+        return writer.writeValueAsBytes(batches);
+    }
+    
+    @Benchmark
+    public byte[] receipts() throws JsonProcessingException {
+        return writer.writeValueAsBytes(receipts);
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.phfbackend.benchmark;
+
+import com.example.phfbackend.entities.product.Product;
+import com.example.phfbackend.entities.product.ProductCategory;
+import com.example.phfbackend.service.impl.EntityChangeAuditListener;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-path cost of EntityChangeAuditListener.
+ * updateProducts: one transaction updating {@code products} products against in-memory H2, with the listener
+ * registered or not (entries go to a counting writer). End to end, so the gap is within H2 noise on a busy machine.
+ * captureUpdate: the listener's work on the committing thread for one product update (state copy, hand-off to the
+ * entity-audit thread, which formats the diff). Budget: under 5 µs per audited change.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityAuditBenchmark {
+    
+    @State(Scope.Benchmark)
+    public static class Updates {
+        @Param({"false", "true"})
+        public boolean audited;
+        
+        @Param({"100"})
+        public int products;
+        
+        private SessionFactory sessionFactory;
+        private EntityChangeAuditListener listener;
+        private final LongAdder recorded = new LongAdder();
+        private List<UUID> productIds;
+        private int round;
+        
+        @Setup(Level.Trial)
+        public void setUp() {
+            ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME))
+                    .setLevel(ch.qos.logback.classic.Level.WARN);
+            StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                    .applySetting(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:entity_audit_" + audited + ";DB_CLOSE_DELAY=-1")
+                    .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                    .applySetting(AvailableSettings.PHYSICAL_NAMING_STRATEGY, CamelCaseToUnderscoresNamingStrategy.class.getName())
+                    .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, 50)
+                    .build();
+            sessionFactory = new MetadataSources(registry)
+                    .addAnnotatedClass(Product.class)
+                    .buildMetadata()
+                    .buildSessionFactory();
+            if (audited) {
+                listener = new EntityChangeAuditListener(entry -> recorded.increment(),
+                        List.of("Product"), List.of("createdAt", "updatedAt"), List.of(), 4096);
+                EventListenerRegistry listeners = sessionFactory.unwrap(SessionFactoryImplementor.class)
+                        .getServiceRegistry()
+                        .requireService(EventListenerRegistry.class);
+                listeners.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+                listeners.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+                listeners.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+            }
+        
+            productIds = new ArrayList<>(products);
+            sessionFactory.inTransaction(session -> {
+                for (int i = 0; i < products; i++) {
+                    Product product = Product.newBuilder()
+                            .sku("AUDIT-" + i)
+                            .name("Product " + i)
+                            .activeIngredient("Ingredient")
+                            .dosageForm("Tablet")
+                            .dosageStrength("500mg")
+                            .category(ProductCategory.OTHER)
+                            .build();
+                    session.persist(product);
+                    productIds.add(product.getId());
+                }
+            });
+        }
+        
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            if (listener != null) {
+                listener.shutdown();
+            }
+            sessionFactory.close();
+        }
+    }
+    
+    @State(Scope.Benchmark)
+    public static class Capture {
+        private SessionFactory sessionFactory;
+        private Session session;
+        private EntityChangeAuditListener listener;
+        private PostUpdateEvent event;
+        
+        @Setup(Level.Trial)
+        public void setUp() {
+            StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                    .applySetting(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:entity_audit_capture;DB_CLOSE_DELAY=-1")
+                    .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                    .applySetting(AvailableSettings.PHYSICAL_NAMING_STRATEGY, CamelCaseToUnderscoresNamingStrategy.class.getName())
+                    .build();
+            sessionFactory = new MetadataSources(registry)
+                    .addAnnotatedClass(Product.class)
+                    .buildMetadata()
+                    .buildSessionFactory();
+            listener = new EntityChangeAuditListener(entry -> { }, List.of("Product"), List.of("createdAt", "updatedAt"), List.of(), 4096);
+            
+            Product product = Product.newBuilder()
+                    .sku("CAPTURE")
+                    .name("Product")
+                    .activeIngredient("Ingredient")
+                    .dosageForm("Tablet")
+                    .dosageStrength("500mg")
+                    .category(ProductCategory.OTHER)
+                    .minStock(10)
+                    .build();
+            session = sessionFactory.openSession();
+            EntityPersister persister = sessionFactory.unwrap(SessionFactoryImplementor.class)
+                    .getMappingMetamodel()
+                    .getEntityDescriptor(Product.class);
+            Object[] oldState = persister.getValues(product);
+            product.updateMinStock(20);
+            Object[] newState = persister.getValues(product);
+            event = new PostUpdateEvent(product, UUID.randomUUID(), newState, oldState, null, persister, session.unwrap(EventSource.class));
+        }
+        
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            listener.shutdown();
+            session.close();
+            sessionFactory.close();
+        }
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void captureUpdate(Capture capture) {
+        capture.listener.onPostUpdate(capture.event);
+    }
+    
+    @Benchmark
+    public int updateProducts(Updates updates) {
+        int current = ++updates.round;
+        updates.sessionFactory.inTransaction(session -> {
+            for (Product product : session.byMultipleIds(Product.class).multiLoad(updates.productIds)) {
+                product.updateMinStock(current);
+            }
+        });
+        return current;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.phfbackend.benchmark;
+
+import com.example.phfbackend.dto.ProductFilterCriteria;
+import com.example.phfbackend.entities.inventory.InventoryBatch;
+import com.example.phfbackend.entities.product.Product;
+import com.example.phfbackend.entities.product.ProductCategory;
+import com.example.phfbackend.pattern.strategy.BooleanFilterStrategy;
+import com.example.phfbackend.pattern.strategy.DateRangeFilterStrategy;
+import com.example.phfbackend.pattern.strategy.EnumFilterStrategy;
+import com.example.phfbackend.pattern.strategy.FilterChain;
+import com.example.phfbackend.pattern.strategy.MultiFieldSearchFilterStrategy;
+import com.example.phfbackend.pattern.strategy.SearchTermFilterStrategy;
+import com.example.phfbackend.pattern.strategy.UUIDFilterStrategy;
+import com.example.phfbackend.repository.ProductRepository;
+import com.example.phfbackend.service.impl.ProductServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory filtering as the list endpoints do it: the whole table is loaded, then narrowed by a FilterChain.
+ * One chain per FilterStrategy over inventory batches (the entity with a field of every kind), plus
+ * ProductServiceImpl.filterProducts itself (search + category + active). The chain is built inside the
+ * measurement, as it is per request. Cost grows with the table, not with the result, which is the point
+ * of comparing the two sizes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FilterChainBenchmark {
+    
+    public enum Strategy {
+        SEARCH_TERM, MULTI_FIELD_SEARCH, ENUM, BOOLEAN, UUID, DATE_RANGE, PRODUCT_FILTERS
+    }
+    
+    @Param({"1000", "20000"})
+    public int rows;
+    
+    @Param
+    public Strategy strategy;
+    
+    private List<InventoryBatch> batches;
+    private UUID productId;
+    private ProductServiceImpl productService;
+    private ProductFilterCriteria productCriteria;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Product> products = BenchmarkData.products(rows / 4);
+        batches = BenchmarkData.batches(products, 4);
+        productId = products.get(products.size() / 2).getId();
+        
+        List<Product> allProducts = BenchmarkData.products(rows);
+        ProductRepository repository = BenchmarkData.stub(ProductRepository.class, Map.of("findAll", args -> allProducts));
+        productService = new ProductServiceImpl(repository, null);
+        productCriteria = ProductFilterCriteria.builder()
+                .searchTerm("para")
+                .category(ProductCategory.OVER_THE_COUNTER)
+                .active(true)
+                .build();
+    }
+    
+    @Benchmark
+    public int filter() {
+        if (strategy == Strategy.PRODUCT_FILTERS) {
+            // GET /api/products?searchTerm=para&category=OVER_THE_COUNTER&active=true
+            return productService.filterProducts(productCriteria).size();
+        }
+        FilterChain<InventoryBatch> chain = new FilterChain<>();
+        switch (strategy) {
+            case SEARCH_TERM -> chain.addStrategy(new SearchTermFilterStrategy<>("B1", InventoryBatch::getBatchNumber));
+            case MULTI_FIELD_SEARCH -> chain.addStrategy(new MultiFieldSearchFilterStrategy<>("amox", List.of(
+                    InventoryBatch::getBatchNumber,
+                    batch -> batch.getProduct().getName())));
+            case ENUM -> chain.addStrategy(new EnumFilterStrategy<>(ProductCategory.PRESCRIPTION,
+                    batch -> batch.getProduct().getCategory()));
+            case BOOLEAN -> chain.addStrategy(new BooleanFilterStrategy<>(true, InventoryBatch::isActive));
+            case UUID -> chain.addStrategy(new UUIDFilterStrategy<>(productId, batch -> batch.getProduct().getId()));
+            case DATE_RANGE -> chain.addStrategy(new DateRangeFilterStrategy<>(BenchmarkData.TODAY,
+                    BenchmarkData.TODAY.plusDays(90), InventoryBatch::getExpiryDate));
+            default -> throw new IllegalStateException("Unhandled strategy " + strategy);
+        }
+        return chain.applyToList(batches.stream()).size();
+    }
+}
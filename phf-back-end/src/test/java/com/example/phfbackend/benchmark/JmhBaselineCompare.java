@@ -0,0 +1,144 @@
+package com.example.phfbackend.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Compares a JMH JSON result with the checked-in baseline (benchmarks/jmh-baseline.json), benchmark by benchmark
+ * and parameter set by parameter set: score and, when run with -prof gc, allocated bytes per operation.
+ * A score is a regression only when it is worse by more than the tolerance and its 99.9% confidence interval does
+ * not overlap the baseline's (JMH scoreConfidence); a worse score inside the noise is only marked with "~".
+ * More bytes per operation by more than the tolerance is a regression; with failOnRegression the process exits
+ * with status 1.
+ * Entries present in only one of the files never fail the comparison.
+ *
+ * Arguments: baseline.json result.json [tolerancePercent] [failOnRegression]
+ */
+public final class JmhBaselineCompare {
+    
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+    
+    private JmhBaselineCompare() {
+    }
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: JmhBaselineCompare baseline.json result.json [tolerancePercent] [failOnRegression]");
+        }
+        File baselineFile = new File(args[0]);
+        File resultFile = new File(args[1]);
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        boolean failOnRegression = args.length > 3 && Boolean.parseBoolean(args[3]);
+        if (!resultFile.isFile()) {
+            throw new IllegalStateException("No JMH result at " + resultFile + "; run the benchmarks first");
+        }
+        if (!baselineFile.isFile()) {
+            System.out.println("No baseline at " + baselineFile + "; copy " + resultFile + " there to create one");
+            return;
+        }
+        
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = index(mapper.readTree(baselineFile));
+        Map<String, JsonNode> current = index(mapper.readTree(resultFile));
+        
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %8s %12s %12s %8s%n",
+                "Benchmark", "Baseline", "Current", "Delta", "Base B/op", "Curr B/op", "Delta");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f  (new, not in baseline)%n",
+                        entry.getKey(), "-", score(after));
+                continue;
+            }
+            
+            // Throughput: higher is better; average/sample/single-shot time: lower is better
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            double scoreDelta = percent(score(before), score(after));
+            boolean worse = higherIsBetter ? scoreDelta < -tolerance : scoreDelta > tolerance;
+            // Intervals with NaN bounds (a single iteration) never count as separated
+            boolean separated = higherIsBetter
+                    ? confidence(after, 1) < confidence(before, 0)
+                    : confidence(after, 0) > confidence(before, 1);
+            boolean slower = worse && separated;
+            
+            Double allocationBefore = allocation(before);
+            Double allocationAfter = allocation(after);
+            Double allocationDelta = allocationBefore != null && allocationAfter != null
+                    ? percent(allocationBefore, allocationAfter) : null;
+            // A few bytes per op of noise on near-zero allocation is not a regression
+            boolean allocatesMore = allocationDelta != null && allocationDelta > tolerance
+                    && allocationAfter - allocationBefore > 16;
+            
+            if (slower || allocatesMore) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+7.1f%% %12s %12s %8s%s%n",
+                    entry.getKey(), score(before), score(after), scoreDelta,
+                    format(allocationBefore), format(allocationAfter),
+                    allocationDelta == null ? "-" : String.format("%+.1f%%", allocationDelta),
+                    slower || allocatesMore ? "  REGRESSION" : worse ? "  ~ (within error)" : "");
+        }
+        long notRun = baseline.keySet().stream().filter(key -> !current.containsKey(key)).count();
+        if (notRun > 0) {
+            System.out.printf("%d baseline entries not run (-Djmh.include selects a subset)%n", notRun);
+        }
+        System.out.printf("%d regression(s) beyond %.1f%% and outside the score error (scores in the unit of each benchmark)%n",
+                regressions, tolerance);
+        if (regressions > 0 && failOnRegression) {
+            System.exit(1);
+        }
+    }
+    
+    /**
+     * Key: benchmark method plus its parameters, e.g. FilterChainBenchmark.filter{rows=1000, strategy=ENUM}
+     */
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> indexed = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            String benchmark = result.path("benchmark").asText()
+                    .replace("com.example.phfbackend.benchmark.", "");
+            StringBuilder key = new StringBuilder(benchmark);
+            JsonNode params = result.path("params");
+            if (params.isObject() && params.size() > 0) {
+                StringJoiner joined = new StringJoiner(", ", "{", "}");
+                for (Map.Entry<String, JsonNode> param : params.properties()) {
+                    joined.add(param.getKey() + "=" + param.getValue().asText());
+                }
+                key.append(joined);
+            }
+            indexed.put(key.toString(), result);
+        }
+        return indexed;
+    }
+    
+    private static double score(JsonNode result) {
+        return result.path("primaryMetric").path("score").asDouble();
+    }
+    
+    // Lower (0) or upper (1) bound of the score's confidence interval
+    private static double confidence(JsonNode result, int bound) {
+        JsonNode interval = result.path("primaryMetric").path("scoreConfidence");
+        return interval.size() == 2 ? interval.get(bound).asDouble(Double.NaN) : Double.NaN;
+    }
+    
+    private static Double allocation(JsonNode result) {
+        JsonNode metric = result.path("secondaryMetrics").path(ALLOCATION);
+        return metric.isMissingNode() ? null : metric.path("score").asDouble();
+    }
+    
+    private static double percent(double before, double after) {
+        return before == 0 ? 0 : (after - before) * 100.0 / before;
+    }
+    
+    private static String format(Double bytes) {
+        return bytes == null ? "-" : String.format("%.0f", bytes);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.phfbackend.benchmark;
+
+import com.example.phfbackend.controller.POSController;
+import com.example.phfbackend.dto.response.POSProductResponse;
+import com.example.phfbackend.entities.inventory.InventoryBatch;
+import com.example.phfbackend.entities.product.Product;
+import com.example.phfbackend.service.InventoryBatchService;
+import com.example.phfbackend.service.ProductService;
+import com.example.phfbackend.service.impl.CartReservationServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * POSController.toPOSResponse (active, in-stock, not expired batches, reserved units, FEFO price) through the real
+ * controller, with services answering from memory so only the mapping is measured.
+ * search maps every product of the catalogue (UC44 with a broad term), barcode maps one (UC45).
+ * Every 10th batch has units held by an open cart.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PosMappingBenchmark {
+    
+    @Param({"1000", "10000"})
+    public int products;
+    
+    @Param({"4"})
+    public int batchesPerProduct;
+    
+    private POSController controller;
+    private String barcode;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Product> catalogue = BenchmarkData.products(products);
+        List<InventoryBatch> batches = BenchmarkData.batches(catalogue, batchesPerProduct);
+        Map<UUID, List<InventoryBatch>> batchesByProduct = batches.stream()
+                .collect(Collectors.groupingBy(batch -> batch.getProduct().getId()));
+        Map<String, Product> bySku = catalogue.stream()
+                .collect(Collectors.toMap(Product::getSku, product -> product));
+        
+        CartReservationServiceImpl reservations = new CartReservationServiceImpl(600, 64);
+        for (int i = 0; i < batches.size(); i += 10) {
+            reservations.reserve("bench-cart", batches.get(i).getId(), 1, Integer.MAX_VALUE);
+        }
+        
+        ProductService productService = BenchmarkData.stub(ProductService.class, Map.of(
+                "search", args -> catalogue,
+                "findBySku", args -> Optional.ofNullable(bySku.get((String) args[0]))));
+        InventoryBatchService inventoryBatchService = BenchmarkData.stub(InventoryBatchService.class, Map.of(
+                "findByProductId", args -> batchesByProduct.getOrDefault((UUID) args[0], List.of())));
+        controller = new POSController(productService, inventoryBatchService, reservations, null);
+        barcode = catalogue.get(catalogue.size() / 2).getSku();
+    }
+    
+    @Benchmark
+    public List<POSProductResponse> search() {
+        return controller.searchProductsForPOS("a").getBody();
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public POSProductResponse barcode() {
+        return controller.getProductByBarcode(barcode).getBody();
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.phfbackend.benchmark;
+
+import com.example.phfbackend.entities.product.Product;
+import com.example.phfbackend.entities.product.ProductCategory;
+import com.example.phfbackend.entities.purchase.PurchaseOrder;
+import com.example.phfbackend.entities.purchase.PurchaseOrderLine;
+import com.example.phfbackend.entities.purchase.PurchaseOrderStatus;
+import com.example.phfbackend.entities.supplier.ContactInfo;
+import com.example.phfbackend.entities.supplier.Supplier;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creating one large supplier order against in-memory H2, as PurchaseOrderFacade does it.
+ * perLineLookup is the former path (one product lookup per line, then a linear search of the loaded list per line);
+ * batchedLookup resolves every product with one IN query and a map. batchSize = 1 disables JDBC batching of
+ * the line inserts, 50 matches hibernate.jdbc.batch_size in application.yml.
+ * Each invocation flushes then rolls back, so the tables do not grow between iterations.
+ * H2 runs in-process, so the time gap is far smaller than against PostgreSQL; compare the statementsPerOrder
+ * counter (JDBC statements prepared per order; a batched insert is prepared once and sent every batchSize lines).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PurchaseOrderCreationBenchmark {
+    
+    @Param({"300", "1000"})
+    public int lines;
+    
+    @Param({"1", "50"})
+    public int batchSize;
+    
+    private SessionFactory sessionFactory;
+    private UUID supplierId;
+    private List<UUID> productIds;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        // No Spring logging config here: keep Hibernate's per-statement debug output out of the measurement
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME))
+                .setLevel(ch.qos.logback.classic.Level.WARN);
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:po_creation_" + lines + "_" + batchSize + ";DB_CLOSE_DELAY=-1")
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .applySetting(AvailableSettings.PHYSICAL_NAMING_STRATEGY, CamelCaseToUnderscoresNamingStrategy.class.getName())
+                .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize)
+                .applySetting(AvailableSettings.ORDER_INSERTS, true)
+                .applySetting(AvailableSettings.GENERATE_STATISTICS, true)
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(Product.class)
+                .addAnnotatedClass(Supplier.class)
+                .addAnnotatedClass(PurchaseOrder.class)
+                .addAnnotatedClass(PurchaseOrderLine.class)
+                .buildMetadata()
+                .buildSessionFactory();
+        
+        productIds = new ArrayList<>(lines);
+        sessionFactory.inTransaction(session -> {
+            Supplier supplier = Supplier.newBuilder()
+                    .name("Benchmark Supplier")
+                    .contact(ContactInfo.newBuilder().name("Contact").email("supplier@example.com").build())
+                    .build();
+            session.persist(supplier);
+            supplierId = supplier.getId();
+            for (int i = 0; i < lines; i++) {
+                Product product = Product.newBuilder()
+                        .sku("BENCH-" + i)
+                        .name("Product " + i)
+                        .activeIngredient("Ingredient")
+                        .dosageForm("Tablet")
+                        .dosageStrength("500mg")
+                        .category(ProductCategory.OTHER)
+                        .build();
+                session.persist(product);
+                productIds.add(product.getId());
+            }
+        });
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+    
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RoundTrips {
+        public long statementsPerOrder;
+    }
+    
+    @Benchmark
+    public int perLineLookup(RoundTrips roundTrips) {
+        return createOrder(roundTrips, (session, order) -> {
+            List<Product> products = new ArrayList<>(productIds.size());
+            for (UUID productId : productIds) {
+                products.add(session.find(Product.class, productId));
+            }
+            for (UUID productId : productIds) {
+                Product product = products.stream()
+                        .filter(p -> p.getId().equals(productId))
+                        .findFirst()
+                        .orElseThrow();
+                order.addLine(line(product));
+            }
+        });
+    }
+    
+    @Benchmark
+    public int batchedLookup(RoundTrips roundTrips) {
+        return createOrder(roundTrips, (session, order) -> {
+            Map<UUID, Product> products = session.createQuery("SELECT p FROM Product p WHERE p.id IN :ids", Product.class)
+                    .setParameter("ids", productIds)
+                    .getResultList()
+                    .stream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity()));
+            for (UUID productId : productIds) {
+                order.addLine(line(products.get(productId)));
+            }
+        });
+    }
+    
+    private int createOrder(RoundTrips roundTrips, LineBuilder lineBuilder) {
+        long statementsBefore = sessionFactory.getStatistics().getPrepareStatementCount();
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            PurchaseOrder order = PurchaseOrder.newBuilder()
+                    .orderCode("PO-BENCH")
+                    .supplier(session.getReference(Supplier.class, supplierId))
+                    .status(PurchaseOrderStatus.DRAFT)
+                    .orderDate(LocalDate.now())
+                    .build();
+            lineBuilder.addLines(session, order);
+            session.persist(order);
+            session.flush();
+            session.getTransaction().rollback();
+            roundTrips.statementsPerOrder = sessionFactory.getStatistics().getPrepareStatementCount() - statementsBefore;
+            return order.getLineItems().size();
+        }
+    }
+    
+    private PurchaseOrderLine line(Product product) {
+        return PurchaseOrderLine.newBuilder()
+                .product(product)
+                .quantity(10)
+                .unitCost(new BigDecimal("1.50"))
+                .build();
+    }
+    
+    @FunctionalInterface
+    private interface LineBuilder {
+        void addLines(Session session, PurchaseOrder order);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.phfbackend.benchmark;
+
+import com.example.phfbackend.entities.purchase.PurchaseOrder;
+import com.example.phfbackend.entities.purchase.PurchaseOrderStatus;
+import com.example.phfbackend.entities.supplier.ContactInfo;
+import com.example.phfbackend.entities.supplier.Supplier;
+import com.example.phfbackend.pattern.state.PurchaseOrderState;
+import com.example.phfbackend.pattern.state.PurchaseOrderStateFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Purchase order transitions through PurchaseOrderStateFactory, as PurchaseOrderServiceImpl drives them
+ * (state lookup per step, then the transition on the entity). Each invocation starts from a new DRAFT order.
+ * rejectedTransition is the cost of a refused request: the state throws IllegalStateException with a stack trace.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PurchaseOrderStateBenchmark {
+    
+    private Supplier supplier;
+    private LocalDate expectedDate;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        supplier = Supplier.newBuilder()
+                .id(new UUID(BenchmarkData.SEED + 5, 0))
+                .name("Benchmark Supplier")
+                .contact(ContactInfo.of("Benchmark", "supplier@example.com", "0900000000", "Ho Chi Minh City"))
+                .build();
+        expectedDate = BenchmarkData.TODAY.plusDays(7);
+    }
+    
+    private PurchaseOrder draft() {
+        return PurchaseOrder.newBuilder()
+                .orderCode("PO-BENCH")
+                .supplier(supplier)
+                .status(PurchaseOrderStatus.DRAFT)
+                .orderDate(BenchmarkData.TODAY)
+                .build();
+    }
+    
+    private static PurchaseOrderState stateOf(PurchaseOrder order) {
+        return PurchaseOrderStateFactory.getState(order.getStatus());
+    }
+    
+    /**
+     * DRAFT -> ORDERED -> RECEIVED
+     */
+    @Benchmark
+    public PurchaseOrder orderAndReceive() {
+        PurchaseOrder order = draft();
+        order = stateOf(order).markOrdered(order, expectedDate);
+        return stateOf(order).markReceived(order);
+    }
+    
+    /**
+     * DRAFT -> ORDERED -> CANCELLED
+     */
+    @Benchmark
+    public PurchaseOrder orderAndCancel() {
+        PurchaseOrder order = draft();
+        order = stateOf(order).markOrdered(order, expectedDate);
+        return stateOf(order).cancel(order);
+    }
+    
+    /**
+     * DRAFT -> RECEIVED, refused by DraftState
+     */
+    @Benchmark
+    public String rejectedTransition() {
+        PurchaseOrder order = draft();
+        try {
+            stateOf(order).markReceived(order);
+            throw new AssertionError("DRAFT -> RECEIVED must be refused");
+        } catch (IllegalStateException e) {
+            return e.getMessage();
+        }
+    }
+}
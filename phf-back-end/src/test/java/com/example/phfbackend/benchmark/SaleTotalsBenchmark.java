@@ -0,0 +1,71 @@
+package com.example.phfbackend.benchmark;
+
+import com.example.phfbackend.controller.SaleTransactionController;
+import com.example.phfbackend.dto.response.SaleTransactionResponse;
+import com.example.phfbackend.entities.product.Product;
+import com.example.phfbackend.entities.sale.SaleTransaction;
+import com.example.phfbackend.service.SaleTransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sale totals: SaleTransaction.calculateTotalAmount, and the receipt mapping of SaleTransactionController, which
+ * spreads totalDiscount over the lines in proportion to their totals (the only discount allocation in the backend).
+ * The allocation recomputes the sale total for every line, so receipt cost grows with lines squared; compare
+ * lines = 20 (a large counter sale) with 200 to see it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SaleTotalsBenchmark {
+    
+    @Param({"1", "20", "200"})
+    public int lines;
+    
+    @Param({"false", "true"})
+    public boolean discount;
+    
+    private SaleTransaction sale;
+    private SaleTransactionController controller;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Product> products = BenchmarkData.products(500);
+        sale = BenchmarkData.sale(BenchmarkData.batches(products, 2), lines, discount);
+        SaleTransactionService saleTransactionService = BenchmarkData.stub(SaleTransactionService.class, Map.of(
+                "findById", args -> Optional.of(sale)));
+        controller = new SaleTransactionController(saleTransactionService, null, null, null, null);
+    }
+    
+    @Benchmark
+    public BigDecimal totalAmount() {
+        return sale.calculateTotalAmount();
+    }
+    
+    /**
+     * GET /api/sales/{id}: line totals, discount allocation and the response graph.
+     */
+    @Benchmark
+    public SaleTransactionResponse receipt() {
+        return controller.getSaleTransaction(sale.getId()).getBody();
+    }
+}
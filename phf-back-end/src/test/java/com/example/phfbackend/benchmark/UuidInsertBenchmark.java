@@ -0,0 +1,145 @@
+package com.example.phfbackend.benchmark;
+
+import com.example.phfbackend.embedded.EmbeddedDatabase;
+import com.example.phfbackend.entities.shared.UuidV7Generator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserting millions of rows shaped like system_logs into PostgreSQL, keyed by random v4 or time-ordered v7 UUIDs.
+ * Needs a real database (H2 does not reproduce B-tree page splits): BENCHMARK_JDBC_URL, BENCHMARK_JDBC_USER,
+ * BENCHMARK_JDBC_PASSWORD environment variables, or the embedded PostgreSQL when BENCHMARK_JDBC_URL is not set
+ * (fsync off, so compare v4 against v7 on the same setup only). The table is recreated in schema phf_benchmark
+ * for each run.
+ *
+ * The score is the time to insert all rows (batches of {@code batchSize}, one commit per batch). At the end of
+ * the run the primary key size, the leaf density (pgstatindex, when the pgstattuple extension can be created)
+ * and the p50 / p99 batch latency are printed: v4 keys split random leaf pages, leaving them about half full,
+ * v7 keys append to the rightmost leaf.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UuidInsertBenchmark {
+    
+    private static final String TABLE = "phf_benchmark.uuid_insert";
+    
+    @Param({"v4", "v7"})
+    public String idVersion;
+    
+    @Param({"1000000", "5000000"})
+    public int rows;
+    
+    @Param({"1000"})
+    public int batchSize;
+    
+    private Connection connection;
+    private long[] batchNanos;
+    
+    @Setup(Level.Iteration)
+    public void setUp() throws SQLException {
+        String url = System.getenv("BENCHMARK_JDBC_URL");
+        if (url == null || url.isBlank()) {
+            connection = DriverManager.getConnection(EmbeddedDatabase.jdbcUrl(), EmbeddedDatabase.USER, EmbeddedDatabase.PASSWORD);
+        } else {
+            connection = DriverManager.getConnection(url, System.getenv("BENCHMARK_JDBC_USER"), System.getenv("BENCHMARK_JDBC_PASSWORD"));
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA IF NOT EXISTS phf_benchmark");
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+            statement.execute("CREATE TABLE " + TABLE + " (" +
+                    "id UUID PRIMARY KEY, " +
+                    "action VARCHAR(100) NOT NULL, " +
+                    "entity_type VARCHAR(100), " +
+                    "entity_id UUID, " +
+                    "details TEXT, " +
+                    "created_at TIMESTAMPTZ NOT NULL DEFAULT NOW())");
+        }
+        connection.setAutoCommit(false);
+        batchNanos = new long[(rows + batchSize - 1) / batchSize];
+    }
+    
+    @Benchmark
+    public int insert() throws SQLException {
+        boolean timeOrdered = "v7".equals(idVersion);
+        UUID entityId = UUID.randomUUID();
+        int inserted = 0;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + TABLE + " (id, action, entity_type, entity_id, details) VALUES (?, ?, ?, ?, ?)")) {
+            for (int batch = 0; inserted < rows; batch++) {
+                long start = System.nanoTime();
+                int end = Math.min(rows, inserted + batchSize);
+                for (; inserted < end; inserted++) {
+                    insert.setObject(1, timeOrdered ? UuidV7Generator.next() : UUID.randomUUID());
+                    insert.setString(2, "SALE_CREATED");
+                    insert.setString(3, "SaleTransaction");
+                    insert.setObject(4, entityId);
+                    insert.setString(5, "Benchmark row " + inserted);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                connection.commit();
+                batchNanos[batch] = System.nanoTime() - start;
+            }
+        }
+        return inserted;
+    }
+    
+    @TearDown(Level.Iteration)
+    public void report() throws SQLException {
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            long indexBytes = single(statement, "SELECT pg_relation_size('" + TABLE + "_pkey')");
+            long tableBytes = single(statement, "SELECT pg_relation_size('" + TABLE + "')");
+            String leafDensity;
+            try {
+                statement.execute("CREATE EXTENSION IF NOT EXISTS pgstattuple");
+                try (ResultSet rs = statement.executeQuery("SELECT avg_leaf_density FROM pgstatindex('" + TABLE + "_pkey')")) {
+                    rs.next();
+                    leafDensity = rs.getDouble(1) + "%";
+                }
+            } catch (SQLException e) {
+                leafDensity = "n/a (" + e.getMessage() + ")";
+            }
+            long[] sorted = batchNanos.clone();
+            Arrays.sort(sorted);
+            System.out.printf("%n[%s, %d rows] pkey %d MB, table %d MB, leaf density %s, batch p50 %.2f ms, p99 %.2f ms%n",
+                    idVersion, rows, indexBytes >> 20, tableBytes >> 20, leafDensity,
+                    sorted[sorted.length / 2] / 1e6, sorted[(int) (sorted.length * 0.99)] / 1e6);
+            statement.execute("DROP TABLE " + TABLE);
+        } finally {
+            connection.close();
+        }
+    }
+    
+    private long single(Statement statement, String sql) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
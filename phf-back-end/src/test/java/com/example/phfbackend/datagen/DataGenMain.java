@@ -0,0 +1,163 @@
+package com.example.phfbackend.datagen;
+
+import java.io.Reader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Bulk-loads a synthetic dataset into a migrated database (COPY on PostgreSQL, batched INSERTs elsewhere):
+ * mvn -Pdatagen test -Ddatagen.preset=datagen/small.properties -Ddatagen.url=jdbc:postgresql://localhost:5432/phf
+ *
+ * Arguments: preset file (optional). Settings come from the preset and are overridden by -Ddatagen.<key>:
+ * url, user, password, schema (connection); truncate=true empties the data tables first (localhost only unless
+ * allowRemote=true); fast=true skips triggers and FK checks during the load (PostgreSQL superuser) and backfills
+ * change_log afterwards; plus the volumes read by {@link DatasetSpec}.
+ */
+public final class DataGenMain {
+    
+    // In load order (referenced tables first); TRUNCATE ... CASCADE also empties the tables that reference these (adjustments, alerts, ...)
+    private static final List<String> DATA_TABLES = List.of(
+            "pharmacy_users", "suppliers", "products", "supplier_products", "purchase_orders", "purchase_order_lines",
+            "inventory_batches", "sale_transactions", "sale_transaction_lines");
+    private static final Set<String> LOCAL_HOSTS = Set.of("localhost", "127.0.0.1", "::1", "[::1]");
+    
+    private DataGenMain() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Properties settings = new Properties();
+        if (args.length > 0 && !args[0].isBlank()) {
+            try (Reader reader = Files.newBufferedReader(Path.of(args[0]), StandardCharsets.UTF_8)) {
+                settings.load(reader);
+            }
+        }
+        for (String name : System.getProperties().stringPropertyNames()) {
+            String value = System.getProperty(name);
+            if (name.startsWith("datagen.") && !value.isBlank()) {
+                settings.setProperty(name.substring("datagen.".length()), value);
+            }
+        }
+        DatasetSpec spec = DatasetSpec.from(settings);
+        String url = settings.getProperty("url", "jdbc:postgresql://localhost:5432/phf");
+        boolean truncate = Boolean.parseBoolean(settings.getProperty("truncate", "false"));
+        boolean fast = Boolean.parseBoolean(settings.getProperty("fast", "false"));
+        if (truncate && !isLocal(url) && !Boolean.parseBoolean(settings.getProperty("allowRemote", "false"))) {
+            throw new IllegalArgumentException("Refusing to truncate a remote database (" + url + "); set allowRemote=true");
+        }
+        
+        System.out.printf("Dataset: %s%nTarget: %s%n", spec, url);
+        long started = System.nanoTime();
+        SyntheticDataset dataset = new SyntheticDataset(spec);
+        System.out.printf("Catalogue built in %.1f s%n", (System.nanoTime() - started) / 1e9);
+        
+        try (Connection connection = DriverManager.getConnection(url,
+                settings.getProperty("user", "phf"), settings.getProperty("password", "phf"))) {
+            connection.setSchema(settings.getProperty("schema", "phf"));
+            connection.setAutoCommit(false);
+            boolean postgres = connection.getMetaData().getDatabaseProductName().equals("PostgreSQL");
+            if (truncate) {
+                truncate(connection, postgres);
+            } else {
+                requireNoGeneratedData(connection);
+            }
+            if (fast) {
+                if (!postgres) {
+                    throw new IllegalArgumentException("fast=true needs PostgreSQL (session_replication_role)");
+                }
+                execute(connection, "SET session_replication_role = replica");
+            }
+            
+            load(connection, "pharmacy_users", dataset::writeUsers);
+            load(connection, "suppliers", dataset::writeSuppliers);
+            load(connection, "products", dataset::writeProducts);
+            load(connection, "supplier_products", dataset::writeSupplierProducts);
+            load(connection, "purchase_orders", dataset::writePurchaseOrders);
+            load(connection, "purchase_order_lines", dataset::writePurchaseOrderLines);
+            load(connection, "inventory_batches", dataset::writeBatches);
+            load(connection, "sale_transactions", dataset::writeSales);
+            load(connection, "sale_transaction_lines", dataset::writeSaleLines);
+            
+            if (fast) {
+                execute(connection, "SET session_replication_role = origin");
+                backfillChangeLog(connection);
+            }
+            if (postgres) {
+                connection.setAutoCommit(true);
+                for (String table : DATA_TABLES) {
+                    execute(connection, "ANALYZE " + table);
+                }
+            }
+        }
+        System.out.printf("Done in %.1f s%n", (System.nanoTime() - started) / 1e9);
+    }
+    
+    private static void load(Connection connection, String table, TableLoad load) throws SQLException {
+        long started = System.nanoTime();
+        long rows = load.write(connection);
+        connection.commit();
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("%-24s %,12d rows %8.1f s %,12.0f rows/s%n", table, rows, seconds, rows / Math.max(seconds, 1e-3));
+    }
+    
+    private static void truncate(Connection connection, boolean postgres) throws SQLException {
+        if (postgres) {
+            execute(connection, "TRUNCATE TABLE " + String.join(", ", DATA_TABLES) + ", change_log CASCADE");
+        } else {
+            for (int i = DATA_TABLES.size() - 1; i >= 0; i--) {
+                execute(connection, "DELETE FROM " + DATA_TABLES.get(i));
+            }
+        }
+        connection.commit();
+    }
+    
+    private static void requireNoGeneratedData(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT COUNT(*) FROM products WHERE sku LIKE '" + SyntheticDataset.PREFIX + "%'")) {
+            rs.next();
+            if (rs.getLong(1) > 0) {
+                throw new IllegalStateException("The database already holds a generated dataset; rerun with truncate=true");
+            }
+        }
+    }
+    
+    // What the V11 change_log triggers would have written for the new rows
+    private static void backfillChangeLog(Connection connection) throws SQLException {
+        String prefix = "'" + SyntheticDataset.PREFIX + "%'";
+        execute(connection, "INSERT INTO change_log (entity_type, entity_id) SELECT 'SUPPLIER', id FROM suppliers WHERE name LIKE " + prefix);
+        execute(connection, "INSERT INTO change_log (entity_type, entity_id) SELECT 'PRODUCT', id FROM products WHERE sku LIKE " + prefix);
+        execute(connection, "INSERT INTO change_log (entity_type, entity_id) SELECT 'BATCH', id FROM inventory_batches WHERE batch_number LIKE " + prefix);
+        execute(connection, "INSERT INTO change_log (entity_type, entity_id) SELECT 'PRICE', id FROM inventory_batches WHERE batch_number LIKE " + prefix);
+        connection.commit();
+    }
+    
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+    
+    private static boolean isLocal(String url) {
+        if (!url.startsWith("jdbc:postgresql:")) {
+            // Embedded and in-memory databases (H2 and the like)
+            return !url.contains("://");
+        }
+        String host = URI.create(url.substring("jdbc:".length())).getHost();
+        return host == null || LOCAL_HOSTS.contains(host);
+    }
+    
+    @FunctionalInterface
+    private interface TableLoad {
+        long write(Connection connection) throws SQLException;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.phfbackend.datagen;
+
+import java.time.LocalDate;
+import java.util.Properties;
+
+/**
+ * Volumes and shape of a synthetic dataset (preset file keys, overridable with -Ddatagen.<key>). The same spec,
+ * seed and asOf included, always produces the same rows. asOf defaults to today; pin it (asOf=2025-06-01) to
+ * reproduce a dataset exactly on another day, since expiry dates and sale history are laid out relative to it.
+ */
+final class DatasetSpec {
+    
+    final long seed;
+    final LocalDate asOf;
+    final int historyDays;
+    final int users;
+    final int suppliers;
+    final int products;
+    final int batches;
+    final int sales;
+    final double linesPerSale;
+    final int purchaseOrders;
+    final double zipfExponent;
+    
+    private DatasetSpec(long seed, LocalDate asOf, int historyDays, int users, int suppliers, int products, int batches,
+                        int sales, double linesPerSale, int purchaseOrders, double zipfExponent) {
+        this.seed = seed;
+        this.asOf = asOf;
+        this.historyDays = historyDays;
+        this.users = users;
+        this.suppliers = suppliers;
+        this.products = products;
+        this.batches = batches;
+        this.sales = sales;
+        this.linesPerSale = linesPerSale;
+        this.purchaseOrders = purchaseOrders;
+        this.zipfExponent = zipfExponent;
+        if (users < 5) {
+            throw new IllegalArgumentException("users must be at least 5 (owner, pharmacists, sales staff)");
+        }
+        if (products < 1 || suppliers < 1 || historyDays < 1) {
+            throw new IllegalArgumentException("products, suppliers and historyDays must be positive");
+        }
+        if (batches < products) {
+            throw new IllegalArgumentException("batches must be at least products (one batch per product)");
+        }
+        if (linesPerSale < 1 || linesPerSale > 20) {
+            throw new IllegalArgumentException("linesPerSale must be between 1 and 20");
+        }
+    }
+    
+    static DatasetSpec from(Properties settings) {
+        String asOf = settings.getProperty("asOf", "");
+        return new DatasetSpec(
+                Long.parseLong(settings.getProperty("seed", "42")),
+                asOf.isBlank() ? LocalDate.now() : LocalDate.parse(asOf),
+                Integer.parseInt(settings.getProperty("historyDays", "365")),
+                Integer.parseInt(settings.getProperty("users", "40")),
+                Integer.parseInt(settings.getProperty("suppliers", "300")),
+                Integer.parseInt(settings.getProperty("products", "50000")),
+                Integer.parseInt(settings.getProperty("batches", "500000")),
+                Integer.parseInt(settings.getProperty("sales", "2000000")),
+                Double.parseDouble(settings.getProperty("linesPerSale", "2.5")),
+                Integer.parseInt(settings.getProperty("purchaseOrders", "5000")),
+                Double.parseDouble(settings.getProperty("zipfExponent", "1.07")));
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("seed %d, as of %s, %d days of history: %d users, %d suppliers, %d products, %d batches, "
+                        + "%d sales (%.1f lines on average, Zipf %.2f), %d purchase orders",
+                seed, asOf, historyDays, users, suppliers, products, batches, sales, linesPerSale, zipfExponent, purchaseOrders);
+    }
+}
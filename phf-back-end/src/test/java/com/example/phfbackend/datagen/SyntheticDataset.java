@@ -0,0 +1,684 @@
+package com.example.phfbackend.datagen;
+
+import com.example.phfbackend.entities.product.ProductCategory;
+import com.example.phfbackend.entities.purchase.PurchaseOrderStatus;
+import com.example.phfbackend.entities.sale.PaymentMethod;
+import com.example.phfbackend.entities.user.UserRole;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * A synthetic pharmacy: the catalogue (users, suppliers, products, batches) is built in memory, purchase orders
+ * and sales are regenerated from their seed on every pass so that millions of rows never sit in memory.
+ * Every section draws from its own Random (seed + section), so changing one volume leaves the other sections'
+ * values alone.
+ * <p>
+ * Product index = popularity rank: SKU GEN-000001 is the best seller, and sales pick products by Zipf over that
+ * rank. Generated rows are recognisable by the GEN- prefix (SKU, batch number, order code, receipt number) and
+ * by the .gen.test e-mail domains, so they never clash with the V3 sample data.
+ */
+final class SyntheticDataset {
+    
+    static final String PREFIX = "GEN-";
+    static final String USER_EMAIL_DOMAIN = "@staff.gen.test";
+    static final String SUPPLIER_EMAIL_DOMAIN = "@supplier.gen.test";
+    // Same bcrypt hash as the V3 sample users ("password")
+    private static final String PASSWORD_HASH = "$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy";
+    private static final ZoneOffset ZONE = ZoneOffset.ofHours(7);
+    private static final DateTimeFormatter RECEIPT_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final int MAX_LINES_PER_SALE = 20;
+    
+    private static final String[] INGREDIENTS = {
+            "Paracetamol", "Ibuprofen", "Amoxicillin", "Omeprazole", "Metformin", "Amlodipine", "Cetirizine",
+            "Loratadine", "Vitamin C", "Azithromycin", "Losartan", "Atorvastatin", "Salbutamol", "Diclofenac",
+            "Cefuroxime", "Clarithromycin", "Esomeprazole", "Pantoprazole", "Gliclazide", "Bisoprolol", "Enalapril",
+            "Simvastatin", "Rosuvastatin", "Domperidone", "Loperamide", "Fexofenadine", "Desloratadine", "Prednisolone",
+            "Methylprednisolone", "Aciclovir", "Fluconazole", "Metronidazole", "Ciprofloxacin", "Levofloxacin",
+            "Acetylcysteine", "Ambroxol", "Dextromethorphan", "Calcium carbonate", "Magnesium B6", "Zinc gluconate",
+            "Vitamin D3", "Folic acid", "Iron fumarate", "Meloxicam", "Celecoxib", "Clopidogrel", "Aspirin"
+    };
+    private static final String[] BRANDS = {
+            "Hapharco", "Domesco", "Traphaco", "Imexpharm", "Pymepharco", "Stada", "Mekophar", "OPV", "Boston",
+            "DHG", "Savipharm", "Agimexpharm", "Vidipha", "Medisun", "Bidiphar", "Nadyphar", "Tipharco", "Glomed"
+    };
+    // Dosage form, selection weight, shelf life in days, typical strengths, directions
+    private static final String[] FORMS = {"Tablet", "Capsule", "Syrup", "Cream", "Injection", "Drops", "Powder"};
+    private static final int[] FORM_WEIGHTS = {40, 25, 10, 8, 7, 5, 5};
+    private static final int[] FORM_SHELF_DAYS = {1095, 1095, 540, 730, 730, 365, 730};
+    private static final String[][] FORM_STRENGTHS = {
+            {"5mg", "10mg", "20mg", "50mg", "250mg", "500mg"},
+            {"20mg", "40mg", "250mg", "500mg"},
+            {"60ml", "100ml", "125mg/5ml"},
+            {"10g", "15g", "30g"},
+            {"1ml", "2ml", "5ml"},
+            {"5ml", "10ml"},
+            {"3g", "5g", "10g"}
+    };
+    private static final String[] FORM_DOSAGE = {
+            "1 viên x 2 lần/ngày", "1 viên x 2 lần/ngày", "5ml x 3 lần/ngày", "Bôi 2 lần/ngày",
+            "Theo chỉ định bác sĩ", "1-2 giọt x 3 lần/ngày", "1 gói x 2 lần/ngày"
+    };
+    private static final String[] FAMILY_NAMES = {"Nguyễn", "Trần", "Lê", "Phạm", "Hoàng", "Huỳnh", "Phan", "Vũ", "Võ", "Đặng"};
+    private static final String[] MIDDLE_NAMES = {"Văn", "Thị", "Minh", "Ngọc", "Thanh", "Đức", "Hoài", "Quốc"};
+    private static final String[] GIVEN_NAMES = {"An", "Bình", "Châu", "Dũng", "Hà", "Hải", "Hạnh", "Hùng", "Lan", "Linh",
+            "Long", "Mai", "Nam", "Phương", "Quân", "Sơn", "Tâm", "Thảo", "Trang", "Tuấn", "Vy", "Yến"};
+    private static final String[] SUPPLIER_KINDS = {"Dược phẩm", "Thiết bị y tế", "Dược liệu", "Phân phối dược"};
+    private static final String[] CITIES = {"Hà Nội", "TP. Hồ Chí Minh", "Đà Nẵng", "Cần Thơ", "Hải Phòng", "Huế", "Bình Dương"};
+    // Hourly traffic 07:00-21:59: morning and after-work peaks
+    private static final int[] HOUR_WEIGHTS = {3, 7, 8, 7, 7, 6, 4, 4, 5, 6, 8, 9, 9, 7, 4};
+    private static final int FIRST_HOUR = 7;
+    // CASH, CARD, BANK_TRANSFER, MOBILE_PAYMENT
+    private static final int[] PAYMENT_WEIGHTS = {55, 20, 15, 10};
+    // Monday..Sunday
+    private static final double[] WEEKDAY_FACTORS = {1.10, 1.0, 1.0, 1.0, 1.05, 1.25, 1.15};
+    
+    private final DatasetSpec spec;
+    private final LocalDate historyStart;
+    private final ZipfSampler popularity;
+    
+    private UUID[] userIds;
+    private int[] cashiers;
+    private UUID[] supplierIds;
+    private int[][] supplierProducts;
+    private UUID[] productIds;
+    private int[] productForm;
+    private ProductCategory[] productCategory;
+    private long[] productCostCents;
+    private int[][] productSuppliers;
+    // Batches grouped by product (product k owns [firstBatch[k], firstBatch[k + 1])), ordered by received date
+    private int[] firstBatch;
+    private UUID[] batchIds;
+    private int[] batchReceived;
+    private int[] batchExpiry;
+    private long[] batchCostCents;
+    private long[] batchPriceCents;
+    
+    SyntheticDataset(DatasetSpec spec) {
+        this.spec = spec;
+        this.historyStart = spec.asOf.minusDays(spec.historyDays);
+        this.popularity = new ZipfSampler(spec.products, spec.zipfExponent);
+        buildUsers(random(1));
+        buildSuppliers(random(2));
+        buildProducts(random(3));
+        buildBatches(random(4));
+    }
+    
+    private Random random(int section) {
+        return new Random(spec.seed * 1_000_003L + section);
+    }
+    
+    private void buildUsers(Random random) {
+        userIds = new UUID[spec.users];
+        List<Integer> cashierList = new ArrayList<>();
+        for (int i = 0; i < spec.users; i++) {
+            userIds[i] = uuidV7(millis(historyStart.minusDays(30)), random);
+            if (role(i) != UserRole.OWNER) {
+                cashierList.add(i);
+            }
+        }
+        cashiers = cashierList.stream().mapToInt(Integer::intValue).toArray();
+    }
+    
+    // One owner, about one pharmacist in ten (at least one), everyone else sales staff
+    private UserRole role(int user) {
+        if (user == 0) {
+            return UserRole.OWNER;
+        }
+        return user <= Math.max(1, spec.users / 10) ? UserRole.PHARMACIST : UserRole.SALES_STAFF;
+    }
+    
+    private void buildSuppliers(Random random) {
+        supplierIds = new UUID[spec.suppliers];
+        for (int i = 0; i < spec.suppliers; i++) {
+            supplierIds[i] = uuidV7(millis(historyStart.minusDays(60)), random);
+        }
+    }
+    
+    private void buildProducts(Random random) {
+        int n = spec.products;
+        productIds = new UUID[n];
+        productForm = new int[n];
+        productCategory = new ProductCategory[n];
+        productCostCents = new long[n];
+        productSuppliers = new int[n][];
+        int[] supplierCounts = new int[spec.suppliers];
+        for (int k = 0; k < n; k++) {
+            productIds[k] = uuidV7(millis(historyStart.minusDays(60)), random);
+            productForm[k] = weighted(FORM_WEIGHTS, random);
+            int category = random.nextInt(10);
+            productCategory[k] = category < 4 ? ProductCategory.PRESCRIPTION
+                    : category < 9 ? ProductCategory.OVER_THE_COUNTER : ProductCategory.OTHER;
+            // Log-normal cost around 15,000 VND, from 500 VND to 2,000,000 VND, in whole hundreds
+            double cost = Math.exp(Math.log(15_000) + random.nextGaussian());
+            productCostCents[k] = Math.round(Math.min(2_000_000, Math.max(500, cost)) / 100) * 100 * 100;
+            int supplierCount = Math.min(spec.suppliers, 1 + random.nextInt(3));
+            productSuppliers[k] = distinct(spec.suppliers, supplierCount, random);
+            for (int s : productSuppliers[k]) {
+                supplierCounts[s]++;
+            }
+        }
+        // Every supplier carries at least one product, so each can receive purchase orders
+        for (int s = 0; s < spec.suppliers; s++) {
+            if (supplierCounts[s] == 0) {
+                int k = s % n;
+                productSuppliers[k] = Arrays.copyOf(productSuppliers[k], productSuppliers[k].length + 1);
+                productSuppliers[k][productSuppliers[k].length - 1] = s;
+                supplierCounts[s]++;
+            }
+        }
+        supplierProducts = new int[spec.suppliers][];
+        for (int s = 0; s < spec.suppliers; s++) {
+            supplierProducts[s] = new int[supplierCounts[s]];
+            supplierCounts[s] = 0;
+        }
+        for (int k = 0; k < n; k++) {
+            for (int s : productSuppliers[k]) {
+                supplierProducts[s][supplierCounts[s]++] = k;
+            }
+        }
+    }
+    
+    private void buildBatches(Random random) {
+        int[] counts = batchCounts();
+        firstBatch = new int[spec.products + 1];
+        for (int k = 0; k < spec.products; k++) {
+            firstBatch[k + 1] = firstBatch[k] + counts[k];
+        }
+        batchIds = new UUID[spec.batches];
+        batchReceived = new int[spec.batches];
+        batchExpiry = new int[spec.batches];
+        batchCostCents = new long[spec.batches];
+        batchPriceCents = new long[spec.batches];
+        // Receipts start 60 days before the history so the first days of sales have stock
+        long start = historyStart.minusDays(60).toEpochDay();
+        long span = spec.asOf.toEpochDay() - start;
+        for (int k = 0; k < spec.products; k++) {
+            int m = counts[k];
+            for (int i = 0; i < m; i++) {
+                int b = firstBatch[k] + i;
+                int received = (int) (start + (long) ((i + random.nextDouble()) * span / m));
+                int shelfDays = FORM_SHELF_DAYS[productForm[k]];
+                // Mostly 40-100% of the shelf life left on arrival; 3% clearance stock with 15-120 days left
+                int remaining = random.nextInt(100) < 3
+                        ? 15 + random.nextInt(105)
+                        : (int) (shelfDays * (0.4 + 0.6 * random.nextDouble()));
+                batchReceived[b] = received;
+                batchExpiry[b] = received + remaining;
+                batchIds[b] = uuidV7(millis(LocalDate.ofEpochDay(received)), random);
+                batchCostCents[b] = roundHundreds(productCostCents[k] * (0.9 + 0.2 * random.nextDouble()));
+                batchPriceCents[b] = roundHundreds(batchCostCents[b] * (1.2 + 0.3 * random.nextDouble()));
+            }
+        }
+    }
+    
+    /**
+     * One batch per product, the rest shared out by the square root of popularity (best sellers are restocked
+     * more often), at most one batch every three days per product.
+     */
+    private int[] batchCounts() {
+        int n = spec.products;
+        int cap = Math.max(1, (spec.historyDays + 60) / 3);
+        int[] counts = new int[n];
+        Arrays.fill(counts, 1);
+        long extra = (long) spec.batches - n;
+        double[] weights = new double[n];
+        double total = 0;
+        for (int k = 0; k < n; k++) {
+            weights[k] = Math.sqrt(popularity.probability(k));
+            total += weights[k];
+        }
+        long assigned = 0;
+        for (int k = 0; k < n; k++) {
+            int share = (int) Math.min(cap - 1, (long) (extra * weights[k] / total));
+            counts[k] += share;
+            assigned += share;
+        }
+        // Whatever rounding and the cap left over goes round-robin from the best seller down
+        for (int k = 0; assigned < extra; k = (k + 1) % n) {
+            if (counts[k] < cap) {
+                counts[k]++;
+                assigned++;
+            } else if (k == n - 1 && allAtCap(counts, cap)) {
+                throw new IllegalArgumentException("batches is too large: at most " + (long) cap * n
+                        + " batches fit " + n + " products over " + spec.historyDays + " days");
+            }
+        }
+        return counts;
+    }
+    
+    private static boolean allAtCap(int[] counts, int cap) {
+        return Arrays.stream(counts).allMatch(c -> c >= cap);
+    }
+    
+    long writeUsers(Connection connection) throws SQLException {
+        Random random = random(11);
+        OffsetDateTime created = OffsetDateTime.of(historyStart.minusDays(30).atTime(8, 0), ZONE);
+        try (TableWriter out = TableWriter.open(connection, "pharmacy_users",
+                "id", "full_name", "email", "password_hash", "role", "active", "created_at", "updated_at")) {
+            for (int i = 0; i < spec.users; i++) {
+                UserRole role = role(i);
+                out.row(userIds[i], personName(random), String.format("gen.%s.%04d%s",
+                                role.name().toLowerCase().replace('_', '.'), i + 1, USER_EMAIL_DOMAIN),
+                        PASSWORD_HASH, role.name(), role == UserRole.OWNER || random.nextInt(20) != 0, created, created);
+            }
+            return out.rows();
+        }
+    }
+    
+    long writeSuppliers(Connection connection) throws SQLException {
+        Random random = random(12);
+        OffsetDateTime created = OffsetDateTime.of(historyStart.minusDays(60).atTime(8, 0), ZONE);
+        try (TableWriter out = TableWriter.open(connection, "suppliers",
+                "id", "name", "contact_name", "contact_email", "contact_phone", "contact_address", "notes", "active",
+                "created_at", "updated_at")) {
+            for (int i = 0; i < spec.suppliers; i++) {
+                String city = CITIES[random.nextInt(CITIES.length)];
+                out.row(supplierIds[i],
+                        String.format("%s%04d %s %s", PREFIX, i + 1, SUPPLIER_KINDS[random.nextInt(SUPPLIER_KINDS.length)], city),
+                        personName(random),
+                        String.format("sales%04d%s", i + 1, SUPPLIER_EMAIL_DOMAIN),
+                        String.format("09%08d", random.nextInt(100_000_000)),
+                        (1 + random.nextInt(300)) + " Đường số " + (1 + random.nextInt(50)) + ", " + city,
+                        random.nextInt(5) == 0 ? "Giao hàng trong " + (2 + random.nextInt(6)) + " ngày" : null,
+                        random.nextInt(25) != 0,
+                        created, created);
+            }
+            return out.rows();
+        }
+    }
+    
+    long writeProducts(Connection connection) throws SQLException {
+        Random random = random(13);
+        OffsetDateTime created = OffsetDateTime.of(historyStart.minusDays(60).atTime(8, 0), ZONE);
+        try (TableWriter out = TableWriter.open(connection, "products",
+                "id", "sku", "name", "active_ingredient", "dosage_form", "dosage_strength", "category", "reorder_level",
+                "expiry_alert_days", "dosage", "min_stock", "active", "created_at", "updated_at")) {
+            for (int k = 0; k < spec.products; k++) {
+                int form = productForm[k];
+                String ingredient = INGREDIENTS[random.nextInt(INGREDIENTS.length)];
+                String strength = FORM_STRENGTHS[form][random.nextInt(FORM_STRENGTHS[form].length)];
+                String brand = BRANDS[random.nextInt(BRANDS.length)];
+                // Reorder level follows demand: about two weeks of sales, 10 units at least
+                int reorderLevel = (int) Math.max(10, Math.round(
+                        popularity.probability(k) * spec.sales * spec.linesPerSale * 14 / spec.historyDays));
+                out.row(productIds[k], sku(k), ingredient + " " + strength + " " + FORMS[form] + " " + brand,
+                        ingredient, FORMS[form], strength, productCategory[k].name(), reorderLevel,
+                        30 * (1 + random.nextInt(3)), FORM_DOSAGE[form], reorderLevel / 2, random.nextInt(33) != 0,
+                        created, created);
+            }
+            return out.rows();
+        }
+    }
+    
+    long writeSupplierProducts(Connection connection) throws SQLException {
+        try (TableWriter out = TableWriter.open(connection, "supplier_products", "supplier_id", "product_id")) {
+            for (int k = 0; k < spec.products; k++) {
+                for (int s : productSuppliers[k]) {
+                    out.row(supplierIds[s], productIds[k]);
+                }
+            }
+            return out.rows();
+        }
+    }
+    
+    long writeBatches(Connection connection) throws SQLException {
+        Random random = random(14);
+        int today = (int) spec.asOf.toEpochDay();
+        try (TableWriter out = TableWriter.open(connection, "inventory_batches",
+                "id", "product_id", "batch_number", "quantity_on_hand", "cost_price", "selling_price", "received_date",
+                "expiry_date", "active", "supplier_id", "created_at", "updated_at")) {
+            for (int k = 0; k < spec.products; k++) {
+                for (int b = firstBatch[k]; b < firstBatch[k + 1]; b++) {
+                    LocalDate received = LocalDate.ofEpochDay(batchReceived[b]);
+                    out.row(batchIds[b], productIds[k], String.format("%sB%07d", PREFIX, b + 1),
+                            quantityOnHand(b, today, random), cents(batchCostCents[b]), cents(batchPriceCents[b]), received, LocalDate.ofEpochDay(batchExpiry[b]),
+                            random.nextInt(50) != 0,
+                            supplierIds[productSuppliers[k][random.nextInt(productSuppliers[k].length)]],
+                            OffsetDateTime.of(received.atTime(9, 0), ZONE), OffsetDateTime.of(received.atTime(9, 0), ZONE));
+                }
+            }
+            return out.rows();
+        }
+    }
+    
+    // Expired batches are mostly swept to zero; recent receipts are still full, older ones mostly sold through
+    private int quantityOnHand(int batch, int today, Random random) {
+        if (batchExpiry[batch] < today) {
+            return random.nextInt(10) < 7 ? 0 : 1 + random.nextInt(20);
+        }
+        if (today - batchReceived[batch] < 45) {
+            return 50 + random.nextInt(451);
+        }
+        return random.nextInt(10) < 4 ? 0 : 1 + random.nextInt(60);
+    }
+    
+    long writePurchaseOrders(Connection connection) throws SQLException {
+        try (TableWriter out = TableWriter.open(connection, "purchase_orders",
+                "id", "order_code", "supplier_id", "status", "order_date", "expected_date", "created_at", "updated_at")) {
+            forEachPurchaseOrder(order -> {
+                OffsetDateTime created = OffsetDateTime.of(order.orderDate.atTime(9, 0), ZONE);
+                out.row(order.id, order.orderCode, supplierIds[order.supplier], order.status.name(), order.orderDate,
+                        order.expectedDate, created, created);
+            });
+            return out.rows();
+        }
+    }
+    
+    long writePurchaseOrderLines(Connection connection) throws SQLException {
+        try (TableWriter out = TableWriter.open(connection, "purchase_order_lines",
+                "id", "purchase_order_id", "product_id", "line_number", "quantity", "unit_cost", "received_quantity")) {
+            forEachPurchaseOrder(order -> {
+                for (int l = 0; l < order.lines; l++) {
+                    int product = order.lineProduct[l];
+                    out.row(order.lineIds[l], order.id, productIds[product], l + 1, order.lineQuantity[l],
+                            cents(productCostCents[product]), order.lineReceived[l]);
+                }
+            });
+            return out.rows();
+        }
+    }
+    
+    long writeSales(Connection connection) throws SQLException {
+        try (TableWriter out = TableWriter.open(connection, "sale_transactions",
+                "id", "receipt_number", "sold_at", "cashier_id", "total_discount", "payment_method",
+                "prescription_image_url", "customer_email", "created_at", "updated_at")) {
+            forEachSale(sale -> out.row(sale.id, sale.receiptNumber, sale.soldAt, userIds[sale.cashier],
+                    sale.discountCents > 0 ? cents(sale.discountCents) : null, sale.paymentMethod.name(),
+                    sale.prescriptionImageUrl, sale.customerEmail, sale.soldAt, sale.soldAt));
+            return out.rows();
+        }
+    }
+    
+    long writeSaleLines(Connection connection) throws SQLException {
+        try (TableWriter out = TableWriter.open(connection, "sale_transaction_lines",
+                "id", "sale_transaction_id", "product_id", "inventory_batch_id", "line_number", "quantity", "unit_price")) {
+            forEachSale(sale -> {
+                for (int l = 0; l < sale.lines; l++) {
+                    int batch = sale.lineBatch[l];
+                    out.row(sale.lineIds[l], sale.id, productIds[sale.lineProduct[l]], batchIds[batch], l + 1,
+                            sale.lineQuantity[l], cents(batchPriceCents[batch]));
+                }
+            });
+            return out.rows();
+        }
+    }
+    
+    private void forEachPurchaseOrder(Visitor<PurchaseOrderDraft> visitor) throws SQLException {
+        Random random = random(5);
+        PurchaseOrderDraft order = new PurchaseOrderDraft();
+        for (int i = 0; i < spec.purchaseOrders; i++) {
+            // Spread evenly over the history, oldest first
+            LocalDate orderDate = historyStart.plusDays((long) ((i + random.nextDouble()) * spec.historyDays / spec.purchaseOrders));
+            long createdMillis = millis(orderDate) + 9 * 3_600_000L;
+            order.id = uuidV7(createdMillis, random);
+            order.orderCode = String.format("%sPO-%06d", PREFIX, i + 1);
+            order.supplier = random.nextInt(spec.suppliers);
+            order.status = purchaseOrderStatus((int) (spec.asOf.toEpochDay() - orderDate.toEpochDay()), random);
+            order.orderDate = orderDate;
+            order.expectedDate = order.status == PurchaseOrderStatus.DRAFT && random.nextBoolean()
+                    ? null : orderDate.plusDays(3 + random.nextInt(8));
+            int[] catalogue = supplierProducts[order.supplier];
+            order.lines = Math.min(catalogue.length, 1 + random.nextInt(PurchaseOrderDraft.MAX_LINES));
+            int[] picks = distinct(catalogue.length, order.lines, random);
+            boolean partiallyReceived = order.status == PurchaseOrderStatus.ORDERED && random.nextInt(100) < 15;
+            for (int l = 0; l < order.lines; l++) {
+                int quantity = 10 * (1 + random.nextInt(50));
+                order.lineIds[l] = uuidV7(createdMillis, random);
+                order.lineProduct[l] = catalogue[picks[l]];
+                order.lineQuantity[l] = quantity;
+                order.lineReceived[l] = order.status == PurchaseOrderStatus.RECEIVED ? quantity
+                        : partiallyReceived && l % 2 == 0 ? quantity / 2 : 0;
+            }
+            visitor.visit(order);
+        }
+    }
+    
+    // Old orders are settled; the last two weeks still have open and draft orders
+    private static PurchaseOrderStatus purchaseOrderStatus(int ageDays, Random random) {
+        int pick = random.nextInt(100);
+        if (ageDays > 14) {
+            return pick < 90 ? PurchaseOrderStatus.RECEIVED : pick < 97 ? PurchaseOrderStatus.CANCELLED : PurchaseOrderStatus.ORDERED;
+        }
+        if (ageDays > 3) {
+            return pick < 25 ? PurchaseOrderStatus.RECEIVED : pick < 85 ? PurchaseOrderStatus.ORDERED
+                    : pick < 95 ? PurchaseOrderStatus.DRAFT : PurchaseOrderStatus.CANCELLED;
+        }
+        return pick < 50 ? PurchaseOrderStatus.DRAFT : PurchaseOrderStatus.ORDERED;
+    }
+    
+    private void forEachSale(Visitor<SaleDraft> visitor) throws SQLException {
+        Random random = random(6);
+        double[] cumulative = cumulativeDayShares();
+        SaleDraft sale = new SaleDraft();
+        long emitted = 0;
+        for (int d = 0; d < spec.historyDays; d++) {
+            long upTo = Math.round(spec.sales * cumulative[d]);
+            int count = (int) (upTo - emitted);
+            emitted = upTo;
+            LocalDate day = historyStart.plusDays(d);
+            int epochDay = (int) day.toEpochDay();
+            long midnight = millis(day);
+            String receiptPrefix = PREFIX + "REC-" + day.format(RECEIPT_DATE) + "-";
+            long[] times = new long[count];
+            for (int i = 0; i < count; i++) {
+                times[i] = (FIRST_HOUR + weighted(HOUR_WEIGHTS, random)) * 3_600_000L + random.nextInt(3_600_000);
+            }
+            Arrays.sort(times);
+            for (int i = 0; i < count; i++) {
+                long at = midnight + times[i];
+                sale.id = uuidV7(at, random);
+                sale.receiptNumber = receiptPrefix + String.format("%06d", i + 1);
+                sale.soldAt = OffsetDateTime.ofInstant(Instant.ofEpochMilli(at), ZONE);
+                sale.cashier = cashiers[random.nextInt(cashiers.length)];
+                fillLines(sale, epochDay, at, random);
+                long total = 0;
+                boolean prescription = false;
+                for (int l = 0; l < sale.lines; l++) {
+                    total += sale.lineQuantity[l] * batchPriceCents[sale.lineBatch[l]];
+                    prescription |= productCategory[sale.lineProduct[l]] == ProductCategory.PRESCRIPTION;
+                }
+                // 8% of receipts get 5% off, in whole thousands of VND
+                sale.discountCents = random.nextInt(100) < 8 ? Math.round(total * 0.05 / 100_000) * 100_000 : 0;
+                sale.paymentMethod = PaymentMethod.values()[weighted(PAYMENT_WEIGHTS, random)];
+                sale.prescriptionImageUrl = prescription && random.nextInt(10) < 8
+                        ? "https://storage.gen.test/prescriptions/" + sale.receiptNumber + ".jpg" : null;
+                sale.customerEmail = random.nextInt(100) < 12
+                        ? String.format("customer%05d@mail.gen.test", random.nextInt(50_000)) : null;
+                visitor.visit(sale);
+            }
+        }
+    }
+    
+    /**
+     * Share of all sales made up to and including each day: weekday pattern, winter flu peak, slow growth.
+     */
+    private double[] cumulativeDayShares() {
+        double[] cumulative = new double[spec.historyDays];
+        double sum = 0;
+        for (int d = 0; d < spec.historyDays; d++) {
+            LocalDate day = historyStart.plusDays(d);
+            double weekday = WEEKDAY_FACTORS[day.getDayOfWeek().getValue() - 1];
+            double season = 1 + 0.15 * Math.cos(2 * Math.PI * (day.getDayOfYear() - 15) / 365.25);
+            double growth = 0.85 + 0.3 * d / spec.historyDays;
+            sum += weekday * season * growth;
+            cumulative[d] = sum;
+        }
+        for (int d = 0; d < spec.historyDays; d++) {
+            cumulative[d] /= sum;
+        }
+        cumulative[spec.historyDays - 1] = 1.0;
+        return cumulative;
+    }
+    
+    private void fillLines(SaleDraft sale, int epochDay, long at, Random random) {
+        // Truncated geometric basket size with the configured mean
+        int target = 1;
+        while (target < MAX_LINES_PER_SALE && random.nextDouble() > 1 / spec.linesPerSale) {
+            target++;
+        }
+        sale.lines = 0;
+        for (int attempt = 0; sale.lines < target && attempt < Math.max(10, 3 * target); attempt++) {
+            int product = popularity.next(random);
+            if (contains(sale.lineProduct, sale.lines, product)) {
+                continue;
+            }
+            int batch = pickBatch(product, epochDay, random);
+            if (batch < 0) {
+                continue;
+            }
+            int l = sale.lines++;
+            int quantity = random.nextInt(100);
+            sale.lineIds[l] = uuidV7(at, random);
+            sale.lineProduct[l] = product;
+            sale.lineBatch[l] = batch;
+            sale.lineQuantity[l] = quantity < 60 ? 1 : quantity < 85 ? 2 : 3 + random.nextInt(3);
+        }
+    }
+    
+    /**
+     * A batch of the product on the shelf that day (received, not expired): first-expiry-first-out most of the
+     * time, otherwise any of them. -1 when the product was out of stock.
+     */
+    private int pickBatch(int product, int epochDay, Random random) {
+        int fefo = -1;
+        int onShelf = 0;
+        for (int b = firstBatch[product]; b < firstBatch[product + 1] && batchReceived[b] <= epochDay; b++) {
+            if (batchExpiry[b] > epochDay) {
+                onShelf++;
+                if (fefo < 0 || batchExpiry[b] < batchExpiry[fefo]) {
+                    fefo = b;
+                }
+            }
+        }
+        if (onShelf <= 1 || random.nextInt(100) < 85) {
+            return fefo;
+        }
+        int skip = random.nextInt(onShelf);
+        for (int b = firstBatch[product]; ; b++) {
+            if (batchReceived[b] <= epochDay && batchExpiry[b] > epochDay && skip-- == 0) {
+                return b;
+            }
+        }
+    }
+    
+    private static boolean contains(int[] values, int size, int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    @FunctionalInterface
+    private interface Visitor<T> {
+        void visit(T value) throws SQLException;
+    }
+    
+    // Reused for every order of a pass: visitors copy what they write
+    private static final class PurchaseOrderDraft {
+        static final int MAX_LINES = 12;
+        UUID id;
+        String orderCode;
+        int supplier;
+        PurchaseOrderStatus status;
+        LocalDate orderDate;
+        LocalDate expectedDate;
+        int lines;
+        final UUID[] lineIds = new UUID[MAX_LINES];
+        final int[] lineProduct = new int[MAX_LINES];
+        final int[] lineQuantity = new int[MAX_LINES];
+        final int[] lineReceived = new int[MAX_LINES];
+    }
+    
+    private static final class SaleDraft {
+        UUID id;
+        String receiptNumber;
+        OffsetDateTime soldAt;
+        int cashier;
+        long discountCents;
+        PaymentMethod paymentMethod;
+        String prescriptionImageUrl;
+        String customerEmail;
+        int lines;
+        final UUID[] lineIds = new UUID[MAX_LINES_PER_SALE];
+        final int[] lineProduct = new int[MAX_LINES_PER_SALE];
+        final int[] lineBatch = new int[MAX_LINES_PER_SALE];
+        final int[] lineQuantity = new int[MAX_LINES_PER_SALE];
+    }
+    
+    private static String sku(int rank) {
+        return String.format("%s%06d", PREFIX, rank + 1);
+    }
+    
+    private static String personName(Random random) {
+        return FAMILY_NAMES[random.nextInt(FAMILY_NAMES.length)] + " " + MIDDLE_NAMES[random.nextInt(MIDDLE_NAMES.length)]
+                + " " + GIVEN_NAMES[random.nextInt(GIVEN_NAMES.length)];
+    }
+    
+    private static int weighted(int[] weights, Random random) {
+        int total = 0;
+        for (int w : weights) {
+            total += w;
+        }
+        int pick = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            pick -= weights[i];
+            if (pick < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+    
+    private static int[] distinct(int bound, int count, Random random) {
+        int[] picked = new int[count];
+        int size = 0;
+        while (size < count) {
+            int candidate = random.nextInt(bound);
+            boolean seen = false;
+            for (int i = 0; i < size; i++) {
+                seen |= picked[i] == candidate;
+            }
+            if (!seen) {
+                picked[size++] = candidate;
+            }
+        }
+        return picked;
+    }
+    
+    private static long roundHundreds(double cents) {
+        // Prices are whole hundreds of VND, i.e. multiples of 10,000 cents
+        return Math.max(10_000, Math.round(cents / 10_000) * 10_000);
+    }
+    
+    private static BigDecimal cents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+    
+    private static long millis(LocalDate date) {
+        return date.atStartOfDay().toInstant(ZONE).toEpochMilli();
+    }
+    
+    /**
+     * UUIDv7 layout (48-bit millisecond timestamp, version 7, variant 2) with the random bits from the seeded Random,
+     * so ids are time-ordered like the V14 uuid_v7() defaults and identical on every run.
+     */
+    static UUID uuidV7(long epochMillis, Random random) {
+        long msb = (epochMillis << 16) | 0x7000L | (random.nextInt() & 0x0FFFL);
+        long lsb = (random.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L;
+        return new UUID(msb, lsb);
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.phfbackend.datagen;
+
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.core.BaseConnection;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Streams rows into one table: COPY FROM STDIN on PostgreSQL, batched INSERTs on any other database.
+ * One writer is open per connection at a time (COPY owns the connection until {@link #close()}).
+ */
+abstract class TableWriter implements AutoCloseable {
+    
+    protected final String table;
+    protected final String[] columns;
+    protected long rows;
+    
+    private TableWriter(String table, String[] columns) {
+        this.table = table;
+        this.columns = columns;
+    }
+    
+    static TableWriter open(Connection connection, String table, String... columns) throws SQLException {
+        if (connection.isWrapperFor(BaseConnection.class)) {
+            return new Copy(connection.unwrap(BaseConnection.class), table, columns);
+        }
+        return new BatchInsert(connection, table, columns);
+    }
+    
+    /**
+     * Values: String, Number, Boolean, UUID, LocalDate, OffsetDateTime, or null.
+     */
+    abstract void row(Object... values) throws SQLException;
+    
+    long rows() {
+        return rows;
+    }
+    
+    @Override
+    public abstract void close() throws SQLException;
+    
+    protected void checkArity(Object[] values) {
+        if (values.length != columns.length) {
+            throw new IllegalArgumentException(table + " expects " + columns.length + " values, got " + values.length);
+        }
+    }
+    
+    private static final class Copy extends TableWriter {
+        
+        private static final int FLUSH_CHARS = 1 << 20;
+        
+        private final CopyIn copy;
+        private final StringBuilder buffer = new StringBuilder(FLUSH_CHARS + 4096);
+        
+        private Copy(BaseConnection connection, String table, String[] columns) throws SQLException {
+            super(table, columns);
+            copy = new CopyManager(connection).copyIn(
+                    "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN (FORMAT csv)");
+        }
+        
+        @Override
+        void row(Object... values) throws SQLException {
+            checkArity(values);
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                appendCsv(values[i]);
+            }
+            buffer.append('\n');
+            rows++;
+            if (buffer.length() >= FLUSH_CHARS) {
+                flush();
+            }
+        }
+        
+        // Unquoted empty field is NULL in CSV COPY; strings are always quoted so "" stays an empty string
+        private void appendCsv(Object value) {
+            if (value == null) {
+                return;
+            }
+            if (value instanceof String text) {
+                buffer.append('"');
+                for (int i = 0; i < text.length(); i++) {
+                    char c = text.charAt(i);
+                    if (c == '"') {
+                        buffer.append('"');
+                    }
+                    buffer.append(c);
+                }
+                buffer.append('"');
+            } else if (value instanceof BigDecimal decimal) {
+                buffer.append(decimal.toPlainString());
+            } else {
+                // Number, Boolean, UUID, LocalDate, OffsetDateTime: toString() is what PostgreSQL parses
+                buffer.append(value);
+            }
+        }
+        
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copy.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+        
+        @Override
+        public void close() throws SQLException {
+            if (!copy.isActive()) {
+                return;
+            }
+            try {
+                flush();
+                copy.endCopy();
+            } catch (SQLException | RuntimeException e) {
+                if (copy.isActive()) {
+                    copy.cancelCopy();
+                }
+                throw e;
+            }
+        }
+    }
+    
+    private static final class BatchInsert extends TableWriter {
+        
+        private static final int BATCH_SIZE = 1_000;
+        
+        private final PreparedStatement statement;
+        private int pending;
+        
+        private BatchInsert(Connection connection, String table, String[] columns) throws SQLException {
+            super(table, columns);
+            statement = connection.prepareStatement("INSERT INTO " + table + " (" + String.join(", ", columns)
+                    + ") VALUES (" + "?, ".repeat(columns.length - 1) + "?)");
+        }
+        
+        @Override
+        void row(Object... values) throws SQLException {
+            checkArity(values);
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                if (value instanceof OffsetDateTime time) {
+                    statement.setTimestamp(i + 1, Timestamp.from(time.toInstant()));
+                } else if (value instanceof LocalDate date) {
+                    statement.setObject(i + 1, java.sql.Date.valueOf(date));
+                } else if (value instanceof UUID id) {
+                    statement.setObject(i + 1, id);
+                } else {
+                    statement.setObject(i + 1, value);
+                }
+            }
+            statement.addBatch();
+            rows++;
+            if (++pending == BATCH_SIZE) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+        
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (pending > 0) {
+                    statement.executeBatch();
+                    pending = 0;
+                }
+            } finally {
+                statement.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.phfbackend.datagen;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Zipf-distributed ranks in [0, n): rank k is drawn with probability proportional to 1 / (k + 1)^exponent.
+ * With exponent about 1, a few hundred products make up most of the sales, as in a real pharmacy.
+ * Inverse-CDF sampling over a precomputed table: O(n) memory once, O(log n) per draw, and the same
+ * Random gives the same ranks.
+ */
+public final class ZipfSampler {
+    
+    private final double[] cumulative;
+    
+    public ZipfSampler(int n, double exponent) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n must be positive: " + n);
+        }
+        if (exponent < 0) {
+            throw new IllegalArgumentException("exponent must not be negative: " + exponent);
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= sum;
+        }
+    }
+    
+    public int next(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+    
+    /**
+     * Share of draws that fall on rank k.
+     */
+    public double probability(int k) {
+        return k == 0 ? cumulative[0] : cumulative[k] - cumulative[k - 1];
+    }
+    
+    public int size() {
+        return cumulative.length;
+    }
+}
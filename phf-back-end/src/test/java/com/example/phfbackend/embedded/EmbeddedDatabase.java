@@ -0,0 +1,73 @@
+package com.example.phfbackend.embedded;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * One in-process PostgreSQL 16 per JVM, started on first use and stopped by a shutdown hook. The server binaries
+ * come from the Maven repository (embedded-postgres-binaries), so nothing is downloaded or pulled from Docker at
+ * run time and Flyway runs the real migrations: triggers, plpgsql, xid8, partitioning.
+ * <p>
+ * Durability is traded for speed (fsync and synchronous_commit off): fine for tests and relative measurements,
+ * not for benchmarks of commit latency. PostgreSQL refuses to run as root.
+ */
+public final class EmbeddedDatabase {
+    
+    public static final String DATABASE = "postgres";
+    public static final String USER = "postgres";
+    public static final String PASSWORD = "postgres";
+    
+    private static EmbeddedPostgres postgres;
+    private static String dataDirectory;
+    
+    private EmbeddedDatabase() {
+    }
+    
+    /**
+     * Starts the server with a throwaway data directory on a free port, or returns the one already running.
+     */
+    public static String jdbcUrl() {
+        return jdbcUrl(0, null);
+    }
+    
+    /**
+     * @param port          0 for any free port
+     * @param dataDirectory kept between runs (reused when it already holds a cluster); null for a throwaway one
+     */
+    public static synchronized String jdbcUrl(int port, String dataDirectory) {
+        if (postgres == null) {
+            postgres = start(port, dataDirectory);
+            EmbeddedDatabase.dataDirectory = dataDirectory;
+        } else if ((port != 0 && port != postgres.getPort()) || (dataDirectory != null && !dataDirectory.equals(EmbeddedDatabase.dataDirectory))) {
+            throw new IllegalStateException("Embedded PostgreSQL already runs on port " + postgres.getPort()
+                    + " with data directory " + EmbeddedDatabase.dataDirectory);
+        }
+        return "jdbc:postgresql://localhost:" + postgres.getPort() + "/" + DATABASE;
+    }
+    
+    private static EmbeddedPostgres start(int port, String dataDirectory) {
+        try {
+            EmbeddedPostgres.Builder builder = EmbeddedPostgres.builder()
+                    .setServerConfig("fsync", "off")
+                    .setServerConfig("synchronous_commit", "off")
+                    .setServerConfig("full_page_writes", "off")
+                    .setServerConfig("max_connections", "100")
+                    .setServerConfig("timezone", "UTC");
+            if (port != 0) {
+                builder.setPort(port);
+            }
+            if (dataDirectory != null) {
+                Path directory = Path.of(dataDirectory).toAbsolutePath();
+                Files.createDirectories(directory);
+                builder.setDataDirectory(directory).setCleanDataDirectory(false);
+            }
+            return builder.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start embedded PostgreSQL", e);
+        }
+    }
+}
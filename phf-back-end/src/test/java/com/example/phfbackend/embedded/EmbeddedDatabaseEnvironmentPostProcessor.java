@@ -0,0 +1,42 @@
+package com.example.phfbackend.embedded;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.Profiles;
+
+import java.util.Map;
+
+/**
+ * With the embedded-db profile active, points the data source at {@link EmbeddedDatabase} before any bean is
+ * created, so the application keeps its own pool, observation wrapper and Flyway setup. Settings:
+ * embedded-db.port (0: any free port) and embedded-db.data-dir (kept between runs; empty: throwaway).
+ * Registered in src/test/resources/META-INF/spring.factories, so it only exists on the test classpath.
+ */
+public class EmbeddedDatabaseEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+    
+    public static final String PROFILE = "embedded-db";
+    
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!environment.acceptsProfiles(Profiles.of(PROFILE))) {
+            return;
+        }
+        String dataDirectory = environment.getProperty("embedded-db.data-dir", "");
+        String url = EmbeddedDatabase.jdbcUrl(environment.getProperty("embedded-db.port", Integer.class, 0),
+                dataDirectory.isBlank() ? null : dataDirectory);
+        // Highest precedence: SPRING_DATASOURCE_* in the shell must not send an embedded-db run to another database
+        environment.getPropertySources().addFirst(new MapPropertySource("embeddedDatabase", Map.of(
+                "spring.datasource.url", url + "?ApplicationName=phf-back-end",
+                "spring.datasource.username", EmbeddedDatabase.USER,
+                "spring.datasource.password", EmbeddedDatabase.PASSWORD)));
+    }
+    
+    @Override
+    public int getOrder() {
+        // After the config data processor, which resolves the active profiles
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.phfbackend.entities.shared;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Layout of the generated ids: RFC 9562 version 7 and variant bits, the timestamp in the top 48 bits, and ids of
+ * later milliseconds sorting after earlier ones.
+ */
+class UuidV7GeneratorTest {
+    
+    @Test
+    void setsVersionAndVariantBits() {
+        for (int i = 0; i < 1_000; i++) {
+            UUID id = UuidV7Generator.next();
+            assertEquals(7, id.version());
+            assertEquals(2, id.variant());
+        }
+    }
+    
+    @Test
+    void carriesTheTimestampInTheTop48Bits() {
+        long millis = 1_735_689_600_123L;
+        UUID id = UuidV7Generator.next(millis);
+        assertEquals(millis, id.getMostSignificantBits() >>> 16);
+    }
+    
+    @Test
+    void laterMillisecondsSortAfterEarlierOnes() {
+        long start = 1_735_689_600_000L;
+        UUID previous = UuidV7Generator.next(start);
+        for (long millis = start + 1; millis < start + 1_000; millis++) {
+            UUID next = UuidV7Generator.next(millis);
+            // PostgreSQL compares uuids as unsigned bytes, which is the string order of the canonical form
+            assertTrue(previous.toString().compareTo(next.toString()) < 0, previous + " !< " + next);
+            previous = next;
+        }
+    }
+    
+    @Test
+    void idsOfTheSameMillisecondAreDistinct() {
+        long millis = System.currentTimeMillis();
+        Set<UUID> ids = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(UuidV7Generator.next(millis));
+        }
+        assertEquals(10_000, ids.size());
+    }
+}
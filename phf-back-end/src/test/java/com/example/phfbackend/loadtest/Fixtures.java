@@ -0,0 +1,124 @@
+package com.example.phfbackend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Ids the traffic refers to, read once through the API before the run: active products (SKUs for scans,
+ * ids for purchase order lines), sellable batches (active, in stock, not expiring within a week), a cashier and
+ * active suppliers. Lists are sorted by id so the same data gives the same request sequence; the *ByRank views
+ * are in SKU order, for scenarios that draw products by popularity.
+ */
+final class Fixtures {
+    
+    record Batch(UUID id, BigDecimal sellingPrice) {
+    }
+    
+    final List<String> skus = new ArrayList<>();
+    final List<UUID> productIds = new ArrayList<>();
+    final List<Batch> batches = new ArrayList<>();
+    final List<String> skusByRank = new ArrayList<>();
+    // Sellable batches grouped by product, products in SKU order; products with nothing to sell are left out
+    final List<List<Batch>> batchesByRank = new ArrayList<>();
+    final List<UUID> cashierIds = new ArrayList<>();
+    final List<UUID> supplierIds = new ArrayList<>();
+    
+    static Fixtures discover(HttpClient client, String baseUrl, ObjectMapper mapper) throws IOException, InterruptedException {
+        Fixtures fixtures = new Fixtures();
+        
+        List<JsonNode> products = get(client, mapper, baseUrl + "/api/products?active=true");
+        products.sort(Comparator.comparing(product -> product.path("id").asText()));
+        for (JsonNode product : products) {
+            fixtures.skus.add(product.path("sku").asText());
+            fixtures.productIds.add(UUID.fromString(product.path("id").asText()));
+        }
+        
+        fixtures.skusByRank.addAll(fixtures.skus);
+        Collections.sort(fixtures.skusByRank);
+        
+        LocalDate sellableUntil = LocalDate.now().plusDays(7);
+        List<JsonNode> batches = get(client, mapper, baseUrl + "/api/inventory?active=true");
+        batches.sort(Comparator.comparing(batch -> batch.path("id").asText()));
+        Map<String, List<Batch>> batchesBySku = new TreeMap<>();
+        for (JsonNode batch : batches) {
+            if (batch.path("quantityOnHand").asInt() > 0
+                    && LocalDate.parse(batch.path("expiryDate").asText()).isAfter(sellableUntil)
+                    && batch.path("sellingPrice").decimalValue().signum() > 0) {
+                Batch sellable = new Batch(UUID.fromString(batch.path("id").asText()), batch.path("sellingPrice").decimalValue());
+                fixtures.batches.add(sellable);
+                batchesBySku.computeIfAbsent(batch.path("productSku").asText(), sku -> new ArrayList<>()).add(sellable);
+            }
+        }
+        fixtures.batchesByRank.addAll(batchesBySku.values());
+        
+        List<JsonNode> cashiers = get(client, mapper, baseUrl + "/api/users?role=SALES_STAFF&active=true");
+        if (cashiers.isEmpty()) {
+            // Owners and pharmacists can also sell
+            cashiers = get(client, mapper, baseUrl + "/api/users?active=true");
+        }
+        cashiers.stream()
+                .map(user -> UUID.fromString(user.path("id").asText()))
+                .sorted()
+                .forEach(fixtures.cashierIds::add);
+        
+        get(client, mapper, baseUrl + "/api/suppliers?active=true").stream()
+                .map(supplier -> UUID.fromString(supplier.path("id").asText()))
+                .sorted()
+                .forEach(fixtures.supplierIds::add);
+        return fixtures;
+    }
+    
+    /**
+     * Fails when an enabled operation has nothing to work with, rather than reporting a run full of 4xx.
+     */
+    void requireFor(Scenario scenario) {
+        requireData(scenario, LoadOperation.BARCODE_SCAN, skus, "active products");
+        requireData(scenario, LoadOperation.CHECKOUT, batches, "sellable inventory batches");
+        requireData(scenario, LoadOperation.CHECKOUT, cashierIds, "active users");
+        requireData(scenario, LoadOperation.PO_RECEIPT, productIds, "active products");
+        requireData(scenario, LoadOperation.PO_RECEIPT, supplierIds, "active suppliers");
+    }
+    
+    private static void requireData(Scenario scenario, LoadOperation operation, List<?> data, String what) {
+        if (scenario.rates.get(operation) > 0 && data.isEmpty()) {
+            throw new IllegalStateException("rate." + operation.key() + " needs " + what + " in the target database");
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return skus.size() + " products, " + batches.size() + " sellable batches, "
+                + cashierIds.size() + " cashiers, " + supplierIds.size() + " suppliers";
+    }
+    
+    private static List<JsonNode> get(HttpClient client, ObjectMapper mapper, String url) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofMinutes(2))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + url + " returned " + response.statusCode());
+        }
+        List<JsonNode> items = new ArrayList<>();
+        mapper.readTree(response.body()).forEach(items::add);
+        return items;
+    }
+}
@@ -0,0 +1,408 @@
+package com.example.phfbackend.loadtest;
+
+import com.example.phfbackend.datagen.ZipfSampler;
+import com.example.phfbackend.dto.request.PurchaseOrderLineRequest;
+import com.example.phfbackend.dto.request.PurchaseOrderReceiptLineRequest;
+import com.example.phfbackend.dto.request.PurchaseOrderReceiptRequest;
+import com.example.phfbackend.dto.request.PurchaseOrderRequest;
+import com.example.phfbackend.dto.request.SaleTransactionLineRequest;
+import com.example.phfbackend.dto.request.SaleTransactionRequest;
+import com.example.phfbackend.entities.sale.PaymentMethod;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: every operation has its own arrival process (Poisson or evenly spaced, at the scenario
+ * rate) on its own thread, and requests are sent asynchronously, so a slow server does not slow the arrivals down.
+ * Latency is measured from the intended arrival time, not from when the request could be sent, so queueing in the
+ * client counts (no coordinated omission). When max-in-flight requests are outstanding, new arrivals are dropped and
+ * counted instead of queued; a non-zero dropped count means the target did not keep up with the offered rate.
+ * Requests whose arrival falls in the warm-up are sent but not recorded.
+ */
+final class LoadGenerator {
+    
+    static final String BARCODE = "GET /api/pos/products/barcode/{barcode}";
+    static final String SEARCH = "GET /api/pos/products/search";
+    static final String CHECKOUT = "POST /api/sales";
+    static final String PO_CREATE = "POST /api/purchase-orders";
+    static final String PO_SEND = "POST /api/purchase-orders/{id}/send";
+    static final String PO_RECEIVE = "POST /api/inventory/from-purchase-order/{purchaseOrderId}";
+    
+    private static final PaymentMethod[] PAYMENT_METHODS = PaymentMethod.values();
+    
+    /**
+     * Latency (microseconds) and outcome counts of one endpoint, for the measured part of the run.
+     */
+    static final class EndpointStats {
+        private final Recorder latency = new Recorder(3);
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+        
+        private void record(long latencyNanos, String outcome, boolean success) {
+            latency.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+            (success ? succeeded : failed).increment();
+            outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+        }
+        
+        Histogram histogram() {
+            return latency.getIntervalHistogram();
+        }
+        
+        long succeeded() {
+            return succeeded.sum();
+        }
+        
+        long failed() {
+            return failed.sum();
+        }
+        
+        Map<String, Long> outcomes() {
+            Map<String, Long> counts = new TreeMap<>();
+            outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+            return counts;
+        }
+    }
+    
+    private final Scenario scenario;
+    private final Fixtures fixtures;
+    private final HttpClient client;
+    private final ObjectMapper mapper;
+    private final String baseUrl;
+    private final String runId;
+    private final Semaphore inFlight;
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final Map<LoadOperation, LongAdder> offered = new EnumMap<>(LoadOperation.class);
+    private final Map<LoadOperation, LongAdder> dropped = new EnumMap<>(LoadOperation.class);
+    private final AtomicLong purchaseOrderSequence = new AtomicLong();
+    // Product popularity for scans and baskets (popularity.zipf > 0), null for uniform picks
+    private final ZipfSampler scanPopularity;
+    private final ZipfSampler basketPopularity;
+    private volatile long warmupEndNanos;
+    
+    LoadGenerator(Scenario scenario, Fixtures fixtures, HttpClient client, ObjectMapper mapper, String baseUrl, String runId) {
+        this.scenario = scenario;
+        this.fixtures = fixtures;
+        this.client = client;
+        this.mapper = mapper;
+        this.baseUrl = baseUrl;
+        this.runId = runId;
+        this.inFlight = new Semaphore(scenario.maxInFlight);
+        boolean zipf = scenario.popularityZipf > 0;
+        this.scanPopularity = zipf && !fixtures.skusByRank.isEmpty()
+                ? new ZipfSampler(fixtures.skusByRank.size(), scenario.popularityZipf) : null;
+        this.basketPopularity = zipf && !fixtures.batchesByRank.isEmpty()
+                ? new ZipfSampler(fixtures.batchesByRank.size(), scenario.popularityZipf) : null;
+        for (LoadOperation operation : LoadOperation.values()) {
+            offered.put(operation, new LongAdder());
+            dropped.put(operation, new LongAdder());
+        }
+    }
+    
+    /**
+     * Runs warm-up plus duration, then waits for the requests still in flight (up to the request timeout).
+     */
+    void run() throws InterruptedException {
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        warmupEndNanos = start + scenario.warmup.toNanos();
+        long end = warmupEndNanos + scenario.duration.toNanos();
+        
+        List<Thread> arrivals = new ArrayList<>();
+        for (LoadOperation operation : LoadOperation.values()) {
+            double rate = scenario.rates.get(operation);
+            if (rate <= 0) {
+                continue;
+            }
+            // One seeded stream per operation: arrival times and payloads repeat from run to run
+            Random random = new Random(scenario.seed * 31 + operation.ordinal());
+            Thread thread = new Thread(() -> arrive(operation, rate, random, start, end), "load-" + operation.key());
+            thread.setDaemon(true);
+            arrivals.add(thread);
+            thread.start();
+        }
+        for (Thread thread : arrivals) {
+            thread.join();
+        }
+        
+        long drainDeadline = System.nanoTime() + scenario.requestTimeout.toNanos() + TimeUnit.SECONDS.toNanos(5);
+        while (inFlight.availablePermits() < scenario.maxInFlight && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+    }
+    
+    Map<String, EndpointStats> endpoints() {
+        return endpoints;
+    }
+    
+    long offered(LoadOperation operation) {
+        return offered.get(operation).sum();
+    }
+    
+    long dropped(LoadOperation operation) {
+        return dropped.get(operation).sum();
+    }
+    
+    private void arrive(LoadOperation operation, double rate, Random random, long start, long end) {
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long intended = start;
+        while (true) {
+            intended += (long) (scenario.poisson ? -Math.log(1 - random.nextDouble()) * meanIntervalNanos : meanIntervalNanos);
+            if (intended >= end) {
+                return;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = intended >= warmupEndNanos;
+            // The payload is drawn even when the arrival is dropped, so the random stream stays the same
+            Runnable send = prepare(operation, random, intended, measured);
+            if (measured) {
+                offered.get(operation).increment();
+            }
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    dropped.get(operation).increment();
+                }
+                continue;
+            }
+            try {
+                send.run();
+            } catch (RuntimeException e) {
+                inFlight.release();
+                throw e;
+            }
+        }
+    }
+    
+    /**
+     * Draws the payload now and returns the send, which releases the in-flight permit when the operation completes.
+     */
+    private Runnable prepare(LoadOperation operation, Random random, long intended, boolean measured) {
+        return switch (operation) {
+            case BARCODE_SCAN -> {
+                String sku = scanPopularity != null
+                        ? fixtures.skusByRank.get(scanPopularity.next(random)) : pick(random, fixtures.skus);
+                yield () -> track(call(BARCODE, get("/api/pos/products/barcode/" + encode(sku)), intended, measured));
+            }
+            case PRODUCT_SEARCH -> {
+                String term = pick(random, scenario.searchTerms);
+                yield () -> track(call(SEARCH, get("/api/pos/products/search?term=" + encode(term)), intended, measured));
+            }
+            case CHECKOUT -> {
+                byte[] body = json(checkout(random));
+                yield () -> track(call(CHECKOUT, post("/api/sales", body), intended, measured));
+            }
+            case ALERT_POLL -> {
+                String path = pick(random, scenario.alertPaths);
+                yield () -> track(call("GET " + path.replaceFirst("\\?.*$", ""), get(path), intended, measured));
+            }
+            case PO_RECEIPT -> {
+                byte[] order = json(purchaseOrder(random));
+                long quantitySeed = random.nextLong();
+                yield () -> track(receivePurchaseOrder(order, quantitySeed, intended, measured));
+            }
+        };
+    }
+    
+    private void track(CompletableFuture<?> operation) {
+        operation.whenComplete((result, error) -> inFlight.release());
+    }
+    
+    /**
+     * Sends one request and records it under the endpoint label; completes exceptionally on a non-2xx status so
+     * that the following steps of a multi-request operation are not sent.
+     */
+    private CompletableFuture<HttpResponse<String>> call(String label, HttpRequest request, long startNanos, boolean measured) {
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    long latency = System.nanoTime() - startNanos;
+                    boolean success = response != null && response.statusCode() / 100 == 2;
+                    if (measured) {
+                        endpoints.computeIfAbsent(label, key -> new EndpointStats())
+                                .record(latency, outcome(response, error), success);
+                    }
+                    if (!success) {
+                        throw new CompletionException(error != null ? error
+                                : new IllegalStateException(label + " returned " + response.statusCode()));
+                    }
+                    return response;
+                });
+    }
+    
+    private static String outcome(HttpResponse<String> response, Throwable error) {
+        if (response != null) {
+            return Integer.toString(response.statusCode());
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof HttpTimeoutException ? "timeout" : cause.getClass().getSimpleName();
+    }
+    
+    /**
+     * DRAFT order, send (ORDERED), then one receipt for every line. Each step is timed from its own start,
+     * the first from the arrival.
+     */
+    private CompletableFuture<?> receivePurchaseOrder(byte[] order, long quantitySeed, long intended, boolean measured) {
+        return call(PO_CREATE, post("/api/purchase-orders", order), intended, measured)
+                .thenCompose(created -> {
+                    String id = read(created).path("id").asText();
+                    return call(PO_SEND, post("/api/purchase-orders/" + id + "/send", new byte[0]), System.nanoTime(), measured);
+                })
+                .thenCompose(sent -> {
+                    JsonNode purchaseOrder = read(sent);
+                    byte[] receipt = json(receipt(purchaseOrder, new Random(quantitySeed)));
+                    return call(PO_RECEIVE, post("/api/inventory/from-purchase-order/" + purchaseOrder.path("id").asText(), receipt),
+                            System.nanoTime(), measured);
+                });
+    }
+    
+    private SaleTransactionRequest checkout(Random random) {
+        int lines = basketSize(random);
+        Set<Fixtures.Batch> chosen = new LinkedHashSet<>();
+        while (chosen.size() < Math.min(lines, fixtures.batches.size())) {
+            chosen.add(basketPopularity != null
+                    ? pick(random, fixtures.batchesByRank.get(basketPopularity.next(random))) : pick(random, fixtures.batches));
+        }
+        List<SaleTransactionLineRequest> lineItems = new ArrayList<>();
+        for (Fixtures.Batch batch : chosen) {
+            SaleTransactionLineRequest line = new SaleTransactionLineRequest();
+            line.setInventoryBatchId(batch.id());
+            // One unit per line keeps stock lasting through long runs
+            line.setQuantity(1);
+            line.setUnitPrice(batch.sellingPrice());
+            lineItems.add(line);
+        }
+        SaleTransactionRequest request = new SaleTransactionRequest();
+        request.setSoldAt(OffsetDateTime.now());
+        request.setCashierId(pick(random, fixtures.cashierIds));
+        request.setPaymentMethod(PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)]);
+        request.setLineItems(lineItems);
+        return request;
+    }
+    
+    /**
+     * Basket size between min and max lines, geometric around the scenario mean: most sales are small, a few are large.
+     */
+    private int basketSize(Random random) {
+        double p = 1.0 / (scenario.checkoutMeanLines - scenario.checkoutMinLines + 1);
+        while (true) {
+            int extra = 0;
+            while (random.nextDouble() > p) {
+                extra++;
+            }
+            int lines = scenario.checkoutMinLines + extra;
+            if (lines <= scenario.checkoutMaxLines) {
+                return lines;
+            }
+        }
+    }
+    
+    private PurchaseOrderRequest purchaseOrder(Random random) {
+        int lines = 1 + random.nextInt(scenario.receiptMaxLines);
+        Set<UUID> products = new LinkedHashSet<>();
+        while (products.size() < Math.min(lines, fixtures.productIds.size())) {
+            products.add(pick(random, fixtures.productIds));
+        }
+        List<PurchaseOrderLineRequest> lineItems = new ArrayList<>();
+        for (UUID productId : products) {
+            PurchaseOrderLineRequest line = new PurchaseOrderLineRequest();
+            line.setProductId(productId);
+            line.setQuantity(10 * (1 + random.nextInt(20)));
+            line.setUnitCost(BigDecimal.valueOf(1_000 + random.nextInt(100_000)));
+            lineItems.add(line);
+        }
+        PurchaseOrderRequest request = new PurchaseOrderRequest();
+        request.setOrderCode("LT-" + runId + "-" + purchaseOrderSequence.incrementAndGet());
+        request.setSupplierId(pick(random, fixtures.supplierIds));
+        request.setOrderDate(LocalDate.now());
+        request.setLineItems(lineItems);
+        return request;
+    }
+    
+    private PurchaseOrderReceiptRequest receipt(JsonNode purchaseOrder, Random random) {
+        List<PurchaseOrderReceiptLineRequest> lines = new ArrayList<>();
+        for (JsonNode orderLine : purchaseOrder.path("lineItems")) {
+            PurchaseOrderReceiptLineRequest line = new PurchaseOrderReceiptLineRequest();
+            line.setPurchaseOrderLineId(UUID.fromString(orderLine.path("id").asText()));
+            line.setQuantity(orderLine.path("quantity").asInt());
+            line.setExpiryDate(LocalDate.now().plusDays(180 + random.nextInt(720)));
+            lines.add(line);
+        }
+        PurchaseOrderReceiptRequest request = new PurchaseOrderReceiptRequest();
+        request.setReceiptKey(purchaseOrder.path("orderCode").asText());
+        request.setLines(lines);
+        return request;
+    }
+    
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(scenario.requestTimeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+    
+    private HttpRequest post(String path, byte[] body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(scenario.requestTimeout)
+                .header("Accept", "application/json")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+    }
+    
+    private byte[] json(Object body) {
+        try {
+            return mapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + body.getClass().getSimpleName(), e);
+        }
+    }
+    
+    private JsonNode read(HttpResponse<String> response) {
+        try {
+            return mapper.readTree(response.body());
+        } catch (JsonProcessingException e) {
+            throw new CompletionException(e);
+        }
+    }
+    
+    private static <T> T pick(Random random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+    
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
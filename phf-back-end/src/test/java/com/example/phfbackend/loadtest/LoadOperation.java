@@ -0,0 +1,28 @@
+package com.example.phfbackend.loadtest;
+
+/**
+ * Traffic kinds of the pharmacy mix. Each has its own arrival rate in the scenario (rate.&lt;key&gt;, requests per
+ * second) and is recorded under the route pattern of every request it sends.
+ */
+enum LoadOperation {
+    /** UC45: GET /api/pos/products/barcode/{barcode} with the SKU of a known product */
+    BARCODE_SCAN("barcode-scan"),
+    /** UC44: GET /api/pos/products/search?term= with one of the scenario's search terms */
+    PRODUCT_SEARCH("product-search"),
+    /** UC46: POST /api/sales with 1-20 lines of sellable batches */
+    CHECKOUT("checkout"),
+    /** UC41/UC42: dashboard polling of one of the scenario's alert paths */
+    ALERT_POLL("alert-poll"),
+    /** UC37: create a purchase order, send it, then receive all of its lines into inventory */
+    PO_RECEIPT("po-receipt");
+    
+    private final String key;
+    
+    LoadOperation(String key) {
+        this.key = key;
+    }
+    
+    String key() {
+        return key;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.phfbackend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.File;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs a scenario against a running backend:
+ * mvn -Ploadtest test -Dloadtest.scenario=loadtest/scenarios/pharmacy-day.properties -Dloadtest.baseUrl=http://localhost:8080
+ *
+ * Arguments: scenario file. System properties: loadtest.baseUrl, loadtest.rateMultiplier (scales every rate),
+ * loadtest.out (results directory), loadtest.baseline (a previous result to compare with), loadtest.tolerance,
+ * loadtest.failOnRegression.
+ */
+public final class LoadTestMain {
+    
+    private LoadTestMain() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Usage: LoadTestMain <scenario.properties>");
+        }
+        String baseUrl = System.getProperty("loadtest.baseUrl", "http://localhost:8080").replaceFirst("/+$", "");
+        double rateMultiplier = Double.parseDouble(System.getProperty("loadtest.rateMultiplier", "1"));
+        File out = new File(System.getProperty("loadtest.out", "target/loadtest"));
+        String baseline = System.getProperty("loadtest.baseline", "");
+        double tolerance = Double.parseDouble(System.getProperty("loadtest.tolerance", "10"));
+        boolean failOnRegression = Boolean.parseBoolean(System.getProperty("loadtest.failOnRegression", "false"));
+        
+        Scenario scenario = Scenario.load(Path.of(args[0]), rateMultiplier);
+        String runId = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        // Same JSON settings as the server (ISO dates)
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        
+        ExecutorService callbacks = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(callbacks)
+                    .build();
+            
+            Fixtures fixtures = Fixtures.discover(client, baseUrl, mapper);
+            fixtures.requireFor(scenario);
+            System.out.printf("Scenario %s (seed %d): %d s warm-up, %d s measured, target %s%nFixtures: %s%n",
+                    scenario.name, scenario.seed, scenario.warmup.toSeconds(), scenario.duration.toSeconds(), baseUrl, fixtures);
+            
+            LoadGenerator generator = new LoadGenerator(scenario, fixtures, client, mapper, baseUrl, runId);
+            generator.run();
+            
+            Map<String, Histogram> histograms = new LinkedHashMap<>();
+            generator.endpoints().forEach((label, stats) -> histograms.put(label, stats.histogram()));
+            ObjectNode result = LoadTestReport.summarize(scenario, generator, histograms, baseUrl, runId, mapper);
+            LoadTestReport.print(result);
+            LoadTestReport.write(result, histograms, out, mapper);
+            
+            if (!baseline.isBlank()) {
+                int regressions = LoadTestReport.compare(mapper.readTree(new File(baseline)), result, tolerance);
+                if (regressions > 0 && failOnRegression) {
+                    System.exit(1);
+                }
+            }
+        } finally {
+            callbacks.shutdownNow();
+        }
+    }
+}
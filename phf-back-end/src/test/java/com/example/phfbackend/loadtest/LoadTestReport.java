@@ -0,0 +1,178 @@
+package com.example.phfbackend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Results of a load test run: a JSON summary per endpoint (throughput, p50/p90/p99/p99.9/max in milliseconds,
+ * status counts) and per operation (offered and dropped arrivals), plus an HdrHistogram log with the full latency
+ * distribution of every endpoint (tagged with the endpoint), readable by HistogramLogProcessor and the HdrHistogram
+ * plotters. Two summaries of the same scenario compare releases; run main(baseline.json, result.json) for that.
+ */
+final class LoadTestReport {
+    
+    private LoadTestReport() {
+    }
+    
+    static ObjectNode summarize(Scenario scenario, LoadGenerator generator, Map<String, Histogram> histograms,
+                                String baseUrl, String runId, ObjectMapper mapper) {
+        double seconds = scenario.duration.toMillis() / 1000.0;
+        ObjectNode result = mapper.createObjectNode();
+        result.put("scenario", scenario.name);
+        result.put("runId", runId);
+        result.put("baseUrl", baseUrl);
+        result.put("durationSeconds", seconds);
+        ObjectNode properties = result.putObject("properties");
+        scenario.properties.forEach(properties::put);
+        
+        ObjectNode operations = result.putObject("operations");
+        for (LoadOperation operation : LoadOperation.values()) {
+            if (scenario.rates.get(operation) <= 0) {
+                continue;
+            }
+            ObjectNode node = operations.putObject(operation.key());
+            node.put("targetRate", scenario.rates.get(operation));
+            node.put("offered", generator.offered(operation));
+            node.put("dropped", generator.dropped(operation));
+        }
+        
+        ObjectNode endpoints = result.putObject("endpoints");
+        new TreeMap<>(generator.endpoints()).forEach((label, stats) -> {
+            Histogram histogram = histograms.get(label);
+            long count = stats.succeeded() + stats.failed();
+            ObjectNode node = endpoints.putObject(label);
+            node.put("count", count);
+            node.put("errors", stats.failed());
+            node.put("throughput", round(count / seconds));
+            node.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+            node.put("p90Ms", millis(histogram.getValueAtPercentile(90)));
+            node.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+            node.put("p999Ms", millis(histogram.getValueAtPercentile(99.9)));
+            node.put("maxMs", millis(histogram.getMaxValue()));
+            node.put("meanMs", round(histogram.getMean() / 1000.0));
+            ObjectNode outcomes = node.putObject("outcomes");
+            stats.outcomes().forEach(outcomes::put);
+        });
+        return result;
+    }
+    
+    static void write(ObjectNode result, Map<String, Histogram> histograms, File directory, ObjectMapper mapper) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        String base = result.path("scenario").asText() + "-" + result.path("runId").asText();
+        mapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(new File(directory, base + ".json"), result);
+        try (PrintStream log = new PrintStream(new File(directory, base + ".hlog"))) {
+            HistogramLogWriter writer = new HistogramLogWriter(log);
+            writer.outputComment("Latency in microseconds, one histogram per endpoint (tag), scenario " + result.path("scenario").asText());
+            writer.outputLogFormatVersion();
+            writer.outputLegend();
+            histograms.forEach((label, histogram) -> {
+                // Tags cannot contain spaces or commas
+                histogram.setTag(label.replace(' ', '_').replace(',', ';'));
+                writer.outputIntervalHistogram(histogram);
+            });
+        }
+        System.out.println("Results: " + new File(directory, base + ".json"));
+    }
+    
+    static void print(ObjectNode result) {
+        System.out.printf("%nScenario %s against %s, %.0f s measured%n",
+                result.path("scenario").asText(), result.path("baseUrl").asText(), result.path("durationSeconds").asDouble());
+        result.path("operations").properties().forEach(entry -> {
+            JsonNode operation = entry.getValue();
+            System.out.printf("  %-16s target %8.2f/s  offered %8d  dropped %6d%n", entry.getKey(),
+                    operation.path("targetRate").asDouble(), operation.path("offered").asLong(), operation.path("dropped").asLong());
+        });
+        System.out.printf("%n%-62s %8s %7s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Count", "Errors", "Req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        result.path("endpoints").properties().forEach(entry -> {
+            JsonNode endpoint = entry.getValue();
+            System.out.printf("%-62s %8d %7d %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n", entry.getKey(),
+                    endpoint.path("count").asLong(), endpoint.path("errors").asLong(), endpoint.path("throughput").asDouble(),
+                    endpoint.path("p50Ms").asDouble(), endpoint.path("p90Ms").asDouble(),
+                    endpoint.path("p99Ms").asDouble(), endpoint.path("maxMs").asDouble(), endpoint.path("outcomes"));
+        });
+    }
+    
+    /**
+     * Endpoint by endpoint: p50 and p99 (higher is worse), throughput (lower is worse) and error rate.
+     * Returns the number of regressions beyond the tolerance (percent; error rate: percentage points).
+     */
+    static int compare(JsonNode baseline, JsonNode current, double tolerance) {
+        if (!baseline.path("scenario").asText().equals(current.path("scenario").asText())) {
+            System.out.println("Warning: comparing different scenarios (" + baseline.path("scenario").asText()
+                    + " / " + current.path("scenario").asText() + ")");
+        }
+        if (!baseline.path("properties").equals(current.path("properties"))) {
+            System.out.println("Warning: scenario properties differ between the two runs; the traffic is not the same");
+        }
+        int regressions = 0;
+        System.out.printf("%n%-62s %16s %16s %16s %14s%n", "Endpoint (baseline -> current)", "p50 ms", "p99 ms", "Req/s", "Errors %");
+        for (Map.Entry<String, JsonNode> entry : current.path("endpoints").properties()) {
+            JsonNode before = baseline.path("endpoints").path(entry.getKey());
+            JsonNode after = entry.getValue();
+            if (before.isMissingNode()) {
+                System.out.printf("%-62s  (not in baseline)%n", entry.getKey());
+                continue;
+            }
+            double p50 = percent(before.path("p50Ms").asDouble(), after.path("p50Ms").asDouble());
+            double p99 = percent(before.path("p99Ms").asDouble(), after.path("p99Ms").asDouble());
+            double throughput = percent(before.path("throughput").asDouble(), after.path("throughput").asDouble());
+            double errorsBefore = errorRate(before);
+            double errorsAfter = errorRate(after);
+            boolean regressed = p50 > tolerance || p99 > tolerance || throughput < -tolerance || errorsAfter - errorsBefore > 1;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-62s %7.2f %+7.1f%% %7.2f %+7.1f%% %7.1f %+7.1f%% %5.1f -> %5.1f%s%n", entry.getKey(),
+                    after.path("p50Ms").asDouble(), p50, after.path("p99Ms").asDouble(), p99,
+                    after.path("throughput").asDouble(), throughput, errorsBefore, errorsAfter,
+                    regressed ? "  REGRESSION" : "");
+        }
+        System.out.printf("%d regression(s) beyond %.1f%%%n", regressions, tolerance);
+        return regressions;
+    }
+    
+    /**
+     * Arguments: baseline.json result.json [tolerancePercent] [failOnRegression]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: LoadTestReport baseline.json result.json [tolerancePercent] [failOnRegression]");
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        int regressions = compare(mapper.readTree(new File(args[0])), mapper.readTree(new File(args[1])),
+                args.length > 2 ? Double.parseDouble(args[2]) : 10.0);
+        if (regressions > 0 && args.length > 3 && Boolean.parseBoolean(args[3])) {
+            System.exit(1);
+        }
+    }
+    
+    private static double errorRate(JsonNode endpoint) {
+        long count = endpoint.path("count").asLong();
+        return count == 0 ? 0 : endpoint.path("errors").asLong() * 100.0 / count;
+    }
+    
+    private static double percent(double before, double after) {
+        return before == 0 ? 0 : (after - before) * 100.0 / before;
+    }
+    
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+}
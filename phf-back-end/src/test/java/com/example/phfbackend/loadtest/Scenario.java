@@ -0,0 +1,123 @@
+package com.example.phfbackend.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * A load test scenario, read from a properties file under loadtest/scenarios. Everything that shapes the traffic
+ * (rates, seed, basket sizes, search terms) lives in the file, so two runs of the same file against two releases
+ * send the same request sequence and can be compared. Only the target and a global rate multiplier come from the
+ * command line (loadtest.baseUrl, loadtest.rateMultiplier).
+ */
+final class Scenario {
+    
+    final String name;
+    final Path file;
+    final long seed;
+    final Duration warmup;
+    final Duration duration;
+    final Duration requestTimeout;
+    final int maxInFlight;
+    final boolean poisson;
+    final Map<LoadOperation, Double> rates;
+    final int checkoutMinLines;
+    final int checkoutMaxLines;
+    final double checkoutMeanLines;
+    final int receiptMaxLines;
+    final double popularityZipf;
+    final List<String> searchTerms;
+    final List<String> alertPaths;
+    final Map<String, String> properties;
+    
+    private Scenario(Path file, Properties source, double rateMultiplier) {
+        this.file = file;
+        this.name = source.getProperty("name", file.getFileName().toString().replaceFirst("\\.properties$", ""));
+        this.seed = Long.parseLong(source.getProperty("seed", "42"));
+        this.warmup = duration(source, "warmup", "30s");
+        this.duration = duration(source, "duration", "5m");
+        this.requestTimeout = duration(source, "request-timeout", "10s");
+        this.maxInFlight = Integer.parseInt(source.getProperty("max-in-flight", "256"));
+        String arrival = source.getProperty("arrival", "poisson");
+        if (!arrival.equals("poisson") && !arrival.equals("uniform")) {
+            throw new IllegalArgumentException("arrival must be poisson or uniform: " + arrival);
+        }
+        this.poisson = arrival.equals("poisson");
+        
+        this.rates = new EnumMap<>(LoadOperation.class);
+        for (LoadOperation operation : LoadOperation.values()) {
+            double rate = Double.parseDouble(source.getProperty("rate." + operation.key(), "0")) * rateMultiplier;
+            if (rate < 0) {
+                throw new IllegalArgumentException("rate." + operation.key() + " must not be negative");
+            }
+            rates.put(operation, rate);
+        }
+        if (rates.values().stream().allMatch(rate -> rate == 0)) {
+            throw new IllegalArgumentException("Scenario " + file + " has no rate.<operation> above 0");
+        }
+        
+        this.checkoutMinLines = Integer.parseInt(source.getProperty("checkout.lines.min", "1"));
+        this.checkoutMaxLines = Integer.parseInt(source.getProperty("checkout.lines.max", "20"));
+        this.checkoutMeanLines = Double.parseDouble(source.getProperty("checkout.lines.mean", "3"));
+        if (checkoutMinLines < 1 || checkoutMaxLines < checkoutMinLines
+                || checkoutMeanLines < checkoutMinLines || checkoutMeanLines > checkoutMaxLines) {
+            throw new IllegalArgumentException("checkout.lines must satisfy 1 <= min <= mean <= max");
+        }
+        this.receiptMaxLines = Integer.parseInt(source.getProperty("po-receipt.lines.max", "5"));
+        // 0: every product equally likely; above 0: Zipf over SKU order (the datagen SKUs are numbered by popularity)
+        this.popularityZipf = Double.parseDouble(source.getProperty("popularity.zipf", "0"));
+        if (popularityZipf < 0) {
+            throw new IllegalArgumentException("popularity.zipf must not be negative");
+        }
+        this.searchTerms = list(source, "search.terms", "para,amox,vitamin,ibu");
+        this.alertPaths = list(source, "alert.paths", "/api/inventory/alerts");
+        
+        this.properties = new TreeMap<>();
+        source.stringPropertyNames().forEach(key -> properties.put(key, source.getProperty(key)));
+        properties.put("rate-multiplier", Double.toString(rateMultiplier));
+    }
+    
+    static Scenario load(Path file, double rateMultiplier) throws IOException {
+        Properties source = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            source.load(reader);
+        }
+        return new Scenario(file, source, rateMultiplier);
+    }
+    
+    /**
+     * Accepts 500ms, 30s, 5m, 1h
+     */
+    private static Duration duration(Properties source, String key, String defaultValue) {
+        String value = source.getProperty(key, defaultValue).trim().toLowerCase();
+        try {
+            if (value.endsWith("ms")) {
+                return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+            }
+            return Duration.parse("PT" + value.toUpperCase());
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid duration for " + key + ": " + value, e);
+        }
+    }
+    
+    private static List<String> list(Properties source, String key, String defaultValue) {
+        List<String> values = Arrays.stream(source.getProperty(key, defaultValue).split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .toList();
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException(key + " must not be empty");
+        }
+        return values;
+    }
+}
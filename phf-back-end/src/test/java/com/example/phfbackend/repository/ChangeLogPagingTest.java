@@ -0,0 +1,97 @@
+package com.example.phfbackend.repository;
+
+import com.example.phfbackend.entities.shared.ChangeLogEntry;
+import com.example.phfbackend.service.SyncCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.example.phfbackend.embedded.EmbeddedDatabaseEnvironmentPostProcessor.PROFILE;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Regression test for delta sync paging: a change written by a transaction that is still running while a page is
+ * read must be returned once that transaction commits, even when a later version committed first and the client
+ * already moved its cursor past it. Runs on the embedded PostgreSQL (xid8, pg_current_snapshot).
+ */
+@SpringBootTest
+@ActiveProfiles(PROFILE)
+class ChangeLogPagingTest {
+    
+    private static final List<String> TYPES = List.of("PRODUCT");
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+    
+    @Test
+    void changeOfLongRunningTransactionIsNotSkipped() throws SQLException {
+        UUID lowerVersion = UUID.randomUUID();
+        UUID higherVersion = UUID.randomUUID();
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            first.setAutoCommit(false);
+            second.setAutoCommit(false);
+            SyncCursor cursor = endOfLog();
+            
+            // second gets the older transaction id, first the lower version; second commits first
+            try (Statement statement = second.createStatement()) {
+                statement.execute("SELECT pg_current_xact_id()");
+            }
+            insertChange(first, lowerVersion);
+            insertChange(second, higherVersion);
+            second.commit();
+            
+            List<UUID> seen = new ArrayList<>();
+            cursor = drain(cursor, seen);
+            assertFalse(seen.contains(lowerVersion), "uncommitted change returned");
+            
+            first.commit();
+            drain(cursor, seen);
+            assertTrue(seen.contains(lowerVersion), "change committed after the cursor moved was skipped");
+            assertTrue(seen.contains(higherVersion));
+        } finally {
+            jdbcTemplate.update("DELETE FROM phf.change_log WHERE entity_id IN (?, ?)", lowerVersion, higherVersion);
+        }
+    }
+    
+    private SyncCursor endOfLog() {
+        return jdbcTemplate.query("SELECT CAST(CAST(tx_id AS text) AS bigint), version FROM phf.change_log " +
+                        "ORDER BY tx_id DESC, version DESC LIMIT 1",
+                rs -> rs.next() ? new SyncCursor(rs.getLong(1), rs.getLong(2)) : SyncCursor.START);
+    }
+    
+    private SyncCursor drain(SyncCursor cursor, List<UUID> seen) {
+        List<ChangeLogEntry> page;
+        while (!(page = changeLogRepository.findCommittedAfter(cursor.getTxId(), cursor.getVersion(), TYPES, 100)).isEmpty()) {
+            page.forEach(entry -> seen.add(entry.getEntityId()));
+            ChangeLogEntry last = page.get(page.size() - 1);
+            cursor = new SyncCursor(last.getTxId(), last.getVersion());
+        }
+        return cursor;
+    }
+    
+    private static void insertChange(Connection connection, UUID entityId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO phf.change_log (entity_type, entity_id) VALUES ('PRODUCT', ?)")) {
+            statement.setObject(1, entityId);
+            statement.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.phfbackend.repository;
+
+import com.example.phfbackend.dto.PurchaseOrderFilterCriteria;
+import com.example.phfbackend.entities.product.Product;
+import com.example.phfbackend.entities.product.ProductCategory;
+import com.example.phfbackend.entities.purchase.PurchaseOrder;
+import com.example.phfbackend.entities.purchase.PurchaseOrderLine;
+import com.example.phfbackend.entities.purchase.PurchaseOrderStatus;
+import com.example.phfbackend.entities.supplier.ContactInfo;
+import com.example.phfbackend.entities.supplier.Supplier;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Regression test for the two-phase purchase order listing: the page is limited in SQL on order ids, and the
+ * collection fetch that loads the graphs is never paginated (so Hibernate never falls back to in-memory paging).
+ * Runs against in-memory H2 with fail_on_pagination_over_collection_fetch on, which turns any in-memory
+ * pagination into an exception.
+ */
+class PurchaseOrderPagingTest {
+    
+    private static final int ORDERS = 30;
+    private static final int LINES_PER_ORDER = 3;
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+    
+    private static SessionFactory sessionFactory;
+    
+    private EntityManager entityManager;
+    private PurchaseOrderRepositoryImpl repository;
+    
+    @BeforeAll
+    static void createSessionFactory() {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:po_paging;DB_CLOSE_DELAY=-1")
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .applySetting(AvailableSettings.PHYSICAL_NAMING_STRATEGY, CamelCaseToUnderscoresNamingStrategy.class.getName())
+                .applySetting(AvailableSettings.FAIL_ON_PAGINATION_OVER_COLLECTION_FETCH, true)
+                .applySetting(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                    STATEMENTS.add(sql.toLowerCase(Locale.ROOT));
+                    return sql;
+                })
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(Product.class)
+                .addAnnotatedClass(Supplier.class)
+                .addAnnotatedClass(PurchaseOrder.class)
+                .addAnnotatedClass(PurchaseOrderLine.class)
+                .buildMetadata()
+                .buildSessionFactory();
+        
+        sessionFactory.inTransaction(session -> {
+            Supplier supplier = Supplier.newBuilder()
+                    .name("Paging Supplier")
+                    .contact(ContactInfo.newBuilder().name("Contact").email("contact@example.com").build())
+                    .build();
+            session.persist(supplier);
+            List<Product> products = new ArrayList<>();
+            for (int i = 0; i < LINES_PER_ORDER; i++) {
+                Product product = Product.newBuilder()
+                        .sku("PAGING-" + i)
+                        .name("Product " + i)
+                        .activeIngredient("Ingredient")
+                        .dosageForm("Tablet")
+                        .dosageStrength("500mg")
+                        .category(ProductCategory.OTHER)
+                        .build();
+                session.persist(product);
+                products.add(product);
+            }
+            for (int i = 0; i < ORDERS; i++) {
+                PurchaseOrder order = PurchaseOrder.newBuilder()
+                        .orderCode(String.format("PO-PAGING-%02d", i))
+                        .supplier(supplier)
+                        .status(i % 3 == 0 ? PurchaseOrderStatus.ORDERED : PurchaseOrderStatus.DRAFT)
+                        .orderDate(LocalDate.of(2025, 1, 1).plusDays(i))
+                        .build();
+                for (Product product : products) {
+                    order.addLine(PurchaseOrderLine.newBuilder()
+                            .product(product)
+                            .quantity(10)
+                            .unitCost(new BigDecimal("1.50"))
+                            .build());
+                }
+                session.persist(order);
+            }
+        });
+    }
+    
+    @AfterAll
+    static void closeSessionFactory() {
+        sessionFactory.close();
+    }
+    
+    @BeforeEach
+    void openEntityManager() {
+        entityManager = sessionFactory.createEntityManager();
+        repository = new PurchaseOrderRepositoryImpl();
+        ReflectionTestUtils.setField(repository, "entityManager", entityManager);
+        STATEMENTS.clear();
+    }
+    
+    @Test
+    void idPageIsLimitedInSqlAndSortedStably() {
+        Page<UUID> page = repository.findPageIds(PurchaseOrderFilterCriteria.builder().build(),
+                PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "orderDate")));
+        
+        assertEquals(10, page.getContent().size());
+        assertEquals(ORDERS, page.getTotalElements());
+        String idQuery = STATEMENTS.get(0);
+        assertTrue(idQuery.contains("offset") && idQuery.contains("fetch"), "page must be limited in SQL: " + idQuery);
+        assertFalse(idQuery.contains("purchase_order_lines"), "id query must not touch the lines: " + idQuery);
+        
+        List<String> codes = new ArrayList<>();
+        for (UUID id : page.getContent()) {
+            codes.add(entityManager.find(PurchaseOrder.class, id).getOrderCode());
+        }
+        assertEquals("PO-PAGING-19", codes.get(0));
+        assertEquals("PO-PAGING-10", codes.get(9));
+    }
+    
+    @Test
+    void filtersAreAppliedBeforeTheLimit() {
+        Page<UUID> page = repository.findPageIds(
+                PurchaseOrderFilterCriteria.builder().status(PurchaseOrderStatus.ORDERED).searchTerm("paging").build(),
+                PageRequest.of(0, 4));
+        
+        assertEquals(4, page.getContent().size());
+        assertEquals(ORDERS / 3, page.getTotalElements());
+    }
+    
+    @Test
+    void graphsOfThePageAreLoadedWithoutLimit() throws Exception {
+        Page<UUID> page = repository.findPageIds(PurchaseOrderFilterCriteria.builder().build(), PageRequest.of(0, 5));
+        STATEMENTS.clear();
+        
+        List<PurchaseOrder> orders = entityManager
+                .createQuery(jpql("findAllWithRelationsByIdIn", Collection.class), PurchaseOrder.class)
+                .setParameter("ids", page.getContent())
+                .getResultList();
+        
+        assertEquals(5, orders.size());
+        orders.forEach(order -> assertEquals(LINES_PER_ORDER, order.getLineItems().size()));
+        assertEquals(1, STATEMENTS.size(), "graphs must be loaded in one query: " + STATEMENTS);
+        assertFalse(STATEMENTS.get(0).contains("fetch first") || STATEMENTS.get(0).contains(" limit "),
+                "collection fetch must not be limited: " + STATEMENTS.get(0));
+    }
+    
+    @Test
+    void limitOnCollectionFetchIsRejected() throws Exception {
+        // The single-query approach the listing used to need; with the guard on it can never page in memory
+        assertThrows(PersistenceException.class, () -> entityManager
+                .createQuery(jpql("findAllWithRelations"), PurchaseOrder.class)
+                .setMaxResults(10)
+                .getResultList());
+    }
+    
+    private static String jpql(String method, Class<?>... parameterTypes) throws NoSuchMethodException {
+        return PurchaseOrderRepository.class.getMethod(method, parameterTypes).getAnnotation(Query.class).value();
+    }
+}
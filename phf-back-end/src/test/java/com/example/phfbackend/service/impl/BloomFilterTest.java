@@ -0,0 +1,42 @@
+package com.example.phfbackend.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Every added key is reported as present, and absent keys are reported present at about the configured rate.
+ */
+class BloomFilterTest {
+    
+    private static final int KEYS = 100_000;
+    private static final double RATE = 0.01;
+    
+    @Test
+    void hasNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(KEYS, RATE);
+        for (int i = 0; i < KEYS; i++) {
+            filter.put("SKU-" + i);
+        }
+        for (int i = 0; i < KEYS; i++) {
+            assertTrue(filter.mightContain("SKU-" + i), "SKU-" + i);
+        }
+    }
+    
+    @Test
+    void keepsFalsePositivesNearTheConfiguredRate() {
+        BloomFilter filter = new BloomFilter(KEYS, RATE);
+        for (int i = 0; i < KEYS; i++) {
+            filter.put("SKU-" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < KEYS; i++) {
+            if (filter.mightContain("OTHER-" + i)) {
+                falsePositives++;
+            }
+        }
+        double rate = (double) falsePositives / KEYS;
+        // Twice the target leaves room for hash quality without hiding a broken bit layout
+        assertTrue(rate < RATE * 2, "false positive rate " + rate);
+    }
+}
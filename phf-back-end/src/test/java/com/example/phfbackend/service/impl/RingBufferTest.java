@@ -0,0 +1,99 @@
+package com.example.phfbackend.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bounded behaviour of the system log buffer: offer fails when full, slots are reused in order after a drain,
+ * and concurrent producers neither lose nor duplicate elements.
+ */
+class RingBufferTest {
+    
+    @Test
+    void rejectsOffersWhenFull() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(8);
+        for (int i = 0; i < 8; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(8));
+        assertEquals(8, buffer.size());
+        
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(1, buffer.drainTo(drained, 1));
+        assertTrue(buffer.offer(8));
+    }
+    
+    @Test
+    void keepsOrderAcrossWrapAround() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+        int next = 0;
+        for (int round = 0; round < 10; round++) {
+            while (buffer.offer(next)) {
+                next++;
+            }
+            buffer.drainTo(drained, 3);
+        }
+        buffer.drainTo(drained, Integer.MAX_VALUE);
+        
+        assertEquals(next, drained.size());
+        for (int i = 0; i < drained.size(); i++) {
+            assertEquals(i, drained.get(i));
+        }
+        assertEquals(0, buffer.size());
+    }
+    
+    @Test
+    void concurrentProducersLoseNothing() throws InterruptedException {
+        int producers = 8;
+        int perProducer = 20_000;
+        RingBuffer<Integer> buffer = new RingBuffer<>(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        
+        Set<Integer> seen = new HashSet<>();
+        List<Integer> batch = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (seen.size() < producers * perProducer && System.nanoTime() < deadline) {
+            batch.clear();
+            buffer.drainTo(batch, 256);
+            for (Integer value : batch) {
+                assertTrue(seen.add(value), "duplicate " + value);
+            }
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        
+        assertEquals(producers * perProducer, seen.size());
+        assertEquals(0, buffer.size());
+    }
+}